@@ -0,0 +1,129 @@
+package com.tupilabs.human_name_parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.List;
+import java.util.Random;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+
+/**
+ * The names that the benchmarks run over: either the names from the test corpus (testNames.txt) or a larger
+ * synthetic corpus that is generated from a fixed seed so that runs are comparable with each other
+ */
+public enum BenchmarkCorpus {
+
+    testNames {
+        @Override
+        String[] load() {
+            return loadTestNames();
+        }
+    },
+    synthetic {
+        @Override
+        String[] load() {
+            return generate(SYNTHETIC_SIZE, SYNTHETIC_SEED);
+        }
+    };
+
+    static final int SYNTHETIC_SIZE = 10000;
+    static final long SYNTHETIC_SEED = 0x5EED_1234L;
+
+    private static final String[] SALUTATIONS = {"Mr", "Mr.", "Mrs", "Ms.", "Dr.", "Prof", "Rev.", "Hon."};
+    private static final String[] FIRSTS = {"John", "Mary", "Bj\u00f6rn", "William", "Linda", "Jason", "Ana", "Steve",
+            "S\u00e9rgio", "Bin", "Roger", "Elizabeth", "Juan", "Wei", "Fatima", "Olga"};
+    private static final String[] MIDDLES = {"Charles", "Carlos", "Marie", "Lee", "Ann", "James", "Roger"};
+    private static final String[] LASTS = {"Smith", "O'Malley", "Jones", "Williams", "Priem", "Mu\u00f1oz", "Lin",
+            "Walgreen", "Cruz", "Sar", "Mello", "O'Dell", "Nguyen", "Kowalski", "Abdullah", "Thomas"};
+    private static final String[] PREFIXES = {"van", "van der", "de la", "de", "von", "del", "bin", "st"};
+    private static final String[] NICKNAMES = {"\"Bill\"", "('Jimmy')", "(Wild Bill)", "'Bud'", "(\"Kiki\")"};
+    private static final String[] SUFFIXES = {"Jr", "Jr.", "Sr", "II", "III", "IV", "2nd"};
+    private static final String[] POSTNOMINALS = {"PhD", "Ph.D.", "MD", "Esq", "DDS", "CPA", "RDH"};
+
+    abstract String[] load();
+
+    private static String[] loadTestNames() {
+        InputStream in = BenchmarkCorpus.class.getResourceAsStream("/testNames.txt");
+        if (in == null) {
+            throw new IllegalStateException("Cant find testNames.txt on the classpath");
+        }
+        Splitter splitter = Splitter.on('|');
+        List<String> names = Lists.newArrayList();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, Charsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                List<String> toks = splitter.splitToList(line);
+                if (toks.size() == 9) {
+                    names.add(toks.get(0).trim());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Problem reading testNames.txt", e);
+        }
+        return names.toArray(new String[names.size()]);
+    }
+
+    /**
+     * Generates a mix of the shapes of names seen in the test corpus: plain, with middles, with
+     * prefixed/compound surnames, nicknames, salutations, suffixes, postnominals and comma-flipped
+     */
+    static String[] generate(int count, long seed) {
+        Random rand = new Random(seed);
+        String[] names = new String[count];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.setLength(0);
+            String last = pick(rand, LASTS);
+            if (rand.nextInt(8) == 0) {
+                last = pick(rand, PREFIXES) + " " + last;
+            } else if (rand.nextInt(16) == 0) {
+                last = last + " y " + pick(rand, LASTS);
+            }
+            boolean flipped = rand.nextInt(4) == 0;
+            if (flipped) {
+                sb.append(last).append(',');
+                if (rand.nextBoolean()) {
+                    sb.append(' ');
+                }
+            }
+            if (rand.nextInt(6) == 0) {
+                sb.append(pick(rand, SALUTATIONS)).append(' ');
+            }
+            if (rand.nextInt(10) == 0) {
+                sb.append(pick(rand, FIRSTS).charAt(0)).append(". ");
+            }
+            sb.append(pick(rand, FIRSTS));
+            if (rand.nextInt(8) == 0) {
+                sb.append(' ').append(pick(rand, NICKNAMES));
+            }
+            int middles = rand.nextInt(3);
+            for (int j = 0; j < middles; j++) {
+                String middle = pick(rand, MIDDLES);
+                if (rand.nextBoolean()) {
+                    sb.append(' ').append(middle.charAt(0)).append('.');
+                } else {
+                    sb.append(' ').append(middle);
+                }
+            }
+            if (!flipped) {
+                sb.append(' ').append(last);
+            }
+            if (rand.nextInt(6) == 0) {
+                sb.append(rand.nextBoolean() ? ", " : " ").append(pick(rand, SUFFIXES));
+            }
+            if (rand.nextInt(8) == 0) {
+                sb.append(rand.nextBoolean() ? ", " : ",").append(pick(rand, POSTNOMINALS));
+            }
+            names[i] = sb.toString();
+        }
+        return names;
+    }
+
+    private static String pick(Random rand, String[] choices) {
+        return choices[rand.nextInt(choices.length)];
+    }
+}
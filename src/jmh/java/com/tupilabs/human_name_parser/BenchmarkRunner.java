@@ -0,0 +1,40 @@
+package com.tupilabs.human_name_parser;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks twice: once for throughput (ops/s) and once sampling the latency of each op (which
+ * reports the p50/p90/p99/p99.9 percentiles). Both passes run with the GC profiler so each op also reports the
+ * bytes allocated per name ({@code gc.alloc.rate.norm}).
+ *
+ * Usage: {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=ParseBenchmark}
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : ".*";
+
+        Options throughput = new OptionsBuilder()
+                .include(include)
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(throughput).run();
+
+        Options latency = new OptionsBuilder()
+                .include(include)
+                .mode(Mode.SampleTime)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(latency).run();
+    }
+}
@@ -0,0 +1,111 @@
+package com.tupilabs.human_name_parser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End to end benchmarks of {@link HumanNameParser#parse(String)}, the {@link TokenizingNameParser} engine and
+ * {@link ParsedName#toSegmented()}. Each invocation handles the next name of the corpus so the per-op numbers are
+ * per name
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ParseBenchmark {
+
+    @Param({"testNames", "synthetic"})
+    public BenchmarkCorpus corpus;
+
+    private HumanNameParser parser;
+    private HumanNameParser measuredParser;
+    private TokenizingNameParser tokenizingParser;
+    private Utf8NameParser utf8Parser;
+    private String[] names;
+    private byte[][] utf8Names;
+    private ParsedName[] parsed;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        parser = new HumanNameParser(true);
+        measuredParser = new HumanNameParser(ParserConfig.defaults(), new ParserMetrics());
+        tokenizingParser = new TokenizingNameParser(true);
+        names = corpus.load();
+        utf8Parser = new Utf8NameParser(tokenizingParser);
+        parsed = new ParsedName[names.length];
+        utf8Names = new byte[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            parsed[i] = parser.parse(names[i]);
+            utf8Names[i] = names[i].getBytes(StandardCharsets.UTF_8);
+        }
+        next = 0;
+    }
+
+    private int nextIndex() {
+        int i = next;
+        next = (i + 1 == names.length ? 0 : i + 1);
+        return i;
+    }
+
+    @Benchmark
+    public ParsedName parse() {
+        return parser.parse(names[nextIndex()]);
+    }
+
+    /**
+     * parse with metrics on, to compare against parse (which has them off)
+     */
+    @Benchmark
+    public ParsedName parseWithMetrics() {
+        return measuredParser.parse(names[nextIndex()]);
+    }
+
+    @Benchmark
+    public ParsedName parseTokenizing() {
+        return tokenizingParser.parse(names[nextIndex()]);
+    }
+
+    /**
+     * The tokenizing engine over UTF-8 bytes, to compare against decodeParseEncodeTokenizing
+     */
+    @Benchmark
+    public ParsedUtf8Name parseUtf8() {
+        byte[] name = utf8Names[nextIndex()];
+        return utf8Parser.parse(name, 0, name.length);
+    }
+
+    /**
+     * What parseUtf8 saves: decoding to a string first and encoding the tokens back to bytes after
+     */
+    @Benchmark
+    public int decodeParseEncodeTokenizing() {
+        ParsedName name = tokenizingParser.parse(new String(utf8Names[nextIndex()], StandardCharsets.UTF_8));
+        int bytes = 0;
+        for (int i = 0; i < name.size(); i++) {
+            bytes += name.getToken(i).getBytes(StandardCharsets.UTF_8).length;
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public SegmentedName toSegmented() {
+        return parsed[nextIndex()].toSegmented();
+    }
+
+    @Benchmark
+    public SegmentedName parseAndSegment() {
+        return parser.parse(names[nextIndex()]).toSegmented();
+    }
+}
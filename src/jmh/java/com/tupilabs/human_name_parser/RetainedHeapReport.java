@@ -0,0 +1,56 @@
+package com.tupilabs.human_name_parser;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Measures how much heap a large set of retained parsed names takes with and without a {@link TokenDictionary}.
+ * Both sets have every token read once (as a dedup job comparing tokens would), and the heap is measured after
+ * full GCs with the set still reachable. The dictionary's own estimate is printed next to the measured numbers.
+ *
+ * Usage: {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.tupilabs.human_name_parser.RetainedHeapReport
+ * -Dbenchmark.include=500000}
+ */
+public class RetainedHeapReport {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 && args[0].matches("\\d+") ? Integer.parseInt(args[0]) : 500000;
+        String[] names = BenchmarkCorpus.generate(count, BenchmarkCorpus.SYNTHETIC_SEED);
+
+        HumanNameParser parser = new HumanNameParser();
+        long plain = retained(parser, names);
+
+        TokenDictionary dictionary = new TokenDictionary(1 << 20);
+        long interned = retained(new InterningNameParser(parser, dictionary), names);
+
+        System.out.println(String.format("%d names, plain: %d bytes (%d/name), interned: %d bytes (%d/name)",
+                count, plain, plain / count, interned, interned / count));
+        System.out.println(String.format("measured saving: %d bytes (%.1f%%)", plain - interned,
+                100.0 * (plain - interned) / plain));
+        System.out.println("dictionary: " + dictionary.stats());
+    }
+
+    private static long retained(NameParser parser, String[] names) {
+        long before = usedAfterGc();
+        ParsedName[] kept = new ParsedName[names.length];
+        for (int i = 0; i < names.length; i++) {
+            // a fresh copy of the input, as if it had been read from a file
+            ParsedName parsed = parser.parse(new String(names[i].toCharArray()));
+            parsed.getTokens().toArray();
+            kept[i] = parsed;
+        }
+        long after = usedAfterGc();
+        if (kept[kept.length - 1] == null) {
+            throw new IllegalStateException();
+        }
+        return after - before;
+    }
+
+    private static long usedAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,77 @@
+package com.tupilabs.human_name_parser;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tupilabs.human_name_parser.HumanNameParser.ParseWork;
+import com.tupilabs.human_name_parser.HumanNameParser.Stage;
+
+/**
+ * Benchmarks each stage of the parse on its own. For every name in the corpus we run all of the stages before
+ * the one being measured and keep what is left of the name at that point; each invocation then runs just the
+ * measured stage over a fresh work for one of those leftovers. {@link #newWork()} measures creating the work
+ * alone so that it can be subtracted out
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StageBenchmark {
+
+    @Param({"testNames", "synthetic"})
+    public BenchmarkCorpus corpus;
+
+    @Param({"Nickname", "Postnominal", "Suffix", "CommaFlip", "Last", "Salutation", "LeadingInit", "First",
+            "Middle"})
+    public String stageName;
+
+    private HumanNameParser parser;
+    private Stage stage;
+    private String[] remaining;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        parser = new HumanNameParser(true);
+        stage = Stage.valueOf(stageName);
+        String[] names = corpus.load();
+        remaining = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            ParseWork work = new ParseWork(names[i]);
+            for (Stage before : Stage.values()) {
+                if (before == stage) {
+                    break;
+                }
+                parser.runStage(work, before);
+            }
+            remaining[i] = work.current.toString();
+        }
+        next = 0;
+    }
+
+    private String nextRemaining() {
+        int i = next;
+        next = (i + 1 == remaining.length ? 0 : i + 1);
+        return remaining[i];
+    }
+
+    @Benchmark
+    public ParseWork newWork() {
+        return new ParseWork(nextRemaining());
+    }
+
+    @Benchmark
+    public boolean runStage() {
+        return parser.runStage(new ParseWork(nextRemaining()), stage);
+    }
+}
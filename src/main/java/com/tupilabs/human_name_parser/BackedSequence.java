@@ -13,4 +13,9 @@ public interface BackedSequence extends CharSequence {
     int originalIndex(int i);
 
     void flip(int pivot);
+
+    /**
+     * Overwrites the original char that index maps to
+     */
+    void setCharAt(int index, char newChar);
 }
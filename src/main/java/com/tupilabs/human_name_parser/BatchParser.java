@@ -0,0 +1,214 @@
+package com.tupilabs.human_name_parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Parses batches of names across the threads of a {@link ForkJoinPool}. The batch is split in halves until the
+ * pieces are at most chunkSize names, and each piece is parsed by one worker in that worker's
+ * {@link ParseContext}, so workers never share or allocate scratch state. Results always come back in input order.
+ *
+ * A name that fails doesn't stop the batch: its result is null and a {@link ParseFailure} says why.
+ */
+public final class BatchParser {
+
+    static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private final NameParser parser;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /**
+     * A batch parser on the common pool
+     */
+    public BatchParser(NameParser parser) {
+        this(parser, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize the most names that one task parses; smaller balances better, bigger has less overhead
+     */
+    public BatchParser(NameParser parser, ForkJoinPool pool, int chunkSize) {
+        Preconditions.checkArgument(chunkSize > 0, "chunkSize must be positive: %s", chunkSize);
+        this.parser = Preconditions.checkNotNull(parser, "parser");
+        this.pool = Preconditions.checkNotNull(pool, "pool");
+        this.chunkSize = chunkSize;
+    }
+
+    public BatchResult parseAll(List<String> names) {
+        String[] in = names.toArray(new String[names.size()]);
+        ParsedName[] out = new ParsedName[in.length];
+        List<ParseFailure> failures = parseAll(in, out);
+        return new BatchResult(Collections.unmodifiableList(Arrays.asList(out)), failures);
+    }
+
+    /**
+     * Parses names[i] into out[i] for every i (out[i] is null when it fails)
+     * @return the failures in input order
+     */
+    public List<ParseFailure> parseAll(String[] names, ParsedName[] out) {
+        Preconditions.checkArgument(out.length >= names.length, "out is shorter than names");
+        return run(names, out, null, null);
+    }
+
+    /**
+     * Parses every name and keeps nothing but its fingerprint and blocking keys, as columns: fingerprints[i] and
+     * keys[k][i] for names[i] (see {@link ParsedName#getFingerprint()} and {@link ParsedName#getBlockingKey(int)}),
+     * so a join over many names can sort and compare longs. The parser has to be configured with fingerprints and
+     * at least keys.length blocking keys. The entries of a name that fails are left as they are.
+     * @return the failures in input order
+     */
+    public List<ParseFailure> fingerprintAll(String[] names, long[] fingerprints, long[][] keys) {
+        Preconditions.checkArgument(fingerprints.length >= names.length, "fingerprints is shorter than names");
+        for (long[] column : keys) {
+            Preconditions.checkArgument(column.length >= names.length, "a column of keys is shorter than names");
+        }
+        return run(names, null, fingerprints, keys);
+    }
+
+    private List<ParseFailure> run(String[] names, ParsedName[] out, long[] fingerprints, long[][] keys) {
+        Queue<ParseFailure> failed = new ConcurrentLinkedQueue<>();
+        if (names.length > 0) {
+            pool.invoke(new ParseTask(names, out, fingerprints, keys, 0, names.length, failed));
+        }
+        if (failed.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<ParseFailure> failures = new ArrayList<>(failed);
+        Collections.sort(failures, BY_INDEX);
+        return failures;
+    }
+
+    /**
+     * A parallel, ordered stream of the parsed names. Names that fail are left out of the stream and handed to
+     * onFailure instead, which can be called from several threads at once. Like any parallel stream this runs on
+     * the common pool unless the terminal operation is run from inside another pool.
+     */
+    public Stream<ParsedName> stream(List<String> names, Consumer<? super ParseFailure> onFailure) {
+        String[] in = names.toArray(new String[names.size()]);
+        return StreamSupport.stream(new ParseSpliterator(in, 0, in.length, onFailure), true);
+    }
+
+    private static final Comparator<ParseFailure> BY_INDEX = new Comparator<ParseFailure>() {
+        @Override
+        public int compare(ParseFailure a, ParseFailure b) {
+            return Integer.compare(a.getIndex(), b.getIndex());
+        }
+    };
+
+    private ParsedName parseOne(String[] names, int i, Consumer<? super ParseFailure> onFailure) {
+        try {
+            return parser.parse(names[i]);
+        } catch (RuntimeException e) {
+            onFailure.accept(new ParseFailure(i, names[i], e));
+            return null;
+        }
+    }
+
+    private final class ParseTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final String[] names;
+        // where the results go: the names themselves, or only their fingerprints and keys
+        private final ParsedName[] out;
+        private final long[] fingerprints;
+        private final long[][] keys;
+        private final int lo;
+        private final int hi;
+        private final Queue<ParseFailure> failed;
+
+        ParseTask(String[] names, ParsedName[] out, long[] fingerprints, long[][] keys, int lo, int hi,
+                  Queue<ParseFailure> failed) {
+            this.names = names;
+            this.out = out;
+            this.fingerprints = fingerprints;
+            this.keys = keys;
+            this.lo = lo;
+            this.hi = hi;
+            this.failed = failed;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= chunkSize) {
+                Consumer<ParseFailure> onFailure = failed::add;
+                for (int i = lo; i < hi; i++) {
+                    ParsedName parsed = parseOne(names, i, onFailure);
+                    if (out != null) {
+                        out[i] = parsed;
+                    } else if (parsed != null) {
+                        fingerprints[i] = parsed.getFingerprint();
+                        for (int k = 0; k < keys.length; k++) {
+                            keys[k][i] = parsed.getBlockingKey(k);
+                        }
+                    }
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new ParseTask(names, out, fingerprints, keys, lo, mid, failed),
+                    new ParseTask(names, out, fingerprints, keys, mid, hi, failed));
+        }
+    }
+
+    private final class ParseSpliterator implements Spliterator<ParsedName> {
+        private final String[] names;
+        private final Consumer<? super ParseFailure> onFailure;
+        private int next;
+        private final int hi;
+
+        ParseSpliterator(String[] names, int lo, int hi, Consumer<? super ParseFailure> onFailure) {
+            this.names = names;
+            this.next = lo;
+            this.hi = hi;
+            this.onFailure = onFailure;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super ParsedName> action) {
+            while (next < hi) {
+                ParsedName parsed = parseOne(names, next++, onFailure);
+                if (parsed != null) {
+                    action.accept(parsed);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<ParsedName> trySplit() {
+            if (hi - next <= chunkSize) {
+                return null;
+            }
+            int mid = (next + hi) >>> 1;
+            ParseSpliterator prefix = new ParseSpliterator(names, next, mid, onFailure);
+            next = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return hi - next;
+        }
+
+        @Override
+        public int characteristics() {
+            // not SIZED since names that fail are skipped
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.tupilabs.human_name_parser;
+
+import java.util.List;
+
+/**
+ * The parsed names of a batch in the same order as the input, with null wherever a name failed, and the
+ * failures in input order
+ */
+public final class BatchResult {
+
+    private final List<ParsedName> names;
+    private final List<ParseFailure> failures;
+
+    BatchResult(List<ParsedName> names, List<ParseFailure> failures) {
+        this.names = names;
+        this.failures = failures;
+    }
+
+    /**
+     * @return the parsed name for the i-th input or null if it failed
+     */
+    public ParsedName get(int i) {
+        return names.get(i);
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public List<ParsedName> getNames() {
+        return names;
+    }
+
+    public List<ParseFailure> getFailures() {
+        return failures;
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+}
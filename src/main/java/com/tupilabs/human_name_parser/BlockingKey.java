@@ -0,0 +1,124 @@
+package com.tupilabs.human_name_parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A blocking key for record linkage: the leading chars of some of the labelled parts of a name, such as the first
+ * four chars of the surname and the first initial. Parsers configured with keys (see
+ * {@link ParserConfig.Builder#blockingKeys(BlockingKey...)}) hash each one into a long while they parse, so that
+ * names can be grouped into blocks by comparing longs (see {@link ParsedName#getBlockingKey(int)}).
+ *
+ * Chars are folded before they are counted: case and diacritics are dropped (so Bj&ouml;rn is bjorn and &szlig;
+ * is ss) along with anything that isn't a letter or a digit, so O'Dell and ODELL give the same key. A part that the
+ * name doesn't have adds nothing, but still counts as a part, so "Ash" and "Ash, S" give different keys.
+ *
+ * Keys are immutable; two with the same parts are equal.
+ */
+public final class BlockingKey {
+
+    /**
+     * The first four chars of the last name and the first initial (or the first char of the first name)
+     */
+    public static final BlockingKey LAST_PREFIX_FIRST_INITIAL = builder()
+            .prefix(4, Label.Last)
+            .prefix(1, Label.FirstInitial, Label.First)
+            .build();
+
+    private final List<Part> parts;
+
+    private BlockingKey(List<Part> parts) {
+        this.parts = ImmutableList.copyOf(parts);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    List<Part> parts() {
+        return parts;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BlockingKey)) {
+            return false;
+        }
+        return parts.equals(((BlockingKey) o).parts);
+    }
+
+    @Override
+    public int hashCode() {
+        return parts.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "BlockingKey" + parts;
+    }
+
+    /**
+     * Up to chars folded chars of the tokens with the first of labels that the name has, in token order
+     */
+    static final class Part {
+        final int chars;
+        final Label[] labels;
+
+        Part(int chars, Label[] labels) {
+            this.chars = chars;
+            this.labels = labels;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Part)) {
+                return false;
+            }
+            Part that = (Part) o;
+            return chars == that.chars && Arrays.equals(labels, that.labels);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * chars + Arrays.hashCode(labels);
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(labels) + ":" + chars;
+        }
+    }
+
+    public static final class Builder {
+        private final List<Part> parts = new ArrayList<>();
+
+        private Builder() {}
+
+        /**
+         * Adds a part: the first chars folded chars of the tokens with the first of labels that the name has
+         */
+        public Builder prefix(int chars, Label... labels) {
+            Preconditions.checkArgument(chars > 0, "chars must be positive: %s", chars);
+            Preconditions.checkArgument(labels.length > 0, "a part needs at least one label");
+            Preconditions.checkArgument(EnumSet.copyOf(Arrays.asList(labels)).size() == labels.length,
+                    "labels repeat: %s", Arrays.toString(labels));
+            Preconditions.checkArgument(!Arrays.asList(labels).contains(Label.Whitespace),
+                    "whitespace isn't a token");
+            parts.add(new Part(chars, labels.clone()));
+            return this;
+        }
+
+        public BlockingKey build() {
+            Preconditions.checkState(!parts.isEmpty(), "a key needs at least one part");
+            return new BlockingKey(parts);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.tupilabs.human_name_parser;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Parses a file of names, one per line, and writes out the segments of each in the same order.
+ *
+ * The input is split into chunks of about chunkSize bytes that end on line boundaries. Each chunk is memory mapped,
+ * decoded and parsed by one of the worker threads into a block of output bytes. Each worker builds its blocks in
+ * the same buffer, so the text of a chunk's output is only copied once, when it is encoded. The calling thread
+ * writes the blocks out in input order, and only lets a couple of chunks per worker be in flight at once, so memory
+ * stays bounded however big the file is.
+ *
+ * Usage: {@code java com.tupilabs.human_name_parser.BulkParseCommand [options] input [output]}
+ * with the options {@code --format=pipe|csv|json --threads=N --chunk-size=BYTES --charset=NAME --no-trim --cache=N}.
+ * With {@code --cache=N} the last N or so distinct names are kept parsed (see {@link CachingNameParser}).
+ * Output goes to stdout when there is no output file (or it is "-"). The charset has to be one where '\n' is a
+ * single byte that is never part of another char (UTF-8, ISO-8859-1, ASCII and the like).
+ */
+public final class BulkParseCommand {
+
+    static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+    // how many chunks per worker can be parsed but not yet written
+    private static final int IN_FLIGHT_PER_WORKER = 2;
+
+    private final NameParser parser;
+    private final OutputFormat format;
+    private final int threads;
+    private final int chunkSize;
+    private final Charset charset;
+    // the output text of the chunk a worker is on; it grows to fit the biggest chunk and then gets reused
+    private final ThreadLocal<StringBuilder> output = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder();
+        }
+    };
+
+    private long names;
+    private long failures;
+
+    public BulkParseCommand(NameParser parser, OutputFormat format, int threads, int chunkSize,
+                            Charset charset) {
+        Preconditions.checkArgument(threads > 0, "threads must be positive: %s", threads);
+        Preconditions.checkArgument(chunkSize > 0, "chunkSize must be positive: %s", chunkSize);
+        this.parser = Preconditions.checkNotNull(parser, "parser");
+        this.format = Preconditions.checkNotNull(format, "format");
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+        this.charset = Preconditions.checkNotNull(charset, "charset");
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * @return the exit code
+     */
+    static int run(String[] args, OutputStream stdout, PrintStream err) {
+        OutputFormat format = OutputFormat.pipe;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunkSize = DEFAULT_CHUNK_SIZE;
+        Charset charset = StandardCharsets.UTF_8;
+        boolean trim = true;
+        int cacheSize = 0;
+        String input = null;
+        String output = null;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--format=")) {
+                    format = OutputFormat.valueOf(value(arg));
+                } else if (arg.startsWith("--threads=")) {
+                    threads = Integer.parseInt(value(arg));
+                } else if (arg.startsWith("--chunk-size=")) {
+                    chunkSize = Integer.parseInt(value(arg));
+                } else if (arg.startsWith("--charset=")) {
+                    charset = Charset.forName(value(arg));
+                } else if (arg.equals("--no-trim")) {
+                    trim = false;
+                } else if (arg.startsWith("--cache=")) {
+                    cacheSize = Integer.parseInt(value(arg));
+                    if (cacheSize < 0) {
+                        throw new IllegalArgumentException("cache size can't be negative: " + cacheSize);
+                    }
+                } else if (arg.startsWith("--")) {
+                    throw new IllegalArgumentException("unknown option " + arg);
+                } else if (input == null) {
+                    input = arg;
+                } else if (output == null) {
+                    output = arg;
+                } else {
+                    throw new IllegalArgumentException("too many arguments");
+                }
+            }
+            if (input == null) {
+                throw new IllegalArgumentException("no input file");
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println("usage: BulkParseCommand [--format=pipe|csv|json] [--threads=N] [--chunk-size=BYTES] "
+                    + "[--charset=NAME] [--no-trim] [--cache=N] input [output]");
+            return 2;
+        }
+
+        NameParser parser = new HumanNameParser(trim);
+        if (cacheSize > 0) {
+            parser = new CachingNameParser(parser, cacheSize);
+        }
+        BulkParseCommand command = new BulkParseCommand(parser, format, threads, chunkSize, charset);
+        long start = System.nanoTime();
+        try {
+            if (output == null || output.equals("-")) {
+                command.parse(Paths.get(input), stdout);
+                stdout.flush();
+            } else {
+                try (OutputStream out = Files.newOutputStream(Paths.get(output))) {
+                    command.parse(Paths.get(input), out);
+                }
+            }
+        } catch (IOException e) {
+            err.println("failed: " + e);
+            return 1;
+        }
+        long millis = Math.max(1, (System.nanoTime() - start) / 1000000);
+        err.println(String.format(Locale.ROOT, "parsed %d names (%d failed) in %d ms, %d names/sec", command.names,
+                command.failures, millis, command.names * 1000 / millis));
+        return 0;
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    /**
+     * Parses every line of the input and writes them to out in order (out is not closed)
+     * @return how many names were parsed
+     */
+    public long parse(Path input, OutputStream out) throws IOException {
+        names = 0;
+        failures = 0;
+        OutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        buffered.write(format.header().getBytes(charset));
+        ExecutorService workers = Executors.newFixedThreadPool(threads, new WorkerFactory());
+        Deque<Future<Block>> inFlight = new ArrayDeque<>();
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = 0;
+            while (start < size) {
+                long end = chunkEnd(channel, start, size, chunkSize);
+                if (inFlight.size() >= threads * IN_FLIGHT_PER_WORKER) {
+                    write(inFlight.removeFirst(), buffered);
+                }
+                inFlight.addLast(workers.submit(new ParseChunk(channel.map(FileChannel.MapMode.READ_ONLY,
+                        start, end - start))));
+                start = end;
+            }
+            while (!inFlight.isEmpty()) {
+                write(inFlight.removeFirst(), buffered);
+            }
+        } finally {
+            for (Future<Block> pending : inFlight) {
+                pending.cancel(true);
+            }
+            workers.shutdownNow();
+        }
+        buffered.flush();
+        return names;
+    }
+
+    /**
+     * @return the end of the chunk that starts at start: just past the first newline at or after start + chunkSize
+     */
+    static long chunkEnd(FileChannel channel, long start, long size, int chunkSize) throws IOException {
+        long pos = start + chunkSize;
+        if (pos >= size) {
+            return size;
+        }
+        ByteBuffer probe = ByteBuffer.allocate(8192);
+        while (pos < size) {
+            probe.clear();
+            int read = channel.read(probe, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    private void write(Future<Block> next, OutputStream out) throws IOException {
+        Block block;
+        try {
+            block = next.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("failed to parse a chunk", e.getCause());
+        }
+        out.write(block.bytes.array(), block.bytes.arrayOffset() + block.bytes.position(), block.bytes.remaining());
+        names += block.names;
+        failures += block.failures;
+    }
+
+    /**
+     * The output of one chunk
+     */
+    private static final class Block {
+        final ByteBuffer bytes;
+        final int names;
+        final int failures;
+
+        Block(ByteBuffer bytes, int names, int failures) {
+            this.bytes = bytes;
+            this.names = names;
+            this.failures = failures;
+        }
+    }
+
+    private final class ParseChunk implements Callable<Block> {
+        private final MappedByteBuffer mapped;
+
+        ParseChunk(MappedByteBuffer mapped) {
+            this.mapped = mapped;
+        }
+
+        @Override
+        public Block call() throws CharacterCodingException {
+            CharBuffer chars = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .decode(mapped);
+            char[] text = chars.array();
+            int offset = chars.arrayOffset() + chars.position();
+            int end = offset + chars.remaining();
+            StringBuilder sb = output.get();
+            sb.setLength(0);
+            // most lines come out about twice as long as they went in
+            sb.ensureCapacity(chars.remaining() * 2);
+            int names = 0;
+            int failures = 0;
+            int lineStart = offset;
+            while (lineStart < end) {
+                int lineEnd = lineStart;
+                while (lineEnd < end && text[lineEnd] != '\n') {
+                    lineEnd += 1;
+                }
+                int next = lineEnd + 1;
+                if (lineEnd > lineStart && text[lineEnd - 1] == '\r') {
+                    lineEnd -= 1;
+                }
+                String name = new String(text, lineStart, lineEnd - lineStart);
+                SegmentedName seg = null;
+                RuntimeException failure = null;
+                try {
+                    seg = parser.parse(name).getSegmentedView();
+                } catch (RuntimeException e) {
+                    failure = e;
+                    failures += 1;
+                }
+                format.append(sb, name, seg, failure);
+                names += 1;
+                lineStart = next;
+            }
+            CharsetEncoder encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            return new Block(encoder.encode(CharBuffer.wrap(sb)), names, failures);
+        }
+    }
+
+    static final class WorkerFactory implements ThreadFactory {
+        private int count;
+
+        @Override
+        public synchronized Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "name-parser-worker-" + (count++));
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.tupilabs.human_name_parser;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Preconditions;
+
+/**
+ * A bounded cache of parsed names in front of another parser. Names repeat a lot in real data, and a
+ * {@link ParsedName} can't be changed once made, so the same instance is handed to everyone who parses an equal
+ * input.
+ *
+ * The cache is a segmented LRU split into stripes by the hash of the input, each stripe with its own lock. A new
+ * name goes into the probation segment and only moves to the protected segment (80% of the stripe) when it is
+ * hit again; names are always evicted from probation, so a long run of names that are only seen once can't push
+ * out the ones that keep coming back. Parsing on a miss happens outside the lock.
+ *
+ * With whitespace normalization the input is trimmed and each run of whitespace turned into one space before it is
+ * looked up and parsed, so "John  Smith" and "John Smith" share an entry (and the parsed input is the normalized
+ * one).
+ */
+public final class CachingNameParser implements NameParser {
+
+    private static final int MAX_STRIPES = 16;
+    // the share of each stripe that protected entries can take up
+    private static final int PROTECTED_PERCENT = 80;
+
+    private final NameParser delegate;
+    private final boolean normalizeWhitespace;
+    private final Stripe[] stripes;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingNameParser(NameParser delegate, int maximumSize) {
+        this(delegate, maximumSize, false);
+    }
+
+    /**
+     * @param maximumSize the most names kept; this is split evenly over the stripes
+     * @param normalizeWhitespace whether to trim and collapse whitespace before looking up and parsing
+     */
+    public CachingNameParser(NameParser delegate, int maximumSize, boolean normalizeWhitespace) {
+        Preconditions.checkArgument(maximumSize > 0, "maximumSize must be positive: %s", maximumSize);
+        this.delegate = Preconditions.checkNotNull(delegate, "delegate");
+        this.normalizeWhitespace = normalizeWhitespace;
+        int count = 1;
+        // at least a few entries per stripe or the segments mean nothing
+        while (count < MAX_STRIPES && count * 2 * 8 <= maximumSize) {
+            count *= 2;
+        }
+        this.stripes = new Stripe[count];
+        this.mask = count - 1;
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+        }
+    }
+
+    @Override
+    public ParsedName parse(String fullName) {
+        String key = normalizeWhitespace ? CharMatcher.whitespace().trimAndCollapseFrom(fullName, ' ') : fullName;
+        Stripe stripe = stripeFor(key);
+        ParsedName cached = stripe.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        ParsedName parsed = delegate.parse(key);
+        return stripe.put(key, parsed);
+    }
+
+    /**
+     * Drops every cached name (the counters are kept)
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return stripes[(h * 0x9E3779B9) >>> 16 & mask];
+    }
+
+    /**
+     * A point in time snapshot of the counters
+     */
+    public static final class Stats {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int size;
+
+        Stats(long hitCount, long missCount, long evictionCount, int size) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * @return hits over lookups, or 1 when nothing has been looked up yet
+         */
+        public double getHitRate() {
+            long lookups = hitCount + missCount;
+            return lookups == 0 ? 1.0 : (double) hitCount / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                    "hitCount=" + hitCount +
+                    ", missCount=" + missCount +
+                    ", evictionCount=" + evictionCount +
+                    ", size=" + size +
+                    '}';
+        }
+    }
+
+    /**
+     * One lock's worth of the cache: two access ordered maps, eldest first
+     */
+    private final class Stripe {
+        private final int capacity;
+        private final int protectedCapacity;
+        private final LinkedHashMap<String, ParsedName> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<String, ParsedName> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+        Stripe(int capacity) {
+            this.capacity = Math.max(1, capacity);
+            this.protectedCapacity = this.capacity * PROTECTED_PERCENT / 100;
+        }
+
+        synchronized ParsedName get(String key) {
+            ParsedName value = protectedSegment.get(key);
+            if (value != null) {
+                return value;
+            }
+            value = probation.remove(key);
+            if (value != null) {
+                promote(key, value);
+            }
+            return value;
+        }
+
+        /**
+         * @return what is cached for the key after this, which is another thread's result if it got there first
+         */
+        synchronized ParsedName put(String key, ParsedName value) {
+            ParsedName existing = protectedSegment.get(key);
+            if (existing == null) {
+                existing = probation.get(key);
+            }
+            if (existing != null) {
+                return existing;
+            }
+            probation.put(key, value);
+            while (probation.size() + protectedSegment.size() > capacity) {
+                Iterator<Map.Entry<String, ParsedName>> eldest = (probation.isEmpty() ? protectedSegment : probation)
+                        .entrySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+            return value;
+        }
+
+        private void promote(String key, ParsedName value) {
+            if (protectedCapacity == 0) {
+                probation.put(key, value);
+                return;
+            }
+            protectedSegment.put(key, value);
+            if (protectedSegment.size() > protectedCapacity) {
+                // the least recently used protected entry gets one more chance on probation
+                Iterator<Map.Entry<String, ParsedName>> eldest = protectedSegment.entrySet().iterator();
+                Map.Entry<String, ParsedName> demoted = eldest.next();
+                eldest.remove();
+                probation.put(demoted.getKey(), demoted.getValue());
+            }
+        }
+
+        synchronized void clear() {
+            probation.clear();
+            protectedSegment.clear();
+        }
+
+        synchronized int size() {
+            return probation.size() + protectedSegment.size();
+        }
+    }
+}
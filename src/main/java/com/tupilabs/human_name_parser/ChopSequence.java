@@ -52,6 +52,7 @@ public class ChopSequence implements BackedSequence {
         flipRange(0, pivot, length - 1);
     }
 
+    @Override
     public void setCharAt(int index, char newChar) {
         int target = originalIndex(index);
         this.original.setCharAt(target, newChar);
@@ -66,7 +67,7 @@ public class ChopSequence implements BackedSequence {
         int min = Math.min(before, after);
 
         if (after == before) {
-            swap(0, length - min, min);
+            swap(start, endIncl - min + 1, min);
         } else if (after > before) {
             // small is on the left
             int sm = before;
@@ -127,7 +128,7 @@ public class ChopSequence implements BackedSequence {
     void rotateRight(int start, int endIncl, int count) {
         for (int i = 0; i < count; i++) {
             int last = redirect[endIncl];
-            for (int j = endIncl; j > 0; j--) {
+            for (int j = endIncl; j > start; j--) {
                 redirect[j] = redirect[j - 1];
             }
             redirect[start] = last;
@@ -247,6 +248,11 @@ public class ChopSequence implements BackedSequence {
             return ChopSequence.this.subSequence(outerStart, outerEnd);
         }
 
+        @Override
+        public void setCharAt(int index, char newChar) {
+            ChopSequence.this.setCharAt(offset + index, newChar);
+        }
+
         @Override
         public String toString() {
             return ChopSequence.makeString(this);
@@ -0,0 +1,231 @@
+package com.tupilabs.human_name_parser;
+
+/**
+ * One of the regexes of the parse compiled ahead of time into DFAs (the tables are in {@link NameGrammar}). It
+ * finds the same match as java.util.regex would, with lookingAt() for a pattern anchored with ^ and find() for the
+ * others, but it never backtracks. Each char is read at most twice, plus the few that a lookahead reads.
+ *
+ * The forward DFA follows the threads of the pattern in the order that backtracking would try them, as RE2 does.
+ * Once the most preferred thread still going matches, the threads after it are dropped, so the last match seen is
+ * the one that backtracking would have found first. A pattern that ends in a lookahead has states whose match
+ * depends on what comes next. There the lookahead's own DFA is run, and the state goes one of two ways. A pattern
+ * that isn't anchored is run forwards from every start at once to find where the match ends, then backwards from
+ * there to find where it starts.
+ *
+ * Code points are read the way java.util.regex reads them. Each one is put in a class: every ASCII char has its own
+ * entry in a table, and anything else is a line terminator, a letter or neither, which is all the patterns can tell
+ * apart. Matchers hold no state, so one is shared by every parse.
+ */
+final class DfaMatcher {
+
+    static final byte ACCEPT = 1;
+    static final byte LOOKAHEAD = 2;
+
+    private final String regex;
+    private final boolean anchored;
+    private final byte[] asciiClasses;
+    private final int lineTerminatorClass;
+    private final int letterClass;
+    private final int otherClass;
+    private final Dfa forward;
+    // null when the pattern is anchored
+    private final Dfa reverse;
+    // null when the pattern doesn't end in a lookahead
+    private final Dfa lookahead;
+    private final boolean negativeLookahead;
+
+    DfaMatcher(String regex, boolean anchored, byte[] asciiClasses, int lineTerminatorClass, int letterClass,
+               int otherClass, Dfa forward, Dfa reverse, Dfa lookahead, boolean negativeLookahead) {
+        this.regex = regex;
+        this.anchored = anchored;
+        this.asciiClasses = asciiClasses;
+        this.lineTerminatorClass = lineTerminatorClass;
+        this.letterClass = letterClass;
+        this.otherClass = otherClass;
+        this.forward = forward;
+        this.reverse = reverse;
+        this.lookahead = lookahead;
+        this.negativeLookahead = negativeLookahead;
+    }
+
+    /**
+     * @return the first match in seq as start &lt;&lt; 32 | end, or -1 if there isn't one
+     */
+    long find(CharSequence seq) {
+        int length = seq.length();
+        int end = forwardEnd(seq, 0, length);
+        if (end < 0 || anchored) {
+            return end;
+        }
+        return (long) reverseStart(seq, 0, end) << 32 | end;
+    }
+
+    static int start(long match) {
+        return (int) (match >>> 32);
+    }
+
+    static int end(long match) {
+        return (int) match;
+    }
+
+    private int forwardEnd(CharSequence seq, int from, int to) {
+        Dfa dfa = forward;
+        int state = 0;
+        int match = -1;
+        int i = from;
+        while (true) {
+            byte flags = dfa.flags[state];
+            if (flags == ACCEPT) {
+                match = i;
+            } else if (flags == LOOKAHEAD) {
+                if (lookaheadHolds(seq, i, to)) {
+                    match = i;
+                    state = dfa.branches[2 * state];
+                } else {
+                    state = dfa.branches[2 * state + 1];
+                }
+                if (state < 0) {
+                    break;
+                }
+            }
+            if (i >= to) {
+                break;
+            }
+            char c = seq.charAt(i);
+            int cls;
+            if (c < 0x80) {
+                cls = asciiClasses[c];
+                i += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(seq.charAt(i + 1))) {
+                cls = classOf(Character.toCodePoint(c, seq.charAt(i + 1)));
+                i += 2;
+            } else {
+                cls = classOf(c);
+                i += 1;
+            }
+            state = dfa.next[state * dfa.classes + cls];
+            if (state < 0) {
+                break;
+            }
+        }
+        return match;
+    }
+
+    /**
+     * @return the leftmost start from which the pattern matches up to end
+     */
+    private int reverseStart(CharSequence seq, int from, int end) {
+        Dfa dfa = reverse;
+        int state = 0;
+        int start = -1;
+        int i = end;
+        while (true) {
+            if (dfa.flags[state] == ACCEPT) {
+                start = i;
+            }
+            if (i <= from) {
+                break;
+            }
+            char c = seq.charAt(i - 1);
+            int cls;
+            if (c < 0x80) {
+                cls = asciiClasses[c];
+                i -= 1;
+            } else if (Character.isLowSurrogate(c) && i - 2 >= from && Character.isHighSurrogate(seq.charAt(i - 2))) {
+                cls = classOf(Character.toCodePoint(seq.charAt(i - 2), c));
+                i -= 2;
+            } else {
+                cls = classOf(c);
+                i -= 1;
+            }
+            state = dfa.next[state * dfa.classes + cls];
+            if (state < 0) {
+                break;
+            }
+        }
+        return start;
+    }
+
+    private boolean lookaheadHolds(CharSequence seq, int from, int to) {
+        Dfa dfa = lookahead;
+        int state = 0;
+        int i = from;
+        boolean matched = false;
+        while (true) {
+            if (dfa.flags[state] == ACCEPT) {
+                matched = true;
+                break;
+            }
+            if (i >= to) {
+                break;
+            }
+            char c = seq.charAt(i);
+            int cls;
+            if (c < 0x80) {
+                cls = asciiClasses[c];
+                i += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(seq.charAt(i + 1))) {
+                cls = classOf(Character.toCodePoint(c, seq.charAt(i + 1)));
+                i += 2;
+            } else {
+                cls = classOf(c);
+                i += 1;
+            }
+            state = dfa.next[state * dfa.classes + cls];
+            if (state < 0) {
+                break;
+            }
+        }
+        return matched != negativeLookahead;
+    }
+
+    private int classOf(int codePoint) {
+        if (codePoint < 0x80) {
+            return asciiClasses[codePoint];
+        }
+        if (codePoint == 0x85 || codePoint == 0x2028 || codePoint == 0x2029) {
+            return lineTerminatorClass;
+        }
+        return Character.isLetter(codePoint) ? letterClass : otherClass;
+    }
+
+    @Override
+    public String toString() {
+        return "DfaMatcher{" + regex + "}";
+    }
+
+    /**
+     * The tables of one DFA. State 0 is the start, and -1 means there is no way on.
+     *
+     * They come packed into strings, one char per entry, since an array initializer that big would be more code than
+     * a method can have: a state is stored plus one (so no way on is 0) and a flag as it is.
+     */
+    static final class Dfa {
+        final int classes;
+        // next[state * classes + class]
+        final int[] next;
+        // ACCEPT, LOOKAHEAD or 0 for each state
+        final byte[] flags;
+        // for a LOOKAHEAD state s, where to go when the lookahead holds (2s) and when it doesn't (2s + 1); null if
+        // there aren't any
+        final int[] branches;
+
+        Dfa(int classes, String next, String flags, String branches) {
+            this.classes = classes;
+            this.next = unpackStates(next);
+            this.flags = new byte[flags.length()];
+            for (int s = 0; s < flags.length(); s++) {
+                this.flags[s] = (byte) flags.charAt(s);
+            }
+            this.branches = branches == null ? null : unpackStates(branches);
+        }
+
+        private static int[] unpackStates(String packed) {
+            int[] states = new int[packed.length()];
+            for (int i = 0; i < states.length; i++) {
+                states[i] = packed.charAt(i) - 1;
+            }
+            return states;
+        }
+    }
+}
@@ -0,0 +1,467 @@
+package com.tupilabs.human_name_parser;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+
+/**
+ * Checks a parser against golden corpora: files of labelled names in the layout of testNames.txt, the name and
+ * then what it should be segmented into, all separated by '|', in the order leading initial, first, nicknames,
+ * middle, last, suffix, salutation, postnominal. The expected segments are trimmed, as in ParserTest.
+ *
+ * Unlike ParserTest, it goes on past the first mismatch. Every name is checked, and every segment that doesn't
+ * match is written to a diff report and counted by field. Names that fail to parse are reported with the
+ * exception. Blank lines, and lines without nine fields, are counted as skipped.
+ * At the end it prints the counts and how fast the names went through. So one run tells whether a change to the
+ * parser breaks anything and whether it made the parser slower.
+ *
+ * The files are split into chunks and parsed on a pool of threads the way {@link BulkParseCommand} does. The report
+ * still comes out in input order.
+ *
+ * Usage: {@code java com.tupilabs.human_name_parser.GoldenCorpusCommand [options] corpus...}
+ * with the options {@code --report=FILE --threads=N --chunk-size=BYTES --charset=NAME --no-trim}. The report goes
+ * to stdout when there is no report file (or it is "-"), and the summary to stderr. The exit code is 0 when every
+ * name matched, 1 when some didn't and 2 for bad arguments or a corpus that can't be read.
+ */
+public final class GoldenCorpusCommand {
+
+    static final String[] FIELDS = OutputFormat.SEGMENTS;
+    // the name and one per field
+    private static final int COLUMNS = 1 + FIELDS.length;
+    // how many chunks per worker can be checked but not yet reported
+    private static final int IN_FLIGHT_PER_WORKER = 2;
+
+    private final NameParser parser;
+    private final int threads;
+    private final int chunkSize;
+    private final Charset charset;
+
+    public GoldenCorpusCommand(NameParser parser, int threads, int chunkSize, Charset charset) {
+        Preconditions.checkArgument(threads > 0, "threads must be positive: %s", threads);
+        Preconditions.checkArgument(chunkSize > 0, "chunkSize must be positive: %s", chunkSize);
+        this.parser = Preconditions.checkNotNull(parser, "parser");
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+        this.charset = Preconditions.checkNotNull(charset, "charset");
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * @return the exit code
+     */
+    static int run(String[] args, OutputStream stdout, PrintStream err) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunkSize = BulkParseCommand.DEFAULT_CHUNK_SIZE;
+        Charset charset = StandardCharsets.UTF_8;
+        boolean trim = true;
+        String report = null;
+        List<Path> corpora = new ArrayList<>();
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--report=")) {
+                    report = value(arg);
+                } else if (arg.startsWith("--threads=")) {
+                    threads = Integer.parseInt(value(arg));
+                } else if (arg.startsWith("--chunk-size=")) {
+                    chunkSize = Integer.parseInt(value(arg));
+                } else if (arg.startsWith("--charset=")) {
+                    charset = Charset.forName(value(arg));
+                } else if (arg.equals("--no-trim")) {
+                    trim = false;
+                } else if (arg.startsWith("--")) {
+                    throw new IllegalArgumentException("unknown option " + arg);
+                } else {
+                    corpora.add(Paths.get(arg));
+                }
+            }
+            if (corpora.isEmpty()) {
+                throw new IllegalArgumentException("no corpus");
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println("usage: GoldenCorpusCommand [--report=FILE] [--threads=N] [--chunk-size=BYTES] "
+                    + "[--charset=NAME] [--no-trim] corpus...");
+            return 2;
+        }
+
+        GoldenCorpusCommand command = new GoldenCorpusCommand(new HumanNameParser(trim), threads, chunkSize,
+                charset);
+        Result result;
+        try {
+            if (report == null || report.equals("-")) {
+                Writer out = new OutputStreamWriter(stdout, StandardCharsets.UTF_8);
+                result = command.check(corpora, out);
+                out.flush();
+            } else {
+                try (Writer out = Files.newBufferedWriter(Paths.get(report), StandardCharsets.UTF_8)) {
+                    result = command.check(corpora, out);
+                }
+            }
+        } catch (IOException e) {
+            err.println("failed: " + e);
+            return 2;
+        }
+        err.println(result);
+        return result.getMismatchedNames() == 0 ? 0 : 1;
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    /**
+     * Checks every name of the corpora, in order, and writes what didn't match to report (which is not closed)
+     */
+    public Result check(List<Path> corpora, Writer report) throws IOException {
+        Writer out = new BufferedWriter(report, 64 * 1024);
+        Tally tally = new Tally();
+        long start = System.nanoTime();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, new BulkParseCommand.WorkerFactory());
+        Deque<Future<Block>> inFlight = new ArrayDeque<>();
+        try {
+            for (int c = 0; c < corpora.size(); c++) {
+                Path corpus = corpora.get(c);
+                try (FileChannel channel = FileChannel.open(corpus, StandardOpenOption.READ)) {
+                    long size = channel.size();
+                    long chunkStart = 0;
+                    while (chunkStart < size) {
+                        long end = BulkParseCommand.chunkEnd(channel, chunkStart, size, chunkSize);
+                        if (inFlight.size() >= threads * IN_FLIGHT_PER_WORKER) {
+                            report(inFlight.removeFirst(), tally, out);
+                        }
+                        inFlight.addLast(workers.submit(new CheckChunk(c, corpus, channel.map(
+                                FileChannel.MapMode.READ_ONLY, chunkStart, end - chunkStart))));
+                        chunkStart = end;
+                    }
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                report(inFlight.removeFirst(), tally, out);
+            }
+        } finally {
+            for (Future<Block> pending : inFlight) {
+                pending.cancel(true);
+            }
+            workers.shutdownNow();
+        }
+        out.flush();
+        return new Result(tally.names, tally.skipped, tally.failures, tally.mismatchedNames, tally.mismatches,
+                System.nanoTime() - start, tally.parseNanos);
+    }
+
+    /**
+     * Writes out the mismatches of the next chunk, numbering its lines on from the chunks before it
+     */
+    private void report(Future<Block> next, Tally tally, Writer out) throws IOException {
+        Block block;
+        try {
+            block = next.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("failed to check a chunk", e.getCause());
+        }
+        if (block.corpusIndex != tally.corpusIndex) {
+            tally.corpusIndex = block.corpusIndex;
+            tally.lines = 0;
+        }
+        for (Mismatch mismatch : block.mismatches) {
+            out.write(block.corpus.toString());
+            out.write(':');
+            out.write(Long.toString(tally.lines + mismatch.line));
+            out.write(": ");
+            out.write(mismatch.name);
+            out.write('\n');
+            if (mismatch.failure != null) {
+                out.write("    error: " + mismatch.failure + "\n");
+            }
+            for (int f = 0; f < FIELDS.length; f++) {
+                if (mismatch.actual[f] != null) {
+                    out.write("    " + FIELDS[f] + ": expected '" + mismatch.expected[f] + "' but was '"
+                            + mismatch.actual[f] + "'\n");
+                }
+            }
+        }
+        tally.lines += block.lines;
+        tally.names += block.names;
+        tally.skipped += block.skipped;
+        tally.failures += block.failures;
+        tally.mismatchedNames += block.mismatches.size();
+        tally.parseNanos += block.parseNanos;
+        for (int f = 0; f < FIELDS.length; f++) {
+            tally.mismatches[f] += block.mismatchCounts[f];
+        }
+    }
+
+    /**
+     * The counts so far, kept by the thread that writes the report
+     */
+    private static final class Tally {
+        int corpusIndex = -1;
+        // the lines of the corpus before the next chunk
+        long lines;
+        long names;
+        long skipped;
+        long failures;
+        long mismatchedNames;
+        long parseNanos;
+        final long[] mismatches = new long[FIELDS.length];
+    }
+
+    /**
+     * A name that didn't come out as labelled; actual is null for the fields that matched
+     */
+    private static final class Mismatch {
+        // within the chunk, from 1
+        final int line;
+        final String name;
+        final String[] expected;
+        final String[] actual;
+        final RuntimeException failure;
+
+        Mismatch(int line, String name, String[] expected, String[] actual, RuntimeException failure) {
+            this.line = line;
+            this.name = name;
+            this.expected = expected;
+            this.actual = actual;
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * What was found in one chunk
+     */
+    private static final class Block {
+        final int corpusIndex;
+        final Path corpus;
+        final List<Mismatch> mismatches = new ArrayList<>();
+        final long[] mismatchCounts = new long[FIELDS.length];
+        int lines;
+        int names;
+        int skipped;
+        int failures;
+        long parseNanos;
+
+        Block(int corpusIndex, Path corpus) {
+            this.corpusIndex = corpusIndex;
+            this.corpus = corpus;
+        }
+    }
+
+    private final class CheckChunk implements Callable<Block> {
+        private final int corpusIndex;
+        private final Path corpus;
+        private final MappedByteBuffer mapped;
+
+        CheckChunk(int corpusIndex, Path corpus, MappedByteBuffer mapped) {
+            this.corpusIndex = corpusIndex;
+            this.corpus = corpus;
+            this.mapped = mapped;
+        }
+
+        @Override
+        public Block call() throws IOException {
+            CharBuffer chars = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .decode(mapped);
+            char[] text = chars.array();
+            int offset = chars.arrayOffset() + chars.position();
+            int end = offset + chars.remaining();
+            Block block = new Block(corpusIndex, corpus);
+            String[] columns = new String[COLUMNS];
+            int lineStart = offset;
+            while (lineStart < end) {
+                int lineEnd = lineStart;
+                while (lineEnd < end && text[lineEnd] != '\n') {
+                    lineEnd += 1;
+                }
+                int next = lineEnd + 1;
+                if (lineEnd > lineStart && text[lineEnd - 1] == '\r') {
+                    lineEnd -= 1;
+                }
+                block.lines += 1;
+                if (split(text, lineStart, lineEnd, columns)) {
+                    check(block, columns);
+                } else {
+                    block.skipped += 1;
+                }
+                lineStart = next;
+            }
+            return block;
+        }
+
+        /**
+         * Splits a line on '|' into columns, trimmed
+         * @return false if the line is blank or doesn't have a column for each field
+         */
+        private boolean split(char[] text, int start, int end, String[] columns) {
+            int count = 0;
+            int columnStart = start;
+            for (int i = start; i <= end; i++) {
+                if (i == end || text[i] == '|') {
+                    if (count == COLUMNS) {
+                        return false;
+                    }
+                    columns[count] = new String(text, columnStart, i - columnStart).trim();
+                    count += 1;
+                    columnStart = i + 1;
+                }
+            }
+            return count == COLUMNS && !columns[0].isEmpty();
+        }
+
+        private void check(Block block, String[] columns) {
+            String name = columns[0];
+            block.names += 1;
+            SegmentedName seg = null;
+            RuntimeException failure = null;
+            long start = System.nanoTime();
+            try {
+                seg = parser.parse(name).getSegmentedView();
+            } catch (RuntimeException e) {
+                failure = e;
+                block.failures += 1;
+            }
+            block.parseNanos += System.nanoTime() - start;
+            String[] actual = null;
+            for (int f = 0; f < FIELDS.length; f++) {
+                String expected = columns[1 + f];
+                String got = seg == null ? "" : Strings.nullToEmpty(OutputFormat.segment(seg, f));
+                if (!expected.equals(got)) {
+                    if (actual == null) {
+                        actual = new String[FIELDS.length];
+                    }
+                    actual[f] = got;
+                    block.mismatchCounts[f] += 1;
+                }
+            }
+            if (actual != null || failure != null) {
+                String[] expected = new String[FIELDS.length];
+                System.arraycopy(columns, 1, expected, 0, FIELDS.length);
+                block.mismatches.add(new Mismatch(block.lines, name, expected,
+                        actual == null ? new String[FIELDS.length] : actual, failure));
+            }
+        }
+    }
+
+    /**
+     * What a check of the corpora found
+     */
+    public static final class Result {
+        private final long names;
+        private final long skipped;
+        private final long failures;
+        private final long mismatchedNames;
+        private final long[] mismatches;
+        private final long elapsedNanos;
+        private final long parseNanos;
+
+        Result(long names, long skipped, long failures, long mismatchedNames, long[] mismatches, long elapsedNanos,
+               long parseNanos) {
+            this.names = names;
+            this.skipped = skipped;
+            this.failures = failures;
+            this.mismatchedNames = mismatchedNames;
+            this.mismatches = mismatches.clone();
+            this.elapsedNanos = elapsedNanos;
+            this.parseNanos = parseNanos;
+        }
+
+        public long getNames() {
+            return names;
+        }
+
+        /**
+         * @return the lines that were blank or didn't have every field
+         */
+        public long getSkipped() {
+            return skipped;
+        }
+
+        /**
+         * @return the names the parser threw on
+         */
+        public long getFailures() {
+            return failures;
+        }
+
+        /**
+         * @return the names with at least one field that didn't match, or that failed to parse
+         */
+        public long getMismatchedNames() {
+            return mismatchedNames;
+        }
+
+        /**
+         * @param field one of leadingInit, first, nicknames, middle, last, suffix, salutation, postnominal
+         * @return the names where that field didn't match
+         */
+        public long getMismatches(String field) {
+            for (int f = 0; f < FIELDS.length; f++) {
+                if (FIELDS[f].equals(field)) {
+                    return mismatches[f];
+                }
+            }
+            throw new IllegalArgumentException("Dont know field " + field);
+        }
+
+        /**
+         * @return the names checked per second of the whole run, reading and reporting included
+         */
+        public double getNamesPerSecond() {
+            return names * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * @return the names parsed per second of a thread's time in the parser, which doesn't depend on how many
+         * threads there were or how fast the corpus could be read
+         */
+        public double getParsesPerThreadSecond() {
+            return parseNanos == 0 ? 0 : names * 1e9 / parseNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "%d names, %d mismatched (%d failed), "
+                    + "%d lines skipped, %.0f names/sec, %.0f parses/sec per thread", names, mismatchedNames,
+                    failures, skipped, getNamesPerSecond(), getParsesPerThreadSecond()));
+            for (int f = 0; f < FIELDS.length; f++) {
+                if (mismatches[f] > 0) {
+                    sb.append("\n    ").append(FIELDS[f]).append(": ").append(mismatches[f]);
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -1,17 +1,12 @@
 package com.tupilabs.human_name_parser;
 
-import static org.apache.commons.lang3.StringUtils.indexOf;
-
+import java.nio.CharBuffer;
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.apache.commons.lang3.StringUtils;
-
 import com.google.common.base.CharMatcher;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 
 /**
  * Ok fine I give up. I'm going to go ahead and refactor the original code to at least make it useable by syngen
@@ -19,231 +14,645 @@ import com.google.common.collect.Lists;
  * intelligence, it's still a naive name parser based on simple regular expressions
  *
  * Usage:
- * Construct a new parser then call {@link #parse(String)} which returns a ParsedName which has each token detected
+ * Construct a new parser (or get a shared one from {@link ParserRegistry}) then call {@link #parse(String)} which returns a ParsedName which has each token detected
  * and its correpsonding labels. If you want to collapse/segment those tagged strings then call
  * {@link ParsedName#toSegmented()} to get a segmented name back
+ *
+ * Parsers are immutable and thread safe: a single instance can be called from many threads at once.
  */
-public class HumanNameParser {
+public class HumanNameParser implements NameParser {
 
     private static final CharMatcher WS = CharMatcher.whitespace();
-    private static final Pattern MULTI_WS = Pattern.compile("\\s{2,}");
     private static final CharMatcher TRIM_CHARS = CharMatcher.anyOf("()\"',;*\\/| ");
+    private static final Stage[] STAGES = Stage.values();
 
-    private final Pattern nicknamesPat;
-    private final Pattern postnominalPat;
-    private final Pattern suffixPat;
-    private final Pattern lastPat;
-    private final Pattern salutationsPat;
-    private final Pattern leadingInitPat;
-    private final Pattern firstPat;
-    private final Pattern middlePat;
-    private final Pattern middleInitPat;
+    private final ParserConfig config;
+    private final Lexicon salutations;
+    private final Lexicon suffixes;
+    private final Lexicon postnominals;
+    private final Lexicon prefixes;
     private final boolean trimTokens;
+    // null unless the config fingerprints names
+    private final NameFingerprinter fingerprinter;
+    // null unless metrics were asked for
+    private final ParserMetrics metrics;
+    // null unless there is someone listening
+    private final ParseListener listener;
+
+    /**
+     * The steps that {@link #parse(String)} runs, in the order that it runs them. Each one chops at most one
+     * match out of the work, except the comma flip (which only reorders) and the middle names (which repeat until
+     * nothing else matches)
+     */
+    public enum Stage {
+        Nickname,
+        Postnominal,
+        Suffix,
+        CommaFlip,
+        Last,
+        Salutation,
+        LeadingInit,
+        First,
+        Middle
+    }
+
+    /**
+     * The rules that are still regexes. Everything matched is chopped out, and each one relies on the ones before it
+     * having been run. The rules that need the lexicons are scans in NameRules rather than regexes, so that they
+     * don't have to try every entry of the lexicon as a branch of an alternation. The parse doesn't run these
+     * patterns: it runs the DFAs that NameGrammar has for them, which are generated from them ahead of time
+     */
+    enum Rule {
+        // names that starts or end w/ an apostrophe break this
+        Nickname("(?:(['*\"|\\\\]{1,2})([a-z A-Z']+?)\\1|\\((['*\"|\\\\]{1,2})([a-z A-Z']+?)\\3\\)|\\(([a-z A-Z']+?)\\))", false),
+        // note the lookahead, which isn't returned or replaced
+        LeadingInit("(^(.\\.*)(?= \\p{L}{2}))", true),
+        First("^([^ ]+)", true),
+        Middle("^(\\w{2,})", true),
+        MiddleInitial("^(\\w\\.?)(?!\\w)", true);
+
+        final Pattern pattern;
+        // whether the pattern can only match at the start, with lookingAt() rather than find()
+        final boolean anchored;
+
+        Rule(String regex, boolean anchored) {
+            this.pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+            this.anchored = anchored;
+        }
+    }
 
     public HumanNameParser() {this(true);}
 
     public HumanNameParser(boolean trimTokens) {
-        List<String> salutations1 = Arrays.asList("mr", "master", "mister",
-                "mrs", "miss", "ms", "dr", "prof", "rev", "fr", "judge", "honorable", "hon");
-        List<String> suffixes1 = Arrays.asList("jr", "sr", "2", "ii",
-                "iii", "iv", "v", "senior", "junior", "2d", "2nd", "3d", "3rd", "4th");
-        List<String> postnominals1 = Arrays.asList("phd", "ph.d.", "ph.d",
-                "esq", "esquire", "apr", "rph", "pe", "md", "ma", "dmd", "cme",
-                "dds", "cpa", "dvm", "rdh", "r.d.h.", "d.d.s.", "d.m.d.");
-        List<String> prefixes1 = Arrays.asList("bar", "ben", "bin", "da", "dal",
-                "de la", "de", "del", "der", "di", "ibn", "la", "le",
-                "san", "st", "ste", "van", "van der", "van den", "vel",
-                "von");
-
-        String suffixes = StringUtils.join(suffixes1, "\\.*|") + "\\.*";
-        String postnominals = StringUtils.join(postnominals1, "\\.*|") + "\\.*";
-        String salutations = StringUtils.join(salutations1, "\\.*|") + "\\.*";
-        String prefixes = StringUtils.join(prefixes1, " |") + " ";
-
-        // The regex use is a bit tricky.  *Everything* matched by the regex will be replaced,
-        // but you can select a particular parenthesized submatch to be returned.
-        // Also, note that each regex requires that the preceding ones have been run, and matches chopped out.
-        String nicknamesRegex = "(?:(['*\"|\\\\]{1,2})([a-z A-Z']+?)\\1|\\((['*\"|\\\\]{1,2})([a-z A-Z']+?)\\3\\)|\\(([a-z A-Z']+?)\\))"; // names that starts or end w/ an apostrophe break this
-        String postnominalRegex = "[,| ]+((" + postnominals + ")$)";
-        String suffixRegex = "[,| ]+((" + suffixes + ")$)";
-        String lastRegex = "(?!^)\\b([^ ]+ y |" + prefixes + ")*[^ ]+$";
-        String salutationsRegex = "^(" + salutations + "\\b)(\\.|\\s)+"; //salutation plus a word boundary \b
-        String leadingInitRegex = "(^(.\\.*)(?= \\p{L}{2}))"; // note the lookahead, which isn't returned or replaced
-        String firstRegex = "^([^ ]+)";
-        String middleRegex = "^(\\w{2,})";
-        String middleInitRegex = "^(\\w\\.?)(?!\\w)";
-
-        nicknamesPat = Pattern.compile(nicknamesRegex, Pattern.CASE_INSENSITIVE);
-        postnominalPat = Pattern.compile(postnominalRegex, Pattern.CASE_INSENSITIVE);
-        suffixPat = Pattern.compile(suffixRegex, Pattern.CASE_INSENSITIVE);
-        lastPat = Pattern.compile(lastRegex, Pattern.CASE_INSENSITIVE);
-        salutationsPat = Pattern.compile(salutationsRegex, Pattern.CASE_INSENSITIVE);
-        leadingInitPat = Pattern.compile(leadingInitRegex, Pattern.CASE_INSENSITIVE);
-        firstPat = Pattern.compile(firstRegex, Pattern.CASE_INSENSITIVE);
-        middlePat = Pattern.compile(middleRegex, Pattern.CASE_INSENSITIVE);
-        middleInitPat = Pattern.compile(middleInitRegex, Pattern.CASE_INSENSITIVE);
-        this.trimTokens = trimTokens;
+        this(ParserConfig.builder().trimTokens(trimTokens).build());
+    }
+
+    /**
+     * A parser that looks up salutations, suffixes, postnominals and surname prefixes in the given lexicons
+     * instead of the built in ones
+     */
+    public HumanNameParser(boolean trimTokens, Lexicon salutations, Lexicon suffixes, Lexicon postnominals,
+                           Lexicon prefixes) {
+        this(ParserConfig.builder()
+                .trimTokens(trimTokens)
+                .salutations(salutations)
+                .suffixes(suffixes)
+                .postnominals(postnominals)
+                .prefixes(prefixes)
+                .build());
+    }
+
+    /**
+     * A parser for the given config. Parsers hold no state between calls, so one instance can be shared by any
+     * number of threads; see {@link ParserRegistry} to share one parser per distinct config
+     */
+    public HumanNameParser(ParserConfig config) {
+        this(config, null);
+    }
+
+    /**
+     * A parser for the given config that records what it does in metrics (which can be shared by several
+     * parsers), or doesn't when metrics is null
+     */
+    public HumanNameParser(ParserConfig config, ParserMetrics metrics) {
+        this(config, metrics, null);
     }
 
+    /**
+     * A parser that also hands a trace of each parse to listener, or doesn't when listener is null
+     */
+    public HumanNameParser(ParserConfig config, ParserMetrics metrics, ParseListener listener) {
+        this.config = config;
+        this.metrics = metrics;
+        this.listener = listener;
+        this.salutations = config.getSalutations();
+        this.suffixes = config.getSuffixes();
+        this.postnominals = config.getPostnominals();
+        this.prefixes = config.getPrefixes();
+        this.trimTokens = config.isTrimTokens();
+        this.fingerprinter = config.fingerprinter();
+    }
+
+    public ParserConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * @return the metrics this parser records into, or null
+     */
+    public ParserMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return the listener this parser traces to, or null
+     */
+    public ParseListener getListener() {
+        return listener;
+    }
+
+    @Override
     public ParsedName parse(String fullName) {
+        return parse(fullName, ParseContext.forCurrentThread(fullName.length()));
+    }
+
+    /**
+     * Parses fullName in place rather than making a string of it first; the result reads its tokens from
+     * fullName, so see {@link ParsedName} for how long fullName has to stay the same
+     */
+    @Override
+    public ParsedName parse(CharSequence fullName) {
+        return parse(fullName, ParseContext.forCurrentThread(fullName.length()));
+    }
 
-        ParseWork work = new ParseWork(fullName);
-        chopWithRegex(work, nicknamesPat, 0, Label.Nickname);
-        chopWithRegex(work, postnominalPat, 0, Label.Postnominal);
-        chopWithRegex(work, suffixPat, 0, Label.Suffix);
+    /**
+     * Parses buf[off, off + len) in place; the result reads its tokens from buf, so see {@link ParsedName} for how
+     * long that part of buf has to stay the same
+     */
+    @Override
+    public ParsedName parse(char[] buf, int off, int len) {
+        return parse(CharBuffer.wrap(buf, off, len));
+    }
 
+    /**
+     * Parses in the given context, reusing its buffers; the context must not be in use by another thread
+     * @throws ParseException if the name is over the limits of the config or the parse runs over its budget
+     */
+    public ParsedName parse(CharSequence fullName, ParseContext context) {
+        if (metrics != null || listener != null) {
+            return parseObserved(fullName, context);
+        }
+        ParseWork work = start(fullName, context);
+        try {
+            for (Stage stage : STAGES) {
+                runStage(work, stage);
+                work.checkBudget();
+            }
+            return makeParsedNameFrom(work, trimTokens, fingerprinter);
+        } finally {
+            work.release();
+        }
+    }
+
+    private ParseWork start(CharSequence fullName, ParseContext context) {
+        config.checkLimits(fullName);
+        ParseWork work = context.work;
+        work.reset(fullName, context);
+        if (config.hasBudget()) {
+            work.startBudget(config.getMaxSteps(), config.getTimeBudgetNanos());
+        }
+        return work;
+    }
+
+    /**
+     * The parse with metrics and/or a listener; stages are only timed one by one when the listener wants a trace
+     */
+    private ParsedName parseObserved(CharSequence fullName, ParseContext context) {
+        ParseTrace trace = listener != null && listener.shouldTrace(fullName) ? context.trace : null;
+        if (trace != null) {
+            // traces get the input as a string, so it is only copied for a parse that is traced
+            trace.begin(fullName == null ? null : fullName.toString());
+        }
+        long start = System.nanoTime();
+        ParsedName parsed = null;
+        RuntimeException failure = null;
+        ParseWork work = context.work;
+        try {
+            start(fullName, context);
+            for (Stage stage : STAGES) {
+                boolean matched;
+                if (trace == null) {
+                    matched = runStage(work, stage);
+                } else {
+                    matched = runTracedStage(work, stage, trace);
+                }
+                if (matched && metrics != null) {
+                    metrics.stageHit(stage);
+                }
+                work.checkBudget();
+            }
+            parsed = makeParsedNameFrom(work, trimTokens, fingerprinter);
+            return parsed;
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            work.release();
+            long nanos = System.nanoTime() - start;
+            int length = fullName == null ? 0 : fullName.length();
+            if (metrics != null) {
+                if (failure == null) {
+                    metrics.parsed(parsed, length, nanos);
+                } else {
+                    metrics.failed(failure, length);
+                }
+            }
+            if (trace != null) {
+                trace.end(parsed, failure, nanos);
+                listener.parsed(trace);
+            }
+        }
+    }
+
+    private boolean runTracedStage(ParseWork work, Stage stage, ParseTrace trace) {
+        work.clearMarkedSpan();
+        long start = System.nanoTime();
+        boolean matched = false;
+        try {
+            matched = runStage(work, stage);
+            return matched;
+        } finally {
+            trace.stage(stage, matched, work.markedStart, work.markedEnd, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Parses the names in parallel on the common fork/join pool; see {@link BatchParser} to pick the pool
+     * @return the parsed names in input order along with any names that failed
+     */
+    public BatchResult parseAll(List<String> names) {
+        return new BatchParser(this).parseAll(names);
+    }
+
+    /**
+     * Parses names[i] into out[i] in parallel on the common fork/join pool (out[i] is null when it fails)
+     * @return the failures in input order
+     */
+    public List<ParseFailure> parseAll(String[] names, ParsedName[] out) {
+        return new BatchParser(this).parseAll(names, out);
+    }
+
+    /**
+     * Runs a single step of the parse against the work; returns true if the step changed anything
+     */
+    boolean runStage(ParseWork work, Stage stage) {
+        CharSequence seq = work.read();
+        switch (stage) {
+            case Nickname:
+                return chop(work, Rule.Nickname, Label.Nickname);
+            case Postnominal:
+                return chopAtEnd(work, NameRules.listedAtEnd(seq, 0, seq.length(), postnominals),
+                        Label.Postnominal);
+            case Suffix:
+                return chopAtEnd(work, NameRules.listedAtEnd(seq, 0, seq.length(), suffixes),
+                        Label.Suffix);
+            case CommaFlip:
+                return flipAroundComma(work);
+            case Last:
+                return chopAtEnd(work, NameRules.lastStart(seq, 0, seq.length(), prefixes, work.context),
+                        Label.Last);
+            case Salutation:
+                return chopAtStart(work, NameRules.salutationEnd(seq, 0, seq.length(), salutations),
+                        Label.Salutation);
+            case LeadingInit:
+                return chop(work, Rule.LeadingInit, Label.FirstInitial);
+            case First:
+                return chop(work, Rule.First, Label.First);
+            case Middle:
+                return chopMiddles(work);
+            default:
+                throw new IllegalArgumentException("Dont know how to run stage " + stage);
+        }
+    }
+
+    private boolean flipAroundComma(ParseWork work) {
         // flip the before-comma and after-comma parts of the name
-        int commaIndex = indexOf(work.current, ",");
-        if (commaIndex >= 0) {
-            work.current.flip(commaIndex);
-            // now remove the comma, which likely moved
-            commaIndex = indexOf(work.current, ",");
-            // we want to make this comma a space for the purpose of regexes; this will be marked by trim later
-            work.current.setCharAt(commaIndex, ' ');
+        int commaIndex = indexOf(work.read(), ',');
+        if (commaIndex < 0) {
+            return false;
         }
+        work.current.flip(commaIndex);
+        work.normalized = false;
+        // now remove the comma, which likely moved
+        commaIndex = indexOf(work.read(), ',');
+        // we want to make this comma a space for the purpose of regexes; this will be marked by trim later
+        work.current.setCharAt(commaIndex, ' ');
+        return true;
+    }
 
-        chopWithRegex(work, lastPat, 0, Label.Last);
-        chopWithRegex(work, salutationsPat, 0, Label.Salutation);
-        chopWithRegex(work, leadingInitPat, 0, Label.FirstInitial);
-        chopWithRegex(work, firstPat, 0, Label.First);
+    private static int indexOf(CharSequence seq, char c) {
+        for (int i = 0; i < seq.length(); i++) {
+            if (seq.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
 
+    private boolean chopMiddles(ParseWork work) {
+        boolean matchedAny = false;
         boolean matchedLast;
         do {
-            matchedLast = chopWithRegex(work, middleInitPat, 0, Label.MiddleInitial);
-            matchedLast |= chopWithRegex(work, middlePat, 0, Label.Middle);
+            matchedLast = chop(work, Rule.MiddleInitial, Label.MiddleInitial);
+            matchedLast |= chop(work, Rule.Middle, Label.Middle);
+            matchedAny |= matchedLast;
         } while (matchedLast);
-
-        return makeParsedNameFrom(work, trimTokens);
+        return matchedAny;
     }
 
     static ParsedName makeParsedNameFrom(ParseWork work, boolean trimTokens) {
-        List<String> tokens = Lists.newArrayList();
-        List<Label> labels = Lists.newArrayList();
-        // splt seq out
-        Preconditions.checkState(work.fullString.length() == work.posToLabel.length);
-        Label label = null;
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < work.fullString.length(); i++) {
-            char c = work.fullString.charAt(i);
-            Label next = work.posToLabel[i];
-            if (next != label) {
-                if (label != null) {
-                    String lastToken = sb.toString();
-                    if (label != Label.Whitespace) {
-                        if (trimTokens) {
-                            lastToken = TRIM_CHARS.trimFrom(lastToken);
-                        }
-                        tokens.add(lastToken);
-                        labels.add(label);
-                    }
-                    sb.delete(0, sb.length());
-                }
-                label = next;
+        return makeParsedNameFrom(work, trimTokens, null);
+    }
+
+    static ParsedName makeParsedNameFrom(ParseWork work, boolean trimTokens, NameFingerprinter fingerprinter) {
+        return work.spans.toParsedName(work.input, trimTokens, fingerprinter);
+    }
+
+    /**
+     * Splits the name into runs of the same label; posToLabel can be longer than the name (when it is a reused
+     * buffer) and only the labels of the chars of the name are read. The tokens are kept as offsets into the name
+     * so nothing is copied here
+     */
+    static ParsedName makeParsedNameFrom(CharSequence fullString, Label[] posToLabel, boolean trimTokens,
+                                         NameFingerprinter fingerprinter) {
+        int len = fullString.length();
+        Preconditions.checkState(len <= posToLabel.length);
+        int count = 0;
+        for (int i = 0; i < len; i++) {
+            if (posToLabel[i] != Label.Whitespace && (i == 0 || posToLabel[i - 1] != posToLabel[i])) {
+                count += 1;
             }
-            sb.append(c);
         }
-        // might have some buffer left over
-        if (sb.length() > 0) {
-            String lastToken = sb.toString();
-            if (label != null && label != Label.Whitespace) {
-                if (trimTokens) {
-                    lastToken = TRIM_CHARS.trimFrom(lastToken);
-                }
-                tokens.add(lastToken);
-                labels.add(label);
+        int[] offsets = new int[count * 2];
+        byte[] labels = new byte[count];
+        int token = 0;
+        int start = 0;
+        while (start < len) {
+            Label label = posToLabel[start];
+            int end = start + 1;
+            while (end < len && posToLabel[end] == label) {
+                end += 1;
+            }
+            if (label != Label.Whitespace) {
+                setToken(fullString, start, end, trimTokens, offsets, token);
+                labels[token] = (byte) label.ordinal();
+                token += 1;
             }
+            start = end;
+        }
+
+        if (fingerprinter != null) {
+            return fingerprinter.toParsedName(fullString, offsets, labels);
         }
+        return new ParsedName(fullString, offsets, labels);
+    }
 
-        return new ParsedName(work.fullString, tokens, labels);
+    /**
+     * Sets token to fullString[start, end), less the quotes, parens and the like around it if trimTokens
+     */
+    static void setToken(CharSequence fullString, int start, int end, boolean trimTokens, int[] offsets,
+                         int token) {
+        if (trimTokens) {
+            while (start < end && TRIM_CHARS.matches(fullString.charAt(start))) {
+                start += 1;
+            }
+            while (end > start && TRIM_CHARS.matches(fullString.charAt(end - 1))) {
+                end -= 1;
+            }
+        }
+        offsets[2 * token] = start;
+        offsets[2 * token + 1] = end;
     }
 
-    boolean chopWithRegex(ParseWork work, Pattern pattern, int group, Label label) {
-        Matcher matcher = pattern.matcher(work.current);
-        if (matcher.find()) {
-            Preconditions.checkState(matcher.groupCount() > group, "wrong group match %s in pattern %s", work, pattern, group);
-            work.mark(matcher.start(group), matcher.end(group) - 1, label);
-            work.remove(matcher.start(), matcher.end() - 1);
-            work.normalizeCurrent();
-            return true;
+    /**
+     * Chops the first match of the rule out of the current work, if there is one
+     */
+    boolean chop(ParseWork work, Rule rule, Label label) {
+        long match = NameGrammar.RULES[rule.ordinal()].find(work.read());
+        if (match < 0) {
+            return false;
         }
-        return false;
+        int start = DfaMatcher.start(match);
+        int end = DfaMatcher.end(match);
+        work.mark(start, end - 1, label);
+        work.remove(start, end - 1);
+        work.normalizeCurrent();
+        return true;
+    }
+
+    /**
+     * Chops from start (if there was a match) to the end of the current work
+     */
+    private boolean chopAtEnd(ParseWork work, int start, Label label) {
+        if (start < 0) {
+            return false;
+        }
+        int endIncl = work.current.length() - 1;
+        work.mark(start, endIncl, label);
+        work.remove(start, endIncl);
+        work.normalizeCurrent();
+        return true;
+    }
+
+    /**
+     * Chops from the start of the current work up to end (if there was a match)
+     */
+    private boolean chopAtStart(ParseWork work, int end, Label label) {
+        if (end < 0) {
+            return false;
+        }
+        work.mark(0, end - 1, label);
+        work.remove(0, end - 1);
+        work.normalizeCurrent();
+        return true;
     }
 
     static class ParseWork {
-        final String fullString;
-        final Label[] posToLabel;
-        final ChopSequence current;
+        // the name being parsed; the caller's chars, which are only read
+        CharSequence input;
+        // the labels so far, in input indexes
+        final LabelSpans spans = new LabelSpans();
+        final PieceTableSequence current = new PieceTableSequence("");
+        // what the stages read instead of current when the parse has a budget
+        final ParseBudget budget = new ParseBudget(current);
+        boolean budgeted;
+        ParseContext context;
+        // the lowest and one past the highest char of the input marked since clearMarkedSpan, or -1
+        int markedStart = -1;
+        int markedEnd = -1;
+        // whether current has no leading, trailing or doubled spaces apart from around removedAt
+        boolean normalized;
+        // where the last remove was in current
+        private int removedAt;
+        // the runs of spaces that a full normalize drops, two ints per run
+        private int[] runs = new int[16];
+
+        ParseWork() {
+        }
 
         ParseWork(String fullString) {
-            this.fullString = fullString;
-            posToLabel = new Label[fullString.length()];
-            for (int i = 0; i < fullString.length(); i++) {
-                posToLabel[i] = Label.Unknown;
+            reset(fullString, new ParseContext());
+        }
+
+        void reset(CharSequence input, ParseContext context) {
+            this.input = input;
+            this.context = context;
+            spans.clear();
+            current.reset(input);
+            normalized = false;
+            budgeted = false;
+            clearMarkedSpan();
+        }
+
+        /**
+         * Lets go of the input once the parse is done, so that the caller's chars (a char[] or a big buffer that
+         * names were parsed out of) aren't kept reachable by a context that is pooled per thread
+         */
+        void release() {
+            input = null;
+            current.reset("");
+        }
+
+        void startBudget(long maxSteps, long timeBudgetNanos) {
+            budget.start(maxSteps, timeBudgetNanos);
+            budgeted = true;
+        }
+
+        /**
+         * @return what the stages scan: current, or current through the budget when the parse has one so that
+         * every char any stage reads is counted
+         */
+        CharSequence read() {
+            return budgeted ? budget : current;
+        }
+
+        void checkBudget() {
+            if (budgeted) {
+                budget.check();
             }
-            this.current = new ChopSequence(fullString);
+        }
+
+        void clearMarkedSpan() {
+            markedStart = -1;
+            markedEnd = -1;
         }
 
         public void remove(int startIncl, int endIncl) {
             current.remove(startIncl, endIncl + 1); // incl to excl
+            removedAt = startIncl;
         }
 
         public void normalizeCurrent() {
-            if (current.length() == 0) return;
-
-            while (current.length() > 0) {
-                if (current.charAt(0) == ' ') {
-                    markFromCurrent(0);
-                    current.remove(0, 1);
-                } else {
-                    break;
-                }
+            if (normalized) {
+                normalizeAroundRemove();
+                return;
             }
-            while (current.length() > 0) {
-                int len = current.length();
-                if (current.charAt(len - 1) == ' ') {
-                    markFromCurrent(len - 1);
-                    current.remove(len - 1, len);
-                } else {
-                    break;
-                }
+            normalized = true;
+            // every run of spaces to drop is collected and then removed in one go, so a long name with lots of
+            // runs is one pass over the pieces rather than one per run
+            int length = current.length();
+            int count = 0;
+            int start = 0;
+            while (start < length && current.charAt(start) == ' ') {
+                start += 1;
+            }
+            if (start > 0) {
+                count = addRun(count, 0, start);
+            }
+            int end = length;
+            while (end > start && current.charAt(end - 1) == ' ') {
+                end -= 1;
             }
-            int i = 0;
-            boolean inWs = false;
-            while (i < current.length()) {
+            int i = start;
+            while (i < end) {
                 if (current.charAt(i) == ' ') {
-                    if (inWs) {
-                        markFromCurrent(i);
-                        current.remove(i, i + 1);
-                        continue; // dont increment
-                    } else {
-                        inWs = true;
+                    // keep the first space of the run
+                    int runEnd = i + 1;
+                    while (runEnd < end && current.charAt(runEnd) == ' ') {
+                        runEnd += 1;
                     }
+                    if (runEnd > i + 1) {
+                        count = addRun(count, i + 1, runEnd);
+                    }
+                    i = runEnd;
                 } else {
-                    inWs = false;
+                    i += 1;
                 }
-                i += 1;
             }
+            if (end < length) {
+                count = addRun(count, end, length);
+            }
+            for (int r = 0; r < count; r++) {
+                label(runs[2 * r], runs[2 * r + 1], Label.Whitespace, false);
+            }
+            current.removeAll(runs, count);
         }
 
-        private void markFromCurrent(int i) {
-            int orig = current.originalIndex(i);
-            Preconditions.checkState(posToLabel[orig] == Label.Unknown, "overwriting ", posToLabel[orig]);
-            posToLabel[orig] = Label.Whitespace;
+        private int addRun(int count, int start, int end) {
+            if (runs.length < 2 * count + 2) {
+                runs = Arrays.copyOf(runs, Math.max(16, runs.length * 2));
+            }
+            runs[2 * count] = start;
+            runs[2 * count + 1] = end;
+            return count + 1;
+        }
+
+        /**
+         * When current was normalized before the last remove, the only spaces out of place are a doubled one where
+         * the remove was or one left at either end; fixing just those (the same way the full pass would) keeps a
+         * name with many words from being rescanned after every chop
+         */
+        private void normalizeAroundRemove() {
+            int length = current.length();
+            if (length > 0 && current.charAt(0) == ' ') {
+                removeSpaces(0, 1);
+                length -= 1;
+                removedAt -= 1;
+            }
+            if (length > 0 && current.charAt(length - 1) == ' ') {
+                removeSpaces(length - 1, length);
+                length -= 1;
+            }
+            if (removedAt > 0 && removedAt < length && current.charAt(removedAt - 1) == ' '
+                    && current.charAt(removedAt) == ' ') {
+                removeSpaces(removedAt, removedAt + 1);
+            }
+        }
+
+        private void removeSpaces(int start, int end) {
+            if (start == end) {
+                return;
+            }
+            label(start, end, Label.Whitespace, false);
+            current.remove(start, end);
         }
 
         public void mark(int startIncl, int endIncl, Label label) {
+            label(startIncl, endIncl + 1, label, true);
+        }
+
+        /**
+         * Labels current[start, end), one piece of the input at a time, and adds what it labelled to the marked
+         * span if track
+         */
+        private void label(int start, int end, Label label, boolean track) {
             // indexes passed in are relative to _current_ not to whole thing
-            for (int i = startIncl; i <= endIncl; i++) {
+            int i = start;
+            while (i < end) {
+                int pieceEnd = Math.min(current.pieceEnd(i), end);
                 int orig = current.originalIndex(i);
-                Preconditions.checkState(posToLabel[orig] == Label.Unknown, "overwriting ", posToLabel[orig]);
-                posToLabel[orig] = label;
+                markOriginal(orig, orig + (pieceEnd - i), label, track);
+                i = pieceEnd;
+            }
+        }
+
+        /**
+         * Labels the input chars [start, end)
+         */
+        void markOriginal(int start, int end, Label label, boolean track) {
+            spans.add(start, end, label);
+            if (track) {
+                if (markedStart < 0 || start < markedStart) {
+                    markedStart = start;
+                }
+                markedEnd = Math.max(markedEnd, end);
             }
         }
 
         @Override
         public String toString() {
             return "ParseWork{" +
-                    "fullString='" + fullString + '\'' +
+                    "input='" + input + '\'' +
                     ", current=" + current +
                     '}';
         }
@@ -0,0 +1,29 @@
+package com.tupilabs.human_name_parser;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Parses with another parser and then swaps the tokens of each name for the shared ones in a
+ * {@link TokenDictionary}, for when lots of parsed names are kept in memory. The names it returns hold one string
+ * per token up front (rather than cutting them lazily) and know the id of each token, see
+ * {@link ParsedName#getTokenId(int)}.
+ */
+public final class InterningNameParser implements NameParser {
+
+    private final NameParser delegate;
+    private final TokenDictionary dictionary;
+
+    public InterningNameParser(NameParser delegate, TokenDictionary dictionary) {
+        this.delegate = Preconditions.checkNotNull(delegate, "delegate");
+        this.dictionary = Preconditions.checkNotNull(dictionary, "dictionary");
+    }
+
+    @Override
+    public ParsedName parse(String fullName) {
+        return delegate.parse(fullName).internTokens(dictionary);
+    }
+
+    public TokenDictionary getDictionary() {
+        return dictionary;
+    }
+}
@@ -0,0 +1,161 @@
+package com.tupilabs.human_name_parser;
+
+import java.security.SecureRandom;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Emits Java Flight Recorder events for parses that take at least thresholdNanos: one
+ * {@code com.tupilabs.human_name_parser.Parse} event for the parse and one
+ * {@code com.tupilabs.human_name_parser.ParseStage} event for each stage that ran. Inputs are never recorded, only
+ * their length and a hash, so recordings can be shared without leaking names. The hash is keyed with a random key
+ * that each listener makes for itself, so nobody can hash a list of likely names to find which ones were parsed; the
+ * flip side is that hashes only match up events from the same listener in the same JVM, not across restarts or
+ * between processes.
+ *
+ * While no recording has the parse events enabled, {@link #shouldTrace(CharSequence)} is false and the parser
+ * doesn't trace (or copy the input) at all, and the input is only hashed for a parse whose events will be written.
+ * Use {@link #isAvailable()} before making one on JVMs that may not have JFR (it needs 8u262 or 11+).
+ */
+public final class JfrParseListener implements ParseListener {
+
+    private final long thresholdNanos;
+    private final EventType parseType;
+    private final HashFunction inputHash;
+
+    public JfrParseListener(long thresholdNanos) {
+        this.thresholdNanos = thresholdNanos;
+        this.parseType = EventType.getEventType(ParseEvent.class);
+        SecureRandom random = new SecureRandom();
+        this.inputHash = Hashing.sipHash24(random.nextLong(), random.nextLong());
+    }
+
+    /**
+     * @return true if this JVM has JFR
+     */
+    public static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, JfrParseListener.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean shouldTrace(CharSequence input) {
+        return parseType.isEnabled();
+    }
+
+    @Override
+    public void parsed(ParseTrace trace) {
+        if (trace.getNanos() < thresholdNanos) {
+            return;
+        }
+        ParseEvent parse = new ParseEvent();
+        StageEvent stage = trace.getStagesRun() > 0 ? new StageEvent() : null;
+        boolean commitParse = parse.shouldCommit();
+        boolean commitStages = stage != null && stage.shouldCommit();
+        if (!commitParse && !commitStages) {
+            return;
+        }
+        // only hashed once some event is going to be written
+        String inputHash = hash(trace.getInput());
+        if (commitParse) {
+            parse.inputLength = trace.getInputLength();
+            parse.inputHash = inputHash;
+            parse.tokens = trace.getResult() == null ? -1 : trace.getResult().size();
+            parse.failure = trace.getFailure() == null ? null : trace.getFailure().toString();
+            parse.nanos = trace.getNanos();
+            parse.commit();
+        }
+        for (int i = 0; commitStages && i < trace.getStagesRun(); i++) {
+            if (i > 0) {
+                stage = new StageEvent();
+            }
+            stage.stage = trace.getStage(i).name();
+            stage.matched = trace.isMatched(i);
+            stage.matchStart = trace.getMatchStart(i);
+            stage.matchEnd = trace.getMatchEnd(i);
+            stage.inputLength = trace.getInputLength();
+            stage.inputHash = inputHash;
+            stage.nanos = trace.getStageNanos(i);
+            stage.commit();
+        }
+    }
+
+    /**
+     * @return the 64 bit SipHash of the input in hex under this listener's key, which is enough to match up events
+     * from the same input without giving it away
+     */
+    String hash(String input) {
+        return input == null ? null : inputHash.hashString(input, Charsets.UTF_8).toString();
+    }
+
+    @Name("com.tupilabs.human_name_parser.Parse")
+    @Label("Name Parse")
+    @Category("Human Name Parser")
+    @Description("A name parse that took at least the listener's threshold")
+    @StackTrace(false)
+    static final class ParseEvent extends Event {
+        @Label("Input Length")
+        int inputLength;
+
+        @Label("Input Hash")
+        @Description("A hash of the input that only matches up events from the same JVM")
+        String inputHash;
+
+        @Label("Tokens")
+        @Description("How many tokens the name was parsed into, or -1 if it failed")
+        int tokens;
+
+        @Label("Failure")
+        String failure;
+
+        @Label("Time Spent")
+        @Timespan(Timespan.NANOSECONDS)
+        long nanos;
+    }
+
+    @Name("com.tupilabs.human_name_parser.ParseStage")
+    @Label("Name Parse Stage")
+    @Category("Human Name Parser")
+    @Description("One stage of a name parse that took at least the listener's threshold")
+    @StackTrace(false)
+    static final class StageEvent extends Event {
+        @Label("Stage")
+        String stage;
+
+        @Label("Matched")
+        boolean matched;
+
+        @Label("Match Start")
+        @Description("The first char of the input the stage labelled, or -1")
+        int matchStart;
+
+        @Label("Match End")
+        @Description("One past the last char of the input the stage labelled, or -1")
+        int matchEnd;
+
+        @Label("Input Length")
+        int inputLength;
+
+        @Label("Input Hash")
+        String inputHash;
+
+        @Label("Time Spent")
+        @Timespan(Timespan.NANOSECONDS)
+        long nanos;
+    }
+}
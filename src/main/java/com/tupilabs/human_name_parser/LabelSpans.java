@@ -0,0 +1,184 @@
+package com.tupilabs.human_name_parser;
+
+import java.util.Arrays;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * The labels of a parse as sorted, non-overlapping spans of the input, one per chop (spans with the same label
+ * that touch are merged). The chars that no span covers are {@link Label#Unknown}. Labelling a span and checking
+ * that it doesn't overwrite another is a binary search, however long the span is.
+ *
+ * Spans belong to a {@link HumanNameParser.ParseWork} and are cleared for every parse, so the arrays only grow.
+ */
+final class LabelSpans {
+
+    private static final Label[] LABELS = Label.values();
+
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private byte[] labels = new byte[16];
+    private int count;
+    // the runs that the spans and the gaps between them make, for toParsedName
+    private int[] runStarts = new int[16];
+    private byte[] runLabels = new byte[16];
+
+    void clear() {
+        count = 0;
+    }
+
+    int size() {
+        return count;
+    }
+
+    int start(int i) {
+        return starts[i];
+    }
+
+    int end(int i) {
+        return ends[i];
+    }
+
+    Label label(int i) {
+        return LABELS[labels[i]];
+    }
+
+    /**
+     * Labels the input chars [start, end)
+     * @throws IllegalStateException if any of them are already labelled
+     */
+    void add(int start, int end, Label label) {
+        if (start == end) {
+            return;
+        }
+        int at = insertionPoint(start);
+        if (at > 0 && ends[at - 1] > start) {
+            throw new IllegalStateException("overwriting " + label(at - 1));
+        }
+        if (at < count && starts[at] < end) {
+            throw new IllegalStateException("overwriting " + label(at));
+        }
+        byte ordinal = (byte) label.ordinal();
+        boolean joinsBefore = at > 0 && ends[at - 1] == start && labels[at - 1] == ordinal;
+        boolean joinsAfter = at < count && starts[at] == end && labels[at] == ordinal;
+        if (joinsBefore && joinsAfter) {
+            ends[at - 1] = ends[at];
+            removeAt(at);
+        } else if (joinsBefore) {
+            ends[at - 1] = end;
+        } else if (joinsAfter) {
+            starts[at] = start;
+        } else {
+            insertAt(at, start, end, ordinal);
+        }
+    }
+
+    /**
+     * @return the first span that starts at or after start
+     */
+    private int insertionPoint(int start) {
+        // chops mostly come at the back, so check there before searching
+        if (count == 0 || starts[count - 1] < start) {
+            return count;
+        }
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] < start) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void insertAt(int at, int start, int end, byte label) {
+        if (count == starts.length) {
+            int size = count * 2;
+            starts = Arrays.copyOf(starts, size);
+            ends = Arrays.copyOf(ends, size);
+            labels = Arrays.copyOf(labels, size);
+        }
+        System.arraycopy(starts, at, starts, at + 1, count - at);
+        System.arraycopy(ends, at, ends, at + 1, count - at);
+        System.arraycopy(labels, at, labels, at + 1, count - at);
+        starts[at] = start;
+        ends[at] = end;
+        labels[at] = label;
+        count += 1;
+    }
+
+    private void removeAt(int at) {
+        System.arraycopy(starts, at + 1, starts, at, count - at - 1);
+        System.arraycopy(ends, at + 1, ends, at, count - at - 1);
+        System.arraycopy(labels, at + 1, labels, at, count - at - 1);
+        count -= 1;
+    }
+
+    /**
+     * Walks the spans (and the unlabelled gaps between them) of a name of the given length as runs of the same
+     * label, and makes a token of every run that isn't whitespace
+     */
+    ParsedName toParsedName(CharSequence fullString, boolean trimTokens) {
+        return toParsedName(fullString, trimTokens, null);
+    }
+
+    /**
+     * As {@link #toParsedName(CharSequence, boolean)}, with the name fingerprinted when fingerprinter isn't null
+     */
+    ParsedName toParsedName(CharSequence fullString, boolean trimTokens, NameFingerprinter fingerprinter) {
+        int len = fullString.length();
+        Preconditions.checkState(count == 0 || ends[count - 1] <= len);
+        if (runStarts.length < 2 * count + 1) {
+            runStarts = new int[2 * count + 1];
+            runLabels = new byte[2 * count + 1];
+        }
+        int runs = 0;
+        int pos = 0;
+        for (int i = 0; i < count; i++) {
+            if (starts[i] > pos) {
+                runs = addRun(runs, pos, (byte) Label.Unknown.ordinal());
+            }
+            runs = addRun(runs, starts[i], labels[i]);
+            pos = ends[i];
+        }
+        if (pos < len) {
+            runs = addRun(runs, pos, (byte) Label.Unknown.ordinal());
+        }
+        byte whitespace = (byte) Label.Whitespace.ordinal();
+        int tokens = 0;
+        for (int r = 0; r < runs; r++) {
+            if (runLabels[r] != whitespace) {
+                tokens += 1;
+            }
+        }
+        int[] offsets = new int[tokens * 2];
+        byte[] tokenLabels = new byte[tokens];
+        int token = 0;
+        for (int r = 0; r < runs; r++) {
+            if (runLabels[r] == whitespace) {
+                continue;
+            }
+            int end = r + 1 < runs ? runStarts[r + 1] : len;
+            HumanNameParser.setToken(fullString, runStarts[r], end, trimTokens, offsets, token);
+            tokenLabels[token] = runLabels[r];
+            token += 1;
+        }
+        if (fingerprinter != null) {
+            return fingerprinter.toParsedName(fullString, offsets, tokenLabels);
+        }
+        return new ParsedName(fullString, offsets, tokenLabels);
+    }
+
+    private int addRun(int runs, int start, byte label) {
+        if (runs > 0 && runLabels[runs - 1] == label) {
+            // touching spans are merged as they are added, so this is only a span of Unknown next to a gap
+            return runs;
+        }
+        runStarts[runs] = start;
+        runLabels[runs] = label;
+        return runs + 1;
+    }
+}
@@ -0,0 +1,323 @@
+package com.tupilabs.human_name_parser;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * An immutable list of words or phrases (salutations, suffixes, postnominals, surname prefixes) that the parser
+ * looks tokens up in. Entries are stored in a trie of words where each level is a hash table keyed by the case
+ * folded word, so a lookup costs the same whether the lexicon has ten entries or ten thousand, and multi-word
+ * entries like "van der" are matched one word at a time without building any strings. Only the surname prefixes
+ * are looked up a phrase at a time, so a {@link ParserConfig} turns down salutations, suffixes or postnominals with
+ * phrases in them.
+ *
+ * Entries are matched ignoring the case of the ASCII letters A to Z (like the case insensitive regexes they
+ * replace; any other char has to match exactly, so that a fold like U+0130 to 'i' can't make a name match), trailing
+ * dots are ignored ("Jr." is the same as "jr") and the words of a phrase are separated by single spaces.
+ */
+public final class Lexicon {
+
+    private static final Splitter WORDS = Splitter.on(CharMatcher.whitespace()).omitEmptyStrings();
+    private static final Joiner SPACE = Joiner.on(' ');
+
+    public static final Lexicon SALUTATIONS = of("mr", "master", "mister",
+            "mrs", "miss", "ms", "dr", "prof", "rev", "fr", "judge", "honorable", "hon");
+    public static final Lexicon SUFFIXES = of("jr", "sr", "2", "ii",
+            "iii", "iv", "v", "senior", "junior", "2d", "2nd", "3d", "3rd", "4th");
+    public static final Lexicon POSTNOMINALS = of("phd", "ph.d.", "ph.d",
+            "esq", "esquire", "apr", "rph", "pe", "md", "ma", "dmd", "cme",
+            "dds", "cpa", "dvm", "rdh", "r.d.h.", "d.d.s.", "d.m.d.");
+    public static final Lexicon PREFIXES = of("bar", "ben", "bin", "da", "dal",
+            "de la", "de", "del", "der", "di", "ibn", "la", "le",
+            "san", "st", "ste", "van", "van der", "van den", "vel",
+            "von");
+
+    private final List<String> entries;
+    private final Node root;
+    private final int maxWords;
+    private int hash;
+
+    private Lexicon(List<String> entries, Node root, int maxWords) {
+        this.entries = entries;
+        this.root = root;
+        this.maxWords = maxWords;
+    }
+
+    public static Lexicon of(String... entries) {
+        return of(Arrays.asList(entries));
+    }
+
+    public static Lexicon of(Iterable<String> entries) {
+        ImmutableList.Builder<String> normalized = ImmutableList.builder();
+        NodeBuilder root = new NodeBuilder();
+        int maxWords = 0;
+        for (String entry : entries) {
+            List<String> words = WORDS.splitToList(stripTrailingDots(entry.trim()));
+            if (words.isEmpty()) {
+                continue;
+            }
+            NodeBuilder node = root;
+            for (String word : words) {
+                node = node.child(fold(word));
+            }
+            if (!node.terminal) {
+                node.terminal = true;
+                normalized.add(fold(SPACE.join(words)));
+            }
+            maxWords = Math.max(maxWords, words.size());
+        }
+        return new Lexicon(normalized.build(), root.build(), maxWords);
+    }
+
+    /**
+     * Reads a lexicon from a UTF-8 file with one entry per line; see {@link #load(Path, Charset)}
+     */
+    public static Lexicon load(Path file) throws IOException {
+        return load(file, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a lexicon from a file with one entry per line. Blank lines, and lines that start with '#', are skipped
+     */
+    public static Lexicon load(Path file, Charset charset) throws IOException {
+        List<String> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(file, charset)) {
+            String entry = line.trim();
+            if (!entry.isEmpty() && entry.charAt(0) != '#') {
+                entries.add(entry);
+            }
+        }
+        return of(entries);
+    }
+
+    /**
+     * @return true if the text (ignoring any trailing dots) is one of the entries
+     */
+    public boolean contains(CharSequence text) {
+        int end = text.length();
+        while (end > 0 && text.charAt(end - 1) == '.') {
+            end -= 1;
+        }
+        Node node = root;
+        int i = 0;
+        while (i < end && node != null) {
+            int wordEnd = i;
+            while (wordEnd < end && !CharMatcher.whitespace().matches(text.charAt(wordEnd))) {
+                wordEnd += 1;
+            }
+            if (wordEnd > i) {
+                node = node.child(text, i, wordEnd);
+            }
+            i = wordEnd + 1;
+        }
+        return node != null && node != root && node.terminal;
+    }
+
+    /**
+     * @return the normalized (folded, without trailing dots) entries in the order they were given
+     */
+    public List<String> entries() {
+        return entries;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the most words in any one entry
+     */
+    public int maxWords() {
+        return maxWords;
+    }
+
+    Node root() {
+        return root;
+    }
+
+    /**
+     * Two lexicons are equal when they match the same entries, whatever order those were given in
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Lexicon)) {
+            return false;
+        }
+        Lexicon that = (Lexicon) o;
+        if (entries.size() != that.entries.size() || hashCode() != that.hashCode()) {
+            return false;
+        }
+        for (String entry : that.entries) {
+            if (!contains(entry)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            for (String entry : entries) {
+                h += entry.hashCode();
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return "Lexicon" + entries;
+    }
+
+    static String stripTrailingDots(String entry) {
+        int end = entry.length();
+        while (end > 0 && entry.charAt(end - 1) == '.') {
+            end -= 1;
+        }
+        return entry.substring(0, end);
+    }
+
+    static char fold(char c) {
+        return (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static String fold(String word) {
+        StringBuilder sb = new StringBuilder(word.length());
+        for (int i = 0; i < word.length(); i++) {
+            sb.append(fold(word.charAt(i)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * One level of the trie: the words that can come next are kept in an open addressing table of their folded
+     * text so that they can be looked up straight from a range of the input
+     */
+    static final class Node {
+        private final boolean terminal;
+        private final String[] keys;
+        private final Node[] children;
+        private final int mask;
+        // the longest of the keys, so that a longer word is turned down without being hashed
+        private final int maxKeyLength;
+
+        private Node(boolean terminal, String[] keys, Node[] children) {
+            this.terminal = terminal;
+            this.keys = keys;
+            this.children = children;
+            this.mask = keys.length - 1;
+            int max = 0;
+            for (String key : keys) {
+                if (key != null) {
+                    max = Math.max(max, key.length());
+                }
+            }
+            this.maxKeyLength = max;
+        }
+
+        /**
+         * @return true if the words walked to get here are a whole entry
+         */
+        boolean isEntry() {
+            return terminal;
+        }
+
+        /**
+         * @return the node for the word text[start, end) after this one or null if no entry continues that way
+         */
+        Node child(CharSequence text, int start, int end) {
+            if (keys.length == 0 || end - start > maxKeyLength) {
+                return null;
+            }
+            int slot = hash(text, start, end) & mask;
+            while (true) {
+                String key = keys[slot];
+                if (key == null) {
+                    return null;
+                }
+                if (foldedEquals(key, text, start, end)) {
+                    return children[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        private static boolean foldedEquals(String key, CharSequence text, int start, int end) {
+            if (key.length() != end - start) {
+                return false;
+            }
+            for (int i = start; i < end; i++) {
+                if (key.charAt(i - start) != fold(text.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static int hash(CharSequence text, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + fold(text.charAt(i));
+        }
+        // spread the bits since the table is indexed with a mask
+        return h ^ (h >>> 16);
+    }
+
+    private static final class NodeBuilder {
+        boolean terminal;
+        final Map<String, NodeBuilder> children = new LinkedHashMap<>();
+
+        NodeBuilder child(String word) {
+            NodeBuilder child = children.get(word);
+            if (child == null) {
+                child = new NodeBuilder();
+                children.put(word, child);
+            }
+            return child;
+        }
+
+        Node build() {
+            int capacity = 1;
+            while (capacity < children.size() * 2) {
+                capacity <<= 1;
+            }
+            if (children.isEmpty()) {
+                capacity = 0;
+            }
+            String[] keys = new String[capacity];
+            Node[] nodes = new Node[capacity];
+            for (Map.Entry<String, NodeBuilder> entry : children.entrySet()) {
+                String key = entry.getKey();
+                int slot = hash(key, 0, key.length()) & (capacity - 1);
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                keys[slot] = key;
+                nodes[slot] = entry.getValue().build();
+            }
+            Preconditions.checkState(capacity == 0 || children.size() < capacity);
+            return new Node(terminal, keys, nodes);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.tupilabs.human_name_parser;
+
+import java.text.Normalizer;
+import java.util.List;
+
+/**
+ * Works out the fingerprint and the blocking keys of a name from the offsets and labels of its tokens, before the
+ * {@link ParsedName} is made, by reading the chars of the tokens straight out of the input: no token is made into a
+ * string, and the array of keys is all that is kept.
+ *
+ * The fingerprint hashes the label and the folded chars (see {@link BlockingKey}) of every token that is part of
+ * the name itself: the first, middle and last names, their initials, and the suffix, label by label in that
+ * order. So names that only differ in case, accents, punctuation, salutation, nickname or in being written last
+ * name first get the same fingerprint. The hash is 64-bit FNV-1a over code
+ * points with a final avalanche, and is the same from run to run and machine to machine, so keys can be stored.
+ *
+ * Made once per config and shared, like the config.
+ */
+final class NameFingerprinter {
+
+    private static final long SEED = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+    // what is hashed before each part of a key, and before the label of each token of the fingerprint (minus the
+    // ordinal); neither can be a code point
+    private static final int PART = -1;
+    private static final int LABEL = -2;
+
+    // the labels that the fingerprint has, in the order it has them whatever order the tokens are in
+    private static final byte[] IN_FINGERPRINT = {(byte) Label.First.ordinal(), (byte) Label.FirstInitial.ordinal(),
+            (byte) Label.Middle.ordinal(), (byte) Label.MiddleInitial.ordinal(), (byte) Label.Last.ordinal(),
+            (byte) Label.Suffix.ordinal()};
+
+    // the folded chars of every char of the BMP, two per char (0 when there are fewer): lower case, with
+    // diacritics dropped, and nothing for anything that isn't a letter or a digit. The table is made a block of
+    // 256 chars at a time, the first time a char of the block is folded, so that a name in one script only pays for
+    // the blocks it uses. Letters and digits above the BMP are only lower cased
+    private static final int BLOCK_BITS = 8;
+    private static final Block[] BLOCKS = new Block[0x10000 >>> BLOCK_BITS];
+
+    private final BlockingKey.Part[][] keys;
+
+    NameFingerprinter(List<BlockingKey> keys) {
+        this.keys = new BlockingKey.Part[keys.size()][];
+        for (int k = 0; k < this.keys.length; k++) {
+            List<BlockingKey.Part> parts = keys.get(k).parts();
+            this.keys[k] = parts.toArray(new BlockingKey.Part[parts.size()]);
+        }
+    }
+
+    /**
+     * @return the parsed name with its fingerprint and keys
+     */
+    ParsedName toParsedName(CharSequence input, int[] offsets, byte[] labels) {
+        Hash hash = new Hash();
+        for (byte label : IN_FINGERPRINT) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == label) {
+                    hash.add(LABEL - label);
+                    hash.addFolded(input, offsets[2 * i], offsets[2 * i + 1], Integer.MAX_VALUE);
+                }
+            }
+        }
+        long fingerprint = hash.finish();
+        long[] blockingKeys = new long[keys.length];
+        for (int k = 0; k < keys.length; k++) {
+            hash.reset();
+            for (BlockingKey.Part part : keys[k]) {
+                hash.add(PART);
+                hash.count = 0;
+                byte label = firstPresent(part.labels, labels);
+                for (int i = 0; label >= 0 && i < labels.length && hash.count < part.chars; i++) {
+                    if (labels[i] == label) {
+                        hash.addFolded(input, offsets[2 * i], offsets[2 * i + 1], part.chars);
+                    }
+                }
+            }
+            blockingKeys[k] = hash.finish();
+        }
+        return new ParsedName(input, offsets, labels, fingerprint, blockingKeys);
+    }
+
+    /**
+     * @return the ordinal of the first of wanted that some token has, or -1
+     */
+    private static byte firstPresent(Label[] wanted, byte[] labels) {
+        for (Label label : wanted) {
+            for (byte l : labels) {
+                if (l == label.ordinal()) {
+                    return l;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Appends the folded chars of seq[start, end) that are the letters a to z, in upper case, which is what the
+     * phonetic encoders read
+     */
+    static void appendFoldedLetters(CharSequence seq, int start, int end, StringBuilder out) {
+        for (int i = start; i < end; i++) {
+            char c = seq.charAt(i);
+            char[] folded = block(c);
+            int at = 2 * (c & (Block.SIZE - 1));
+            appendLetter(folded[at], out);
+            appendLetter(folded[at + 1], out);
+        }
+    }
+
+    /**
+     * @return the folded chars of the block that c is in, two per char
+     */
+    private static char[] block(char c) {
+        int b = c >>> BLOCK_BITS;
+        // racy, but a block only has final fields so a thread sees all of it or makes its own
+        Block block = BLOCKS[b];
+        if (block == null) {
+            block = new Block(b << BLOCK_BITS);
+            BLOCKS[b] = block;
+        }
+        return block.folded;
+    }
+
+    private static void appendLetter(char folded, StringBuilder out) {
+        if (folded >= 'a' && folded <= 'z') {
+            out.append((char) (folded - ('a' - 'A')));
+        }
+    }
+
+    private static String fold(char c) {
+        switch (c) {
+            case '\u00df':
+                return "ss";
+            case '\u00e6':
+            case '\u00c6':
+                return "ae";
+            case '\u0153':
+            case '\u0152':
+                return "oe";
+            case '\u00fe':
+            case '\u00de':
+                return "th";
+            case '\u00f8':
+            case '\u00d8':
+                return "o";
+            case '\u00f0':
+            case '\u00d0':
+            case '\u0111':
+            case '\u0110':
+                return "d";
+            case '\u0142':
+            case '\u0141':
+                return "l";
+            case '\u0127':
+            case '\u0126':
+                return "h";
+            case '\u0131':
+                return "i";
+            default:
+                break;
+        }
+        StringBuilder sb = new StringBuilder(2);
+        String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFKD);
+        for (int i = 0; i < decomposed.length() && sb.length() < 2; i++) {
+            char d = decomposed.charAt(i);
+            if (Character.isLetterOrDigit(d)) {
+                sb.append(Character.toLowerCase(d));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static final class Block {
+        static final int SIZE = 1 << BLOCK_BITS;
+
+        final char[] folded = new char[2 * SIZE];
+
+        Block(int base) {
+            for (int i = 0; i < SIZE; i++) {
+                String chars = fold((char) (base + i));
+                for (int j = 0; j < chars.length(); j++) {
+                    folded[2 * i + j] = chars.charAt(j);
+                }
+            }
+        }
+    }
+
+    private static final class Hash {
+        long value = SEED;
+        // how many folded chars the current part has had
+        int count;
+
+        void reset() {
+            value = SEED;
+            count = 0;
+        }
+
+        void add(int v) {
+            value = (value ^ v) * PRIME;
+        }
+
+        /**
+         * Adds the folded chars of seq[start, end) until the part has had limit of them
+         */
+        void addFolded(CharSequence seq, int start, int end, int limit) {
+            int i = start;
+            while (i < end && count < limit) {
+                int cp = Character.codePointAt(seq, i);
+                i += Character.charCount(cp);
+                if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                    char[] folded = block((char) cp);
+                    int at = 2 * (cp & (Block.SIZE - 1));
+                    char first = folded[at];
+                    if (first != 0) {
+                        add(first);
+                        count += 1;
+                        char second = folded[at + 1];
+                        if (second != 0 && count < limit) {
+                            add(second);
+                            count += 1;
+                        }
+                    }
+                } else if (Character.isLetterOrDigit(cp)) {
+                    add(Character.toLowerCase(cp));
+                    count += 1;
+                }
+            }
+        }
+
+        long finish() {
+            // the finalizer of MurmurHash3, so that names that differ in one char differ in every bit
+            long h = value;
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb53fe1a85a63L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
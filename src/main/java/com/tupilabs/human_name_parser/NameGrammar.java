@@ -0,0 +1,684 @@
+package com.tupilabs.human_name_parser;
+
+/**
+ * The {@link HumanNameParser.Rule}s compiled into DFAs, one {@link DfaMatcher} per rule in the same order.
+ *
+ * Generated by NameGrammarGenerator (in src/test) from the patterns of the rules, so don't edit it: change
+ * the rule and run {@code mvn -Pgrammar test-compile exec:exec}. NameGrammarTest fails while this is out
+ * of date.
+ */
+final class NameGrammar {
+
+    static final DfaMatcher NICKNAME = new DfaMatcher(
+            "(?:(['*\"|\\\\]{1,2})([a-z A-Z']+?)\\1|\\((['*\"|\\\\]{1,2})([a-z A-Z']+?)\\3\\)|\\(([a-z A-Z']+?)\\))",
+            false,
+            new byte[]{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+                1, 0, 2, 0, 0, 0, 0, 3, 4, 5, 6, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1,
+                1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 7, 0, 0, 0, 0, 1, 1, 1, 1, 1,
+                1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 8, 0, 0, 0},
+            0, 0, 0,
+            // forward: 1122 states
+            new DfaMatcher.Dfa(9,
+                    "\001\001\002\003\004\001\005\006\007\001\010\011\012\004\001\013\014\015\001\016\017\020\004\001" +
+                        "\021\022\023\001\024\025\026\004\001\027\030\031\001\032\033\034\004\001\035\036\037\001 !\"" +
+                        "\004\001#$%\001&'(\004\001)*+\001\010,-\004\001\005\006\007\001.\011/\004\001\013\014\015" +
+                        "\0010,1\004\001\021\022\023\0012\0333\004\001\035\036\037\0014!5\004\001#$%\0016'7\004\001)*" +
+                        "+\001\016\002,\004\001\005\006\007\001\010\0118\004\001\013\014\015\0019\017:\004\001\021" +
+                        "\022\023\001\032\033;\004\001\035\036\037\001 !<\004\001#$%\001&'=\004\001)*+\001\024\002>" +
+                        "\004,\005\006\007\001?@A\004\001BCD\001EFG\004,HIJ\001KLM\004\001NOP\001QRS\004\001TUV\001WX" +
+                        "Y\004\001Z[\\\001\032\002]\004\001,\006\007\001^\011_\004\001\013\014\015\001`\017a\004\001," +
+                        "\022\023\001b\033c\004\001\035\036\037\001d!e\004\001#$%\001f'g\004\001)*+\001 \002h\004\001" +
+                        "\005,\007\001i\011j\004\001\013\014\015\001k\017l\004\001\021,\023\001m\033n\004\001\035\036" +
+                        "\037\001o!p\004\001#$%\001q'r\004\001)*+\001&\002s\004\001\005\006,\001t\011u\004\001\013" +
+                        "\014\015\001v\017w\004\001\021\022,\001x\033y\004\001\035\036\037\001z!{\004\001#$%\001|'}" +
+                        "\004\001)*+\000\000\000\000\000\000\000\000\000\001~,\177\004\001\021\022\023\001.\200\201" +
+                        "\004\001\005\006\007\001\202\200\203\004\001\021\022\023\0010\204\205\004\001\005\006\007" +
+                        "\001\206\204\207\004\001\021\022\023\0012\210\211\004\001,\006\007\001\212\213\214\004\001," +
+                        "\022\023\0014\215\216\004\001\005,\007\001\217\220\221\004\001\021,\023\0016\222\223\004\001" +
+                        "\005\006,\001\224\225\226\004\001\021\022,\001\227,\230\004\001\021\022\023\0019\002\231\004" +
+                        "\001\005\006\007\000\232\000\233\000\000\000\000\000\001\234\017\235\004\001,\022\023\001" +
+                        "\236\017\237\004\001\021,\023\001\240\017\241\004\001\021\022,\001E\017G\004,\021\022\023" +
+                        "\001?\242\243\004\001\005\006\007\001\244\011\245\004\001\013\014\015\001\246\242\247\004" +
+                        "\001\021\022\023\001\250\033\251\004\001\035\036\037\001\252!\253\004\001#$%\001\254'\255" +
+                        "\004\001)*+\001E\002\256\004,\005\006\007\001\257\011\260\004\001\013\014\015\001\261\017" +
+                        "\262\004,\021\022\023\001\263\033\264\004\001\035\036\037\001\265!\266\004\001#$%\001\267'" +
+                        "\270\004\001)*+\001K\002\271\004\001\242\006\007\001\272\011\273\004\001\013\014\015\001\274" +
+                        "\017\275\004\001\242\022\023\001\276\033\277\004\001\035\036\037\001\300!\301\004\001#$%\001" +
+                        "\302'\303\004\001)*+\001Q\002\304\004\001\005\242\007\001\305\011\306\004\001\013\014\015" +
+                        "\001\307\017\310\004\001\021\242\023\001\311\033\312\004\001\035\036\037\001\313!\314\004" +
+                        "\001#$%\001\315'\316\004\001)*+\001W\002\317\004\001\005\006\242\001\320\011\321\004\001\013" +
+                        "\014\015\001\322\017\323\004\001\021\022\242\001\324\033\325\004\001\035\036\037\001\326!" +
+                        "\327\004\001#$%\001\330'\331\004\001)*+\001\332\017\333\004\001,\022\023\001^,\334\004\001" +
+                        "\335\006\007\001\336,\337\004\001\340\022\023\001`\002\341\004\001\204\006\007\001\342\017" +
+                        "\343\004\001\204\022\023\001b\002\344\004\001\345\006\007\001\346\017\347\004\001\345\022" +
+                        "\023\001d\002\350\004\001\351,\007\001\352\017\353\004\001\354,\023\001f\002\355\004\001\356" +
+                        "\006,\001\357\017\360\004\001\361\022,\001\362\017\363\004\001\021,\023\001i,\364\004\001" +
+                        "\005\365\007\001\366,\367\004\001\021\370\023\001k\002\371\004\001\005\204\007\001\372\017" +
+                        "\373\004\001\021\204\023\001m\002\374\004\001,\375\007\001\376\017\377\004\001,\u0100\023" +
+                        "\001o\002\u0101\004\001\005\u0102\007\001\u0103\017\u0104\004\001\021\u0102\023\001q\002" +
+                        "\u0105\004\001\005\u0106,\001\u0107\017\u0108\004\001\021\u0109,\001\u010a\017\u010b\004\001" +
+                        "\021\022,\001t,\u010c\004\001\005\006\u010d\001\u010e,\u010f\004\001\021\022\u0110\001v\002" +
+                        "\u0111\004\001\005\006\204\001\u0112\017\u0113\004\001\021\022\204\001x\002\u0114\004\001," +
+                        "\006\u0115\001\u0116\017\u0117\004\001,\022\u0118\001z\002\u0119\004\001\005,\u011a\001" +
+                        "\u011b\017\u011c\004\001\021,\u011d\001|\002\u011e\004\001\005\006\u011f\001\u0120\017\u0121" +
+                        "\004\001\021\022\u011f\001~,\u0122\004\001\005\006\007\001\u0123,\u0124\004\001\021\022\023" +
+                        "\000\000,\000\000\000\000\000\000\001\u0125\200\u0126\004\001\021\022\023\001\202\u0127" +
+                        "\u0128\004\001\005\006\007\001\u0129\u0127\u012a\004\001\021\022\023\000\000\000,\000\000" +
+                        "\000\000\000\000\u012b\204\u012b\000\000\000\000\000\001\206\204\u012c\004\001\005\006\007" +
+                        "\000\u012d\204\u012e\000\000\000\000\000\001\010\011\012\004\001,\014\015\001\u012f\213" +
+                        "\u0130\004\001,\022\023\001\212\210\u0131\004\001\204\006\007\001\010\0118\004\001,\014\015" +
+                        "\001\u0132\213\u0133\004\001\204\022\023\001\010\011\012\004\001\013,\015\001\u0134\220" +
+                        "\u0135\004\001\021,\023\001\217\215\u0136\004\001\005\204\007\001\010\0118\004\001\013,\015" +
+                        "\001\u0137\220\u0138\004\001\021\204\023\001\010\011\012\004\001\013\014,\001\u0139\225" +
+                        "\u013a\004\001\021\022,\001\224\222\u013b\004\001\005\006\204\001\010\0118\004\001\013\014," +
+                        "\001\u013c\225\u013d\004\001\021\022\204\001\227\204\u013e\004\001\005\006\007\001\u013f," +
+                        "\u0140\004\001\021\022\023\000\232\000,\000\000\000\000\000\000\232\000\233\000\000\000\000" +
+                        "\000\000\232\000,\000\000\000\000\000\001\234\002\u0141\004\001\204\006\007\001\u0142\017" +
+                        "\u0143\004\001,\022\023\001\236\002\u0144\004\001\005\204\007\001\u0145\017\u0146\004\001" +
+                        "\021,\023\001\240\002\u0147\004\001\005\006\204\001\u0148\017\u0149\004\001\021\022,\000\000" +
+                        "\000\000\000,\000\000\000\001\u014a\242\u014b\004\001\021\022\023\001\244\u014c\u014d\004" +
+                        "\001\005\006\007\001\u014e\u014c\u014f\004\001\021\022\023\001\246\u0150\u0151\004\001\005" +
+                        "\006\007\001\u0152\u0150\u0153\004\001\021\022\023\001\250\u0154\u0155\004\001,\006\007\001" +
+                        "\u0156\u0157\u0158\004\001,\022\023\001\252\u0159\u015a\004\001\005,\007\001\u015b\u015c" +
+                        "\u015d\004\001\021,\023\001\254\u015e\u015f\004\001\005\006,\001\u0160\u0161\u0162\004\001" +
+                        "\021\022,\000\u0163\000\u0163\000,\000\000\000\001\257,\u0164\004\001\005\006\007\001\u0165," +
+                        "\u0166\004\001\021\022\023\001\261\002\u0167\004,\005\006\007\000\u0168\000\u0169\000,\000" +
+                        "\000\000\001\263\002\u016a\004\001,\006\007\001\u016b\017\u016c\004\001,\022\023\001\265\002" +
+                        "\u016d\004\001\005,\007\001\u016e\017\u016f\004\001\021,\023\001\267\002\u0170\004\001\005" +
+                        "\006,\001\u0171\017\u0172\004\001\021\022,\001\u0173\017\u0174\004\001\242\022\023\001\272," +
+                        "\u0175\004\001\u0176\006\007\001\u0177,\u0178\004\001\u0179\022\023\001\274\002\u017a\004" +
+                        "\001\u0150\006\007\001\u017b\017\u017c\004\001\u0150\022\023\001\276\002\u017d\004\001\u017e" +
+                        "\006\007\001\u017f\017\u0180\004\001\u017e\022\023\001\300\002\u0181\004\001\u0182,\007\001" +
+                        "\u0183\017\u0184\004\001\u0185,\023\001\302\002\u0186\004\001\u0187\006,\001\u0188\017\u0189" +
+                        "\004\001\u018a\022,\001\u018b\017\u018c\004\001\021\242\023\001\305,\u018d\004\001\005\u018e" +
+                        "\007\001\u018f,\u0190\004\001\021\u0191\023\001\307\002\u0192\004\001\005\u0150\007\001" +
+                        "\u0193\017\u0194\004\001\021\u0150\023\001\311\002\u0195\004\001,\u0196\007\001\u0197\017" +
+                        "\u0198\004\001,\u0199\023\001\313\002\u019a\004\001\005\u019b\007\001\u019c\017\u019d\004" +
+                        "\001\021\u019b\023\001\315\002\u019e\004\001\005\u019f,\001\u01a0\017\u01a1\004\001\021" +
+                        "\u01a2,\001\u01a3\017\u01a4\004\001\021\022\242\001\320,\u01a5\004\001\005\006\u01a6\001" +
+                        "\u01a7,\u01a8\004\001\021\022\u01a9\001\322\002\u01aa\004\001\005\006\u0150\001\u01ab\017" +
+                        "\u01ac\004\001\021\022\u0150\001\324\002\u01ad\004\001,\006\u01ae\001\u01af\017\u01b0\004" +
+                        "\001,\022\u01b1\001\326\002\u01b2\004\001\005,\u01b3\001\u01b4\017\u01b5\004\001\021,\u01b6" +
+                        "\001\330\002\u01b7\004\001\005\006\u01b8\001\u01b9\017\u01ba\004\001\021\022\u01b8\001\332" +
+                        "\002\u01bb\004\001,\006\007\001\u01bc\017\u01bd\004\001,\022\023\001\u01be,\u01bf\004\001" +
+                        "\340\022\023\001\032,\034\004\001\035\036\037\001\336\204\u01c0\004\001\335\006\007\001" +
+                        "\u01c1\204\u01c2\004\001\340\022\023\001\032,;\004\001\035\036\037\000\u01c3\000\u01c3\000" +
+                        "\000\204\000\000\001\342\002\u01c4\004\001\204\006\007\000\u01c5\000\u01c6\000\000\204\000" +
+                        "\000\001\u01c7\017\u01c8\004\001\345\022\023\000\000\000\000\000\000,\000\000\001\346\002" +
+                        "\u01c9\004\001\u01ca\006\007\001\u01cb\017\u01cc\004\001\u01ca\022\023\001\u01cd\017\u01ce" +
+                        "\004\001\354,\023\001\032\033\034\004\001\035,\037\001\352\002\u01cf\004\001\351\204\007\001" +
+                        "\u01d0\017\u01d1\004\001\354\204\023\001\032\033;\004\001\035,\037\001\u01d2\017\u01d3\004" +
+                        "\001\361\022,\001\032\033\034\004\001\035\036,\001\357\002\u01d4\004\001\356\006\204\001" +
+                        "\u01d5\017\u01d6\004\001\361\022\204\001\032\033;\004\001\035\036,\001\362\002\u01d7\004\001" +
+                        "\005,\007\001\u01d8\017\u01d9\004\001\021,\023\001\u01da,\u01db\004\001\021\370\023\001 ,\"" +
+                        "\004\001#$%\001\366\204\u01dc\004\001\005\365\007\001\u01dd\204\u01de\004\001\021\370\023" +
+                        "\001 ,<\004\001#$%\000\u01df\000\u01df\000\000\000\204\000\001\372\002\u01e0\004\001\005\204" +
+                        "\007\000\u01e1\000\u01e2\000\000\000\204\000\001\u01e3\017\u01e4\004\001,\u0100\023\001 !\"" +
+                        "\004\001,$%\001\376\002\u01e5\004\001\204\375\007\001\u01e6\017\u01e7\004\001\204\u0100\023" +
+                        "\001 !<\004\001,$%\001\u01e8\017\u01e9\004\001\021\u0102\023\000\000\000\000\000\000\000," +
+                        "\000\001\u0103\002\u01ea\004\001\005\u01eb\007\001\u01ec\017\u01ed\004\001\021\u01eb\023\001" +
+                        "\u01ee\017\u01ef\004\001\021\u0109,\001 !\"\004\001#$,\001\u0107\002\u01f0\004\001\005\u0106" +
+                        "\204\001\u01f1\017\u01f2\004\001\021\u0109\204\001 !<\004\001#$,\001\u010a\002\u01f3\004\001" +
+                        "\005\006,\001\u01f4\017\u01f5\004\001\021\022,\001\u01f6,\u01f7\004\001\021\022\u0110\001&,(" +
+                        "\004\001)*+\001\u010e\204\u01f8\004\001\005\006\u010d\001\u01f9\204\u01fa\004\001\021\022" +
+                        "\u0110\001&,=\004\001)*+\000\u01fb\000\u01fb\000\000\000\000\204\001\u0112\002\u01fc\004\001" +
+                        "\005\006\204\000\u01fd\000\u01fe\000\000\000\000\204\001\u01ff\017\u0200\004\001,\022\u0118" +
+                        "\001&'(\004\001,*+\001\u0116\002\u0201\004\001\204\006\u0115\001\u0202\017\u0203\004\001\204" +
+                        "\022\u0118\001&'=\004\001,*+\001\u0204\017\u0205\004\001\021,\u011d\001&'(\004\001),+\001" +
+                        "\u011b\002\u0206\004\001\005\204\u011a\001\u0207\017\u0208\004\001\021\204\u011d\001&'=\004" +
+                        "\001),+\001\u0209\017\u020a\004\001\021\022\u011f\000\000\000\000\000\000\000\000,\001\u0120" +
+                        "\002\u020b\004\001\005\006\u020c\001\u020d\017\u020e\004\001\021\022\u020c\000\u020f,\u020f" +
+                        "\000\000\000\000\000\001\u0123,\u0210\004\001\005\006\007\000\u0211,\u0212\000\000\000\000" +
+                        "\000\001\u0125\200\u0213\004\001\005\006\007\001\u0214\200\u0215\004\001\021\022\023\000\000" +
+                        ",,\000\000\000\000\000\000\u0216\u0127\u0216\000\000\000\000\000\001\u0129\u0127\u0217\004" +
+                        "\001\005\006\007\000\u0218\u0127\u0219\000\000\000\000\000\000\u012b\204\u012b\000\000\000" +
+                        "\000\000\000\u012d\204\205\000\000\000\000\000\000\u012d\204\u012e\000\000\000\000\000\000" +
+                        "\u012d\204\205\000\000\000\000\000\001\u012f\210\u021a\004\001,\006\007\001\u021b\213\u021c" +
+                        "\004\001,\022\023\000\u021d\u021e\u021d\000\000\204\000\000\001\u0132\210\u021f\004\001\204" +
+                        "\006\007\000\u0220\u021e\u0221\000\000\204\000\000\001\u0134\215\u0222\004\001\005,\007\001" +
+                        "\u0223\220\u0224\004\001\021,\023\000\u0225\u0226\u0225\000\000\000\204\000\001\u0137\215" +
+                        "\u0227\004\001\005\204\007\000\u0228\u0226\u0229\000\000\000\204\000\001\u0139\222\u022a\004" +
+                        "\001\005\006,\001\u022b\225\u022c\004\001\021\022,\000\u022d\u022e\u022d\000\000\000\000\204" +
+                        "\001\u013c\222\u022f\004\001\005\006\204\000\u0230\u022e\u0231\000\000\000\000\204\000\u0232" +
+                        ",\u0233\000\000\000\000\000\001\u013f\204\u0234\004\001\005\006\007\000\u0235,\u0236\000\000" +
+                        "\000\000\000\000\u0237\000\u0238\000\000,\000\000\001\u0142\002\u0239\004\001\204\006\007" +
+                        "\000\u023a\000\u023b\000\000,\000\000\000\u023c\000\u023d\000\000\000,\000\001\u0145\002" +
+                        "\u023e\004\001\005\204\007\000\u023f\000\u0240\000\000\000,\000\000\u0241\000\u0242\000\000" +
+                        "\000\000,\001\u0148\002\u0243\004\001\005\006\204\000\u0244\000\u0245\000\000\000\000,\001" +
+                        "\u014a\242\u0246\004\001\005\006\007\001\u0247\242\u0248\004\001\021\022\023\000\000\242\000" +
+                        "\000\000\000\000\000\001\u0249\u014c\u024a\004\001\021\022\023\001\u014e\u024b\u024c\004\001" +
+                        "\005\006\007\001\u024d\u024b\u024e\004\001\021\022\023\000\000\000\242\000,\000\000\000\000" +
+                        "\u024f\u0150\u024f\000\000\000\000\000\001\u0152\u0150\u0250\004\001\005\006\007\000\u0251" +
+                        "\u0150\u0252\000\000\000\000\000\001\010\011\012\004\001\242\014\015\001\u0253\u0157\u0254" +
+                        "\004\001,\022\023\001\u0156\u0154\u0255\004\001\204\006\007\001\010\0118\004\001\242\014\015" +
+                        "\001\u0256\u0157\u0257\004\001\204\022\023\001\010\011\012\004\001\013\242\015\001\u0258" +
+                        "\u015c\u0259\004\001\021,\023\001\u015b\u0159\u025a\004\001\005\204\007\001\010\0118\004\001" +
+                        "\013\242\015\001\u025b\u015c\u025c\004\001\021\204\023\001\010\011\012\004\001\013\014\242" +
+                        "\001\u025d\u0161\u025e\004\001\021\022,\001\u0160\u015e\u025f\004\001\005\006\204\001\010" +
+                        "\0118\004\001\013\014\242\001\u0260\u0161\u0261\004\001\021\022\204\000\u0163\000\u0163\000," +
+                        "\000\000\000\001\u0262\242\u0263\004\001\021\022\023\001\u0165\204\u0264\004\001\005\006\007" +
+                        "\001\u0265\242\u0266\004\001\021\022\023\000\u0168\000\256\000,\000\000\000\000\u0168\000" +
+                        "\u0169\000,\000\000\000\000\u0168\000\256\000,\000\000\000\001\u0267\017\u0268\004\001\242" +
+                        "\022\023\001\u016b\002\u0269\004\001\204\006\007\001\u026a\017\u026b\004\001\242\022\023\001" +
+                        "\u026c\017\u026d\004\001\021\242\023\001\u016e\002\u026e\004\001\005\204\007\001\u026f\017" +
+                        "\u0270\004\001\021\242\023\001\u0271\017\u0272\004\001\021\022\242\001\u0171\002\u0273\004" +
+                        "\001\005\006\204\001\u0274\017\u0275\004\001\021\022\242\001\u0173\002\u0276\004\001\242\006" +
+                        "\007\001\u0277\017\u0278\004\001\242\022\023\001\u0279,\u027a\004\001\u0179\022\023\001\032" +
+                        "\242\034\004\001\035\036\037\001\u0177\204\u027b\004\001\u0176\006\007\001\u027c\204\u027d" +
+                        "\004\001\u0179\022\023\001\032\242;\004\001\035\036\037\000\u027e\000\u027e\000\000\u0150" +
+                        "\000\000\001\u017b\002\u027f\004\001\u0150\006\007\000\u0280\000\u0281\000\000\u0150\000\000" +
+                        "\001\u0282\017\u0283\004\001\u017e\022\023\000\000\000\000\000\000\242\000\000\001\u017f\002" +
+                        "\u0284\004\001\u0285\006\007\001\u0286\017\u0287\004\001\u0285\022\023\001\u0288\017\u0289" +
+                        "\004\001\u0185,\023\001\032\033\034\004\001\035\242\037\001\u0183\002\u028a\004\001\u0182" +
+                        "\204\007\001\u028b\017\u028c\004\001\u0185\204\023\001\032\033;\004\001\035\242\037\001" +
+                        "\u028d\017\u028e\004\001\u018a\022,\001\032\033\034\004\001\035\036\242\001\u0188\002\u028f" +
+                        "\004\001\u0187\006\204\001\u0290\017\u0291\004\001\u018a\022\204\001\032\033;\004\001\035" +
+                        "\036\242\001\u018b\002\u0292\004\001\005\242\007\001\u0293\017\u0294\004\001\021\242\023\001" +
+                        "\u0295,\u0296\004\001\021\u0191\023\001 \242\"\004\001#$%\001\u018f\204\u0297\004\001\005" +
+                        "\u018e\007\001\u0298\204\u0299\004\001\021\u0191\023\001 \242<\004\001#$%\000\u029a\000" +
+                        "\u029a\000\000\000\u0150\000\001\u0193\002\u029b\004\001\005\u0150\007\000\u029c\000\u029d" +
+                        "\000\000\000\u0150\000\001\u029e\017\u029f\004\001,\u0199\023\001 !\"\004\001\242$%\001" +
+                        "\u0197\002\u02a0\004\001\204\u0196\007\001\u02a1\017\u02a2\004\001\204\u0199\023\001 !<\004" +
+                        "\001\242$%\001\u02a3\017\u02a4\004\001\021\u019b\023\000\000\000\000\000\000\000\242\000\001" +
+                        "\u019c\002\u02a5\004\001\005\u02a6\007\001\u02a7\017\u02a8\004\001\021\u02a6\023\001\u02a9" +
+                        "\017\u02aa\004\001\021\u01a2,\001 !\"\004\001#$\242\001\u01a0\002\u02ab\004\001\005\u019f" +
+                        "\204\001\u02ac\017\u02ad\004\001\021\u01a2\204\001 !<\004\001#$\242\001\u01a3\002\u02ae\004" +
+                        "\001\005\006\242\001\u02af\017\u02b0\004\001\021\022\242\001\u02b1,\u02b2\004\001\021\022" +
+                        "\u01a9\001&\242(\004\001)*+\001\u01a7\204\u02b3\004\001\005\006\u01a6\001\u02b4\204\u02b5" +
+                        "\004\001\021\022\u01a9\001&\242=\004\001)*+\000\u02b6\000\u02b6\000\000\000\000\u0150\001" +
+                        "\u01ab\002\u02b7\004\001\005\006\u0150\000\u02b8\000\u02b9\000\000\000\000\u0150\001\u02ba" +
+                        "\017\u02bb\004\001,\022\u01b1\001&'(\004\001\242*+\001\u01af\002\u02bc\004\001\204\006\u01ae" +
+                        "\001\u02bd\017\u02be\004\001\204\022\u01b1\001&'=\004\001\242*+\001\u02bf\017\u02c0\004\001" +
+                        "\021,\u01b6\001&'(\004\001)\242+\001\u01b4\002\u02c1\004\001\005\204\u01b3\001\u02c2\017" +
+                        "\u02c3\004\001\021\204\u01b6\001&'=\004\001)\242+\001\u02c4\017\u02c5\004\001\021\022\u01b8" +
+                        "\000\000\000\000\000\000\000\000\242\001\u01b9\002\u02c6\004\001\005\006\u02c7\001\u02c8\017" +
+                        "\u02c9\004\001\021\022\u02c7\000\u02ca\000\u02ca\000\000,\000\000\001\u01bc\002\u02cb\004" +
+                        "\001,\006\007\000\u02cc\000\u02cd\000\000,\000\000\001\u01be,\u02ce\004\001\335\006\007\001" +
+                        "\u02cf,\u02d0\004\001\340\022\023\000\u02d1\204\u02d1\000\000\u02d2\000\000\001\u01c1\204" +
+                        "\u02d3\004\001\335\006\007\000\u02d4\204\u02d5\000\000\u02d2\000\000\000\u01c3\000\u01c3\000" +
+                        "\000\204\000\000\000\u01c5\000\341\000\000\204\000\000\000\u01c5\000\u01c6\000\000\204\000" +
+                        "\000\000\u01c5\000\341\000\000\204\000\000\001\u01c7\002\u02d6\004\001\345\006\007\001\u02d7" +
+                        "\017\u02d8\004\001\345\022\023\000\u02d9\000\u02d9\000\000\u01ca\000\000\000\000\000,\000" +
+                        "\000,\000\000\001\u01cb\002\u02da\004\001\u01ca\006\007\000\u02db\000\u02dc\000\000\u01ca" +
+                        "\000\000\001\u01cd\002\u02dd\004\001\351,\007\001\u02de\017\u02df\004\001\354,\023\000\u02e0" +
+                        "\000\u02e0\000\000\u0226\204\000\001\u01d0\002\u02e1\004\001\351\204\007\000\u02e2\000\u02e3" +
+                        "\000\000\u0226\204\000\001\u01d2\002\u02e4\004\001\356\006,\001\u02e5\017\u02e6\004\001\361" +
+                        "\022,\000\u02e7\000\u02e7\000\000\u022e\000\204\001\u01d5\002\u02e8\004\001\356\006\204\000" +
+                        "\u02e9\000\u02ea\000\000\u022e\000\204\000\u02eb\000\u02eb\000\000\000,\000\001\u01d8\002" +
+                        "\u02ec\004\001\005,\007\000\u02ed\000\u02ee\000\000\000,\000\001\u01da,\u02ef\004\001\005" +
+                        "\365\007\001\u02f0,\u02f1\004\001\021\370\023\000\u02f2\204\u02f2\000\000\000\u02d2\000\001" +
+                        "\u01dd\204\u02f3\004\001\005\365\007\000\u02f4\204\u02f5\000\000\000\u02d2\000\000\u01df\000" +
+                        "\u01df\000\000\000\204\000\000\u01e1\000\371\000\000\000\204\000\000\u01e1\000\u01e2\000\000" +
+                        "\000\204\000\000\u01e1\000\371\000\000\000\204\000\001\u01e3\002\u02f6\004\001,\375\007\001" +
+                        "\u02f7\017\u02f8\004\001,\u0100\023\000\u02f9\000\u02f9\000\000\204\u021e\000\001\u01e6\002" +
+                        "\u02fa\004\001\204\375\007\000\u02fb\000\u02fc\000\000\204\u021e\000\001\u01e8\002\u02fd\004" +
+                        "\001\005\u0102\007\001\u02fe\017\u02ff\004\001\021\u0102\023\000\u0300\000\u0300\000\000\000" +
+                        "\u01eb\000\000\000\000,\000\000\000,\000\001\u01ec\002\u0301\004\001\005\u01eb\007\000\u0302" +
+                        "\000\u0303\000\000\000\u01eb\000\001\u01ee\002\u0304\004\001\005\u0106,\001\u0305\017\u0306" +
+                        "\004\001\021\u0109,\000\u0307\000\u0307\000\000\000\u022e\204\001\u01f1\002\u0308\004\001" +
+                        "\005\u0106\204\000\u0309\000\u030a\000\000\000\u022e\204\000\u030b\000\u030b\000\000\000\000" +
+                        ",\001\u01f4\002\u030c\004\001\005\006,\000\u030d\000\u030e\000\000\000\000,\001\u01f6,\u030f" +
+                        "\004\001\005\006\u010d\001\u0310,\u0311\004\001\021\022\u0110\000\u0312\204\u0312\000\000" +
+                        "\000\000\u02d2\001\u01f9\204\u0313\004\001\005\006\u010d\000\u0314\204\u0315\000\000\000\000" +
+                        "\u02d2\000\u01fb\000\u01fb\000\000\000\000\204\000\u01fd\000\u0111\000\000\000\000\204\000" +
+                        "\u01fd\000\u01fe\000\000\000\000\204\000\u01fd\000\u0111\000\000\000\000\204\001\u01ff\002" +
+                        "\u0316\004\001,\006\u0115\001\u0317\017\u0318\004\001,\022\u0118\000\u0319\000\u0319\000\000" +
+                        "\204\000\u021e\001\u0202\002\u031a\004\001\204\006\u0115\000\u031b\000\u031c\000\000\204\000" +
+                        "\u021e\001\u0204\002\u031d\004\001\005,\u011a\001\u031e\017\u031f\004\001\021,\u011d\000" +
+                        "\u0320\000\u0320\000\000\000\204\u0226\001\u0207\002\u0321\004\001\005\204\u011a\000\u0322" +
+                        "\000\u0323\000\000\000\204\u0226\001\u0209\002\u0324\004\001\005\006\u011f\001\u0325\017" +
+                        "\u0326\004\001\021\022\u011f\000\u0327\000\u0327\000\000\000\000\u020c\000\000\000,\000\000" +
+                        "\000\000,\001\u020d\002\u0328\004\001\005\006\u020c\000\u0329\000\u032a\000\000\000\000" +
+                        "\u020c\000\u020f,\u020f\000\000\000\000\000\000\u0211,\u0122\000\000\000\000\000\000\u0211," +
+                        "\u0212\000\000\000\000\000\000\u0211,\u0122\000\000\000\000\000\000\u032b\200\u032b\000\000" +
+                        "\000\000\000\001\u0214\200\u032c\004\001\005\006\007\000\u032d\200\u032e\000\000\000\000\000" +
+                        "\000\u0216\u0127\u0216\000\000\000\000\000\000\u0218\u0127\u0128\000\000\000\000\000\000" +
+                        "\u0218\u0127\u0219\000\000\000\000\000\000\u0218\u0127\u0128\000\000\000\000\000\000\u032f" +
+                        "\u021e\u032f\000\000,\000\000\001\u021b\210\u0330\004\001,\006\007\000\u0331\u021e\u0332\000" +
+                        "\000,\000\000\000\u021d\u021e\u021d\000\000\204\000\000\000\000\000\000\000\000,\000\000\000" +
+                        "\u0220\u021e\u0131\000\000\204\000\000\000\u0220\u021e\u0221\000\000\204\000\000\000\u0220" +
+                        "\u021e\u0131\000\000\204\000\000\000\u0333\u0226\u0333\000\000\000,\000\001\u0223\215\u0334" +
+                        "\004\001\005,\007\000\u0335\u0226\u0336\000\000\000,\000\000\u0225\u0226\u0225\000\000\000" +
+                        "\204\000\000\000\000\000\000\000\000,\000\000\u0228\u0226\u0136\000\000\000\204\000\000" +
+                        "\u0228\u0226\u0229\000\000\000\204\000\000\u0228\u0226\u0136\000\000\000\204\000\000\u0337" +
+                        "\u022e\u0337\000\000\000\000,\001\u022b\222\u0338\004\001\005\006,\000\u0339\u022e\u033a\000" +
+                        "\000\000\000,\000\u022d\u022e\u022d\000\000\000\000\204\000\000\000\000\000\000\000\000,\000" +
+                        "\u0230\u022e\u013b\000\000\000\000\204\000\u0230\u022e\u0231\000\000\000\000\204\000\u0230" +
+                        "\u022e\u013b\000\000\000\000\204\000\u0232\204\u0233\000\000\000\000\000\000\u0232,\u0233" +
+                        "\000\000\000\000\000\000\u0235,\u013e\000\000\000\000\000\000\u0235\204\u0236\000\000\000" +
+                        "\000\000\000\u0235,\u013e\000\000\000\000\000\000\u0237\000\u0238\000\000\204\000\000\000" +
+                        "\u0237\000\u0238\000\000,\000\000\000\u023a\000\u0141\000\000,\000\000\000\u023a\000\u023b" +
+                        "\000\000\204\000\000\000\u023a\000\u0141\000\000,\000\000\000\u023c\000\u023d\000\000\000" +
+                        "\204\000\000\u023c\000\u023d\000\000\000,\000\000\u023f\000\u0144\000\000\000,\000\000\u023f" +
+                        "\000\u0240\000\000\000\204\000\000\u023f\000\u0144\000\000\000,\000\000\u0241\000\u0242\000" +
+                        "\000\000\000\204\000\u0241\000\u0242\000\000\000\000,\000\u0244\000\u0147\000\000\000\000," +
+                        "\000\u0244\000\u0245\000\000\000\000\204\000\u0244\000\u0147\000\000\000\000,\000\u033b\242" +
+                        "\u033b\000\000\000\000\000\001\u0247\242\u033c\004\001\005\006\007\000\u033d\242\u033e\000" +
+                        "\000\000\000\000\001\u0249\u014c\u033f\004\001\005\006\007\001\u0340\u014c\u0341\004\001\021" +
+                        "\022\023\000\000\242,\000\000\000\000\000\000\u0342\u024b\u0342\000\000\000\000\000\001" +
+                        "\u024d\u024b\u0343\004\001\005\006\007\000\u0344\u024b\u0345\000\000\000\000\000\000\u024f" +
+                        "\u0150\u024f\000\000\000\000\000\000\u0251\u0150\u0151\000\000\000\000\000\000\u0251\u0150" +
+                        "\u0252\000\000\000\000\000\000\u0251\u0150\u0151\000\000\000\000\000\001\u0253\u0154\u0346" +
+                        "\004\001,\006\007\001\u0347\u0157\u0348\004\001,\022\023\000\u0349\u034a\u0349\000\000\204" +
+                        "\000\000\001\u0256\u0154\u034b\004\001\204\006\007\000\u034c\u034a\u034d\000\000\204\000\000" +
+                        "\001\u0258\u0159\u034e\004\001\005,\007\001\u034f\u015c\u0350\004\001\021,\023\000\u0351" +
+                        "\u0352\u0351\000\000\000\204\000\001\u025b\u0159\u0353\004\001\005\204\007\000\u0354\u0352" +
+                        "\u0355\000\000\000\204\000\001\u025d\u015e\u0356\004\001\005\006,\001\u0357\u0161\u0358\004" +
+                        "\001\021\022,\000\u0359\u035a\u0359\000\000\000\000\204\001\u0260\u015e\u035b\004\001\005" +
+                        "\006\204\000\u035c\u035a\u035d\000\000\000\000\204\001\u0262,\u035e\004\001\005\006\007\001" +
+                        "\u035f\242\u0360\004\001\021\022\023\000\u0361\242\u0362\000\000\000\000\000\001\u0265\204" +
+                        "\u0363\004\001\005\006\007\000\u0364\242\u0365\000\000\000\000\000\001\u0267\002\u0366\004" +
+                        "\001,\006\007\001\u0367\017\u0368\004\001\242\022\023\000\u0369\000\u036a\000\000\242\000" +
+                        "\000\001\u026a\002\u036b\004\001\204\006\007\000\u036c\000\u036d\000\000\242\000\000\001" +
+                        "\u026c\002\u036e\004\001\005,\007\001\u036f\017\u0370\004\001\021\242\023\000\u0371\000" +
+                        "\u0372\000\000\000\242\000\001\u026f\002\u0373\004\001\005\204\007\000\u0374\000\u0375\000" +
+                        "\000\000\242\000\001\u0271\002\u0376\004\001\005\006,\001\u0377\017\u0378\004\001\021\022" +
+                        "\242\000\u0379\000\u037a\000\000\000\000\242\001\u0274\002\u037b\004\001\005\006\204\000" +
+                        "\u037c\000\u037d\000\000\000\000\242\000\u037e\000\u037e\000\000\242\000\000\001\u0277\002" +
+                        "\u037f\004\001\242\006\007\000\u0380\000\u0381\000\000\242\000\000\001\u0279,\u0382\004\001" +
+                        "\u0176\006\007\001\u0383,\u0384\004\001\u0179\022\023\000\u0385\204\u0385\000\000\u0386\000" +
+                        "\000\001\u027c\204\u0387\004\001\u0176\006\007\000\u0388\204\u0389\000\000\u0386\000\000\000" +
+                        "\u027e\000\u027e\000\000\u0150\000\000\000\u0280\000\u017a\000\000\u0150\000\000\000\u0280" +
+                        "\000\u0281\000\000\u0150\000\000\000\u0280\000\u017a\000\000\u0150\000\000\001\u0282\002" +
+                        "\u038a\004\001\u017e\006\007\001\u038b\017\u038c\004\001\u017e\022\023\000\u038d\000\u038d" +
+                        "\000\000\u0285\000\000\000\000\000,\000\000\242\000\000\001\u0286\002\u038e\004\001\u0285" +
+                        "\006\007\000\u038f\000\u0390\000\000\u0285\000\000\001\u0288\002\u0391\004\001\u0182,\007" +
+                        "\001\u0392\017\u0393\004\001\u0185,\023\000\u0394\000\u0394\000\000\u0352\204\000\001\u028b" +
+                        "\002\u0395\004\001\u0182\204\007\000\u0396\000\u0397\000\000\u0352\204\000\001\u028d\002" +
+                        "\u0398\004\001\u0187\006,\001\u0399\017\u039a\004\001\u018a\022,\000\u039b\000\u039b\000\000" +
+                        "\u035a\000\204\001\u0290\002\u039c\004\001\u0187\006\204\000\u039d\000\u039e\000\000\u035a" +
+                        "\000\204\000\u039f\000\u039f\000\000\000\242\000\001\u0293\002\u03a0\004\001\005\242\007\000" +
+                        "\u03a1\000\u03a2\000\000\000\242\000\001\u0295,\u03a3\004\001\005\u018e\007\001\u03a4,\u03a5" +
+                        "\004\001\021\u0191\023\000\u03a6\204\u03a6\000\000\000\u0386\000\001\u0298\204\u03a7\004\001" +
+                        "\005\u018e\007\000\u03a8\204\u03a9\000\000\000\u0386\000\000\u029a\000\u029a\000\000\000" +
+                        "\u0150\000\000\u029c\000\u0192\000\000\000\u0150\000\000\u029c\000\u029d\000\000\000\u0150" +
+                        "\000\000\u029c\000\u0192\000\000\000\u0150\000\001\u029e\002\u03aa\004\001,\u0196\007\001" +
+                        "\u03ab\017\u03ac\004\001,\u0199\023\000\u03ad\000\u03ad\000\000\204\u034a\000\001\u02a1\002" +
+                        "\u03ae\004\001\204\u0196\007\000\u03af\000\u03b0\000\000\204\u034a\000\001\u02a3\002\u03b1" +
+                        "\004\001\005\u019b\007\001\u03b2\017\u03b3\004\001\021\u019b\023\000\u03b4\000\u03b4\000\000" +
+                        "\000\u02a6\000\000\000\000,\000\000\000\242\000\001\u02a7\002\u03b5\004\001\005\u02a6\007" +
+                        "\000\u03b6\000\u03b7\000\000\000\u02a6\000\001\u02a9\002\u03b8\004\001\005\u019f,\001\u03b9" +
+                        "\017\u03ba\004\001\021\u01a2,\000\u03bb\000\u03bb\000\000\000\u035a\204\001\u02ac\002\u03bc" +
+                        "\004\001\005\u019f\204\000\u03bd\000\u03be\000\000\000\u035a\204\000\u03bf\000\u03bf\000\000" +
+                        "\000\000\242\001\u02af\002\u03c0\004\001\005\006\242\000\u03c1\000\u03c2\000\000\000\000\242" +
+                        "\001\u02b1,\u03c3\004\001\005\006\u01a6\001\u03c4,\u03c5\004\001\021\022\u01a9\000\u03c6\204" +
+                        "\u03c6\000\000\000\000\u0386\001\u02b4\204\u03c7\004\001\005\006\u01a6\000\u03c8\204\u03c9" +
+                        "\000\000\000\000\u0386\000\u02b6\000\u02b6\000\000\000\000\u0150\000\u02b8\000\u01aa\000\000" +
+                        "\000\000\u0150\000\u02b8\000\u02b9\000\000\000\000\u0150\000\u02b8\000\u01aa\000\000\000\000" +
+                        "\u0150\001\u02ba\002\u03ca\004\001,\006\u01ae\001\u03cb\017\u03cc\004\001,\022\u01b1\000" +
+                        "\u03cd\000\u03cd\000\000\204\000\u034a\001\u02bd\002\u03ce\004\001\204\006\u01ae\000\u03cf" +
+                        "\000\u03d0\000\000\204\000\u034a\001\u02bf\002\u03d1\004\001\005,\u01b3\001\u03d2\017\u03d3" +
+                        "\004\001\021,\u01b6\000\u03d4\000\u03d4\000\000\000\204\u0352\001\u02c2\002\u03d5\004\001" +
+                        "\005\204\u01b3\000\u03d6\000\u03d7\000\000\000\204\u0352\001\u02c4\002\u03d8\004\001\005\006" +
+                        "\u01b8\001\u03d9\017\u03da\004\001\021\022\u01b8\000\u03db\000\u03db\000\000\000\000\u02c7" +
+                        "\000\000\000,\000\000\000\000\242\001\u02c8\002\u03dc\004\001\005\006\u02c7\000\u03dd\000" +
+                        "\u03de\000\000\000\000\u02c7\000\u02ca\000\u02ca\000\000,\000\000\000\u02cc\000\u01bb\000" +
+                        "\000,\000\000\000\u02cc\000\u02cd\000\000,\000\000\000\u02cc\000\u01bb\000\000,\000\000\000" +
+                        "\u03df,\u03df\000\000\u02d2\000\000\001\u02cf,\u03e0\004\001\335\006\007\000\u03e1,\u03e2" +
+                        "\000\000\u02d2\000\000\000\u02d1\204\u02d1\000\000\u02d2\000\000\000\000,\000\000\000\000" +
+                        "\000\000\000\u02d4\204\u01c0\000\000\u02d2\000\000\000\u02d4\204\u02d5\000\000\u02d2\000\000" +
+                        "\000\u02d4\204\u01c0\000\000\u02d2\000\000\000\u03e3\000\u03e3\000\000\345\000\000\001\u02d7" +
+                        "\002\u03e4\004\001\345\006\007\000\u03e5\000\u03e6\000\000\345\000\000\000\u02d9\000\u02d9" +
+                        "\000\000\u01ca\000\000\000\u02db\000\u01c9\000\000\u01ca\000\000\000\u02db\000\u02dc\000\000" +
+                        "\u01ca\000\000\000\u02db\000\u01c9\000\000\u01ca\000\000\000\u03e7\000\u03e7\000\000\u0226," +
+                        "\000\001\u02de\002\u03e8\004\001\351,\007\000\u03e9\000\u03ea\000\000\u0226,\000\000\u02e0" +
+                        "\000\u02e0\000\000\u0226\204\000\000\u02e2\000\u01cf\000\000\u0226\204\000\000\u02e2\000" +
+                        "\u02e3\000\000\u0226\204\000\000\u02e2\000\u01cf\000\000\u0226\204\000\000\u03eb\000\u03eb" +
+                        "\000\000\u022e\000,\001\u02e5\002\u03ec\004\001\356\006,\000\u03ed\000\u03ee\000\000\u022e" +
+                        "\000,\000\u02e7\000\u02e7\000\000\u022e\000\204\000\u02e9\000\u01d4\000\000\u022e\000\204" +
+                        "\000\u02e9\000\u02ea\000\000\u022e\000\204\000\u02e9\000\u01d4\000\000\u022e\000\204\000" +
+                        "\u02eb\000\u02eb\000\000\000,\000\000\u02ed\000\u01d7\000\000\000,\000\000\u02ed\000\u02ee" +
+                        "\000\000\000,\000\000\u02ed\000\u01d7\000\000\000,\000\000\u03ef,\u03ef\000\000\000\u02d2" +
+                        "\000\001\u02f0,\u03f0\004\001\005\365\007\000\u03f1,\u03f2\000\000\000\u02d2\000\000\u02f2" +
+                        "\204\u02f2\000\000\000\u02d2\000\000\u02f4\204\u01dc\000\000\000\u02d2\000\000\u02f4\204" +
+                        "\u02f5\000\000\000\u02d2\000\000\u02f4\204\u01dc\000\000\000\u02d2\000\000\u03f3\000\u03f3" +
+                        "\000\000,\u021e\000\001\u02f7\002\u03f4\004\001,\375\007\000\u03f5\000\u03f6\000\000,\u021e" +
+                        "\000\000\u02f9\000\u02f9\000\000\204\u021e\000\000\u02fb\000\u01e5\000\000\204\u021e\000\000" +
+                        "\u02fb\000\u02fc\000\000\204\u021e\000\000\u02fb\000\u01e5\000\000\204\u021e\000\000\u03f7" +
+                        "\000\u03f7\000\000\000\u0102\000\001\u02fe\002\u03f8\004\001\005\u0102\007\000\u03f9\000" +
+                        "\u03fa\000\000\000\u0102\000\000\u0300\000\u0300\000\000\000\u01eb\000\000\u0302\000\u01ea" +
+                        "\000\000\000\u01eb\000\000\u0302\000\u0303\000\000\000\u01eb\000\000\u0302\000\u01ea\000\000" +
+                        "\000\u01eb\000\000\u03fb\000\u03fb\000\000\000\u022e,\001\u0305\002\u03fc\004\001\005\u0106," +
+                        "\000\u03fd\000\u03fe\000\000\000\u022e,\000\u0307\000\u0307\000\000\000\u022e\204\000\u0309" +
+                        "\000\u01f0\000\000\000\u022e\204\000\u0309\000\u030a\000\000\000\u022e\204\000\u0309\000" +
+                        "\u01f0\000\000\000\u022e\204\000\u030b\000\u030b\000\000\000\000,\000\u030d\000\u01f3\000" +
+                        "\000\000\000,\000\u030d\000\u030e\000\000\000\000,\000\u030d\000\u01f3\000\000\000\000,\000" +
+                        "\u03ff,\u03ff\000\000\000\000\u02d2\001\u0310,\u0400\004\001\005\006\u010d\000\u0401,\u0402" +
+                        "\000\000\000\000\u02d2\000\u0312\204\u0312\000\000\000\000\u02d2\000\u0314\204\u01f8\000\000" +
+                        "\000\000\u02d2\000\u0314\204\u0315\000\000\000\000\u02d2\000\u0314\204\u01f8\000\000\000\000" +
+                        "\u02d2\000\u0403\000\u0403\000\000,\000\u021e\001\u0317\002\u0404\004\001,\006\u0115\000" +
+                        "\u0405\000\u0406\000\000,\000\u021e\000\u0319\000\u0319\000\000\204\000\u021e\000\u031b\000" +
+                        "\u0201\000\000\204\000\u021e\000\u031b\000\u031c\000\000\204\000\u021e\000\u031b\000\u0201" +
+                        "\000\000\204\000\u021e\000\u0407\000\u0407\000\000\000,\u0226\001\u031e\002\u0408\004\001" +
+                        "\005,\u011a\000\u0409\000\u040a\000\000\000,\u0226\000\u0320\000\u0320\000\000\000\204\u0226" +
+                        "\000\u0322\000\u0206\000\000\000\204\u0226\000\u0322\000\u0323\000\000\000\204\u0226\000" +
+                        "\u0322\000\u0206\000\000\000\204\u0226\000\u040b\000\u040b\000\000\000\000\u011f\001\u0325" +
+                        "\002\u040c\004\001\005\006\u011f\000\u040d\000\u040e\000\000\000\000\u011f\000\u0327\000" +
+                        "\u0327\000\000\000\000\u020c\000\u0329\000\u020b\000\000\000\000\u020c\000\u0329\000\u032a" +
+                        "\000\000\000\000\u020c\000\u0329\000\u020b\000\000\000\000\u020c\000\u032b\200\u032b\000\000" +
+                        "\000\000\000\000\u032d\200\u0213\000\000\000\000\000\000\u032d\200\u032e\000\000\000\000\000" +
+                        "\000\u032d\200\u0213\000\000\000\000\000\000\u032f\u021e\u032f\000\000,\000\000\000\u0331" +
+                        "\u021e\u021a\000\000,\000\000\000\u0331\u021e\u0332\000\000,\000\000\000\u0331\u021e\u021a" +
+                        "\000\000,\000\000\000\u0333\u0226\u0333\000\000\000,\000\000\u0335\u0226\u0222\000\000\000," +
+                        "\000\000\u0335\u0226\u0336\000\000\000,\000\000\u0335\u0226\u0222\000\000\000,\000\000\u0337" +
+                        "\u022e\u0337\000\000\000\000,\000\u0339\u022e\u022a\000\000\000\000,\000\u0339\u022e\u033a" +
+                        "\000\000\000\000,\000\u0339\u022e\u022a\000\000\000\000,\000\u033b\242\u033b\000\000\000\000" +
+                        "\000\000\u033d\242\u0246\000\000\000\000\000\000\u033d\242\u033e\000\000\000\000\000\000" +
+                        "\u033d\242\u0246\000\000\000\000\000\000\u040f\u014c\u040f\000\000\000\000\000\001\u0340" +
+                        "\u014c\u0410\004\001\005\006\007\000\u0411\u014c\u0412\000\000\000\000\000\000\u0342\u024b" +
+                        "\u0342\000\000\000\000\000\000\u0344\u024b\u024c\000\000\000\000\000\000\u0344\u024b\u0345" +
+                        "\000\000\000\000\000\000\u0344\u024b\u024c\000\000\000\000\000\000\u0413\u034a\u0413\000\000" +
+                        ",\000\000\001\u0347\u0154\u0414\004\001,\006\007\000\u0415\u034a\u0416\000\000,\000\000\000" +
+                        "\u0349\u034a\u0349\000\000\204\000\000\000\000\000\000\000\000\242\000\000\000\u034c\u034a" +
+                        "\u0255\000\000\204\000\000\000\u034c\u034a\u034d\000\000\204\000\000\000\u034c\u034a\u0255" +
+                        "\000\000\204\000\000\000\u0417\u0352\u0417\000\000\000,\000\001\u034f\u0159\u0418\004\001" +
+                        "\005,\007\000\u0419\u0352\u041a\000\000\000,\000\000\u0351\u0352\u0351\000\000\000\204\000" +
+                        "\000\000\000\000\000\000\000\242\000\000\u0354\u0352\u025a\000\000\000\204\000\000\u0354" +
+                        "\u0352\u0355\000\000\000\204\000\000\u0354\u0352\u025a\000\000\000\204\000\000\u041b\u035a" +
+                        "\u041b\000\000\000\000,\001\u0357\u015e\u041c\004\001\005\006,\000\u041d\u035a\u041e\000\000" +
+                        "\000\000,\000\u0359\u035a\u0359\000\000\000\000\204\000\000\000\000\000\000\000\000\242\000" +
+                        "\u035c\u035a\u025f\000\000\000\000\204\000\u035c\u035a\u035d\000\000\000\000\204\000\u035c" +
+                        "\u035a\u025f\000\000\000\000\204\000\u041f\242\u0420\000\000\000\000\000\001\u035f,\u0421" +
+                        "\004\001\005\006\007\000\u0422\242\u0423\000\000\000\000\000\000\u0361\204\u0362\000\000\000" +
+                        "\000\000\000\u0361\242\u0362\000\000\000\000\000\000\u0364\242\u0264\000\000\000\000\000\000" +
+                        "\u0364\204\u0365\000\000\000\000\000\000\u0364\242\u0264\000\000\000\000\000\000\u0424\000" +
+                        "\u0425\000\000\242\000\000\001\u0367\002\u0426\004\001,\006\007\000\u0427\000\u0428\000\000" +
+                        "\242\000\000\000\u0369\000\u036a\000\000\204\000\000\000\u0369\000\u036a\000\000\242\000\000" +
+                        "\000\u036c\000\u0269\000\000\242\000\000\000\u036c\000\u036d\000\000\204\000\000\000\u036c" +
+                        "\000\u0269\000\000\242\000\000\000\u0429\000\u042a\000\000\000\242\000\001\u036f\002\u042b" +
+                        "\004\001\005,\007\000\u042c\000\u042d\000\000\000\242\000\000\u0371\000\u0372\000\000\000" +
+                        "\204\000\000\u0371\000\u0372\000\000\000\242\000\000\u0374\000\u026e\000\000\000\242\000\000" +
+                        "\u0374\000\u0375\000\000\000\204\000\000\u0374\000\u026e\000\000\000\242\000\000\u042e\000" +
+                        "\u042f\000\000\000\000\242\001\u0377\002\u0430\004\001\005\006,\000\u0431\000\u0432\000\000" +
+                        "\000\000\242\000\u0379\000\u037a\000\000\000\000\204\000\u0379\000\u037a\000\000\000\000\242" +
+                        "\000\u037c\000\u0273\000\000\000\000\242\000\u037c\000\u037d\000\000\000\000\204\000\u037c" +
+                        "\000\u0273\000\000\000\000\242\000\u037e\000\u037e\000\000\242\000\000\000\u0380\000\u0276" +
+                        "\000\000\242\000\000\000\u0380\000\u0381\000\000\242\000\000\000\u0380\000\u0276\000\000\242" +
+                        "\000\000\000\u0433,\u0433\000\000\u0386\000\000\001\u0383,\u0434\004\001\u0176\006\007\000" +
+                        "\u0435,\u0436\000\000\u0386\000\000\000\u0385\204\u0385\000\000\u0386\000\000\000\000\242" +
+                        "\000\000\000\000\000\000\000\u0388\204\u027b\000\000\u0386\000\000\000\u0388\204\u0389\000" +
+                        "\000\u0386\000\000\000\u0388\204\u027b\000\000\u0386\000\000\000\u0437\000\u0437\000\000" +
+                        "\u017e\000\000\001\u038b\002\u0438\004\001\u017e\006\007\000\u0439\000\u043a\000\000\u017e" +
+                        "\000\000\000\u038d\000\u038d\000\000\u0285\000\000\000\u038f\000\u0284\000\000\u0285\000\000" +
+                        "\000\u038f\000\u0390\000\000\u0285\000\000\000\u038f\000\u0284\000\000\u0285\000\000\000" +
+                        "\u043b\000\u043b\000\000\u0352,\000\001\u0392\002\u043c\004\001\u0182,\007\000\u043d\000" +
+                        "\u043e\000\000\u0352,\000\000\u0394\000\u0394\000\000\u0352\204\000\000\u0396\000\u028a\000" +
+                        "\000\u0352\204\000\000\u0396\000\u0397\000\000\u0352\204\000\000\u0396\000\u028a\000\000" +
+                        "\u0352\204\000\000\u043f\000\u043f\000\000\u035a\000,\001\u0399\002\u0440\004\001\u0187\006," +
+                        "\000\u0441\000\u0442\000\000\u035a\000,\000\u039b\000\u039b\000\000\u035a\000\204\000\u039d" +
+                        "\000\u028f\000\000\u035a\000\204\000\u039d\000\u039e\000\000\u035a\000\204\000\u039d\000" +
+                        "\u028f\000\000\u035a\000\204\000\u039f\000\u039f\000\000\000\242\000\000\u03a1\000\u0292\000" +
+                        "\000\000\242\000\000\u03a1\000\u03a2\000\000\000\242\000\000\u03a1\000\u0292\000\000\000\242" +
+                        "\000\000\u0443,\u0443\000\000\000\u0386\000\001\u03a4,\u0444\004\001\005\u018e\007\000\u0445" +
+                        ",\u0446\000\000\000\u0386\000\000\u03a6\204\u03a6\000\000\000\u0386\000\000\u03a8\204\u0297" +
+                        "\000\000\000\u0386\000\000\u03a8\204\u03a9\000\000\000\u0386\000\000\u03a8\204\u0297\000\000" +
+                        "\000\u0386\000\000\u0447\000\u0447\000\000,\u034a\000\001\u03ab\002\u0448\004\001,\u0196\007" +
+                        "\000\u0449\000\u044a\000\000,\u034a\000\000\u03ad\000\u03ad\000\000\204\u034a\000\000\u03af" +
+                        "\000\u02a0\000\000\204\u034a\000\000\u03af\000\u03b0\000\000\204\u034a\000\000\u03af\000" +
+                        "\u02a0\000\000\204\u034a\000\000\u044b\000\u044b\000\000\000\u019b\000\001\u03b2\002\u044c" +
+                        "\004\001\005\u019b\007\000\u044d\000\u044e\000\000\000\u019b\000\000\u03b4\000\u03b4\000\000" +
+                        "\000\u02a6\000\000\u03b6\000\u02a5\000\000\000\u02a6\000\000\u03b6\000\u03b7\000\000\000" +
+                        "\u02a6\000\000\u03b6\000\u02a5\000\000\000\u02a6\000\000\u044f\000\u044f\000\000\000\u035a," +
+                        "\001\u03b9\002\u0450\004\001\005\u019f,\000\u0451\000\u0452\000\000\000\u035a,\000\u03bb\000" +
+                        "\u03bb\000\000\000\u035a\204\000\u03bd\000\u02ab\000\000\000\u035a\204\000\u03bd\000\u03be" +
+                        "\000\000\000\u035a\204\000\u03bd\000\u02ab\000\000\000\u035a\204\000\u03bf\000\u03bf\000\000" +
+                        "\000\000\242\000\u03c1\000\u02ae\000\000\000\000\242\000\u03c1\000\u03c2\000\000\000\000\242" +
+                        "\000\u03c1\000\u02ae\000\000\000\000\242\000\u0453,\u0453\000\000\000\000\u0386\001\u03c4," +
+                        "\u0454\004\001\005\006\u01a6\000\u0455,\u0456\000\000\000\000\u0386\000\u03c6\204\u03c6\000" +
+                        "\000\000\000\u0386\000\u03c8\204\u02b3\000\000\000\000\u0386\000\u03c8\204\u03c9\000\000\000" +
+                        "\000\u0386\000\u03c8\204\u02b3\000\000\000\000\u0386\000\u0457\000\u0457\000\000,\000\u034a" +
+                        "\001\u03cb\002\u0458\004\001,\006\u01ae\000\u0459\000\u045a\000\000,\000\u034a\000\u03cd\000" +
+                        "\u03cd\000\000\204\000\u034a\000\u03cf\000\u02bc\000\000\204\000\u034a\000\u03cf\000\u03d0" +
+                        "\000\000\204\000\u034a\000\u03cf\000\u02bc\000\000\204\000\u034a\000\u045b\000\u045b\000\000" +
+                        "\000,\u0352\001\u03d2\002\u045c\004\001\005,\u01b3\000\u045d\000\u045e\000\000\000,\u0352" +
+                        "\000\u03d4\000\u03d4\000\000\000\204\u0352\000\u03d6\000\u02c1\000\000\000\204\u0352\000" +
+                        "\u03d6\000\u03d7\000\000\000\204\u0352\000\u03d6\000\u02c1\000\000\000\204\u0352\000\u045f" +
+                        "\000\u045f\000\000\000\000\u01b8\001\u03d9\002\u0460\004\001\005\006\u01b8\000\u0461\000" +
+                        "\u0462\000\000\000\000\u01b8\000\u03db\000\u03db\000\000\000\000\u02c7\000\u03dd\000\u02c6" +
+                        "\000\000\000\000\u02c7\000\u03dd\000\u03de\000\000\000\000\u02c7\000\u03dd\000\u02c6\000\000" +
+                        "\000\000\u02c7\000\u03df,\u03df\000\000\u02d2\000\000\000\u03e1,\u02ce\000\000\u02d2\000\000" +
+                        "\000\u03e1,\u03e2\000\000\u02d2\000\000\000\u03e1,\u02ce\000\000\u02d2\000\000\000\u03e3\000" +
+                        "\u03e3\000\000\345\000\000\000\u03e5\000\u02d6\000\000\345\000\000\000\u03e5\000\u03e6\000" +
+                        "\000\345\000\000\000\u03e5\000\u02d6\000\000\345\000\000\000\u03e7\000\u03e7\000\000\u0226," +
+                        "\000\000\u03e9\000\u02dd\000\000\u0226,\000\000\u03e9\000\u03ea\000\000\u0226,\000\000\u03e9" +
+                        "\000\u02dd\000\000\u0226,\000\000\u03eb\000\u03eb\000\000\u022e\000,\000\u03ed\000\u02e4\000" +
+                        "\000\u022e\000,\000\u03ed\000\u03ee\000\000\u022e\000,\000\u03ed\000\u02e4\000\000\u022e\000" +
+                        ",\000\u03ef,\u03ef\000\000\000\u02d2\000\000\u03f1,\u02ef\000\000\000\u02d2\000\000\u03f1," +
+                        "\u03f2\000\000\000\u02d2\000\000\u03f1,\u02ef\000\000\000\u02d2\000\000\u03f3\000\u03f3\000" +
+                        "\000,\u021e\000\000\u03f5\000\u02f6\000\000,\u021e\000\000\u03f5\000\u03f6\000\000,\u021e" +
+                        "\000\000\u03f5\000\u02f6\000\000,\u021e\000\000\u03f7\000\u03f7\000\000\000\u0102\000\000" +
+                        "\u03f9\000\u02fd\000\000\000\u0102\000\000\u03f9\000\u03fa\000\000\000\u0102\000\000\u03f9" +
+                        "\000\u02fd\000\000\000\u0102\000\000\u03fb\000\u03fb\000\000\000\u022e,\000\u03fd\000\u0304" +
+                        "\000\000\000\u022e,\000\u03fd\000\u03fe\000\000\000\u022e,\000\u03fd\000\u0304\000\000\000" +
+                        "\u022e,\000\u03ff,\u03ff\000\000\000\000\u02d2\000\u0401,\u030f\000\000\000\000\u02d2\000" +
+                        "\u0401,\u0402\000\000\000\000\u02d2\000\u0401,\u030f\000\000\000\000\u02d2\000\u0403\000" +
+                        "\u0403\000\000,\000\u021e\000\u0405\000\u0316\000\000,\000\u021e\000\u0405\000\u0406\000\000" +
+                        ",\000\u021e\000\u0405\000\u0316\000\000,\000\u021e\000\u0407\000\u0407\000\000\000,\u0226" +
+                        "\000\u0409\000\u031d\000\000\000,\u0226\000\u0409\000\u040a\000\000\000,\u0226\000\u0409\000" +
+                        "\u031d\000\000\000,\u0226\000\u040b\000\u040b\000\000\000\000\u011f\000\u040d\000\u0324\000" +
+                        "\000\000\000\u011f\000\u040d\000\u040e\000\000\000\000\u011f\000\u040d\000\u0324\000\000\000" +
+                        "\000\u011f\000\u040f\u014c\u040f\000\000\000\000\000\000\u0411\u014c\u033f\000\000\000\000" +
+                        "\000\000\u0411\u014c\u0412\000\000\000\000\000\000\u0411\u014c\u033f\000\000\000\000\000\000" +
+                        "\u0413\u034a\u0413\000\000,\000\000\000\u0415\u034a\u0346\000\000,\000\000\000\u0415\u034a" +
+                        "\u0416\000\000,\000\000\000\u0415\u034a\u0346\000\000,\000\000\000\u0417\u0352\u0417\000\000" +
+                        "\000,\000\000\u0419\u0352\u034e\000\000\000,\000\000\u0419\u0352\u041a\000\000\000,\000\000" +
+                        "\u0419\u0352\u034e\000\000\000,\000\000\u041b\u035a\u041b\000\000\000\000,\000\u041d\u035a" +
+                        "\u0356\000\000\000\000,\000\u041d\u035a\u041e\000\000\000\000,\000\u041d\u035a\u0356\000\000" +
+                        "\000\000,\000\u041f,\u0420\000\000\000\000\000\000\u041f\242\u0420\000\000\000\000\000\000" +
+                        "\u0422\242\u035e\000\000\000\000\000\000\u0422,\u0423\000\000\000\000\000\000\u0422\242" +
+                        "\u035e\000\000\000\000\000\000\u0424\000\u0425\000\000,\000\000\000\u0424\000\u0425\000\000" +
+                        "\242\000\000\000\u0427\000\u0366\000\000\242\000\000\000\u0427\000\u0428\000\000,\000\000" +
+                        "\000\u0427\000\u0366\000\000\242\000\000\000\u0429\000\u042a\000\000\000,\000\000\u0429\000" +
+                        "\u042a\000\000\000\242\000\000\u042c\000\u036e\000\000\000\242\000\000\u042c\000\u042d\000" +
+                        "\000\000,\000\000\u042c\000\u036e\000\000\000\242\000\000\u042e\000\u042f\000\000\000\000," +
+                        "\000\u042e\000\u042f\000\000\000\000\242\000\u0431\000\u0376\000\000\000\000\242\000\u0431" +
+                        "\000\u0432\000\000\000\000,\000\u0431\000\u0376\000\000\000\000\242\000\u0433,\u0433\000\000" +
+                        "\u0386\000\000\000\u0435,\u0382\000\000\u0386\000\000\000\u0435,\u0436\000\000\u0386\000\000" +
+                        "\000\u0435,\u0382\000\000\u0386\000\000\000\u0437\000\u0437\000\000\u017e\000\000\000\u0439" +
+                        "\000\u038a\000\000\u017e\000\000\000\u0439\000\u043a\000\000\u017e\000\000\000\u0439\000" +
+                        "\u038a\000\000\u017e\000\000\000\u043b\000\u043b\000\000\u0352,\000\000\u043d\000\u0391\000" +
+                        "\000\u0352,\000\000\u043d\000\u043e\000\000\u0352,\000\000\u043d\000\u0391\000\000\u0352," +
+                        "\000\000\u043f\000\u043f\000\000\u035a\000,\000\u0441\000\u0398\000\000\u035a\000,\000\u0441" +
+                        "\000\u0442\000\000\u035a\000,\000\u0441\000\u0398\000\000\u035a\000,\000\u0443,\u0443\000" +
+                        "\000\000\u0386\000\000\u0445,\u03a3\000\000\000\u0386\000\000\u0445,\u0446\000\000\000\u0386" +
+                        "\000\000\u0445,\u03a3\000\000\000\u0386\000\000\u0447\000\u0447\000\000,\u034a\000\000\u0449" +
+                        "\000\u03aa\000\000,\u034a\000\000\u0449\000\u044a\000\000,\u034a\000\000\u0449\000\u03aa\000" +
+                        "\000,\u034a\000\000\u044b\000\u044b\000\000\000\u019b\000\000\u044d\000\u03b1\000\000\000" +
+                        "\u019b\000\000\u044d\000\u044e\000\000\000\u019b\000\000\u044d\000\u03b1\000\000\000\u019b" +
+                        "\000\000\u044f\000\u044f\000\000\000\u035a,\000\u0451\000\u03b8\000\000\000\u035a,\000\u0451" +
+                        "\000\u0452\000\000\000\u035a,\000\u0451\000\u03b8\000\000\000\u035a,\000\u0453,\u0453\000" +
+                        "\000\000\000\u0386\000\u0455,\u03c3\000\000\000\000\u0386\000\u0455,\u0456\000\000\000\000" +
+                        "\u0386\000\u0455,\u03c3\000\000\000\000\u0386\000\u0457\000\u0457\000\000,\000\u034a\000" +
+                        "\u0459\000\u03ca\000\000,\000\u034a\000\u0459\000\u045a\000\000,\000\u034a\000\u0459\000" +
+                        "\u03ca\000\000,\000\u034a\000\u045b\000\u045b\000\000\000,\u0352\000\u045d\000\u03d1\000\000" +
+                        "\000,\u0352\000\u045d\000\u045e\000\000\000,\u0352\000\u045d\000\u03d1\000\000\000,\u0352" +
+                        "\000\u045f\000\u045f\000\000\000\000\u01b8\000\u0461\000\u03d8\000\000\000\000\u01b8\000" +
+                        "\u0461\000\u0462\000\000\000\000\u01b8\000\u0461\000\u03d8\000\000\000\000\u01b8",
+                    "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+                        "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\001\000\000\000" +
+                        "\000\000\000\000\000\000\000\000\000\000\001\000\000\000\000\000\000\000\000\000\000\000\000" +
+                        "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+                        "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+                        "\000\000\000\000\000\000\000\000\000\000\000\001\000\000\000\001\001\000\001\000\000\000\000" +
+                        "\000\000\000\000\000\000\000\000\000\000\000\000\000\001\000\000\000\000\000\000\000\000\001" +
+                        "\000\000\000\000\000\000\000\000\000\000\000\001\000\000\000\001\000\000\000\000\000\000\000" +
+                        "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+                        "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\001\000\001\000\001\000\000" +
+                        "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\001\000\001\000\000\000" +
+                        "\000\000\000\001\000\000\000\000\000\000\000\000\000\000\000\000\000\000\001\000\001\000\000" +
+                        "\000\000\000\000\000\000\000\000\000\001\000\000\001\000\001\000\000\001\001\000\001\000\001" +
+                        "\000\000\000\000\001\000\001\000\000\001\000\001\000\000\001\000\001\001\000\001\001\000\001" +
+                        "\001\000\001\001\000\001\000\000\001\000\000\000\001\001\000\001\000\000\000\000\000\000\000" +
+                        "\000\000\000\000\000\000\000\000\000\000\000\000\001\000\000\000\000\000\000\000\000\000\000" +
+                        "\000\000\000\000\000\000\000\000\001\000\001\000\001\000\000\000\000\000\000\000\000\000\000" +
+                        "\000\000\000\000\000\000\000\000\000\001\000\001\000\000\000\000\000\000\001\000\000\000\000" +
+                        "\000\000\000\000\000\000\000\000\000\000\001\000\001\000\000\000\000\000\000\000\000\000\000" +
+                        "\000\001\000\000\001\000\001\000\000\001\000\001\000\001\000\000\000\000\001\001\000\001\000" +
+                        "\000\001\000\001\000\000\001\000\001\001\000\001\000\000\001\000\001\000\001\000\000\000\000" +
+                        "\001\000\001\000\000\001\001\000\001\000\000\001\000\001\001\000\001\000\000\001\000\001\000" +
+                        "\001\000\000\000\000\001\000\001\000\000\001\000\001\000\000\001\001\000\001\000\001\000\000" +
+                        "\001\000\001\000\001\000\000\001\000\001\000\000\001\000\000\001\000\001\000\000\001\000\000" +
+                        "\001\000\001\000\000\001\000\000\000\000\001\000\000\000\000\001\000\000\000\000\001\000\000" +
+                        "\000\000\001\000\000\001\000\001\000\000\001\001\000\001\000\001\000\000\000\000\001\000\001" +
+                        "\000\000\001\000\001\000\000\001\000\001\000\000\001\000\001\000\000\001\000\001\000\000\001" +
+                        "\000\001\000\000\001\000\001\001\000\001\000\000\001\000\001\000\001\000\000\000\000\001\001" +
+                        "\000\001\000\000\001\000\001\000\000\001\000\001\001\000\001\000\000\001\000\001\000\001\000" +
+                        "\000\000\000\001\000\001\000\000\001\001\000\001\000\000\001\000\001\001\000\001\000\000\001" +
+                        "\000\001\000\001\000\000\000\000\001\000\001\000\000\001\000\001\000\000\001\001\000\001\000" +
+                        "\001\000\000\001\000\001\000\000\001\000\000\001\000\001\000\001\000\000\001\000\001\000\001" +
+                        "\000\000\001\000\001\000\001\000\000\000\001\000\000\001\000\001\000\001\000\000\001\000\001" +
+                        "\000\001\000\000\001\000\001\000\001\000\000\001\000\001\000\001\000\000\000\001\000\000\001" +
+                        "\000\001\000\001\000\000\001\000\001\000\001\000\000\001\000\001\000\001\000\000\001\000\001" +
+                        "\000\001\000\000\000\001\000\000\000\001\000\000\000\001\000\000\000\001\000\000\000\001\000" +
+                        "\000\001\000\001\000\001\000\000\001\000\001\000\000\001\000\000\001\000\001\000\000\001\000" +
+                        "\000\001\000\001\000\000\001\000\000\001\000\001\000\000\001\000\000\001\000\001\000\000\001" +
+                        "\000\000\001\000\001\000\000\001\000\000\001\000\001\000\000\001\000\000\000\001\000\000\001" +
+                        "\000\001\000\000\001\000\000\001\000\001\000\001\000\000\001\000\001\000\001\000\000\001\000" +
+                        "\001\000\001\000\000\000\001\000\000\001\000\001\000\001\000\000\001\000\001\000\001\000\000" +
+                        "\001\000\001\000\001\000\000\001\000\001\000\001\000\000\000\001\000\000\001\000\001\000\001" +
+                        "\000\000\001\000\001\000\001\000\000\001\000\001\000\001\000\000\001\000\001\000\001\000\000" +
+                        "\000\001\000\000\000\001\000\000\000\001\000\000\000\001\000\000\000\001\000\000\000\001\000" +
+                        "\000\000\001\000\000\000\001\000\000\000\001\000\000\000\001\000\000\000\001\000\000\000\001" +
+                        "\000\000\000\001\000\000\000\001\000\000\000\001\000\000\000\001\000\000\000\000\001\000\000" +
+                        "\000\000\001\000\000\000\000\001\000\000\000\000\001\000\000\000\001\000\000\000\001\000\000" +
+                        "\000\001\000\000\000\001\000\000\000\001\000\000\000\001\000\000\000\001\000\000\000\001\000" +
+                        "\000\000\001\000\000\000\001\000\000\000\001\000\000\000\001\000\000",
+                    null),
+            // reverse: 139 states
+            new DfaMatcher.Dfa(9,
+                    "\000\000\002\003\000\004\005\006\007\000\010\011\012\000\000\013\014\015\000\016\017\016\000\000" +
+                        "\020\021\022\000\023\024\025\000\000\026\027\030\000\031\032\033\000\000\034\035\036\000\037" +
+                        " !\000\000\"#$\000%&'\000\000()*\000\010+\010\000\000\000\000\000\000,\000,\000\000\000\000" +
+                        "\000\000-+-\000\000\000\000\000\000.\000.\000\000\000\000\000\000/\000/\000\000\000\000\000" +
+                        "\0000\0000\000\000\000\000\000\000\016\0001\000\000\000\000\000\0002\0002\000\000\000\000" +
+                        "\000\0003\0003\000\000\000\000\000\0004\0004\000\000\000\000\000\0005\0005\000\000\000\000" +
+                        "\000\000\023\000\023+\000\000\000\000\000678\000\0009:;\000\023<\023+\000=>?\000@AB\000\000C" +
+                        "DE\000FGH\000\000IJK\000LMN\000\000OPQ\000\031\000\031\000\000+\000\000\000R\000R\000\000" +
+                        "\000\000\000\000S\000S\000\000+\000\000\000T\000T\000\000\000\000\000\000U\000U\000\000\000" +
+                        "\000\000\000V\000V\000\000\000\000\000\000\037\000\037\000\000\000+\000\000W\000W\000\000" +
+                        "\000\000\000\000X\000X\000\000\000+\000\000Y\000Y\000\000\000\000\000\000Z\000Z\000\000\000" +
+                        "\000\000\000[\000[\000\000\000\000\000\000%\000%\000\000\000\000+\000\\\000\\\000\000\000" +
+                        "\000\000\000]\000]\000\000\000\000+\000^\000^\000\000\000\000\000\000_\000_\000\000\000\000" +
+                        "\000\000`\000`\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000,a,\000\000\000" +
+                        "\000\000\000-b-\000\000\000\000\000\000.c.\000\000\000\000\000\000/d/\000\000\000\000\000" +
+                        "\0000e0\000\000\000\000\000\000\016\0001\000\000\000\000\000\0002\000f\000\000\000\000\000" +
+                        "\0003\000g\000\000\000\000\000\0004\000h\000\000\000\000\000\0005\000i\000\000\000\000\000" +
+                        "\0006j6\000\000\000\000\000\000k\000k\000\000\000\000\000\000ljl\000\000\000\000\000\000m" +
+                        "\000m\000\000\000\000\000\000n\000n\000\000\000\000\000\000o\000o\000\000\000\000\000\000p" +
+                        "\000p\000\000\000\000\000\000q\000q\000\000\000\000\000\000r\000r\000\000\000\000\000\000s" +
+                        "\000s\000\000\000\000\000\000@\000@\000\000j\000\000\000t\000t\000\000\000\000\000\000u\000u" +
+                        "\000\000j\000\000\000v\000v\000\000\000\000\000\000w\000w\000\000\000\000\000\000x\000x\000" +
+                        "\000\000\000\000\000F\000F\000\000\000j\000\000y\000y\000\000\000\000\000\000z\000z\000\000" +
+                        "\000j\000\000{\000{\000\000\000\000\000\000|\000|\000\000\000\000\000\000}\000}\000\000\000" +
+                        "\000\000\000L\000L\000\000\000\000j\000~\000~\000\000\000\000\000\000\177\000\177\000\000" +
+                        "\000\000j\000\200\000\200\000\000\000\000\000\000\201\000\201\000\000\000\000\000\000\202" +
+                        "\000\202\000\000\000\000\000\000R\000R\000\000a\000\000\000S\000S\000\000b\000\000\000T\000T" +
+                        "\000\000c\000\000\000U\000U\000\000d\000\000\000V\000V\000\000e\000\000\000W\000W\000\000" +
+                        "\000a\000\000X\000X\000\000\000b\000\000Y\000Y\000\000\000c\000\000Z\000Z\000\000\000d\000" +
+                        "\000[\000[\000\000\000e\000\000\\\000\\\000\000\000\000a\000]\000]\000\000\000\000b\000^\000" +
+                        "^\000\000\000\000c\000_\000_\000\000\000\000d\000`\000`\000\000\000\000e\000\000+\000\000" +
+                        "\000\000\000\000\000\000\000+\000\000\000\000\000\000\000\000\000\000\000+\000\000\000\000" +
+                        "\000\000\000\000\000+\000\000\000\000\000\000\000\000\000+\0002+f\000\000\000\000\000\0003" +
+                        "\000g\000\000+\000\000\0004\000h\000\000\000+\000\0005\000i\000\000\000\000+\000\000\000\000" +
+                        "+\000\000\000\000\000k\203k\000\000\000\000\000\000l\204l\000\000\000\000\000\000m\205m\000" +
+                        "\000\000\000\000\000n\206n\000\000\000\000\000\000o\207o\000\000\000\000\000\000p\000\210" +
+                        "\000\000\000\000\000\000q\000\211\000\000\000\000\000\000r\000\212\000\000\000\000\000\000s" +
+                        "\000\213\000\000\000\000\000\000t\000t\000\000\203\000\000\000u\000u\000\000\204\000\000\000" +
+                        "v\000v\000\000\205\000\000\000w\000w\000\000\206\000\000\000x\000x\000\000\207\000\000\000y" +
+                        "\000y\000\000\000\203\000\000z\000z\000\000\000\204\000\000{\000{\000\000\000\205\000\000|" +
+                        "\000|\000\000\000\206\000\000}\000}\000\000\000\207\000\000~\000~\000\000\000\000\203\000" +
+                        "\177\000\177\000\000\000\000\204\000\200\000\200\000\000\000\000\205\000\201\000\201\000\000" +
+                        "\000\000\206\000\202\000\202\000\000\000\000\207\000\000j\000\000\000\000\000\000\000\000" +
+                        "\000j+\000\000\000\000\000\000\000\000\000\000j\000\000\000\000\000\000\000\000\000j\000\000" +
+                        "\000\000\000\000\000\000\000j\000pj\210\000\000\000\000\000\000q\000\211\000\000j\000\000" +
+                        "\000r\000\212\000\000\000j\000\000s\000\213\000\000\000\000j",
+                    "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+                        "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\001\000\000\000\000" +
+                        "\000\001\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+                        "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+                        "\000\000\000\000\001\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+                        "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000",
+                    null),
+            null,
+            false);
+
+    static final DfaMatcher LEADING_INIT = new DfaMatcher(
+            "(^(.\\.*)(?= \\p{L}{2}))",
+            true,
+            new byte[]{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+                2, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 3, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 4, 4,
+                4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 0, 0, 0, 0, 0, 0, 4, 4, 4, 4, 4,
+                4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 0, 0, 0, 0, 0},
+            1, 4, 0,
+            // forward: 3 states
+            new DfaMatcher.Dfa(5,
+                    "\002\000\002\002\002\000\000\000\000\000\000\000\000\002\000",
+                    "\000\002\000",
+                    "\000\000\003\003\000\000"),
+            null,
+            // lookahead: 4 states
+            new DfaMatcher.Dfa(5,
+                    "\000\000\002\000\000\000\000\000\000\003\000\000\000\000\004\000\000\000\000\000",
+                    "\000\000\000\001",
+                    null),
+            false);
+
+    static final DfaMatcher FIRST = new DfaMatcher(
+            "^([^ ]+)",
+            true,
+            new byte[]{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+                1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+                0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+                0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
+            0, 0, 0,
+            // forward: 2 states
+            new DfaMatcher.Dfa(2,
+                    "\002\000\002\000",
+                    "\000\001",
+                    null),
+            null,
+            null,
+            false);
+
+    static final DfaMatcher MIDDLE = new DfaMatcher(
+            "^(\\w{2,})",
+            true,
+            new byte[]{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+                0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 1, 1,
+                1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 1, 0, 1, 1, 1, 1, 1,
+                1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0},
+            0, 0, 0,
+            // forward: 3 states
+            new DfaMatcher.Dfa(2,
+                    "\000\002\000\003\000\003",
+                    "\000\000\001",
+                    null),
+            null,
+            null,
+            false);
+
+    static final DfaMatcher MIDDLE_INITIAL = new DfaMatcher(
+            "^(\\w\\.?)(?!\\w)",
+            true,
+            new byte[]{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+                0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 0, 0, 0, 0, 0, 0, 0, 2, 2,
+                2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 0, 0, 0, 0, 2, 0, 2, 2, 2, 2, 2,
+                2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 0, 0, 0, 0, 0},
+            0, 0, 0,
+            // forward: 4 states
+            new DfaMatcher.Dfa(3,
+                    "\000\000\002\000\000\000\000\004\000\000\000\000",
+                    "\000\002\000\002",
+                    "\000\000\003\003\000\000\000\000"),
+            null,
+            // lookahead: 2 states
+            new DfaMatcher.Dfa(3,
+                    "\000\000\002\000\000\000",
+                    "\000\001",
+                    null),
+            true);
+
+    static final DfaMatcher[] RULES = {NICKNAME, LEADING_INIT, FIRST, MIDDLE, MIDDLE_INITIAL};
+
+    private NameGrammar() {}
+}
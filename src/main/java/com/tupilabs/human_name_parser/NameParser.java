@@ -0,0 +1,25 @@
+package com.tupilabs.human_name_parser;
+
+/**
+ * Anything that turns a name into tokens and labels: the regex parser, the tokenizing engine, or a cache in front
+ * of either. Implementations are thread safe.
+ */
+public interface NameParser {
+
+    ParsedName parse(String fullName);
+
+    /**
+     * Parses a name that isn't a string yet. This makes one; the engines override it to read fullName in place
+     */
+    default ParsedName parse(CharSequence fullName) {
+        return parse(fullName.toString());
+    }
+
+    /**
+     * Parses the name in buf[off, off + len). This makes a string of it; the engines override it to read the
+     * buffer in place
+     */
+    default ParsedName parse(char[] buf, int off, int len) {
+        return parse(new String(buf, off, len));
+    }
+}
@@ -0,0 +1,225 @@
+package com.tupilabs.human_name_parser;
+
+/**
+ * The rules that depend on a {@link Lexicon}, written as plain scans over the part of the name that is still in
+ * play (seq[lo, hi)) so that lookups go straight to the lexicon instead of through a regex alternation of every
+ * entry. Both parsers use these so they can't drift apart.
+ */
+final class NameRules {
+
+    private NameRules() {}
+
+    /**
+     * A listed word at the very end that is separated from the rest by commas, pipes, or spaces; this is what
+     * the old {@code [,| ]+((a\.*|b\.*|...)$)} regexes matched
+     * @return where the separators before the word start, or -1 if the last word isn't listed
+     */
+    static int listedAtEnd(CharSequence seq, int lo, int hi, Lexicon lexicon) {
+        int wordStart = hi;
+        while (wordStart > lo && !isListSeparator(seq.charAt(wordStart - 1))) {
+            wordStart -= 1;
+        }
+        if (wordStart == lo || wordStart == hi) {
+            return -1;
+        }
+        int wordEnd = hi;
+        while (wordEnd > wordStart && seq.charAt(wordEnd - 1) == '.') {
+            wordEnd -= 1;
+        }
+        if (!isWord(lexicon.root(), seq, wordStart, wordEnd)) {
+            return -1;
+        }
+        int start = wordStart;
+        while (start > lo && isListSeparator(seq.charAt(start - 1))) {
+            start -= 1;
+        }
+        return start;
+    }
+
+    /**
+     * A listed salutation as the whole first word followed by any run of dots and whitespace; this is what the
+     * old {@code ^(a\.*|b\.*|...\b)(\.|\s)+} regex matched
+     * @return the end of the dots and whitespace after the salutation, or -1 if the first word isn't listed
+     */
+    static int salutationEnd(CharSequence seq, int lo, int hi, Lexicon salutations) {
+        int wordEnd = lo;
+        boolean afterLetter = false;
+        while (wordEnd < hi) {
+            char c = seq.charAt(wordEnd);
+            if (!isWordChar(c, afterLetter)) {
+                break;
+            }
+            afterLetter = isBase(c) ? Character.isLetterOrDigit(c) : afterLetter;
+            wordEnd += 1;
+        }
+        if (wordEnd == lo || wordEnd == hi || !isDotOrWhitespace(seq.charAt(wordEnd))) {
+            return -1;
+        }
+        if (!isWord(salutations.root(), seq, lo, wordEnd)) {
+            return -1;
+        }
+        int end = wordEnd;
+        while (end < hi && isDotOrWhitespace(seq.charAt(end))) {
+            end += 1;
+        }
+        return end;
+    }
+
+    /**
+     * The last word along with anything before it that chains up to it: a word followed by " y " or one of the
+     * surname prefixes. Like the old {@code (?!^)\b([^ ]+ y |a |b |...)*[^ ]+$} regex this takes the leftmost word
+     * boundary (that isn't the very start) from which the rest of the name is such a chain.
+     * @param context where to get scratch space for the words from
+     * @return where the last name starts, or -1 if there isn't one
+     */
+    static int lastStart(CharSequence seq, int lo, int hi, Lexicon prefixes, ParseContext context) {
+        if (hi - lo < 2) {
+            return -1;
+        }
+        // split on every single space, so runs of spaces make empty words that can't chain
+        int words = 1;
+        for (int i = lo; i < hi; i++) {
+            if (seq.charAt(i) == ' ') {
+                words += 1;
+            }
+        }
+        // the scratch holds where each word starts, then where each ends, then whether the words from there on
+        // are a chain ending in the last word
+        int[] scratch = context.words(words * 3);
+        int ends = words;
+        int chains = words * 2;
+        int w = 0;
+        scratch[0] = lo;
+        for (int i = lo; i < hi; i++) {
+            if (seq.charAt(i) == ' ') {
+                scratch[ends + w] = i;
+                scratch[++w] = i + 1;
+            }
+        }
+        scratch[ends + w] = hi;
+        int last = words - 1;
+        if (scratch[last] == scratch[ends + last]) {
+            return -1;
+        }
+        scratch[chains + last] = 1;
+        for (w = last - 1; w >= 0; w--) {
+            boolean chain = scratch[w] < scratch[ends + w] && chainsFrom(seq, w, scratch[w], scratch, words, prefixes);
+            scratch[chains + w] = chain ? 1 : 0;
+        }
+        // one pass for the word boundaries, carrying what \b needs from the char before rather than looking back
+        // over combining marks at every char
+        boolean left = false;
+        boolean afterLetter = false;
+        w = 0;
+        for (int s = lo; s < hi; s++) {
+            char c = seq.charAt(s);
+            boolean right = isWordChar(c, afterLetter);
+            if (c == ' ') {
+                w += 1;
+            } else if (s > lo && left != right && (w == last || chainsFrom(seq, w, s, scratch, words, prefixes))) {
+                return s;
+            }
+            if (isBase(c)) {
+                afterLetter = Character.isLetterOrDigit(c);
+            }
+            left = right;
+        }
+        return -1;
+    }
+
+    /**
+     * Whether the words from w on chain up to the last word when word w starts at s (which is after its real
+     * start when the match starts in the middle of the word). The lexicon turns down a word longer than any of
+     * its own before hashing it, so trying every boundary of a long word only reads the last few chars of it
+     */
+    private static boolean chainsFrom(CharSequence seq, int w, int s, int[] scratch, int words, Lexicon prefixes) {
+        int last = words - 1;
+        int ends = words;
+        int chains = words * 2;
+        if (w + 2 <= last && isY(seq, scratch[w + 1], scratch[ends + w + 1]) && scratch[chains + w + 2] == 1) {
+            return true;
+        }
+        Lexicon.Node node = prefixes.root();
+        for (int k = w; k < last; k++) {
+            node = node.child(seq, k == w ? s : scratch[k], scratch[ends + k]);
+            if (node == null) {
+                return false;
+            }
+            if (node.isEntry() && scratch[chains + k + 1] == 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A link of the chain that {@link #lastStart} looks for at the word that starts at start: " y " or one of the
+     * surname prefixes, as long as another word comes after it in seq[start, hi)
+     * @return where the word after the link starts, or -1 if there is no link there
+     */
+    static int particleEnd(CharSequence seq, int start, int hi, Lexicon prefixes) {
+        int end = wordEnd(seq, start, hi);
+        if (end < hi && isY(seq, start, end)) {
+            return end + 1;
+        }
+        int found = -1;
+        Lexicon.Node node = prefixes.root();
+        for (int s = start; end < hi; s = end + 1, end = wordEnd(seq, s, hi)) {
+            node = node.child(seq, s, end);
+            if (node == null) {
+                break;
+            }
+            if (node.isEntry()) {
+                found = end + 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return the index of the first space in seq[start, hi), or hi
+     */
+    private static int wordEnd(CharSequence seq, int start, int hi) {
+        int end = start;
+        while (end < hi && seq.charAt(end) != ' ') {
+            end += 1;
+        }
+        return end;
+    }
+
+    private static boolean isWord(Lexicon.Node root, CharSequence seq, int start, int end) {
+        Lexicon.Node node = root.child(seq, start, end);
+        return node != null && node.isEntry();
+    }
+
+    private static boolean isY(CharSequence seq, int start, int end) {
+        return end - start == 1 && (seq.charAt(start) == 'y' || seq.charAt(start) == 'Y');
+    }
+
+    /**
+     * Whether c is a word char the way \b in java.util.regex sees it: a letter, digit, or underscore, or a
+     * combining mark on a letter or digit
+     * @param afterLetter whether the last char before c that isn't a combining mark is a letter or digit
+     */
+    private static boolean isWordChar(char c, boolean afterLetter) {
+        if (c == '_' || Character.isLetterOrDigit(c)) {
+            return true;
+        }
+        return !isBase(c) && afterLetter;
+    }
+
+    /**
+     * @return false for a combining mark, which counts as part of the word that it is on
+     */
+    private static boolean isBase(char c) {
+        return Character.getType(c) != Character.NON_SPACING_MARK;
+    }
+
+    private static boolean isListSeparator(char c) {
+        return c == ',' || c == '|' || c == ' ';
+    }
+
+    private static boolean isDotOrWhitespace(char c) {
+        return c == '.' || c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
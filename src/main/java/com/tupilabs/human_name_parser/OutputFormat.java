@@ -0,0 +1,173 @@
+package com.tupilabs.human_name_parser;
+
+/**
+ * How {@link BulkParseCommand} writes out each parsed name: one line per name with the input name followed by the
+ * segments in the order leading initial, first, nicknames, middle, last, suffix, salutation, postnominal, and then
+ * why the name couldn't be parsed if it failed
+ */
+public enum OutputFormat {
+
+    /**
+     * The layout of testNames.txt: the fields separated by "| ". A name that failed has one more field with the
+     * error (on one line), so those lines don't pass for test names
+     */
+    pipe {
+        @Override
+        void append(StringBuilder sb, String name, SegmentedName seg, RuntimeException failure) {
+            sb.append(name);
+            for (int i = 0; i < SEGMENTS.length; i++) {
+                sb.append("| ");
+                String value = seg == null ? null : segment(seg, i);
+                if (value != null) {
+                    sb.append(value);
+                }
+            }
+            if (failure != null) {
+                sb.append("| ");
+                String error = String.valueOf(failure);
+                for (int i = 0; i < error.length(); i++) {
+                    char c = error.charAt(i);
+                    sb.append(c == '\n' || c == '\r' ? ' ' : c);
+                }
+            }
+            sb.append('\n');
+        }
+    },
+
+    /**
+     * RFC 4180 CSV with a header line; the last column, error, is empty unless the name failed
+     */
+    csv {
+        @Override
+        String header() {
+            StringBuilder sb = new StringBuilder("name");
+            for (String segment : SEGMENTS) {
+                sb.append(',').append(segment);
+            }
+            return sb.append(",error\n").toString();
+        }
+
+        @Override
+        void append(StringBuilder sb, String name, SegmentedName seg, RuntimeException failure) {
+            appendCsv(sb, name);
+            for (int i = 0; i < SEGMENTS.length; i++) {
+                sb.append(',');
+                String value = seg == null ? null : segment(seg, i);
+                if (value != null) {
+                    appendCsv(sb, value);
+                }
+            }
+            sb.append(',');
+            if (failure != null) {
+                appendCsv(sb, String.valueOf(failure));
+            }
+            sb.append('\n');
+        }
+    },
+
+    /**
+     * One JSON object per line; segments without any tokens are null and names that failed have an "error"
+     */
+    json {
+        @Override
+        void append(StringBuilder sb, String name, SegmentedName seg, RuntimeException failure) {
+            sb.append("{\"name\":");
+            appendJson(sb, name);
+            for (int i = 0; i < SEGMENTS.length; i++) {
+                sb.append(",\"").append(SEGMENTS[i]).append("\":");
+                appendJson(sb, seg == null ? null : segment(seg, i));
+            }
+            if (failure != null) {
+                sb.append(",\"error\":");
+                appendJson(sb, String.valueOf(failure));
+            }
+            sb.append("}\n");
+        }
+    };
+
+    static final String[] SEGMENTS = {"leadingInit", "first", "nicknames", "middle", "last", "suffix",
+            "salutation", "postnominal"};
+
+    /**
+     * @return what goes before the first name, if anything
+     */
+    String header() {
+        return "";
+    }
+
+    /**
+     * Appends the line for one name; seg is null when the name couldn't be parsed
+     */
+    abstract void append(StringBuilder sb, String name, SegmentedName seg, RuntimeException failure);
+
+    static String segment(SegmentedName seg, int i) {
+        switch (i) {
+            case 0: return seg.getLeadingInit();
+            case 1: return seg.getFirst();
+            case 2: return seg.getNicknames();
+            case 3: return seg.getMiddle();
+            case 4: return seg.getLast();
+            case 5: return seg.getSuffix();
+            case 6: return seg.getSalutation();
+            case 7: return seg.getPostnominal();
+            default:
+                throw new IllegalArgumentException("Dont know segment " + i);
+        }
+    }
+
+    private static void appendCsv(StringBuilder sb, String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            sb.append(value);
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                sb.append('"');
+            }
+            sb.append(c);
+        }
+        sb.append('"');
+    }
+
+    static void appendJson(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+}
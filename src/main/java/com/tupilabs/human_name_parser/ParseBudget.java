@@ -0,0 +1,83 @@
+package com.tupilabs.human_name_parser;
+
+/**
+ * The work of a parse as the stages see it when the config has a step or time budget: every char a stage reads
+ * (in a DFA of the grammar or a lexicon scan of {@link NameRules}) is a step, and a parse that takes more steps
+ * than maxSteps or runs past its deadline is stopped with a {@link ParseException}. The clock is only read every
+ * {@link #CLOCK_EVERY} steps (and between stages) so that counting stays cheap.
+ *
+ * The parse is linear in the length of the input, so a budget isn't needed to keep hostile names from running
+ * away; it is there to put a hard bound on how long any one name can hold up a thread.
+ */
+final class ParseBudget implements CharSequence {
+
+    static final int CLOCK_EVERY = 4096;
+
+    private final CharSequence seq;
+    private long maxSteps;
+    private long deadline;
+    private boolean timed;
+    private long steps;
+    private long nextCheck;
+
+    ParseBudget(CharSequence seq) {
+        this.seq = seq;
+    }
+
+    /**
+     * Starts counting a new parse
+     * @param maxSteps the most steps the parse can take, or 0 for no limit
+     * @param timeBudgetNanos how long the parse can take, or 0 for no limit
+     */
+    void start(long maxSteps, long timeBudgetNanos) {
+        this.maxSteps = maxSteps > 0 ? maxSteps : Long.MAX_VALUE;
+        this.timed = timeBudgetNanos > 0;
+        this.deadline = timed ? System.nanoTime() + timeBudgetNanos : 0;
+        this.steps = 0;
+        this.nextCheck = Math.min(this.maxSteps, CLOCK_EVERY);
+    }
+
+    /**
+     * @return how many steps the parse has taken so far
+     */
+    long steps() {
+        return steps;
+    }
+
+    /**
+     * Throws if the parse is over its budget
+     */
+    void check() {
+        if (steps > maxSteps) {
+            throw new ParseException("parse took more than the limit of " + maxSteps + " steps on a name of "
+                    + seq.length() + " chars");
+        }
+        if (timed && System.nanoTime() - deadline > 0) {
+            throw new ParseException("parse ran out of time after " + steps + " steps");
+        }
+        nextCheck = Math.min(maxSteps, steps + CLOCK_EVERY);
+    }
+
+    @Override
+    public int length() {
+        return seq.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (++steps > nextCheck) {
+            check();
+        }
+        return seq.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return seq.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return seq.toString();
+    }
+}
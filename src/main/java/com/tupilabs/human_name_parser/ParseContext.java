@@ -0,0 +1,142 @@
+package com.tupilabs.human_name_parser;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * The scratch space that a parse works in: the labels for every char of the input and the working copy of the
+ * name. Passing the same context to {@link HumanNameParser#parse(CharSequence, ParseContext)} (or
+ * {@link TokenizingNameParser#parse(CharSequence, ParseContext)}) over and over reuses all of it, so once the buffers
+ * have grown to fit the longest name seen a parse only allocates the {@link ParsedName} it returns.
+ *
+ * A context is not thread safe; use one per thread. {@link HumanNameParser#parse(String)} does exactly that with
+ * {@link #forCurrentThread()}.
+ */
+public final class ParseContext {
+
+    /**
+     * Names longer than this are parsed with a throwaway context by {@link #forCurrentThread()} users so that one
+     * huge input doesn't pin big buffers to a thread forever
+     */
+    static final int MAX_POOLED_LENGTH = 1024;
+
+    private static final ThreadLocal<ParseContext> PER_THREAD = new ThreadLocal<ParseContext>() {
+        @Override
+        protected ParseContext initialValue() {
+            return new ParseContext();
+        }
+    };
+
+    // for the regex engine
+    final HumanNameParser.ParseWork work = new HumanNameParser.ParseWork();
+    // for the tokenizing engine
+    final TokenizingNameParser.Scan scan = new TokenizingNameParser.Scan(this);
+    // for parsers with a listener
+    final ParseTrace trace = new ParseTrace();
+    // for names that come in as UTF-8
+    final Utf8Decoder utf8 = new Utf8Decoder();
+
+    private Label[] labels = new Label[0];
+    private char[] chars = new char[0];
+    private char[] spareChars = new char[0];
+    private int[] offsets = new int[0];
+    private int[] spareOffsets = new int[0];
+    private int[] words = new int[0];
+
+    /**
+     * @return the context of the calling thread
+     */
+    public static ParseContext forCurrentThread() {
+        return PER_THREAD.get();
+    }
+
+    /**
+     * @return the context to parse a name of this length with on the calling thread
+     */
+    static ParseContext forCurrentThread(int length) {
+        return length > MAX_POOLED_LENGTH ? new ParseContext() : PER_THREAD.get();
+    }
+
+    /**
+     * @return an array of at least length labels where the first length are all Unknown
+     */
+    Label[] labels(int length) {
+        if (labels.length < length) {
+            labels = new Label[grow(labels.length, length)];
+        }
+        Arrays.fill(labels, 0, length, Label.Unknown);
+        return labels;
+    }
+
+    /**
+     * Copies all of text into the start of dst without going through charAt when text is a string, decoded
+     * UTF-8 or a buffer over an array
+     */
+    static void copyChars(CharSequence text, char[] dst) {
+        int len = text.length();
+        if (text instanceof String) {
+            ((String) text).getChars(0, len, dst, 0);
+        } else if (text instanceof Utf8Decoder) {
+            ((Utf8Decoder) text).getChars(dst);
+        } else if (text instanceof CharBuffer && ((CharBuffer) text).hasArray()) {
+            CharBuffer buffer = (CharBuffer) text;
+            System.arraycopy(buffer.array(), buffer.arrayOffset() + buffer.position(), dst, 0, len);
+        } else {
+            for (int i = 0; i < len; i++) {
+                dst[i] = text.charAt(i);
+            }
+        }
+    }
+
+    char[] chars(int length) {
+        if (chars.length < length) {
+            chars = new char[grow(chars.length, length)];
+        }
+        return chars;
+    }
+
+    int[] offsets(int length) {
+        if (offsets.length < length) {
+            offsets = new int[grow(offsets.length, length)];
+        }
+        return offsets;
+    }
+
+    /**
+     * Swaps the chars buffer with a spare of at least the same length (so a flip can copy from one to the other)
+     * @return the spare, which is now the chars buffer
+     */
+    char[] swapChars() {
+        if (spareChars.length < chars.length) {
+            spareChars = new char[chars.length];
+        }
+        char[] swap = chars;
+        chars = spareChars;
+        spareChars = swap;
+        return chars;
+    }
+
+    int[] swapOffsets() {
+        if (spareOffsets.length < offsets.length) {
+            spareOffsets = new int[offsets.length];
+        }
+        int[] swap = offsets;
+        offsets = spareOffsets;
+        spareOffsets = swap;
+        return offsets;
+    }
+
+    /**
+     * @return an array of at least length ints, with whatever was in it before
+     */
+    int[] words(int length) {
+        if (words.length < length) {
+            words = new int[grow(words.length, length)];
+        }
+        return words;
+    }
+
+    private static int grow(int current, int needed) {
+        return Math.max(needed, Math.max(16, current + (current >> 1)));
+    }
+}
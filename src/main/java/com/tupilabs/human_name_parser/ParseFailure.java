@@ -0,0 +1,42 @@
+package com.tupilabs.human_name_parser;
+
+/**
+ * A name in a batch that couldn't be parsed. The rest of the batch is parsed anyway and the failures are
+ * reported alongside the results
+ */
+public final class ParseFailure {
+
+    private final int index;
+    private final String input;
+    private final RuntimeException cause;
+
+    public ParseFailure(int index, String input, RuntimeException cause) {
+        this.index = index;
+        this.input = input;
+        this.cause = cause;
+    }
+
+    /**
+     * @return where the name was in the batch
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    public RuntimeException getCause() {
+        return cause;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseFailure{" +
+                "index=" + index +
+                ", input='" + input + '\'' +
+                ", cause=" + cause +
+                '}';
+    }
+}
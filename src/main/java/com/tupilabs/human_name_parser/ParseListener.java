@@ -0,0 +1,24 @@
+package com.tupilabs.human_name_parser;
+
+/**
+ * Gets a {@link ParseTrace} of each parse that a {@link HumanNameParser} runs, for sampling slow or odd parses into
+ * your own telemetry. See {@link JfrParseListener} for one that emits Java Flight Recorder events.
+ *
+ * Listeners are called on the parsing thread, from many threads at once, so they should be quick and thread safe.
+ * A parser without a listener doesn't time its stages or fill in a trace at all.
+ */
+public interface ParseListener {
+
+    /**
+     * Called before each parse; returning false skips tracing it (to sample, or when nothing is listening). The
+     * input is the caller's chars, which are only copied to a string once the parse is going to be traced
+     */
+    default boolean shouldTrace(CharSequence input) {
+        return true;
+    }
+
+    /**
+     * Called after each traced parse, whether it worked or failed
+     */
+    void parsed(ParseTrace trace);
+}
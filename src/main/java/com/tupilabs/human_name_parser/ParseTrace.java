@@ -0,0 +1,117 @@
+package com.tupilabs.human_name_parser;
+
+/**
+ * What happened during one parse, stage by stage, as handed to a {@link ParseListener}. A trace belongs to the
+ * {@link ParseContext} that the parse ran in and is filled in again by its next parse, so it is only valid during
+ * the {@link ParseListener#parsed(ParseTrace)} call; copy out whatever needs to be kept.
+ *
+ * Match spans are in chars of the input (the lowest and one past the highest char the stage labelled), or -1 when
+ * the stage didn't label anything.
+ */
+public final class ParseTrace {
+
+    private static final HumanNameParser.Stage[] STAGES = HumanNameParser.Stage.values();
+
+    private String input;
+    private ParsedName result;
+    private RuntimeException failure;
+    private long nanos;
+    private int stagesRun;
+    private final boolean[] matched = new boolean[STAGES.length];
+    private final int[] matchStarts = new int[STAGES.length];
+    private final int[] matchEnds = new int[STAGES.length];
+    private final long[] stageNanos = new long[STAGES.length];
+
+    ParseTrace() {
+    }
+
+    void begin(String input) {
+        this.input = input;
+        this.result = null;
+        this.failure = null;
+        this.nanos = 0;
+        this.stagesRun = 0;
+    }
+
+    void stage(HumanNameParser.Stage stage, boolean matched, int matchStart, int matchEnd, long nanos) {
+        int i = stage.ordinal();
+        this.matched[i] = matched;
+        this.matchStarts[i] = matchStart;
+        this.matchEnds[i] = matchEnd;
+        this.stageNanos[i] = nanos;
+        stagesRun = i + 1;
+    }
+
+    void end(ParsedName result, RuntimeException failure, long nanos) {
+        this.result = result;
+        this.failure = failure;
+        this.nanos = nanos;
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    public int getInputLength() {
+        return input == null ? 0 : input.length();
+    }
+
+    /**
+     * @return the parsed name, or null if the parse failed
+     */
+    public ParsedName getResult() {
+        return result;
+    }
+
+    /**
+     * @return why the parse failed, or null
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    /**
+     * @return how long the whole parse took
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return how many stages ran; all of them unless one failed, in which case it is the last one counted
+     */
+    public int getStagesRun() {
+        return stagesRun;
+    }
+
+    public HumanNameParser.Stage getStage(int i) {
+        checkStage(i);
+        return STAGES[i];
+    }
+
+    public boolean isMatched(int i) {
+        checkStage(i);
+        return matched[i];
+    }
+
+    public int getMatchStart(int i) {
+        checkStage(i);
+        return matchStarts[i];
+    }
+
+    public int getMatchEnd(int i) {
+        checkStage(i);
+        return matchEnds[i];
+    }
+
+    public long getStageNanos(int i) {
+        checkStage(i);
+        return stageNanos[i];
+    }
+
+    private void checkStage(int i) {
+        if (i < 0 || i >= stagesRun) {
+            throw new IndexOutOfBoundsException("Stage: " + i + ", Run: " + stagesRun);
+        }
+    }
+}
@@ -1,117 +1,436 @@
 package com.tupilabs.human_name_parser;
 
+import java.nio.CharBuffer;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * The result of a parsing operation, which is a set of name tokens and corresponding semantic labels
  * If you want a segmented name with one string per segment then @see {@link SegmentedName}
+ *
+ * The parsers keep just the input along with where each (trimmed) token starts and ends in it and the ordinal
+ * of its label. Token strings are only cut out of the input the first time they are asked for, and
+ * {@link #getTokenView(int)} doesn't copy at all.
+ *
+ * A parsed name is immutable: the token and label lists are read only views, so one instance can be shared
+ * between threads and handed out again by {@link CachingNameParser}.
+ *
+ * That holds as long as the input is a string. A name parsed from a char sequence or a slice of a char array
+ * with {@link HumanNameParser#parse(CharSequence)} and friends reads its tokens from the caller's chars rather
+ * than a copy: a token is only copied when it is first asked for as a string. So the caller's chars must not
+ * change until every token wanted has been read, or the name has been {@link #detach() detached}.
  */
 public class ParsedName {
 
-    private final String inputName;
-    private final List<String> tokens;
-    private final List<Label> labels;
+    private static final Label[] LABELS = Label.values();
+
+    // a string, or the caller's chars for a name that isn't detached
+    private final CharSequence inputName;
+    // token i is inputName[offsets[2i], offsets[2i + 1]); null when made from token strings
+    private final int[] offsets;
+    private final byte[] labels;
+    // the token strings that have been asked for so far (or all of them when made from token strings)
+    private String[] tokens;
+    // the id of each token in the dictionary it was interned in, or null when it wasn't
+    private final int[] tokenIds;
+    // see NameFingerprinter; blockingKeys is null when the parser didn't fingerprint the name
+    private final long fingerprint;
+    private final long[] blockingKeys;
+    private LabelIndex labelIndex;
+    private SegmentedName segmented;
+    // the codes that phonetic encoders have worked out for this name, one list node per encoder
+    private PhoneticEncoder.Codes phoneticCodes;
 
     public ParsedName(String inputName, List<String> tokens, List<Label> labels) {
         if (tokens.size() != labels.size()) {
             throw new IllegalArgumentException("labels dont match tokens; " + tokens + " " + labels);
         }
         this.inputName = inputName;
+        this.offsets = null;
+        this.tokenIds = null;
+        this.fingerprint = 0;
+        this.blockingKeys = null;
+        this.tokens = tokens.toArray(new String[tokens.size()]);
+        this.labels = new byte[labels.size()];
+        for (int i = 0; i < this.labels.length; i++) {
+            this.labels[i] = (byte) labels.get(i).ordinal();
+        }
+    }
+
+    /**
+     * @param offsets the start and end of each token in the input, two ints per token
+     * @param labels the ordinal of the label of each token
+     */
+    ParsedName(CharSequence inputName, int[] offsets, byte[] labels) {
+        this(inputName, offsets, labels, 0, null);
+    }
+
+    /**
+     * @param blockingKeys the hash of each blocking key of the config, or null if the name wasn't fingerprinted
+     */
+    ParsedName(CharSequence inputName, int[] offsets, byte[] labels, long fingerprint, long[] blockingKeys) {
+        if (offsets.length != labels.length * 2) {
+            throw new IllegalArgumentException("labels dont match offsets; " + offsets.length + " " + labels.length);
+        }
+        this.inputName = inputName;
+        this.offsets = offsets;
+        this.tokenIds = null;
+        this.labels = labels;
+        this.fingerprint = fingerprint;
+        this.blockingKeys = blockingKeys;
+    }
+
+    private ParsedName(CharSequence inputName, int[] offsets, String[] tokens, int[] tokenIds, byte[] labels,
+                       long fingerprint, long[] blockingKeys) {
+        this.inputName = inputName;
+        this.offsets = offsets;
         this.tokens = tokens;
+        this.tokenIds = tokenIds;
         this.labels = labels;
+        this.fingerprint = fingerprint;
+        this.blockingKeys = blockingKeys;
     }
 
-    public List<String> getTokensWithLabel(Label label) {
-        ArrayList<String> output = new ArrayList<>();
-        for (int i = 0; i < labels.size(); i++) {
-            if (labels.get(i) == label) {
-                output.add(tokens.get(i));
+    /**
+     * @return a copy of this name whose tokens are the shared instances from the dictionary
+     */
+    ParsedName internTokens(TokenDictionary dictionary) {
+        String[] shared = new String[labels.length];
+        int[] ids = new int[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            TokenDictionary.Entry entry;
+            if (offsets == null) {
+                entry = dictionary.lookup(tokens[i]);
+            } else {
+                entry = dictionary.lookup(inputName, offsets[2 * i], offsets[2 * i + 1]);
+            }
+            if (entry == null) {
+                shared[i] = getToken(i);
+                ids[i] = -1;
+            } else {
+                shared[i] = entry.token;
+                ids[i] = entry.id;
             }
         }
+        return new ParsedName(inputName, null, shared, ids, labels, fingerprint, blockingKeys);
+    }
+
+    /**
+     * @return this name if its input is a string, otherwise a copy that holds the input as a string and so no
+     * longer depends on the caller's chars
+     */
+    public ParsedName detach() {
+        if (isDetached()) {
+            return this;
+        }
+        String[] cache = tokens;
+        return new ParsedName(inputName.toString(), offsets, cache == null ? null : cache.clone(), tokenIds, labels,
+                fingerprint, blockingKeys);
+    }
+
+    /**
+     * @return true if this name doesn't read from chars that the caller owns
+     */
+    public boolean isDetached() {
+        return inputName instanceof String;
+    }
+    public List<String> getTokensWithLabel(Label label) {
+        LabelIndex index = labelIndex();
+        int start = index.starts[label.ordinal()];
+        int end = index.starts[label.ordinal() + 1];
+        if (start == end) {
+            return new ArrayList<>(0);
+        }
+        ArrayList<String> output = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            output.add(getToken(index.tokens[i]));
+        }
         return output;
     }
 
+    /**
+     * @return true if any token has this label
+     */
+    public boolean hasLabel(Label label) {
+        LabelIndex index = labelIndex();
+        return index.starts[label.ordinal()] < index.starts[label.ordinal() + 1];
+    }
+
     public String getToken(int i) {
-        return tokens.get(i);
+        // racy on purpose like String.hashCode: strings are immutable so the worst that can happen is that two
+        // threads both cut out the same token
+        String[] cache = tokens;
+        if (cache == null) {
+            cache = new String[labels.length];
+            tokens = cache;
+        }
+        String token = cache[i];
+        if (token == null) {
+            token = inputName.subSequence(offsets[2 * i], offsets[2 * i + 1]).toString();
+            cache[i] = token;
+        }
+        return token;
+    }
+
+    /**
+     * @return the i-th token as a view of the input rather than a copy
+     */
+    public CharSequence getTokenView(int i) {
+        if (offsets == null) {
+            return getToken(i);
+        }
+        return CharBuffer.wrap(inputName, offsets[2 * i], offsets[2 * i + 1]);
+    }
+
+    /**
+     * @return the id of the i-th token in the {@link TokenDictionary} it was interned in (see
+     * {@link TokenDictionary#token(int)}), or -1 if it wasn't interned
+     */
+    public int getTokenId(int i) {
+        if (i < 0 || i >= labels.length) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + labels.length);
+        }
+        return tokenIds == null ? -1 : tokenIds[i];
+    }
+
+    /**
+     * @return true if the parser worked out a fingerprint and blocking keys for this name, which it does when its
+     * config asks for them (see {@link ParserConfig.Builder#fingerprints(boolean)})
+     */
+    public boolean hasFingerprint() {
+        return blockingKeys != null;
+    }
+
+    /**
+     * @return a 64-bit hash of the folded first, middle and last names (and initials and suffix) along with their
+     * labels, which is the same for names that only differ in case, accents, punctuation, salutation, nickname or
+     * in being written last name first
+     * @throws IllegalStateException if the parser didn't fingerprint this name
+     */
+    public long getFingerprint() {
+        if (blockingKeys == null) {
+            throw new IllegalStateException("the parser wasn't configured to fingerprint names");
+        }
+        return fingerprint;
+    }
+
+    /**
+     * @return how many blocking keys this name has, which is how many the config of the parser has (or 0)
+     */
+    public int getBlockingKeyCount() {
+        return blockingKeys == null ? 0 : blockingKeys.length;
+    }
+
+    /**
+     * @return the hash of the i-th {@link BlockingKey} of the config of the parser
+     */
+    public long getBlockingKey(int i) {
+        int count = getBlockingKeyCount();
+        if (i < 0 || i >= count) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + count);
+        }
+        return blockingKeys[i];
     }
 
     public Label getLabel(int i) {
-        return labels.get(i);
+        if (i < 0 || i >= labels.length) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + labels.length);
+        }
+        return LABELS[labels[i]];
     }
 
+    /**
+     * @return the input, which is copied into a new string every time for a name that isn't detached
+     */
     public String getInputName() {
-        return inputName;
+        return inputName.toString();
     }
 
+    /**
+     * @return the tokens, which are only cut out of the input as they are read
+     */
     public List<String> getTokens() {
-        return tokens;
+        return new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                return getToken(index);
+            }
+
+            @Override
+            public int size() {
+                return labels.length;
+            }
+        };
     }
 
     public List<Label> getLabels() {
-        return labels;
+        return new AbstractList<Label>() {
+            @Override
+            public Label get(int index) {
+                return getLabel(index);
+            }
+
+            @Override
+            public int size() {
+                return labels.length;
+            }
+        };
     }
 
     public int size() {
-        return tokens.size();
+        return labels.length;
     }
 
+    /**
+     * @return the name segmented into first, middle, last and so on, as a copy of its own that the caller can change
+     */
     public SegmentedName toSegmented() {
-        SegmentedName result = new SegmentedName();
-        for (int i = 0; i < tokens.size(); i++) {
-            String token = tokens.get(i);
-            Label label = labels.get(i);
-
-            switch (label) {
-                case FirstInitial:
-                    result.setLeadingInit(append(result.getLeadingInit(), token));
-                    break;
-                case First:
-                    result.setFirst(append(result.getFirst(), token));
-                    break;
-                case Nickname:
-                    result.setNicknames(append(result.getNicknames(), token));
-                    break;
-                case Middle:
-                case MiddleInitial:
-                    result.setMiddle(append(result.getMiddle(), token));
-                    break;
-                case Last:
-                    result.setLast(append(result.getLast(), token));
-                    break;
-                case Suffix:
-                    result.setSuffix(append(result.getSuffix(), token));
-                    break;
-                case Salutation:
-                    result.setSalutation(append(result.getSalutation(), token));
-                    break;
-                case Postnominal:
-                    result.setPostnominal(append(result.getPostnominal(), token));
-                    break;
-                case Unknown:
-                case Whitespace:
-                    // skip
-                    break;
-                default:
-                    throw new IllegalArgumentException("Dont know how to segment label " + label);
+        return new SegmentedName(getSegmentedView());
+    }
+
+    /**
+     * @return the name segmented into first, middle, last and so on as a read only view; this is made once and
+     * shared so each segment is only ever joined once, and its setters throw UnsupportedOperationException
+     */
+    public SegmentedName getSegmentedView() {
+        SegmentedName segmented = this.segmented;
+        if (segmented == null) {
+            // a racing thread may make its own, which is just as good
+            segmented = new SegmentedName(this);
+            this.segmented = segmented;
+        }
+        return segmented;
+    }
+
+    /**
+     * @return the phonetic code of the tokens with this label, or null if there are none; see
+     * {@link PhoneticEncoder#encode(ParsedName, Label)}. The code is worked out the first time it is asked for and
+     * then kept on this name
+     */
+    public String getPhoneticCode(Label label, PhoneticEncoder encoder) {
+        return encoder.encode(this, label);
+    }
+
+    /**
+     * @return the codes this name keeps for the encoder, made empty the first time the encoder asks
+     */
+    PhoneticEncoder.Codes phoneticCodes(PhoneticEncoder encoder) {
+        PhoneticEncoder.Codes head = phoneticCodes;
+        for (PhoneticEncoder.Codes codes = head; codes != null; codes = codes.next) {
+            if (codes.encoder == encoder) {
+                return codes;
             }
         }
-        return result;
+        // racy like the tokens: a thread that loses just works its codes out again
+        PhoneticEncoder.Codes codes = new PhoneticEncoder.Codes(encoder, head);
+        phoneticCodes = codes;
+        return codes;
+    }
+
+    int labelOrdinal(int i) {
+        return labels[i];
+    }
+
+    /**
+     * @return true if this name knows where each token is in the input, which names made by the parsers do
+     */
+    boolean hasOffsets() {
+        return offsets != null;
+    }
+
+    /**
+     * @return the start and end of each token in the input, which is the array this name reads
+     */
+    int[] offsets() {
+        return offsets;
+    }
+
+    byte[] labelOrdinals() {
+        return labels;
+    }
+
+    /**
+     * @return the blocking keys, which is the array this name reads, or null
+     */
+    long[] blockingKeys() {
+        return blockingKeys;
+    }
+
+    /**
+     * @return the chars that token i is read from: the input, or the token itself when made from token strings
+     */
+    CharSequence tokenChars(int i) {
+        return offsets == null ? getToken(i) : inputName;
+    }
+
+    int tokenStart(int i) {
+        return offsets == null ? 0 : offsets[2 * i];
+    }
+
+    int tokenEnd(int i) {
+        return offsets == null ? getToken(i).length() : offsets[2 * i + 1];
+    }
+
+    int tokenLength(int i) {
+        if (offsets == null) {
+            return getToken(i).length();
+        }
+        return offsets[2 * i + 1] - offsets[2 * i];
+    }
+
+    /**
+     * Appends the i-th token without making a string of it
+     */
+    void appendToken(StringBuilder sb, int i) {
+        String[] cache = tokens;
+        if (offsets == null || (cache != null && cache[i] != null)) {
+            sb.append(getToken(i));
+        } else {
+            sb.append(inputName, offsets[2 * i], offsets[2 * i + 1]);
+        }
     }
 
-    private String append(String existing, String toAppend) {
-        if (existing == null) {
-            return toAppend;
+    private LabelIndex labelIndex() {
+        LabelIndex index = labelIndex;
+        if (index == null) {
+            index = new LabelIndex(labels);
+            labelIndex = index;
         }
-        return existing + " " + toAppend;
+        return index;
     }
 
     @Override
     public String toString() {
         return "ParsedName{" +
                 "inputName='" + inputName + '\'' +
-                ", tokens=" + tokens +
-                ", labels=" + labels +
+                ", tokens=" + getTokens() +
+                ", labels=" + getLabels() +
                 '}';
     }
+
+    /**
+     * The tokens grouped by label (in token order within each label), built the first time a label is looked up.
+     * The arrays are final so an index made by one thread is fully visible to any other that sees it
+     */
+    private static final class LabelIndex {
+        // the tokens with label ordinal l are tokens[starts[l], starts[l + 1])
+        final int[] starts;
+        final int[] tokens;
+
+        LabelIndex(byte[] labels) {
+            starts = new int[LABELS.length + 1];
+            for (byte label : labels) {
+                starts[label + 1] += 1;
+            }
+            for (int l = 0; l < LABELS.length; l++) {
+                starts[l + 1] += starts[l];
+            }
+            int[] next = starts.clone();
+            tokens = new int[labels.length];
+            for (int i = 0; i < labels.length; i++) {
+                tokens[next[labels[i]]++] = i;
+            }
+        }
+    }
 }
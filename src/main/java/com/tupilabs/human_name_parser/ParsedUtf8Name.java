@@ -0,0 +1,128 @@
+package com.tupilabs.human_name_parser;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * The result of parsing a name held as UTF-8 bytes: where each token starts and ends in the caller's bytes, and its
+ * label. The offsets are absolute indexes into the array (or buffer) that was parsed, so a token can be written
+ * back out with {@code out.write(bytes, getStart(i), getLength(i))} without ever being decoded.
+ *
+ * Only the offsets are kept, never the bytes, so a parsed name stays good however the bytes change; it is just
+ * that the offsets then point at something else. It is immutable and can be shared between threads.
+ */
+public final class ParsedUtf8Name {
+
+    private static final Label[] LABELS = Label.values();
+
+    // token i is bytes[offsets[2i], offsets[2i + 1])
+    private final int[] offsets;
+    private final byte[] labels;
+    // as ParsedName has them; blockingKeys is null when the name wasn't fingerprinted
+    private final long fingerprint;
+    private final long[] blockingKeys;
+
+    ParsedUtf8Name(int[] offsets, byte[] labels, long fingerprint, long[] blockingKeys) {
+        this.offsets = offsets;
+        this.labels = labels;
+        this.fingerprint = fingerprint;
+        this.blockingKeys = blockingKeys;
+    }
+
+    public int size() {
+        return labels.length;
+    }
+
+    /**
+     * @return the index of the first byte of the i-th token
+     */
+    public int getStart(int i) {
+        checkIndex(i);
+        return offsets[2 * i];
+    }
+
+    /**
+     * @return the index one past the last byte of the i-th token
+     */
+    public int getEnd(int i) {
+        checkIndex(i);
+        return offsets[2 * i + 1];
+    }
+
+    /**
+     * @return how many bytes the i-th token is
+     */
+    public int getLength(int i) {
+        return getEnd(i) - getStart(i);
+    }
+
+    public Label getLabel(int i) {
+        checkIndex(i);
+        return LABELS[labels[i]];
+    }
+
+    public List<Label> getLabels() {
+        return new AbstractList<Label>() {
+            @Override
+            public Label get(int index) {
+                return getLabel(index);
+            }
+
+            @Override
+            public int size() {
+                return labels.length;
+            }
+        };
+    }
+
+    /**
+     * @see ParsedName#hasFingerprint()
+     */
+    public boolean hasFingerprint() {
+        return blockingKeys != null;
+    }
+
+    /**
+     * @see ParsedName#getFingerprint()
+     */
+    public long getFingerprint() {
+        if (blockingKeys == null) {
+            throw new IllegalStateException("the parser wasn't configured to fingerprint names");
+        }
+        return fingerprint;
+    }
+
+    public int getBlockingKeyCount() {
+        return blockingKeys == null ? 0 : blockingKeys.length;
+    }
+
+    /**
+     * @see ParsedName#getBlockingKey(int)
+     */
+    public long getBlockingKey(int i) {
+        int count = getBlockingKeyCount();
+        if (i < 0 || i >= count) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + count);
+        }
+        return blockingKeys[i];
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= labels.length) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + labels.length);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("ParsedUtf8Name{");
+        for (int i = 0; i < labels.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(LABELS[labels[i]]).append('[').append(offsets[2 * i]).append(", ")
+                    .append(offsets[2 * i + 1]).append(')');
+        }
+        return sb.append('}').toString();
+    }
+}
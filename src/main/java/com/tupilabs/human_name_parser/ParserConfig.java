@@ -0,0 +1,357 @@
+package com.tupilabs.human_name_parser;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Everything that a parser can be configured with. Configs are immutable (and so are the lexicons they hold) so
+ * one config can be shared by any number of parsers and threads. Two configs with the same settings and the
+ * same lexicon entries are equal, which is what lets {@link ParserRegistry} hand out one parser per distinct
+ * config.
+ *
+ * Use {@link #builder()} to make one; anything not set keeps the defaults of {@link HumanNameParser#HumanNameParser()}
+ *
+ * The limits guard against junk or hostile input: a name longer than maxInputLength or with more than maxTokens
+ * words is turned down before any work is done, and a parse that reads more than maxSteps chars in its stages or
+ * runs past its time budget is stopped. All of these throw a {@link ParseException}. None of them are set by
+ * default.
+ *
+ * For record linkage a config can also have every name fingerprinted as it is parsed, with a 64-bit fingerprint and
+ * the hash of each of its {@link BlockingKey}s kept on the {@link ParsedName} as longs.
+ */
+public final class ParserConfig {
+
+    private static final ParserConfig DEFAULT = builder().build();
+    private static final CharMatcher WHITESPACE = CharMatcher.whitespace();
+
+    private final boolean trimTokens;
+    private final Lexicon salutations;
+    private final Lexicon suffixes;
+    private final Lexicon postnominals;
+    private final Lexicon prefixes;
+    private final int maxInputLength;
+    private final int maxTokens;
+    private final long maxSteps;
+    private final long timeBudgetNanos;
+    // whether fingerprints were asked for; blocking keys turn them on as well, see isFingerprints()
+    private final boolean fingerprints;
+    private final List<BlockingKey> blockingKeys;
+    // null unless names are fingerprinted
+    private final NameFingerprinter fingerprinter;
+
+    private ParserConfig(Builder builder) {
+        this.trimTokens = builder.trimTokens;
+        this.salutations = builder.salutations;
+        this.suffixes = builder.suffixes;
+        this.postnominals = builder.postnominals;
+        this.prefixes = builder.prefixes;
+        this.maxInputLength = builder.maxInputLength;
+        this.maxTokens = builder.maxTokens;
+        this.maxSteps = builder.maxSteps;
+        this.timeBudgetNanos = builder.timeBudgetNanos;
+        this.blockingKeys = builder.blockingKeys;
+        this.fingerprints = builder.fingerprints;
+        this.fingerprinter = isFingerprints() ? new NameFingerprinter(blockingKeys) : null;
+    }
+
+    public static ParserConfig defaults() {
+        return DEFAULT;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return a builder that starts from the settings of this config
+     */
+    public Builder toBuilder() {
+        return new Builder()
+                .trimTokens(trimTokens)
+                .salutations(salutations)
+                .suffixes(suffixes)
+                .postnominals(postnominals)
+                .prefixes(prefixes)
+                .maxInputLength(maxInputLength)
+                .maxTokens(maxTokens)
+                .maxSteps(maxSteps)
+                .timeBudget(timeBudgetNanos, TimeUnit.NANOSECONDS)
+                .fingerprints(fingerprints)
+                .blockingKeys(blockingKeys);
+    }
+
+    public boolean isTrimTokens() {
+        return trimTokens;
+    }
+
+    public Lexicon getSalutations() {
+        return salutations;
+    }
+
+    public Lexicon getSuffixes() {
+        return suffixes;
+    }
+
+    public Lexicon getPostnominals() {
+        return postnominals;
+    }
+
+    public Lexicon getPrefixes() {
+        return prefixes;
+    }
+
+    public int getMaxInputLength() {
+        return maxInputLength;
+    }
+
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    /**
+     * @return the most chars the stages of one parse may read, or 0 for no limit
+     */
+    public long getMaxSteps() {
+        return maxSteps;
+    }
+
+    /**
+     * @return how long one parse may take, or 0 for no limit
+     */
+    public long getTimeBudgetNanos() {
+        return timeBudgetNanos;
+    }
+
+    /**
+     * @return true if the parsers fingerprint every name, see {@link ParsedName#getFingerprint()}; that is when
+     * fingerprints were asked for or there are blocking keys
+     */
+    public boolean isFingerprints() {
+        return fingerprints || !blockingKeys.isEmpty();
+    }
+
+    /**
+     * @return the blocking keys the parsers work out for every name, in the order of
+     * {@link ParsedName#getBlockingKey(int)}
+     */
+    public List<BlockingKey> getBlockingKeys() {
+        return blockingKeys;
+    }
+
+    /**
+     * @return what fingerprints names for this config, or null when they aren't
+     */
+    NameFingerprinter fingerprinter() {
+        return fingerprinter;
+    }
+
+    /**
+     * @return true if parses have to count their steps or watch the clock
+     */
+    boolean hasBudget() {
+        return maxSteps > 0 || timeBudgetNanos > 0;
+    }
+
+    /**
+     * Turns down a name that is over the length or token limits
+     */
+    void checkLimits(CharSequence name) {
+        if (name.length() > maxInputLength) {
+            throw new ParseException("name is " + name.length() + " chars, over the limit of " + maxInputLength);
+        }
+        if (maxTokens == Integer.MAX_VALUE || name.length() <= maxTokens) {
+            return;
+        }
+        int tokens = 0;
+        boolean inToken = false;
+        for (int i = 0; i < name.length(); i++) {
+            boolean space = WHITESPACE.matches(name.charAt(i));
+            if (!space && !inToken && ++tokens > maxTokens) {
+                throw new ParseException("name has more than the limit of " + maxTokens + " tokens");
+            }
+            inToken = !space;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ParserConfig)) {
+            return false;
+        }
+        ParserConfig that = (ParserConfig) o;
+        return trimTokens == that.trimTokens
+                && salutations.equals(that.salutations)
+                && suffixes.equals(that.suffixes)
+                && postnominals.equals(that.postnominals)
+                && prefixes.equals(that.prefixes)
+                && maxInputLength == that.maxInputLength
+                && maxTokens == that.maxTokens
+                && maxSteps == that.maxSteps
+                && timeBudgetNanos == that.timeBudgetNanos
+                && fingerprints == that.fingerprints
+                && blockingKeys.equals(that.blockingKeys);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(trimTokens, salutations, suffixes, postnominals, prefixes, maxInputLength, maxTokens,
+                maxSteps, timeBudgetNanos, fingerprints, blockingKeys);
+    }
+
+    @Override
+    public String toString() {
+        return "ParserConfig{" +
+                "trimTokens=" + trimTokens +
+                ", salutations=" + salutations.size() +
+                ", suffixes=" + suffixes.size() +
+                ", postnominals=" + postnominals.size() +
+                ", prefixes=" + prefixes.size() +
+                ", maxInputLength=" + maxInputLength +
+                ", maxTokens=" + maxTokens +
+                ", maxSteps=" + maxSteps +
+                ", timeBudgetNanos=" + timeBudgetNanos +
+                ", fingerprints=" + fingerprints +
+                ", blockingKeys=" + blockingKeys +
+                '}';
+    }
+
+    public static final class Builder {
+        private boolean trimTokens = true;
+        private Lexicon salutations = Lexicon.SALUTATIONS;
+        private Lexicon suffixes = Lexicon.SUFFIXES;
+        private Lexicon postnominals = Lexicon.POSTNOMINALS;
+        private Lexicon prefixes = Lexicon.PREFIXES;
+        private int maxInputLength = Integer.MAX_VALUE;
+        private int maxTokens = Integer.MAX_VALUE;
+        private long maxSteps;
+        private long timeBudgetNanos;
+        private boolean fingerprints;
+        private List<BlockingKey> blockingKeys = ImmutableList.of();
+
+        private Builder() {}
+
+        /**
+         * @param trimTokens whether to trim quotes, parens, commas and the like off of the tokens
+         */
+        public Builder trimTokens(boolean trimTokens) {
+            this.trimTokens = trimTokens;
+            return this;
+        }
+
+        /**
+         * @param salutations the salutations, which have to be single words since only the first word of a name is
+         * looked up
+         */
+        public Builder salutations(Lexicon salutations) {
+            this.salutations = singleWords(salutations, "salutations");
+            return this;
+        }
+
+        /**
+         * @param suffixes the suffixes, which have to be single words since only the last word of a name is looked up
+         */
+        public Builder suffixes(Lexicon suffixes) {
+            this.suffixes = singleWords(suffixes, "suffixes");
+            return this;
+        }
+
+        /**
+         * @param postnominals the postnominals, which have to be single words since only the last word of a name is
+         * looked up
+         */
+        public Builder postnominals(Lexicon postnominals) {
+            this.postnominals = singleWords(postnominals, "postnominals");
+            return this;
+        }
+
+        public Builder prefixes(Lexicon prefixes) {
+            this.prefixes = Preconditions.checkNotNull(prefixes, "prefixes");
+            return this;
+        }
+
+        /**
+         * @param maxInputLength the longest name (in chars) that will be parsed
+         */
+        public Builder maxInputLength(int maxInputLength) {
+            Preconditions.checkArgument(maxInputLength >= 0, "maxInputLength can't be negative: %s", maxInputLength);
+            this.maxInputLength = maxInputLength;
+            return this;
+        }
+
+        /**
+         * @param maxTokens the most whitespace separated words a name that will be parsed can have
+         */
+        public Builder maxTokens(int maxTokens) {
+            Preconditions.checkArgument(maxTokens >= 0, "maxTokens can't be negative: %s", maxTokens);
+            this.maxTokens = maxTokens;
+            return this;
+        }
+
+        /**
+         * @param maxSteps the most chars the stages of one parse may read (0 for no limit); unlike a time budget
+         * this gives the same answer on every machine
+         */
+        public Builder maxSteps(long maxSteps) {
+            Preconditions.checkArgument(maxSteps >= 0, "maxSteps can't be negative: %s", maxSteps);
+            this.maxSteps = maxSteps;
+            return this;
+        }
+
+        /**
+         * @param budget how long one parse may take (0 for no limit)
+         */
+        public Builder timeBudget(long budget, TimeUnit unit) {
+            Preconditions.checkArgument(budget >= 0, "budget can't be negative: %s", budget);
+            this.timeBudgetNanos = unit.toNanos(budget);
+            return this;
+        }
+
+        /**
+         * @param fingerprints whether to work out a fingerprint of every name as it is parsed, see
+         * {@link ParsedName#getFingerprint()}
+         */
+        public Builder fingerprints(boolean fingerprints) {
+            this.fingerprints = fingerprints;
+            return this;
+        }
+
+        /**
+         * @param blockingKeys the keys to work out for every name as it is parsed, in the order that
+         * {@link ParsedName#getBlockingKey(int)} has them; any keys turn fingerprints on too
+         */
+        public Builder blockingKeys(BlockingKey... blockingKeys) {
+            return blockingKeys(ImmutableList.copyOf(blockingKeys));
+        }
+
+        public Builder blockingKeys(List<BlockingKey> blockingKeys) {
+            this.blockingKeys = ImmutableList.copyOf(Preconditions.checkNotNull(blockingKeys, "blockingKeys"));
+            return this;
+        }
+
+        public ParserConfig build() {
+            return new ParserConfig(this);
+        }
+
+        /**
+         * Turns down a lexicon with phrases in it, which would never match rather than fail
+         */
+        private static Lexicon singleWords(Lexicon lexicon, String name) {
+            Preconditions.checkNotNull(lexicon, name);
+            if (lexicon.maxWords() > 1) {
+                for (String entry : lexicon.entries()) {
+                    Preconditions.checkArgument(entry.indexOf(' ') < 0, "%s can only be single words: '%s'", name,
+                            entry);
+                }
+            }
+            return lexicon;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.tupilabs.human_name_parser;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Counters for what a {@link HumanNameParser} does: which stages match, how many tokens get each label, how
+ * names fail, how long the inputs are and how long parsing takes. Pass one to
+ * {@link HumanNameParser#HumanNameParser(ParserConfig, ParserMetrics)} to turn them on, and {@link #register(String)}
+ * it to see it over JMX. A parser without metrics only pays for one null check per parse.
+ *
+ * Every counter is a {@link LongAdder}, so parsing from many threads at once doesn't contend on them.
+ */
+public final class ParserMetrics implements ParserMetricsMXBean {
+
+    static final String DOMAIN = "com.tupilabs.human_name_parser";
+
+    private static final HumanNameParser.Stage[] STAGES = HumanNameParser.Stage.values();
+    private static final Label[] LABELS = Label.values();
+    // lengths go in power of two buckets: 0, 1, 2-3, 4-7, ... with the last one open ended
+    private static final int LENGTH_BUCKETS = 16;
+
+    private final LongAdder parses = new LongAdder();
+    private final LongAdder[] stageHits = adders(STAGES.length);
+    private final LongAdder[] labelCounts = adders(LABELS.length);
+    private final LongAdder namesWithUnknown = new LongAdder();
+    private final LongAdder illegalStateFailures = new LongAdder();
+    private final LongAdder parseExceptionFailures = new LongAdder();
+    private final LongAdder otherFailures = new LongAdder();
+    private final LongAdder[] lengths = adders(LENGTH_BUCKETS);
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private ObjectName registeredAs;
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server as
+     * {@code com.tupilabs.human_name_parser:type=ParserMetrics,name=<name>}
+     */
+    public synchronized ParserMetrics register(String name) {
+        Preconditions.checkState(registeredAs == null, "already registered as %s", registeredAs);
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=ParserMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            registeredAs = objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cant register metrics as " + name, e);
+        }
+        return this;
+    }
+
+    public synchronized void unregister() {
+        if (registeredAs == null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(registeredAs);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cant unregister metrics " + registeredAs, e);
+        }
+        registeredAs = null;
+    }
+
+    void stageHit(HumanNameParser.Stage stage) {
+        stageHits[stage.ordinal()].increment();
+    }
+
+    void parsed(ParsedName parsed, int inputLength, long nanos) {
+        parses.increment();
+        boolean unknown = false;
+        for (int i = 0; i < parsed.size(); i++) {
+            int label = parsed.labelOrdinal(i);
+            labelCounts[label].increment();
+            unknown |= label == Label.Unknown.ordinal();
+        }
+        if (unknown) {
+            namesWithUnknown.increment();
+        }
+        lengths[lengthBucket(inputLength)].increment();
+        latency.record(nanos);
+    }
+
+    void failed(RuntimeException e, int inputLength) {
+        parses.increment();
+        if (e instanceof ParseException) {
+            parseExceptionFailures.increment();
+        } else if (e instanceof IllegalStateException) {
+            illegalStateFailures.increment();
+        } else {
+            otherFailures.increment();
+        }
+        lengths[lengthBucket(inputLength)].increment();
+    }
+
+    private static int lengthBucket(int length) {
+        return Math.min(32 - Integer.numberOfLeadingZeros(length), LENGTH_BUCKETS - 1);
+    }
+
+    @Override
+    public long getParseCount() {
+        return parses.sum();
+    }
+
+    @Override
+    public Map<String, Long> getStageHits() {
+        Map<String, Long> hits = new LinkedHashMap<>();
+        for (HumanNameParser.Stage stage : STAGES) {
+            hits.put(stage.name(), stageHits[stage.ordinal()].sum());
+        }
+        return hits;
+    }
+
+    @Override
+    public Map<String, Long> getLabelCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Label label : LABELS) {
+            if (label != Label.Whitespace) {
+                counts.put(label.name(), labelCounts[label.ordinal()].sum());
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public long getNamesWithUnknown() {
+        return namesWithUnknown.sum();
+    }
+
+    @Override
+    public long getIllegalStateFailures() {
+        return illegalStateFailures.sum();
+    }
+
+    @Override
+    public long getParseExceptionFailures() {
+        return parseExceptionFailures.sum();
+    }
+
+    @Override
+    public long getOtherFailures() {
+        return otherFailures.sum();
+    }
+
+    @Override
+    public Map<String, Long> getInputLengths() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < LENGTH_BUCKETS; i++) {
+            String range;
+            if (i <= 1) {
+                range = String.valueOf(i);
+            } else if (i == LENGTH_BUCKETS - 1) {
+                range = (1 << (i - 1)) + "+";
+            } else {
+                range = (1 << (i - 1)) + "-" + ((1 << i) - 1);
+            }
+            counts.put(range, lengths[i].sum());
+        }
+        return counts;
+    }
+
+    @Override
+    public long getLatencyP50() {
+        return latency.percentile(50);
+    }
+
+    @Override
+    public long getLatencyP99() {
+        return latency.percentile(99);
+    }
+
+    @Override
+    public long getLatencyP999() {
+        return latency.percentile(99.9);
+    }
+
+    @Override
+    public void reset() {
+        parses.reset();
+        for (LongAdder adder : stageHits) {
+            adder.reset();
+        }
+        for (LongAdder adder : labelCounts) {
+            adder.reset();
+        }
+        namesWithUnknown.reset();
+        illegalStateFailures.reset();
+        parseExceptionFailures.reset();
+        otherFailures.reset();
+        for (LongAdder adder : lengths) {
+            adder.reset();
+        }
+        latency.reset();
+    }
+}
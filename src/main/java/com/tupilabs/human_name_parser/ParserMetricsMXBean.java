@@ -0,0 +1,45 @@
+package com.tupilabs.human_name_parser;
+
+import java.util.Map;
+
+/**
+ * What {@link ParserMetrics} shows over JMX. Latencies are in nanoseconds
+ */
+public interface ParserMetricsMXBean {
+
+    long getParseCount();
+
+    /**
+     * @return how many times each stage of the parse matched something, by stage name
+     */
+    Map<String, Long> getStageHits();
+
+    /**
+     * @return how many tokens have been given each label, by label name
+     */
+    Map<String, Long> getLabelCounts();
+
+    /**
+     * @return how many parsed names were left with at least one Unknown token
+     */
+    long getNamesWithUnknown();
+
+    long getIllegalStateFailures();
+
+    long getParseExceptionFailures();
+
+    long getOtherFailures();
+
+    /**
+     * @return how many inputs had a length in each range, by range ("0", "1", "2-3", "4-7", ...)
+     */
+    Map<String, Long> getInputLengths();
+
+    long getLatencyP50();
+
+    long getLatencyP99();
+
+    long getLatencyP999();
+
+    void reset();
+}
@@ -0,0 +1,83 @@
+package com.tupilabs.human_name_parser;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Hands out one shared parser per distinct {@link ParserConfig}. When many callers (say one per tenant) ask for
+ * parsers with equal configs they all get the same instance, so the lexicons behind it are only held once no
+ * matter how many configs were built. Parsers are thread safe so sharing them is fine.
+ *
+ * A registry holds at most maxConfigs parsers and drops the ones used least recently past that, so callers that
+ * build a new config per request can't fill it up with parsers and lexicon tables. Once a parser has been
+ * dropped the next equal config gets a new one, so the sharing only holds while the distinct configs in use fit.
+ */
+public final class ParserRegistry {
+
+    /**
+     * How many parsers a registry made with the no-arg constructor (and the shared one) holds
+     */
+    public static final int DEFAULT_MAX_CONFIGS = 256;
+
+    private static final ParserRegistry SHARED = new ParserRegistry();
+
+    private final LoadingCache<ParserConfig, HumanNameParser> parsers;
+
+    public ParserRegistry() {
+        this(DEFAULT_MAX_CONFIGS);
+    }
+
+    /**
+     * @param maxConfigs the most distinct configs to keep parsers for
+     */
+    public ParserRegistry(int maxConfigs) {
+        Preconditions.checkArgument(maxConfigs > 0, "maxConfigs must be positive: %s", maxConfigs);
+        this.parsers = CacheBuilder.newBuilder()
+                .maximumSize(maxConfigs)
+                .build(new CacheLoader<ParserConfig, HumanNameParser>() {
+                    @Override
+                    public HumanNameParser load(ParserConfig config) {
+                        return new HumanNameParser(config);
+                    }
+                });
+    }
+
+    /**
+     * @return the registry shared by the whole JVM
+     */
+    public static ParserRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return the parser for a config equal to this one, creating it the first time it is asked for (or the first
+     * time after it was dropped)
+     */
+    public HumanNameParser parserFor(ParserConfig config) {
+        return parsers.getUnchecked(Preconditions.checkNotNull(config, "config"));
+    }
+
+    /**
+     * @return the registered config that is equal to this one (the first one registered wins) so that callers can
+     * drop their own copy and its lexicons
+     */
+    public ParserConfig intern(ParserConfig config) {
+        return parserFor(config).getConfig();
+    }
+
+    /**
+     * @return how many distinct configs have parsers
+     */
+    public int size() {
+        return (int) parsers.size();
+    }
+
+    /**
+     * Forgets every parser; parsers already handed out keep working
+     */
+    public void clear() {
+        parsers.invalidateAll();
+    }
+}
@@ -0,0 +1,393 @@
+package com.tupilabs.human_name_parser;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Phonetic codes of the labelled parts of a parsed name, for matching names that sound alike: Soundex (the
+ * American one, with the rule for H and W) or the original Metaphone of Lawrence Philips, cut to four letters.
+ * Both give the same codes as the encoders of Apache Commons Codec.
+ *
+ * A code is worked out from the words of the tokens with a label, one code per word joined by spaces. Words are
+ * folded like they are for a {@link BlockingKey} first, so Bj&ouml;rn is coded as Bjorn and O'Dell as ODell. In a
+ * last name, the links that chain it up (" y " and the surname prefixes) are skipped as long as another word
+ * comes after them, so "van der Sar" is coded as Sar and "Ortega y Gasset" as Ortega Gasset.
+ *
+ * Codes are worked out lazily and kept on the parsed name (see {@link ParsedName#getPhoneticCode(Label,
+ * PhoneticEncoder)}), so a stage that asks again gets the same string back. Under that, each algorithm keeps a
+ * small table of the codes of the words seen most often, shared by every encoder in the JVM, so a common surname
+ * is coded once rather than once a record.
+ *
+ * Encoders are immutable and can be shared between threads.
+ */
+public final class PhoneticEncoder {
+
+    /**
+     * Soundex, with the surname prefixes of {@link Lexicon#PREFIXES}
+     */
+    public static final PhoneticEncoder SOUNDEX = new PhoneticEncoder(Algorithm.Soundex, Lexicon.PREFIXES);
+    /**
+     * Metaphone, with the surname prefixes of {@link Lexicon#PREFIXES}
+     */
+    public static final PhoneticEncoder METAPHONE = new PhoneticEncoder(Algorithm.Metaphone, Lexicon.PREFIXES);
+
+    // marks a label that the name has no tokens with (null is a label that hasn't been coded yet)
+    private static final String NONE = new String("");
+    private static final Label[] LABELS = Label.values();
+
+    private final Algorithm algorithm;
+    private final Lexicon prefixes;
+
+    /**
+     * @param prefixes the surname prefixes to skip in last names, which should be those of the parser
+     */
+    public PhoneticEncoder(Algorithm algorithm, Lexicon prefixes) {
+        this.algorithm = Preconditions.checkNotNull(algorithm, "algorithm");
+        this.prefixes = Preconditions.checkNotNull(prefixes, "prefixes");
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public Lexicon getPrefixes() {
+        return prefixes;
+    }
+
+    /**
+     * @return the code of the tokens of the name with this label, "" if none of their words has a letter that
+     * can be coded, or null if the name has no such tokens
+     */
+    public String encode(ParsedName name, Label label) {
+        String[] codes = name.phoneticCodes(this).codes;
+        String code = codes[label.ordinal()];
+        if (code == null) {
+            code = encodeLabel(name, label);
+            codes[label.ordinal()] = code;
+        }
+        return code == NONE ? null : code;
+    }
+
+    private String encodeLabel(ParsedName name, Label label) {
+        String code = NONE;
+        StringBuilder joined = null;
+        for (int i = 0; i < name.size(); i++) {
+            if (name.labelOrdinal(i) != label.ordinal()) {
+                continue;
+            }
+            if (code == NONE) {
+                code = "";
+            }
+            CharSequence seq = name.tokenChars(i);
+            int end = name.tokenEnd(i);
+            int start = name.tokenStart(i);
+            while (start < end) {
+                if (label == Label.Last) {
+                    int next = NameRules.particleEnd(seq, start, end, prefixes);
+                    if (next >= 0) {
+                        start = next;
+                        continue;
+                    }
+                }
+                int wordEnd = start;
+                while (wordEnd < end && !Character.isWhitespace(seq.charAt(wordEnd))) {
+                    wordEnd += 1;
+                }
+                String word = algorithm.code(seq, start, wordEnd);
+                if (!word.isEmpty()) {
+                    // most labels are one word, whose code is then the memo's string as is
+                    if (code.isEmpty()) {
+                        code = word;
+                    } else {
+                        if (joined == null) {
+                            joined = new StringBuilder(code);
+                        }
+                        joined.append(' ').append(word);
+                    }
+                }
+                start = wordEnd + 1;
+            }
+        }
+        return joined == null ? code : joined.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PhoneticEncoder)) {
+            return false;
+        }
+        PhoneticEncoder that = (PhoneticEncoder) o;
+        return algorithm == that.algorithm && prefixes.equals(that.prefixes);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * algorithm.hashCode() + prefixes.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "PhoneticEncoder{" + algorithm + ", prefixes=" + prefixes + '}';
+    }
+
+    /**
+     * The codes of one name for one encoder, by label ordinal; a list node so that a name can keep the codes of
+     * more than one encoder
+     */
+    static final class Codes {
+        final PhoneticEncoder encoder;
+        final Codes next;
+        // racy like the tokens of a parsed name: coding a label again gives an equal string
+        final String[] codes = new String[LABELS.length];
+
+        Codes(PhoneticEncoder encoder, Codes next) {
+            this.encoder = encoder;
+            this.next = next;
+        }
+    }
+
+    public enum Algorithm {
+        Soundex {
+            // the digit of each letter; 0 for the vowels (and H, W and Y) which only split runs of a digit
+            private static final String DIGITS = "01230120022455012623010202";
+
+            @Override
+            void encode(CharSequence letters, StringBuilder out) {
+                char first = letters.charAt(0);
+                out.append(first);
+                char last = DIGITS.charAt(first - 'A');
+                for (int i = 1; i < letters.length() && out.length() < 4; i++) {
+                    char c = letters.charAt(i);
+                    if (c == 'H' || c == 'W') {
+                        // don't split a run either
+                        continue;
+                    }
+                    char digit = DIGITS.charAt(c - 'A');
+                    if (digit != '0' && digit != last) {
+                        out.append(digit);
+                    }
+                    last = digit;
+                }
+                while (out.length() < 4) {
+                    out.append('0');
+                }
+            }
+        },
+        Metaphone {
+            private static final int MAX_LENGTH = 4;
+            private static final String FRONT_VOWELS = "EIY";
+            private static final String VARSON = "CSPTG";
+
+            @Override
+            void encode(CharSequence letters, StringBuilder out) {
+                if (letters.length() == 1) {
+                    out.append(letters);
+                    return;
+                }
+                StringBuilder w = new StringBuilder(letters);
+                char second = w.charAt(1);
+                switch (w.charAt(0)) {
+                    case 'K':
+                    case 'G':
+                    case 'P':
+                        // KN, GN, PN: the first letter is silent
+                        if (second == 'N') {
+                            w.deleteCharAt(0);
+                        }
+                        break;
+                    case 'A':
+                        if (second == 'E') {
+                            w.deleteCharAt(0);
+                        }
+                        break;
+                    case 'W':
+                        if (second == 'R') {
+                            w.deleteCharAt(0);
+                        } else if (second == 'H') {
+                            w.deleteCharAt(1);
+                        }
+                        break;
+                    case 'X':
+                        w.setCharAt(0, 'S');
+                        break;
+                    default:
+                        break;
+                }
+                int length = w.length();
+                for (int n = 0; n < length && out.length() < MAX_LENGTH; n++) {
+                    char c = w.charAt(n);
+                    if (c != 'C' && n > 0 && w.charAt(n - 1) == c) {
+                        // doubled letters are coded once, except CC
+                        continue;
+                    }
+                    boolean last = n == length - 1;
+                    char next = last ? 0 : w.charAt(n + 1);
+                    switch (c) {
+                        case 'A':
+                        case 'E':
+                        case 'I':
+                        case 'O':
+                        case 'U':
+                            if (n == 0) {
+                                out.append(c);
+                            }
+                            break;
+                        case 'B':
+                            // silent in a final MB
+                            if (!(last && n > 0 && w.charAt(n - 1) == 'M')) {
+                                out.append('B');
+                            }
+                            break;
+                        case 'C':
+                            if (n > 0 && w.charAt(n - 1) == 'S' && FRONT_VOWELS.indexOf(next) >= 0 && !last) {
+                                // SCE, SCI, SCY
+                                break;
+                            }
+                            if (matches(w, n, "CIA")) {
+                                out.append('X');
+                            } else if (!last && FRONT_VOWELS.indexOf(next) >= 0) {
+                                out.append('S');
+                            } else if (n > 0 && w.charAt(n - 1) == 'S' && next == 'H') {
+                                out.append('K');
+                            } else if (next == 'H') {
+                                out.append(n == 0 && length >= 3 && isVowel(w, 2) ? 'K' : 'X');
+                            } else {
+                                out.append('K');
+                            }
+                            break;
+                        case 'D':
+                            if (n + 2 < length && next == 'G' && FRONT_VOWELS.indexOf(w.charAt(n + 2)) >= 0) {
+                                // DGE, DGI, DGY
+                                out.append('J');
+                                n += 2;
+                            } else {
+                                out.append('T');
+                            }
+                            break;
+                        case 'G':
+                            if (next == 'H' && (n + 2 == length || !isVowel(w, n + 2))) {
+                                break;
+                            }
+                            if (n > 0 && (matches(w, n, "GN") || matches(w, n, "GNED"))) {
+                                break;
+                            }
+                            out.append(!last && FRONT_VOWELS.indexOf(next) >= 0 ? 'J' : 'K');
+                            break;
+                        case 'H':
+                            if (last || (n > 0 && VARSON.indexOf(w.charAt(n - 1)) >= 0)) {
+                                break;
+                            }
+                            if (isVowel(w, n + 1)) {
+                                out.append('H');
+                            }
+                            break;
+                        case 'F':
+                        case 'J':
+                        case 'L':
+                        case 'M':
+                        case 'N':
+                        case 'R':
+                            out.append(c);
+                            break;
+                        case 'K':
+                            if (n == 0 || w.charAt(n - 1) != 'C') {
+                                out.append('K');
+                            }
+                            break;
+                        case 'P':
+                            out.append(next == 'H' ? 'F' : 'P');
+                            break;
+                        case 'Q':
+                            out.append('K');
+                            break;
+                        case 'S':
+                            if (matches(w, n, "SH") || matches(w, n, "SIO") || matches(w, n, "SIA")) {
+                                out.append('X');
+                            } else {
+                                out.append('S');
+                            }
+                            break;
+                        case 'T':
+                            if (matches(w, n, "TIA") || matches(w, n, "TIO")) {
+                                out.append('X');
+                            } else if (matches(w, n, "TH")) {
+                                out.append('0');
+                            } else if (!matches(w, n, "TCH")) {
+                                out.append('T');
+                            }
+                            break;
+                        case 'V':
+                            out.append('F');
+                            break;
+                        case 'W':
+                        case 'Y':
+                            if (!last && isVowel(w, n + 1)) {
+                                out.append(c);
+                            }
+                            break;
+                        case 'X':
+                            out.append('K').append('S');
+                            break;
+                        case 'Z':
+                            out.append('S');
+                            break;
+                        default:
+                            break;
+                    }
+                }
+                if (out.length() > MAX_LENGTH) {
+                    out.setLength(MAX_LENGTH);
+                }
+            }
+
+            private boolean isVowel(CharSequence w, int i) {
+                return i < w.length() && "AEIOU".indexOf(w.charAt(i)) >= 0;
+            }
+
+            private boolean matches(CharSequence w, int i, String s) {
+                if (i + s.length() > w.length()) {
+                    return false;
+                }
+                for (int k = 0; k < s.length(); k++) {
+                    if (w.charAt(i + k) != s.charAt(k)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        };
+
+        // shared by every encoder with this algorithm
+        private final PhoneticMemo memo = new PhoneticMemo();
+
+        /**
+         * Codes a word that has at least one letter
+         * @param letters the folded letters of the word, all of them A to Z
+         */
+        abstract void encode(CharSequence letters, StringBuilder out);
+
+        /**
+         * @return the code of a single word, or "" if it has no letter that can be coded
+         */
+        public String encode(CharSequence word) {
+            return code(word, 0, word.length());
+        }
+
+        String code(CharSequence seq, int start, int end) {
+            String code = memo.get(seq, start, end);
+            if (code == null) {
+                StringBuilder letters = new StringBuilder(end - start);
+                NameFingerprinter.appendFoldedLetters(seq, start, end, letters);
+                StringBuilder out = new StringBuilder(4);
+                if (letters.length() > 0) {
+                    encode(letters, out);
+                }
+                code = out.toString();
+                memo.put(seq, start, end, code);
+            }
+            return code;
+        }
+    }
+}
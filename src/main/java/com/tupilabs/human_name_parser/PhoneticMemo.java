@@ -0,0 +1,75 @@
+package com.tupilabs.human_name_parser;
+
+/**
+ * A small table of the codes of the words that a phonetic algorithm sees most often, looked up straight from a
+ * range of chars so that a hit makes no garbage.
+ *
+ * Each word has one slot (picked by its hash) and each slot has a few lives: a hit gives its word a life back, and
+ * a word that wants the slot of another only takes it once that word is out of lives. So a surname that keeps
+ * coming up stays put while a run of one-off names goes by. There are no locks: entries are immutable and are
+ * read and written racily, which at worst codes a word again or lets a common word lose its slot.
+ */
+final class PhoneticMemo {
+
+    private static final int SLOTS = 1 << 12;
+    private static final int MAX_LIVES = 3;
+
+    private final Entry[] entries = new Entry[SLOTS];
+    private final byte[] lives = new byte[SLOTS];
+
+    /**
+     * @return the code of the word seq[start, end), or null if it isn't in the table
+     */
+    String get(CharSequence seq, int start, int end) {
+        int slot = slot(seq, start, end);
+        Entry entry = entries[slot];
+        if (entry == null || !entry.matches(seq, start, end)) {
+            return null;
+        }
+        if (lives[slot] < MAX_LIVES) {
+            lives[slot] += 1;
+        }
+        return entry.code;
+    }
+
+    void put(CharSequence seq, int start, int end, String code) {
+        int slot = slot(seq, start, end);
+        if (entries[slot] != null && lives[slot] > 0) {
+            lives[slot] -= 1;
+            return;
+        }
+        entries[slot] = new Entry(seq.subSequence(start, end).toString(), code);
+        lives[slot] = 0;
+    }
+
+    static int slot(CharSequence seq, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + seq.charAt(i);
+        }
+        // spread the bits since the table is indexed with a mask
+        return (h ^ (h >>> 16)) & (SLOTS - 1);
+    }
+
+    private static final class Entry {
+        final String word;
+        final String code;
+
+        Entry(String word, String code) {
+            this.word = word;
+            this.code = code;
+        }
+
+        boolean matches(CharSequence seq, int start, int end) {
+            if (word.length() != end - start) {
+                return false;
+            }
+            for (int i = start; i < end; i++) {
+                if (word.charAt(i - start) != seq.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.tupilabs.human_name_parser;
+
+import java.util.Arrays;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A {@link BackedSequence} kept as a piece table: the sequence is a list of pieces, each one a run of consecutive
+ * characters of the original. Removing a range only splits the pieces at its ends and drops the ones in between,
+ * and a flip only reorders pieces, so neither touches the characters themselves. Both cost O(pieces) no matter how
+ * long the input is (where {@link ChopSequence} shifts or rotates every index after the change), which keeps long
+ * inputs linear. Removing from the front (which the parser does once per chopped word) doesn't even cost that: the
+ * pieces don't move, the list just starts further along.
+ *
+ * Lookups binary search the pieces but remember the last piece they landed in, so scanning forwards (which is
+ * what the regexes and the rules do) is amortized constant time per char.
+ */
+public class PieceTableSequence implements BackedSequence {
+
+    private char[] original;
+    // piece i is at head + i in the arrays; it is original[origin[head + i], ...) up to end(i), where it ends in
+    // this seq, which is ends[head + i] - base so that removing from the front doesn't have to touch every end
+    private int[] origin;
+    private int[] ends;
+    private int head;
+    private int base;
+    private int pieces;
+    // what removeAll builds the new pieces in before swapping them in
+    private int[] spareOrigin = new int[0];
+    private int[] spareEnds = new int[0];
+    // the piece that the last lookup landed in
+    private int cursor;
+
+    public PieceTableSequence(CharSequence original) {
+        this.original = new char[original.length()];
+        this.origin = new int[8];
+        this.ends = new int[8];
+        reset(original);
+    }
+
+    /**
+     * Starts over with a new original, reusing the buffers if they are big enough
+     */
+    void reset(CharSequence text) {
+        int len = text.length();
+        if (original.length < len) {
+            original = new char[Math.max(len, original.length + (original.length >> 1))];
+        }
+        ParseContext.copyChars(text, original);
+        head = 0;
+        base = 0;
+        origin[0] = 0;
+        ends[0] = len;
+        pieces = len > 0 ? 1 : 0;
+        cursor = 0;
+    }
+
+    @Override
+    public int length() {
+        return pieces == 0 ? 0 : end(pieces - 1);
+    }
+
+    @Override
+    public char charAt(int index) {
+        return original[originalIndex(index)];
+    }
+
+    @Override
+    public int originalIndex(int index) {
+        if (index < 0 || index >= length()) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        int p = pieceAt(index);
+        return origin[head + p] + (index - startOf(p));
+    }
+
+    /**
+     * @return one past the last index of the piece that index is in, so [index, pieceEnd) are consecutive chars of
+     * the original
+     */
+    int pieceEnd(int index) {
+        if (index < 0 || index >= length()) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        return end(pieceAt(index));
+    }
+
+    @Override
+    public void setCharAt(int index, char newChar) {
+        original[originalIndex(index)] = newChar;
+    }
+
+    /**
+     * Removes a chunk of the chars from this sequence logically, meaning that subsequent
+     * calls to this sequence will act as if all of the chars were removed entirely
+     */
+    @Override
+    public void remove(int start, int end) {
+        if (start < 0 || end > length() || start > end) {
+            throw new StringIndexOutOfBoundsException(end);
+        }
+        if (start == end) {
+            return;
+        }
+        int first = splitAt(start);
+        int last = splitAt(end);
+        int removed = end - start;
+        int dropped = last - first;
+        if (first == 0) {
+            // everything left moves down by the same amount, which base takes care of
+            head += dropped;
+            base += removed;
+            pieces -= dropped;
+        } else {
+            System.arraycopy(origin, head + last, origin, head + first, pieces - last);
+            System.arraycopy(ends, head + last, ends, head + first, pieces - last);
+            pieces -= dropped;
+            for (int i = first; i < pieces; i++) {
+                ends[head + i] -= removed;
+            }
+        }
+        cursor = 0;
+    }
+
+    /**
+     * Removes count ranges at once, where range k is [ranges[2k], ranges[2k + 1]) in the current indexes; the
+     * ranges must be in order and not overlap. This is one pass over the pieces however many ranges there are,
+     * where removing them one at a time would shift the pieces after each one
+     */
+    void removeAll(int[] ranges, int count) {
+        if (count == 0) {
+            return;
+        }
+        int capacity = pieces + count;
+        if (spareOrigin.length < capacity) {
+            spareOrigin = new int[Math.max(capacity, origin.length)];
+            spareEnds = new int[spareOrigin.length];
+        }
+        int n = 0;
+        int r = 0;
+        int pos = 0;
+        for (int p = 0; p < pieces; p++) {
+            int start = startOf(p);
+            int end = end(p);
+            int at = start;
+            while (at < end) {
+                while (r < count && ranges[2 * r + 1] <= at) {
+                    r += 1;
+                }
+                if (r < count && ranges[2 * r] <= at) {
+                    at = Math.min(end, ranges[2 * r + 1]);
+                    continue;
+                }
+                int keepEnd = r < count ? Math.min(end, ranges[2 * r]) : end;
+                int keepOrigin = origin[head + p] + (at - start);
+                pos += keepEnd - at;
+                int lastLength = n == 0 ? 0 : spareEnds[n - 1] - (n == 1 ? 0 : spareEnds[n - 2]);
+                if (n > 0 && spareOrigin[n - 1] + lastLength == keepOrigin) {
+                    // carries on from the last piece kept in the original, so just grow that one
+                    spareEnds[n - 1] = pos;
+                } else {
+                    spareOrigin[n] = keepOrigin;
+                    spareEnds[n] = pos;
+                    n += 1;
+                }
+                at = keepEnd;
+            }
+        }
+        int[] swap = origin;
+        origin = spareOrigin;
+        spareOrigin = swap;
+        swap = ends;
+        ends = spareEnds;
+        spareEnds = swap;
+        head = 0;
+        base = 0;
+        pieces = n;
+        cursor = 0;
+    }
+
+    @Override
+    public void flip(int pivot) {
+        flipRange(0, pivot, length() - 1);
+    }
+
+    /**
+     * Swaps [start, pivot) with (pivot, endIncl] leaving the char at pivot between them
+     */
+    void flipRange(int start, int pivot, int endIncl) {
+        Preconditions.checkState(start <= pivot);
+        Preconditions.checkState(pivot <= endIncl);
+        int a = splitAt(start);
+        int p = splitAt(pivot);
+        int q = splitAt(pivot + 1);
+        int e = splitAt(endIncl + 1);
+        int count = e - a;
+        int[] oldOrigin = Arrays.copyOfRange(origin, head + a, head + e);
+        int[] oldLength = new int[count];
+        for (int i = 0; i < count; i++) {
+            oldLength[i] = end(a + i) - startOf(a + i);
+        }
+        // after the pivot, then the pivot, then before it
+        int at = copyPieces(oldOrigin, oldLength, q - a, e - a, a);
+        at = copyPieces(oldOrigin, oldLength, p - a, q - a, at);
+        copyPieces(oldOrigin, oldLength, 0, p - a, at);
+        cursor = 0;
+    }
+
+    private int copyPieces(int[] fromOrigin, int[] fromLength, int from, int to, int at) {
+        int pos = startOf(at);
+        for (int i = from; i < to; i++) {
+            origin[head + at] = fromOrigin[i];
+            pos += fromLength[i];
+            ends[head + at] = pos + base;
+            at += 1;
+        }
+        return at;
+    }
+
+    /**
+     * Makes sure that a piece starts at index (splitting the piece that spans it if needed)
+     * @return the piece that starts at index, or the number of pieces if index is the length
+     */
+    private int splitAt(int index) {
+        if (index == length()) {
+            return pieces;
+        }
+        int p = pieceAt(index);
+        int start = startOf(p);
+        if (start == index) {
+            return p;
+        }
+        if (head + pieces == origin.length) {
+            makeRoom();
+        }
+        int at = head + p;
+        System.arraycopy(origin, at + 1, origin, at + 2, pieces - p - 1);
+        System.arraycopy(ends, at + 1, ends, at + 2, pieces - p - 1);
+        pieces += 1;
+        origin[at + 1] = origin[at] + (index - start);
+        ends[at + 1] = ends[at];
+        ends[at] = index + base;
+        return p + 1;
+    }
+
+    /**
+     * Makes room for one more piece at the back: moves the pieces back to the start of the arrays if the front
+     * has been removed, or grows them if not
+     */
+    private void makeRoom() {
+        if (head > 0) {
+            System.arraycopy(origin, head, origin, 0, pieces);
+            System.arraycopy(ends, head, ends, 0, pieces);
+            head = 0;
+        } else {
+            origin = Arrays.copyOf(origin, pieces * 2);
+            ends = Arrays.copyOf(ends, pieces * 2);
+        }
+    }
+
+    private int end(int piece) {
+        return ends[head + piece] - base;
+    }
+
+    private int startOf(int piece) {
+        return piece == 0 ? 0 : end(piece - 1);
+    }
+
+    private int pieceAt(int index) {
+        int c = cursor;
+        if (c < pieces && startOf(c) <= index) {
+            if (index < end(c)) {
+                return c;
+            }
+            if (c + 1 < pieces && index < end(c + 1)) {
+                cursor = c + 1;
+                return c + 1;
+            }
+        }
+        int lo = 0;
+        int hi = pieces - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (end(mid) <= index) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        cursor = lo;
+        return lo;
+    }
+
+    @Override
+    public BackedSequence subSequence(int start, int end) {
+        if (start < 0 || end > length() || start > end) {
+            throw new StringIndexOutOfBoundsException(end);
+        }
+        return new PieceSubsequence(start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(length());
+        for (int i = 0; i < pieces; i++) {
+            sb.append(original, origin[head + i], end(i) - startOf(i));
+        }
+        return sb.toString();
+    }
+
+    private class PieceSubsequence implements BackedSequence {
+
+        private final int offset;
+        private int length;
+
+        private PieceSubsequence(int offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index >= length) {
+                throw new StringIndexOutOfBoundsException(index);
+            }
+            return PieceTableSequence.this.charAt(offset + index);
+        }
+
+        @Override
+        public int originalIndex(int index) {
+            return PieceTableSequence.this.originalIndex(offset + index);
+        }
+
+        @Override
+        public void flip(int pivot) {
+            Preconditions.checkState(pivot < length);
+            PieceTableSequence.this.flipRange(offset, offset + pivot, offset + length - 1);
+        }
+
+        @Override
+        public void remove(int start, int end) {
+            PieceTableSequence.this.remove(offset + start, offset + end);
+            length -= (end - start);
+        }
+
+        @Override
+        public BackedSequence subSequence(int start, int end) {
+            return PieceTableSequence.this.subSequence(offset + start, offset + end);
+        }
+
+        @Override
+        public void setCharAt(int index, char newChar) {
+            PieceTableSequence.this.setCharAt(offset + index, newChar);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                sb.append(charAt(i));
+            }
+            return sb.toString();
+        }
+    }
+}
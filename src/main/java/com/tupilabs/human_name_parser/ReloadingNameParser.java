@@ -0,0 +1,160 @@
+package com.tupilabs.human_name_parser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A parser whose salutations, suffixes, postnominals and surname prefixes are read from files, and read again
+ * when {@link #reload()} or {@link #reloadIfChanged()} is called, so the lists can be updated without a restart.
+ *
+ * A reload is copy-on-write. It reads the files and builds a whole new {@link HumanNameParser} (and so new lexicon
+ * tables) on the thread that called it, then publishes it with a single volatile write. A parse reads that field
+ * once and runs on the parser it got from start to end. So parses that were in flight finish with the old lists
+ * and later ones see the new. Parses never take a lock or wait on a reload, and there is no cold start for
+ * them to pay for. Reloads are serialized among themselves. A reload that fails to read a file, or to build a
+ * parser from what it read, leaves the parser as it was, and {@link #reloadIfChanged()} tries again next time.
+ *
+ * Lists that aren't given a file come from the base config, as do the other settings. A
+ * {@link CachingNameParser} in front of this one goes on answering with names it parsed before a reload, so clear
+ * it after one.
+ */
+public final class ReloadingNameParser implements NameParser {
+
+    private final ParserConfig base;
+    private final ParserMetrics metrics;
+    // in the order salutations, suffixes, postnominals, prefixes; null for the lists the base config has
+    private final Source[] sources;
+    private volatile HumanNameParser parser;
+
+    /**
+     * @param salutations the file to read salutations from, or null to use those of base; likewise the others
+     * @throws IOException if one of the files can't be read
+     */
+    public ReloadingNameParser(ParserConfig base, Path salutations, Path suffixes, Path postnominals,
+                               Path prefixes) throws IOException {
+        this(base, null, salutations, suffixes, postnominals, prefixes);
+    }
+
+    /**
+     * A parser that records into metrics (or doesn't when it is null), across reloads
+     */
+    public ReloadingNameParser(ParserConfig base, ParserMetrics metrics, Path salutations, Path suffixes,
+                               Path postnominals, Path prefixes) throws IOException {
+        this.base = Preconditions.checkNotNull(base, "base");
+        this.metrics = metrics;
+        this.sources = new Source[]{source(salutations), source(suffixes), source(postnominals), source(prefixes)};
+        reload();
+    }
+
+    private static Source source(Path file) {
+        return file == null ? null : new Source(file);
+    }
+
+    @Override
+    public ParsedName parse(String fullName) {
+        return parser.parse(fullName);
+    }
+
+    @Override
+    public ParsedName parse(CharSequence fullName) {
+        return parser.parse(fullName);
+    }
+
+    @Override
+    public ParsedName parse(char[] buf, int off, int len) {
+        return parser.parse(buf, off, len);
+    }
+
+    public ParsedName parse(CharSequence fullName, ParseContext context) {
+        return parser.parse(fullName, context);
+    }
+
+    /**
+     * @return the parser with the lists as last loaded; it doesn't change when the files are reloaded
+     */
+    public HumanNameParser getParser() {
+        return parser;
+    }
+
+    public ParserConfig getConfig() {
+        return parser.getConfig();
+    }
+
+    /**
+     * Reads every file again and switches to a parser with what they hold now
+     * @return false if the lists came out the same, in which case the parser is kept
+     * @throws IOException if a file can't be read; the parser is then left as it was
+     * @throws IllegalArgumentException if a list can't be used, say a salutation with two words; likewise
+     */
+    public synchronized boolean reload() throws IOException {
+        ParserConfig.Builder builder = base.toBuilder();
+        Lexicon[] lexicons = new Lexicon[sources.length];
+        FileTime[] modified = new FileTime[sources.length];
+        long[] sizes = new long[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            if (sources[i] != null) {
+                // stamped before reading, so a write while it is read is picked up next time
+                modified[i] = Files.getLastModifiedTime(sources[i].file);
+                sizes[i] = Files.size(sources[i].file);
+                lexicons[i] = Lexicon.load(sources[i].file);
+            }
+        }
+        if (lexicons[0] != null) {
+            builder.salutations(lexicons[0]);
+        }
+        if (lexicons[1] != null) {
+            builder.suffixes(lexicons[1]);
+        }
+        if (lexicons[2] != null) {
+            builder.postnominals(lexicons[2]);
+        }
+        if (lexicons[3] != null) {
+            builder.prefixes(lexicons[3]);
+        }
+        ParserConfig config = builder.build();
+        boolean changed = parser == null || !config.equals(parser.getConfig());
+        if (changed) {
+            parser = new HumanNameParser(config, metrics);
+        }
+        // only once the lists are in use, so files that were turned down are read again by reloadIfChanged
+        for (int i = 0; i < sources.length; i++) {
+            if (sources[i] != null) {
+                sources[i].modified = modified[i];
+                sources[i].size = sizes[i];
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Reloads if any of the files has been modified (or changed size) since it was last read; cheap enough to
+     * call every few seconds from a scheduled task
+     * @return true if the parser was switched
+     */
+    public synchronized boolean reloadIfChanged() throws IOException {
+        for (Source source : sources) {
+            if (source != null && (!Files.getLastModifiedTime(source.file).equals(source.modified)
+                    || Files.size(source.file) != source.size)) {
+                return reload();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A file and what it looked like when it was last read
+     */
+    private static final class Source {
+        final Path file;
+        FileTime modified;
+        long size;
+
+        Source(Path file) {
+            this.file = file;
+        }
+    }
+}
@@ -1,81 +1,211 @@
 package com.tupilabs.human_name_parser;
 
+import java.util.Arrays;
+
 /**
  * The tagged name segmented (and appended when multiple tokens in a segment)
+ *
+ * {@link ParsedName#getSegmentedView()} is a view of the parsed name: each segment is only joined the first time it
+ * is read (with one builder sized to fit) and then kept, and the view itself is made once and shared by every
+ * caller so it can't be changed through the setters. {@link ParsedName#toSegmented()} gives a copy of its own
+ * that can be changed like any bean; it reads the segments it hasn't been given from the shared view, so they are
+ * still only joined once.
  * @author Steve Ash
  */
 public class SegmentedName {
 
-    private String leadingInit;
-    private String first;
-    private String nicknames;
-    private String middle;
-    private String last;
-    private String suffix;
-    private String salutation;
-    private String postnominal;
+    private static final int LEADING_INIT = 0;
+    private static final int FIRST = 1;
+    private static final int NICKNAMES = 2;
+    private static final int MIDDLE = 3;
+    private static final int LAST = 4;
+    private static final int SUFFIX = 5;
+    private static final int SALUTATION = 6;
+    private static final int POSTNOMINAL = 7;
+    private static final int SEGMENTS = 8;
+
+    // the segment of each label by ordinal, or -1 for the labels that aren't kept
+    private static final int[] SEGMENT_OF_LABEL = new int[Label.values().length];
+
+    static {
+        for (Label label : Label.values()) {
+            SEGMENT_OF_LABEL[label.ordinal()] = segmentOf(label);
+        }
+    }
+
+    // marks a segment that hasn't been joined yet (null is a segment without any tokens)
+    private static final String NOT_JOINED = new String("");
+
+    // set for a view, which can't be changed
+    private final ParsedName parsed;
+    // set for a copy of a view, which reads the segments it hasn't been given from there
+    private final SegmentedName view;
+    private final String[] segments = new String[SEGMENTS];
+
+    public SegmentedName() {
+        this.parsed = null;
+        this.view = null;
+    }
+
+    /**
+     * A read only view of the parsed name
+     */
+    SegmentedName(ParsedName parsed) {
+        this.parsed = parsed;
+        this.view = null;
+        Arrays.fill(segments, NOT_JOINED);
+    }
+
+    /**
+     * A copy of the view that can be changed
+     */
+    SegmentedName(SegmentedName view) {
+        this.parsed = null;
+        this.view = view;
+        Arrays.fill(segments, NOT_JOINED);
+    }
+
+    private static int segmentOf(Label label) {
+        switch (label) {
+            case FirstInitial:
+                return LEADING_INIT;
+            case First:
+                return FIRST;
+            case Nickname:
+                return NICKNAMES;
+            case Middle:
+            case MiddleInitial:
+                return MIDDLE;
+            case Last:
+                return LAST;
+            case Suffix:
+                return SUFFIX;
+            case Salutation:
+                return SALUTATION;
+            case Postnominal:
+                return POSTNOMINAL;
+            case Unknown:
+            case Whitespace:
+                return -1;
+            default:
+                throw new IllegalArgumentException("Dont know how to segment label " + label);
+        }
+    }
+
+    private String get(int segment) {
+        // racy like String.hashCode; joining again gives an equal string
+        String value = segments[segment];
+        if (value == NOT_JOINED) {
+            value = view != null ? view.get(segment) : join(segment);
+            segments[segment] = value;
+        }
+        return value;
+    }
+
+    private void set(int segment, String value) {
+        if (parsed != null) {
+            throw new UnsupportedOperationException("the segments of a parsed name can't be changed");
+        }
+        segments[segment] = value;
+    }
+
+    /**
+     * Joins the tokens of the segment with single spaces, or null if it doesn't have any
+     */
+    private String join(int segment) {
+        int count = 0;
+        int length = 0;
+        int only = -1;
+        int size = parsed.size();
+        for (int i = 0; i < size; i++) {
+            if (SEGMENT_OF_LABEL[parsed.labelOrdinal(i)] == segment) {
+                count += 1;
+                length += parsed.tokenLength(i);
+                only = i;
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+        if (count == 1) {
+            return parsed.getToken(only);
+        }
+        StringBuilder sb = new StringBuilder(length + count - 1);
+        boolean first = true;
+        for (int i = 0; i < size; i++) {
+            if (SEGMENT_OF_LABEL[parsed.labelOrdinal(i)] == segment) {
+                // tokens can be empty once trimmed, but still get a space like any other
+                if (!first) {
+                    sb.append(' ');
+                }
+                parsed.appendToken(sb, i);
+                first = false;
+            }
+        }
+        return sb.toString();
+    }
 
     public String getLeadingInit() {
-        return leadingInit;
+        return get(LEADING_INIT);
     }
 
     public void setLeadingInit(String leadingInit) {
-        this.leadingInit = leadingInit;
+        set(LEADING_INIT, leadingInit);
     }
 
     public String getFirst() {
-        return first;
+        return get(FIRST);
     }
 
     public void setFirst(String first) {
-        this.first = first;
+        set(FIRST, first);
     }
 
     public String getNicknames() {
-        return nicknames;
+        return get(NICKNAMES);
     }
 
     public void setNicknames(String nicknames) {
-        this.nicknames = nicknames;
+        set(NICKNAMES, nicknames);
     }
 
     public String getMiddle() {
-        return middle;
+        return get(MIDDLE);
     }
 
     public void setMiddle(String middle) {
-        this.middle = middle;
+        set(MIDDLE, middle);
     }
 
     public String getLast() {
-        return last;
+        return get(LAST);
     }
 
     public void setLast(String last) {
-        this.last = last;
+        set(LAST, last);
     }
 
     public String getSuffix() {
-        return suffix;
+        return get(SUFFIX);
     }
 
     public void setSuffix(String suffix) {
-        this.suffix = suffix;
+        set(SUFFIX, suffix);
     }
 
     public String getSalutation() {
-        return salutation;
+        return get(SALUTATION);
     }
 
     public void setSalutation(String salutation) {
-        this.salutation = salutation;
+        set(SALUTATION, salutation);
     }
 
     public String getPostnominal() {
-        return postnominal;
+        return get(POSTNOMINAL);
     }
 
     public void setPostnominal(String postnominal) {
-        this.postnominal = postnominal;
+        set(POSTNOMINAL, postnominal);
     }
 }
@@ -0,0 +1,289 @@
+package com.tupilabs.human_name_parser;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A bounded table of token strings, each with an int id, shared by every name interned through it. When many parsed
+ * names are kept around, the same "John", "Smith" or "Jr" is then one string instead of one per name.
+ *
+ * Lookups compare the chars in place and don't lock or allocate when the token is already known; only adding a
+ * new token takes the lock. Once the table holds maximumSize tokens, new tokens are left as their own copies (with
+ * id -1) instead of pushing out ones in use.
+ *
+ * The byte counts in {@link Stats} are estimates for a 64-bit JVM with compressed oops and compact strings.
+ */
+public final class TokenDictionary {
+
+    // String object plus the array header
+    private static final int STRING_OVERHEAD = 24 + 16;
+    // an Entry plus its slot in the table (at the most load) and in byId
+    private static final int ENTRY_OVERHEAD = 24 + 8 + 4;
+
+    private final int maximumSize;
+    private final Object lock = new Object();
+    private volatile Table table = new Table(16);
+    private volatile String[] byId = new String[16];
+    private int size;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+    private final LongAdder bytesShared = new LongAdder();
+
+    /**
+     * @param maximumSize the most distinct tokens kept
+     */
+    public TokenDictionary(int maximumSize) {
+        Preconditions.checkArgument(maximumSize > 0, "maximumSize must be positive: %s", maximumSize);
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @return the shared instance of the token
+     */
+    public String intern(String token) {
+        Entry entry = lookup(token);
+        return entry == null ? token : entry.token;
+    }
+
+    /**
+     * @return the id of the token, or -1 if it isn't known and the dictionary is full
+     */
+    public int idOf(String token) {
+        Entry entry = lookup(token);
+        return entry == null ? -1 : entry.id;
+    }
+
+    /**
+     * @return the token with this id
+     */
+    public String token(int id) {
+        String[] tokens = byId;
+        String token = id >= 0 && id < tokens.length ? tokens[id] : null;
+        if (token == null) {
+            // the id may have been handed out after this thread last looked at byId
+            synchronized (lock) {
+                Preconditions.checkElementIndex(id, size, "id");
+                token = byId[id];
+            }
+        }
+        return token;
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    public Stats stats() {
+        int size = size();
+        long entries = (long) size * ENTRY_OVERHEAD;
+        return new Stats(size, hits.sum(), misses.sum(), overflows.sum(), bytesShared.sum() - entries);
+    }
+
+    Entry lookup(String token) {
+        return lookup(token, 0, token.length(), token.hashCode(), token);
+    }
+
+    /**
+     * Interns text[start, end); made for tokens of a parsed name so no substring is cut when it's known
+     * @return the entry, or null if it's new and the dictionary is full
+     */
+    Entry lookup(CharSequence text, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + text.charAt(i);
+        }
+        return lookup(text, start, end, h, null);
+    }
+
+    /**
+     * @param whole text itself when start and end cover all of it, otherwise null
+     */
+    private Entry lookup(CharSequence text, int start, int end, int hash, String whole) {
+        Entry entry = table.find(text, start, end, hash);
+        if (entry != null) {
+            hits.increment();
+            bytesShared.add(bytesOf(end - start));
+            return entry;
+        }
+        synchronized (lock) {
+            Table current = table;
+            entry = current.find(text, start, end, hash);
+            if (entry != null) {
+                hits.increment();
+                bytesShared.add(bytesOf(end - start));
+                return entry;
+            }
+            if (size >= maximumSize) {
+                overflows.increment();
+                return null;
+            }
+            String token = whole != null ? whole : text.subSequence(start, end).toString();
+            entry = new Entry(token, hash, size);
+            if (size == byId.length) {
+                String[] grown = new String[size * 2];
+                System.arraycopy(byId, 0, grown, 0, size);
+                byId = grown;
+            }
+            byId[size] = token;
+            size += 1;
+            if (size * 2 > current.slots.length) {
+                table = current.grow(entry);
+            } else {
+                current.add(entry);
+            }
+            misses.increment();
+            return entry;
+        }
+    }
+
+    private static long bytesOf(int length) {
+        return STRING_OVERHEAD + ((length + 7) & ~7);
+    }
+
+    /**
+     * A point in time snapshot of the counters
+     */
+    public static final class Stats {
+        private final int size;
+        private final long hitCount;
+        private final long missCount;
+        private final long overflowCount;
+        private final long estimatedBytesSaved;
+
+        Stats(int size, long hitCount, long missCount, long overflowCount, long estimatedBytesSaved) {
+            this.size = size;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.overflowCount = overflowCount;
+            this.estimatedBytesSaved = estimatedBytesSaved;
+        }
+
+        /**
+         * @return how many distinct tokens are kept
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * @return how many tokens were found already in the dictionary and shared
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * @return how many tokens were added to the dictionary
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * @return how many new tokens weren't added because the dictionary was full
+         */
+        public long getOverflowCount() {
+            return overflowCount;
+        }
+
+        /**
+         * @return about how many bytes of strings sharing saved, less what the dictionary itself takes up
+         */
+        public long getEstimatedBytesSaved() {
+            return estimatedBytesSaved;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                    "size=" + size +
+                    ", hitCount=" + hitCount +
+                    ", missCount=" + missCount +
+                    ", overflowCount=" + overflowCount +
+                    ", estimatedBytesSaved=" + estimatedBytesSaved +
+                    '}';
+        }
+    }
+
+    /**
+     * The fields are final so an entry that a reader finds in a slot is fully made
+     */
+    static final class Entry {
+        final String token;
+        final int hash;
+        final int id;
+
+        Entry(String token, int hash, int id) {
+            this.token = token;
+            this.hash = hash;
+            this.id = id;
+        }
+    }
+
+    /**
+     * Open addressing with linear probing. Only written under the lock; readers can see a slot filled a little
+     * late, in which case they take the lock and look again.
+     */
+    private static final class Table {
+        final Entry[] slots;
+
+        Table(int capacity) {
+            slots = new Entry[capacity];
+        }
+
+        Entry find(CharSequence text, int start, int end, int hash) {
+            int mask = slots.length - 1;
+            int length = end - start;
+            for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+                Entry entry = slots[i];
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.hash == hash && entry.token.length() == length && matches(entry.token, text, start)) {
+                    return entry;
+                }
+            }
+        }
+
+        private static boolean matches(String token, CharSequence text, int start) {
+            if (text instanceof String) {
+                return token.regionMatches(0, (String) text, start, token.length());
+            }
+            for (int i = 0; i < token.length(); i++) {
+                if (token.charAt(i) != text.charAt(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void add(Entry entry) {
+            int mask = slots.length - 1;
+            int i = spread(entry.hash) & mask;
+            while (slots[i] != null) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = entry;
+        }
+
+        Table grow(Entry extra) {
+            Table grown = new Table(slots.length * 2);
+            for (Entry entry : slots) {
+                if (entry != null) {
+                    grown.add(entry);
+                }
+            }
+            grown.add(extra);
+            return grown;
+        }
+
+        private static int spread(int h) {
+            return h ^ (h >>> 16);
+        }
+    }
+}
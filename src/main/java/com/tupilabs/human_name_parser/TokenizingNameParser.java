@@ -0,0 +1,444 @@
+package com.tupilabs.human_name_parser;
+
+import java.nio.CharBuffer;
+
+/**
+ * An alternative engine to {@link HumanNameParser} that gives the same tokens and labels without running any
+ * regular expressions.
+ *
+ * The name is copied once into a flat buffer of the characters that are still in play (along with their
+ * offset in the input). Once the nickname is taken out and the comma flipped, every rule of the regex parser is
+ * anchored to the start or the end of what remains, so each stage is a small hand-written state machine that
+ * consumes from the front or the back of the buffer and labels what it consumed. Nothing is ever shifted or
+ * re-scanned the way the chop sequence is.
+ *
+ * The lexicon rules are shared with the regex parser through {@link NameRules}.
+ *
+ * The input limits of the config are checked the same way as the regex parser does; the step and time budget
+ * isn't, since every stage here is a single pass that can't run away.
+ */
+public class TokenizingNameParser implements NameParser {
+
+    private static final char LINE_SEPARATOR = (char) 0x2028;
+    private static final char PARAGRAPH_SEPARATOR = (char) 0x2029;
+
+    private final Lexicon salutations;
+    private final Lexicon suffixes;
+    private final Lexicon postnominals;
+    private final Lexicon prefixes;
+    private final boolean trimTokens;
+    private final ParserConfig config;
+    // null unless the config fingerprints names
+    private final NameFingerprinter fingerprinter;
+
+    public TokenizingNameParser() {this(true);}
+
+    public TokenizingNameParser(boolean trimTokens) {
+        this(trimTokens, Lexicon.SALUTATIONS, Lexicon.SUFFIXES, Lexicon.POSTNOMINALS, Lexicon.PREFIXES);
+    }
+
+    public TokenizingNameParser(boolean trimTokens, Lexicon salutations, Lexicon suffixes, Lexicon postnominals,
+                                Lexicon prefixes) {
+        this(ParserConfig.builder()
+                .trimTokens(trimTokens)
+                .salutations(salutations)
+                .suffixes(suffixes)
+                .postnominals(postnominals)
+                .prefixes(prefixes)
+                .build());
+    }
+
+    public TokenizingNameParser(ParserConfig config) {
+        this.config = config;
+        this.salutations = config.getSalutations();
+        this.suffixes = config.getSuffixes();
+        this.postnominals = config.getPostnominals();
+        this.prefixes = config.getPrefixes();
+        this.trimTokens = config.isTrimTokens();
+        this.fingerprinter = config.fingerprinter();
+    }
+
+    public ParserConfig getConfig() {
+        return config;
+    }
+
+    @Override
+    public ParsedName parse(String fullName) {
+        return parse(fullName, ParseContext.forCurrentThread(fullName.length()));
+    }
+
+    /**
+     * Parses fullName in place; the result reads its tokens from fullName, so see {@link ParsedName} for how long
+     * fullName has to stay the same
+     */
+    @Override
+    public ParsedName parse(CharSequence fullName) {
+        return parse(fullName, ParseContext.forCurrentThread(fullName.length()));
+    }
+
+    /**
+     * Parses buf[off, off + len) in place; the result reads its tokens from buf, so see {@link ParsedName} for how
+     * long that part of buf has to stay the same
+     */
+    @Override
+    public ParsedName parse(char[] buf, int off, int len) {
+        return parse(CharBuffer.wrap(buf, off, len));
+    }
+
+    /**
+     * Parses in the given context, reusing its buffers; the context must not be in use by another thread
+     * @throws ParseException if the name is over the limits of the config
+     */
+    public ParsedName parse(CharSequence fullName, ParseContext context) {
+        config.checkLimits(fullName);
+        Scan scan = context.scan;
+        scan.reset(this, fullName);
+        scan.chopNickname();
+        scan.chopListedAtEnd(postnominals, Label.Postnominal);
+        scan.chopListedAtEnd(suffixes, Label.Suffix);
+        scan.flipAroundComma();
+        scan.chopLast();
+        scan.chopSalutation();
+        scan.chopLeadingInit();
+        scan.chopFirst();
+        boolean matchedLast;
+        do {
+            matchedLast = scan.chopMiddleInit();
+            matchedLast |= scan.chopMiddle();
+        } while (matchedLast);
+        return HumanNameParser.makeParsedNameFrom(fullName, scan.posToLabel, trimTokens, fingerprinter);
+    }
+
+    /**
+     * The state of a single parse; buf[lo, hi) are the characters that haven't been labelled yet and orig
+     * holds where each of them came from in the input. A scan belongs to a {@link ParseContext} and is reset for
+     * every parse, so the buffers can be longer than the input
+     */
+    static final class Scan {
+        private final ParseContext context;
+        // the buffer as a char sequence for the lexicon rules
+        private final BufferView view = new BufferView();
+        private TokenizingNameParser parser;
+        Label[] posToLabel;
+        char[] buf;
+        int[] orig;
+        // the length of the input
+        int len;
+        int lo;
+        int hi;
+        // true when there might be runs of spaces in the middle of the buffer
+        boolean mayHaveRuns;
+
+        Scan(ParseContext context) {
+            this.context = context;
+        }
+
+        void reset(TokenizingNameParser parser, CharSequence input) {
+            this.parser = parser;
+            this.len = input.length();
+            this.posToLabel = context.labels(len);
+            this.buf = context.chars(len);
+            ParseContext.copyChars(input, buf);
+            this.view.buf = buf;
+            this.orig = context.offsets(len);
+            for (int i = 0; i < len; i++) {
+                orig[i] = i;
+            }
+            this.lo = 0;
+            this.hi = len;
+            this.mayHaveRuns = true;
+        }
+
+        private void mark(int start, int end, Label label) {
+            for (int i = start; i < end; i++) {
+                posToLabel[orig[i]] = label;
+            }
+        }
+
+        private void chopFront(int end, Label label) {
+            mark(lo, end, label);
+            lo = end;
+            normalize();
+        }
+
+        private void chopBack(int start, Label label) {
+            mark(start, hi, label);
+            hi = start;
+            normalize();
+        }
+
+        /**
+         * Same as the parse work's normalize: drop the spaces at both ends then collapse the runs of spaces in
+         * the middle down to the first space of each run
+         */
+        private void normalize() {
+            while (lo < hi && buf[lo] == ' ') {
+                posToLabel[orig[lo++]] = Label.Whitespace;
+            }
+            while (hi > lo && buf[hi - 1] == ' ') {
+                posToLabel[orig[--hi]] = Label.Whitespace;
+            }
+            if (!mayHaveRuns) {
+                return;
+            }
+            int out = lo;
+            boolean inWs = false;
+            for (int i = lo; i < hi; i++) {
+                char c = buf[i];
+                if (c == ' ') {
+                    if (inWs) {
+                        posToLabel[orig[i]] = Label.Whitespace;
+                        continue;
+                    }
+                    inWs = true;
+                } else {
+                    inWs = false;
+                }
+                buf[out] = c;
+                orig[out] = orig[i];
+                out += 1;
+            }
+            hi = out;
+            mayHaveRuns = false;
+        }
+
+        /**
+         * The leftmost quoted or parenthesized run of ascii letters, spaces, and apostrophes: 'x', "x", ("x"),
+         * (x) and so on; the quote can be one or two of '*"|\
+         */
+        void chopNickname() {
+            for (int i = 0; i < len; i++) {
+                char c = buf[i];
+                int end = -1;
+                if (isQuote(c)) {
+                    if (i + 1 < len && isQuote(buf[i + 1])) {
+                        end = nicknameEnd(i + 2, i, 2, false);
+                    }
+                    if (end < 0) {
+                        end = nicknameEnd(i + 1, i, 1, false);
+                    }
+                } else if (c == '(') {
+                    if (i + 2 < len && isQuote(buf[i + 1]) && isQuote(buf[i + 2])) {
+                        end = nicknameEnd(i + 3, i + 1, 2, true);
+                    }
+                    if (end < 0 && i + 1 < len && isQuote(buf[i + 1])) {
+                        end = nicknameEnd(i + 2, i + 1, 1, true);
+                    }
+                    if (end < 0) {
+                        end = nicknameEnd(i + 1, i, 0, true);
+                    }
+                }
+                if (end >= 0) {
+                    removeNickname(i, end);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Returns the end of the shortest nickname whose text starts at from and is closed by the quote at
+         * buf[quoteStart, quoteStart + quoteLen) (and then a paren if closeParen), or -1 if there isn't one
+         */
+        private int nicknameEnd(int from, int quoteStart, int quoteLen, boolean closeParen) {
+            for (int j = from; j < len; j++) {
+                if (j > from && closesNickname(j, quoteStart, quoteLen, closeParen)) {
+                    return j + quoteLen + (closeParen ? 1 : 0);
+                }
+                if (!isNicknameChar(buf[j])) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        private boolean closesNickname(int at, int quoteStart, int quoteLen, boolean closeParen) {
+            if (at + quoteLen + (closeParen ? 1 : 0) > len) {
+                return false;
+            }
+            for (int k = 0; k < quoteLen; k++) {
+                if (buf[at + k] != buf[quoteStart + k]) {
+                    return false;
+                }
+            }
+            return !closeParen || buf[at + quoteLen] == ')';
+        }
+
+        private void removeNickname(int start, int end) {
+            mark(start, end, Label.Nickname);
+            System.arraycopy(buf, end, buf, start, hi - end);
+            System.arraycopy(orig, end, orig, start, hi - end);
+            hi -= (end - start);
+            normalize();
+        }
+
+        boolean chopListedAtEnd(Lexicon listed, Label label) {
+            int start = NameRules.listedAtEnd(view, lo, hi, listed);
+            if (start < 0) {
+                return false;
+            }
+            chopBack(start, label);
+            return true;
+        }
+
+        /**
+         * Swaps what is before the first comma with what is after it, then turns the first comma of the result
+         * into a space
+         */
+        void flipAroundComma() {
+            int comma = indexOf(',', lo);
+            if (comma < 0) {
+                return;
+            }
+            char[] flippedBuf = context.swapChars();
+            int[] flippedOrig = context.swapOffsets();
+            int after = hi - comma - 1;
+            System.arraycopy(buf, comma + 1, flippedBuf, lo, after);
+            System.arraycopy(orig, comma + 1, flippedOrig, lo, after);
+            flippedBuf[lo + after] = buf[comma];
+            flippedOrig[lo + after] = orig[comma];
+            System.arraycopy(buf, lo, flippedBuf, lo + after + 1, comma - lo);
+            System.arraycopy(orig, lo, flippedOrig, lo + after + 1, comma - lo);
+            buf = flippedBuf;
+            orig = flippedOrig;
+            view.buf = buf;
+            buf[indexOf(',', lo)] = ' ';
+            mayHaveRuns = true;
+        }
+
+        private int indexOf(char c, int from) {
+            for (int i = from; i < hi; i++) {
+                if (buf[i] == c) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void chopLast() {
+            int start = NameRules.lastStart(view, lo, hi, parser.prefixes, context);
+            if (start >= 0) {
+                chopBack(start, Label.Last);
+            }
+        }
+
+        void chopSalutation() {
+            int end = NameRules.salutationEnd(view, lo, hi, parser.salutations);
+            if (end >= 0) {
+                chopFront(end, Label.Salutation);
+            }
+        }
+
+        /**
+         * Any one character and its trailing dots, as long as what follows is a space and two letters
+         */
+        void chopLeadingInit() {
+            if (lo == hi || isLineTerminator(buf[lo])) {
+                return;
+            }
+            int end = lo + Character.charCount(Character.codePointAt(buf, lo, hi));
+            while (end < hi && buf[end] == '.') {
+                end += 1;
+            }
+            if (end >= hi || buf[end] != ' ') {
+                return;
+            }
+            int next = end + 1;
+            for (int letters = 0; letters < 2; letters++) {
+                if (next >= hi) {
+                    return;
+                }
+                int cp = Character.codePointAt(buf, next, hi);
+                if (!Character.isLetter(cp)) {
+                    return;
+                }
+                next += Character.charCount(cp);
+            }
+            chopFront(end, Label.FirstInitial);
+        }
+
+        void chopFirst() {
+            int end = lo;
+            while (end < hi && buf[end] != ' ') {
+                end += 1;
+            }
+            if (end > lo) {
+                chopFront(end, Label.First);
+            }
+        }
+
+        /**
+         * One ascii word character and an optional dot that isn't followed by another word character
+         */
+        boolean chopMiddleInit() {
+            if (lo == hi || !isAsciiWord(buf[lo])) {
+                return false;
+            }
+            int end = lo + 1;
+            if (end < hi && buf[end] == '.' && (end + 1 == hi || !isAsciiWord(buf[end + 1]))) {
+                end += 1;
+            } else if (end < hi && isAsciiWord(buf[end])) {
+                return false;
+            }
+            chopFront(end, Label.MiddleInitial);
+            return true;
+        }
+
+        /**
+         * Two or more ascii word characters
+         */
+        boolean chopMiddle() {
+            int end = lo;
+            while (end < hi && isAsciiWord(buf[end])) {
+                end += 1;
+            }
+            if (end - lo < 2) {
+                return false;
+            }
+            chopFront(end, Label.Middle);
+            return true;
+        }
+    }
+
+    /**
+     * The scan's buffer as a char sequence, without copying it
+     */
+    private static final class BufferView implements CharSequence {
+        char[] buf;
+
+        @Override
+        public int length() {
+            return buf.length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return buf[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(buf, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buf);
+        }
+    }
+
+    private static boolean isQuote(char c) {
+        return c == '\'' || c == '*' || c == '"' || c == '|' || c == '\\';
+    }
+
+    private static boolean isNicknameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == ' ' || c == '\'';
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == LINE_SEPARATOR || c == PARAGRAPH_SEPARATOR;
+    }
+
+    private static boolean isAsciiWord(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+}
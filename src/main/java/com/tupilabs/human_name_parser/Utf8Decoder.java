@@ -0,0 +1,191 @@
+package com.tupilabs.human_name_parser;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * Decodes a name held as UTF-8 bytes into a reused char buffer, remembering which byte each char came from so
+ * that the tokens found in the chars can be given back as byte offsets. Names that are all ASCII (most of them)
+ * are copied a byte to a char and nothing is remembered: the offset of char i is just start + i. Past the first
+ * non ASCII byte the offset of every char is kept.
+ *
+ * Malformed bytes are decoded to U+FFFD one byte at a time. The decoder is itself the decoded chars, so it can be
+ * handed straight to a parser. It belongs to a {@link ParseContext} and so to one thread.
+ */
+final class Utf8Decoder implements CharSequence {
+
+    private static final char REPLACEMENT = '\uFFFD';
+
+    private char[] chars = new char[0];
+    // byteAt[i] is where char i starts for i >= ascii, and byteAt[length] is the end of the input
+    private int[] byteAt = new int[0];
+    // where the bytes of a direct buffer are copied to be decoded
+    private byte[] scratch = new byte[0];
+    private int start;
+    // what to add to an index into the decoded array to get the caller's index
+    private int shift;
+    private int ascii;
+    private int length;
+
+    /**
+     * Decodes bytes[start, end) (in absolute indexes of the buffer, its position and limit are ignored)
+     */
+    void decode(ByteBuffer bytes, int start, int end) {
+        if (bytes.hasArray()) {
+            decode(bytes.array(), bytes.arrayOffset() + start, bytes.arrayOffset() + end, -bytes.arrayOffset());
+        } else {
+            int len = end - start;
+            if (scratch.length < len) {
+                scratch = new byte[len];
+            }
+            ByteBuffer slice = bytes.duplicate();
+            slice.limit(end);
+            slice.position(start);
+            slice.get(scratch, 0, len);
+            decode(scratch, 0, len, start);
+        }
+    }
+
+    /**
+     * Decodes bytes[start, end); the byte offsets are then indexes into bytes plus shift
+     */
+    void decode(byte[] bytes, int start, int end, int shift) {
+        int max = end - start;
+        if (chars.length < max) {
+            chars = new char[max];
+            byteAt = new int[max + 1];
+        }
+        this.start = start;
+        this.shift = shift;
+        int i = start;
+        int n = 0;
+        // the fast path: a char per byte and no offsets to keep
+        while (i < end) {
+            byte b = bytes[i];
+            if (b < 0) {
+                break;
+            }
+            chars[n++] = (char) b;
+            i += 1;
+        }
+        ascii = n;
+        while (i < end) {
+            int b = bytes[i] & 0xFF;
+            byteAt[n] = i;
+            if (b < 0x80) {
+                chars[n++] = (char) b;
+                i += 1;
+                continue;
+            }
+            int size = sequenceSize(bytes, i, end, b);
+            if (size == 0) {
+                chars[n++] = REPLACEMENT;
+                i += 1;
+                continue;
+            }
+            int codePoint;
+            if (size == 2) {
+                codePoint = ((b & 0x1F) << 6) | (bytes[i + 1] & 0x3F);
+            } else if (size == 3) {
+                codePoint = ((b & 0x0F) << 12) | ((bytes[i + 1] & 0x3F) << 6) | (bytes[i + 2] & 0x3F);
+            } else {
+                codePoint = ((b & 0x07) << 18) | ((bytes[i + 1] & 0x3F) << 12)
+                        | ((bytes[i + 2] & 0x3F) << 6) | (bytes[i + 3] & 0x3F);
+            }
+            if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                chars[n++] = (char) codePoint;
+            } else {
+                chars[n++] = Character.highSurrogate(codePoint);
+                // the low half says it starts after the whole code point, so a token can't end up with half of it
+                byteAt[n] = i + size;
+                chars[n++] = Character.lowSurrogate(codePoint);
+            }
+            i += size;
+        }
+        byteAt[n] = end;
+        length = n;
+    }
+
+    /**
+     * @return how many bytes the well formed sequence that starts with lead at i has, or 0 if it isn't one
+     */
+    private static int sequenceSize(byte[] bytes, int i, int end, int lead) {
+        int size;
+        int lo = 0x80;
+        int hi = 0xBF;
+        if (lead >= 0xC2 && lead <= 0xDF) {
+            size = 2;
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            size = 3;
+            // no overlong forms and no surrogates
+            if (lead == 0xE0) {
+                lo = 0xA0;
+            } else if (lead == 0xED) {
+                hi = 0x9F;
+            }
+        } else if (lead >= 0xF0 && lead <= 0xF4) {
+            size = 4;
+            if (lead == 0xF0) {
+                lo = 0x90;
+            } else if (lead == 0xF4) {
+                hi = 0x8F;
+            }
+        } else {
+            return 0;
+        }
+        if (i + size > end) {
+            return 0;
+        }
+        int second = bytes[i + 1] & 0xFF;
+        if (second < lo || second > hi) {
+            return 0;
+        }
+        for (int k = 2; k < size; k++) {
+            int next = bytes[i + k] & 0xFF;
+            if (next < 0x80 || next > 0xBF) {
+                return 0;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return the caller's index of the byte that char index (which can be the length) starts at
+     */
+    int byteOffset(int index) {
+        if (index < 0 || index > length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+        }
+        return (index < ascii ? start + index : byteAt[index]) + shift;
+    }
+
+    /**
+     * Copies the decoded chars into the start of dst
+     */
+    void getChars(char[] dst) {
+        System.arraycopy(chars, 0, dst, 0, length);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index >= length) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return CharBuffer.wrap(chars, 0, length).subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+}
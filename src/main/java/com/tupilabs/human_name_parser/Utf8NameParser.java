@@ -0,0 +1,68 @@
+package com.tupilabs.human_name_parser;
+
+import java.nio.ByteBuffer;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Parses names held as UTF-8 bytes (straight out of a Kafka record or a Parquet page, say) without making a string
+ * of them and gives back the tokens as byte offsets into those bytes, see {@link ParsedUtf8Name}.
+ *
+ * The bytes are decoded into a buffer of the calling thread's {@link ParseContext} that is reused from one parse to
+ * the next; ASCII is copied a byte to a char, and multi-byte letters like the o of Bj&ouml;rn are decoded in
+ * place. The name is then parsed by the delegate, which has to be one that keeps the offsets of the tokens: either
+ * engine, or a {@link CachingNameParser} in front of one. An {@link InterningNameParser} doesn't.
+ *
+ * Like the delegate, this is thread safe.
+ */
+public final class Utf8NameParser {
+
+    private final NameParser delegate;
+    // true when every name the delegate returns is new, so its arrays can be taken over rather than copied
+    private final boolean freshResults;
+
+    public Utf8NameParser(NameParser delegate) {
+        this.delegate = Preconditions.checkNotNull(delegate, "delegate");
+        this.freshResults = delegate.getClass() == HumanNameParser.class
+                || delegate.getClass() == TokenizingNameParser.class;
+    }
+
+    public NameParser getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Parses the UTF-8 name in bytes[off, off + len)
+     * @return the tokens as indexes into bytes
+     */
+    public ParsedUtf8Name parse(byte[] bytes, int off, int len) {
+        Preconditions.checkPositionIndexes(off, off + len, bytes.length);
+        Utf8Decoder decoder = ParseContext.forCurrentThread(len).utf8;
+        decoder.decode(bytes, off, off + len, 0);
+        return parse(decoder);
+    }
+
+    /**
+     * Parses the UTF-8 name between the position and the limit of bytes (which are left where they are)
+     * @return the tokens as absolute indexes into bytes
+     */
+    public ParsedUtf8Name parse(ByteBuffer bytes) {
+        Utf8Decoder decoder = ParseContext.forCurrentThread(bytes.remaining()).utf8;
+        decoder.decode(bytes, bytes.position(), bytes.limit());
+        return parse(decoder);
+    }
+
+    private ParsedUtf8Name parse(Utf8Decoder decoder) {
+        ParsedName name = delegate.parse(decoder);
+        if (!name.hasOffsets()) {
+            throw new IllegalStateException(delegate.getClass().getSimpleName() + " doesn't keep token offsets");
+        }
+        int[] offsets = freshResults ? name.offsets() : name.offsets().clone();
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = decoder.byteOffset(offsets[i]);
+        }
+        // the labels and keys are never written to so they can always be shared
+        return new ParsedUtf8Name(offsets, name.labelOrdinals(), name.hasFingerprint() ? name.getFingerprint() : 0,
+                name.blockingKeys());
+    }
+}
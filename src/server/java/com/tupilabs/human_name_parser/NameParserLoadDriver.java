@@ -0,0 +1,277 @@
+package com.tupilabs.human_name_parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Puts load on a {@link NameParserServer}: a number of connections each post batches of names to /batch one after
+ * the other for a while, and the requests and names per second, the latencies and how many requests were shed are
+ * reported at the end.
+ *
+ * Usage: {@code java com.tupilabs.human_name_parser.NameParserLoadDriver [--url=http://host:port]
+ * [--connections=N] [--duration=SECONDS] [--batch=N] [names-file]}; without a file of names, one per line, a
+ * handful of built in ones are used.
+ */
+public final class NameParserLoadDriver {
+
+    private static final List<String> DEFAULT_NAMES = Arrays.asList("Steve Ash", "Mr. Bjorn O'Malley-Munoz, Jr.",
+            "Doctor Juan Q. Xavier de la Vega III", "j. walter weatherman", "Jose Alejandro \"Joe\" Martinez",
+            "Van Der Berg, Anna Maria", "Sir Patrick Stewart PhD", "Mary-Ann St. John");
+
+    private final URL url;
+    private final int connections;
+    private final long durationNanos;
+    private final byte[][] batches;
+    private final int batchSize;
+
+    public NameParserLoadDriver(URL base, int connections, long duration, TimeUnit unit, List<String> names,
+                                int batchSize) throws IOException {
+        Preconditions.checkArgument(connections > 0, "connections must be positive: %s", connections);
+        Preconditions.checkArgument(duration > 0, "duration must be positive: %s", duration);
+        Preconditions.checkArgument(batchSize > 0, "batchSize must be positive: %s", batchSize);
+        Preconditions.checkArgument(!names.isEmpty(), "no names");
+        this.url = new URL(base, "/batch");
+        this.connections = connections;
+        this.durationNanos = unit.toNanos(duration);
+        this.batchSize = batchSize;
+        // a few distinct batches, so a cache in front of the parser isn't answering everything
+        int count = Math.max(1, Math.min(16, names.size() / batchSize));
+        this.batches = new byte[count][];
+        for (int b = 0; b < count; b++) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < batchSize; i++) {
+                sb.append(names.get((b * batchSize + i) % names.size())).append('\n');
+            }
+            batches[b] = sb.toString().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * @return the exit code
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        String base = "http://localhost:" + NameParserServer.DEFAULT_PORT;
+        int connections = 8;
+        int seconds = 10;
+        int batch = 100;
+        String namesFile = null;
+        NameParserLoadDriver driver;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--url=")) {
+                    base = value(arg);
+                } else if (arg.startsWith("--connections=")) {
+                    connections = Integer.parseInt(value(arg));
+                } else if (arg.startsWith("--duration=")) {
+                    seconds = Integer.parseInt(value(arg));
+                } else if (arg.startsWith("--batch=")) {
+                    batch = Integer.parseInt(value(arg));
+                } else if (arg.startsWith("--")) {
+                    throw new IllegalArgumentException("unknown option " + arg);
+                } else if (namesFile == null) {
+                    namesFile = arg;
+                } else {
+                    throw new IllegalArgumentException("more than one names file");
+                }
+            }
+            List<String> names = DEFAULT_NAMES;
+            if (namesFile != null) {
+                names = new ArrayList<>();
+                for (String line : Files.readAllLines(Paths.get(namesFile), StandardCharsets.UTF_8)) {
+                    if (!line.trim().isEmpty()) {
+                        names.add(line);
+                    }
+                }
+            }
+            driver = new NameParserLoadDriver(new URL(base), connections, seconds, TimeUnit.SECONDS, names, batch);
+        } catch (IllegalArgumentException | IOException e) {
+            err.println(e.getMessage());
+            err.println("usage: NameParserLoadDriver [--url=http://host:port] [--connections=N] "
+                    + "[--duration=SECONDS] [--batch=N] [names-file]");
+            return 2;
+        }
+        try {
+            out.println(driver.run());
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        }
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    /**
+     * Runs the connections for the whole duration and waits for them to finish
+     */
+    public Result run() throws InterruptedException {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder ok = new LongAdder();
+        final LongAdder shed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final long start = System.nanoTime();
+        final long end = start + durationNanos;
+        Thread[] threads = new Thread[connections];
+        for (int t = 0; t < connections; t++) {
+            final int first = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    byte[] buf = new byte[8192];
+                    for (int i = first; System.nanoTime() < end; i++) {
+                        long sent = System.nanoTime();
+                        int status = post(batches[i % batches.length], buf);
+                        if (status == 200) {
+                            ok.increment();
+                            latency.record(System.nanoTime() - sent);
+                        } else if (status == 503) {
+                            shed.increment();
+                        } else {
+                            failed.increment();
+                        }
+                    }
+                }
+            }, "hnp-load-" + t);
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(ok.sum(), ok.sum() * batchSize, shed.sum(), failed.sum(), elapsed,
+                latency.percentile(50), latency.percentile(99), latency.percentile(99.9));
+    }
+
+    /**
+     * @return the status, or -1 if the request didn't get one; the response is read to the end so that the
+     * connection goes back to be kept alive
+     */
+    private int post(byte[] body, byte[] buf) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setFixedLengthStreamingMode(body.length);
+            connection.setRequestProperty("Content-Type", "text/plain; charset=utf-8");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body);
+            }
+            int status = connection.getResponseCode();
+            InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            if (in != null) {
+                try (InputStream response = in) {
+                    while (response.read(buf) > 0) {
+                        // drained
+                    }
+                }
+            }
+            return status;
+        } catch (IOException e) {
+            if (connection != null) {
+                connection.disconnect();
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * What a run of the driver saw
+     */
+    public static final class Result {
+        private final long requests;
+        private final long names;
+        private final long shed;
+        private final long failed;
+        private final long elapsedNanos;
+        private final long latencyP50Nanos;
+        private final long latencyP99Nanos;
+        private final long latencyP999Nanos;
+
+        Result(long requests, long names, long shed, long failed, long elapsedNanos, long latencyP50Nanos,
+               long latencyP99Nanos, long latencyP999Nanos) {
+            this.requests = requests;
+            this.names = names;
+            this.shed = shed;
+            this.failed = failed;
+            this.elapsedNanos = elapsedNanos;
+            this.latencyP50Nanos = latencyP50Nanos;
+            this.latencyP99Nanos = latencyP99Nanos;
+            this.latencyP999Nanos = latencyP999Nanos;
+        }
+
+        /**
+         * @return the requests answered with a 200
+         */
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getNames() {
+            return names;
+        }
+
+        /**
+         * @return the requests the server shed with a 503
+         */
+        public long getShed() {
+            return shed;
+        }
+
+        /**
+         * @return the requests that failed some other way
+         */
+        public long getFailed() {
+            return failed;
+        }
+
+        public double getRequestsPerSecond() {
+            return requests * 1e9 / elapsedNanos;
+        }
+
+        public double getNamesPerSecond() {
+            return names * 1e9 / elapsedNanos;
+        }
+
+        public long getLatencyP50Nanos() {
+            return latencyP50Nanos;
+        }
+
+        public long getLatencyP99Nanos() {
+            return latencyP99Nanos;
+        }
+
+        public long getLatencyP999Nanos() {
+            return latencyP999Nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d requests (%.0f/s), %d names (%.0f/s), %d shed, %d failed, "
+                            + "latency p50 %.2fms p99 %.2fms p99.9 %.2fms", requests, getRequestsPerSecond(), names,
+                    getNamesPerSecond(), shed, failed, latencyP50Nanos / 1e6, latencyP99Nanos / 1e6,
+                    latencyP999Nanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,672 @@
+package com.tupilabs.human_name_parser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.Preconditions;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A small HTTP service in front of a {@link NameParser} for callers that aren't on the JVM, built on the JDK's own
+ * {@code com.sun.net.httpserver} so that it needs nothing else. It answers:
+ * <ul>
+ * <li>{@code GET /parse?name=...} or {@code POST /parse} with the name as the body: one JSON object with the
+ * labelled tokens and the segments of the name</li>
+ * <li>{@code POST /batch} with one name per line: one JSON object per line, in the same order; or with a JSON
+ * array of names: a JSON array of the objects. A name that fails has an "error" instead of tokens</li>
+ * <li>{@code GET /stats}: the counters of the server as a JSON object</li>
+ * </ul>
+ * Bodies are UTF-8. Connections are kept alive and requests pipelined on one are answered in order.
+ *
+ * Every request runs on its own virtual thread when the JVM has them (21+) and on a cached pool of platform threads
+ * when it doesn't. At most maxConcurrent parse requests are worked on at once; any more are shed straight away with
+ * a 503 and a Retry-After rather than queued, so an overloaded server stays quick to say no.
+ *
+ * Usage: {@code java com.tupilabs.human_name_parser.NameParserServer [--port=N] [--host=ADDR]
+ * [--max-concurrent=N] [--max-body=BYTES] [--cache=N] [--no-trim]}; see {@link NameParserLoadDriver} to put load
+ * on it.
+ */
+public final class NameParserServer {
+
+    static final int DEFAULT_PORT = 8080;
+    static final int DEFAULT_MAX_BODY = 1024 * 1024;
+
+    private static final Reply NOT_FOUND = new Reply(404, "text/plain", "no such endpoint\n");
+    private static final Reply TOO_BUSY = new Reply(503, "text/plain", "too busy\n");
+
+    private final NameParser parser;
+    private final int maxConcurrent;
+    private final int maxBodyBytes;
+    private final Semaphore permits;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private long startNanos;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder badRequests = new LongAdder();
+    private final LongAdder names = new LongAdder();
+    private final LongAdder failedNames = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * A server for address (port 0 picks a free one) that isn't listening until {@link #start()}
+     */
+    public NameParserServer(NameParser parser, InetSocketAddress address, int maxConcurrent, int maxBodyBytes)
+            throws IOException {
+        Preconditions.checkArgument(maxConcurrent > 0, "maxConcurrent must be positive: %s", maxConcurrent);
+        Preconditions.checkArgument(maxBodyBytes > 0, "maxBodyBytes must be positive: %s", maxBodyBytes);
+        this.parser = Preconditions.checkNotNull(parser, "parser");
+        this.maxConcurrent = maxConcurrent;
+        this.maxBodyBytes = maxBodyBytes;
+        this.permits = new Semaphore(maxConcurrent);
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : Executors.newCachedThreadPool(new DaemonFactory("hnp-http-"));
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/parse", new Endpoint() {
+            @Override
+            Reply handle(HttpExchange exchange, String body) throws IOException {
+                return parseOne(exchange, body);
+            }
+        });
+        server.createContext("/batch", new Endpoint() {
+            @Override
+            Reply handle(HttpExchange exchange, String body) throws IOException {
+                return parseBatch(exchange, body);
+            }
+        });
+        server.createContext("/stats", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    if (!exchange.getRequestURI().getPath().equals("/stats")) {
+                        send(exchange, NOT_FOUND);
+                    } else {
+                        send(exchange, new Reply(200, "application/json", stats().toJson()));
+                    }
+                } finally {
+                    exchange.close();
+                }
+            }
+        });
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        // replies are written as headers then body, which without this waits on the client's delayed ack
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        NameParserServer server = fromArgs(args, System.err);
+        if (server == null) {
+            System.exit(2);
+        }
+        server.start();
+        System.err.println("listening on port " + server.getPort() + (server.usesVirtualThreads()
+                ? " with virtual threads" : " with platform threads"));
+        new CountDownLatch(1).await();
+    }
+
+    /**
+     * @return the server the command line asks for, or null (after saying why on err) if it is wrong
+     */
+    static NameParserServer fromArgs(String[] args, PrintStream err) throws IOException {
+        String host = "0.0.0.0";
+        int port = DEFAULT_PORT;
+        int maxConcurrent = 4 * Runtime.getRuntime().availableProcessors();
+        int maxBody = DEFAULT_MAX_BODY;
+        int cacheSize = 0;
+        boolean trim = true;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--port=")) {
+                    port = Integer.parseInt(value(arg));
+                } else if (arg.startsWith("--host=")) {
+                    host = value(arg);
+                } else if (arg.startsWith("--max-concurrent=")) {
+                    maxConcurrent = Integer.parseInt(value(arg));
+                } else if (arg.startsWith("--max-body=")) {
+                    maxBody = Integer.parseInt(value(arg));
+                } else if (arg.startsWith("--cache=")) {
+                    cacheSize = Integer.parseInt(value(arg));
+                } else if (arg.equals("--no-trim")) {
+                    trim = false;
+                } else {
+                    throw new IllegalArgumentException("unknown option " + arg);
+                }
+            }
+            NameParser parser = new HumanNameParser(trim);
+            if (cacheSize > 0) {
+                parser = new CachingNameParser(parser, cacheSize);
+            }
+            return new NameParserServer(parser, new InetSocketAddress(host, port), maxConcurrent, maxBody);
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println("usage: NameParserServer [--port=N] [--host=ADDR] [--max-concurrent=N] [--max-body=BYTES] "
+                    + "[--cache=N] [--no-trim]");
+            return null;
+        }
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    public void start() {
+        startNanos = System.nanoTime();
+        server.start();
+    }
+
+    /**
+     * Stops taking requests, waits up to delaySeconds for the ones being answered, then stops the threads
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return the port that the server is listening on, which is the one it picked if it was asked for port 0
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return true if requests are run on virtual threads
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public Stats stats() {
+        long uptime = startNanos == 0 ? 0 : System.nanoTime() - startNanos;
+        return new Stats(requests.sum(), rejected.sum(), badRequests.sum(), names.sum(), failedNames.sum(),
+                maxConcurrent - permits.availablePermits(), TimeUnit.NANOSECONDS.toMillis(uptime),
+                latency.percentile(50), latency.percentile(99), latency.percentile(99.9), virtualThreads);
+    }
+
+    /**
+     * @return an executor that starts a virtual thread per task, or null if this JVM doesn't have them; looked up
+     * by reflection so that this still builds for and runs on 8
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private Reply parseOne(HttpExchange exchange, String body) throws IOException {
+        String name;
+        if (exchange.getRequestMethod().equals("GET")) {
+            name = queryParam(exchange.getRequestURI().getRawQuery(), "name");
+            if (name == null) {
+                return badRequest("no name parameter");
+            }
+        } else {
+            name = stripLineEnd(body);
+        }
+        StringBuilder sb = new StringBuilder(256);
+        appendParsed(sb, name);
+        sb.append('\n');
+        return new Reply(200, "application/json", sb.toString());
+    }
+
+    private Reply parseBatch(HttpExchange exchange, String body) {
+        if (!exchange.getRequestMethod().equals("POST")) {
+            return new Reply(405, "text/plain", "POST a batch of names\n");
+        }
+        int first = 0;
+        while (first < body.length() && Character.isWhitespace(body.charAt(first))) {
+            first += 1;
+        }
+        StringBuilder sb = new StringBuilder(body.length() * 4 + 16);
+        if (first < body.length() && body.charAt(first) == '[') {
+            List<String> batch;
+            try {
+                batch = parseJsonArray(body);
+            } catch (IllegalArgumentException e) {
+                return badRequest(e.getMessage());
+            }
+            sb.append('[');
+            for (int i = 0; i < batch.size(); i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                appendParsed(sb, batch.get(i));
+            }
+            sb.append("]\n");
+            return new Reply(200, "application/json", sb.toString());
+        } else {
+            int start = 0;
+            while (start < body.length()) {
+                int end = body.indexOf('\n', start);
+                if (end < 0) {
+                    end = body.length();
+                }
+                appendParsed(sb, stripLineEnd(body.substring(start, end)));
+                sb.append('\n');
+                start = end + 1;
+            }
+            return new Reply(200, "application/x-ndjson", sb.toString());
+        }
+    }
+
+    /**
+     * Appends the JSON object for one name: its tokens with their labels and its segments, or the error
+     */
+    private void appendParsed(StringBuilder sb, String name) {
+        ParsedName parsed = null;
+        RuntimeException failure = null;
+        try {
+            parsed = parser.parse(name);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        names.increment();
+        sb.append("{\"name\":");
+        OutputFormat.appendJson(sb, name);
+        if (parsed == null) {
+            failedNames.increment();
+            sb.append(",\"error\":");
+            OutputFormat.appendJson(sb, String.valueOf(failure));
+            sb.append('}');
+            return;
+        }
+        sb.append(",\"tokens\":[");
+        for (int i = 0; i < parsed.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"token\":");
+            OutputFormat.appendJson(sb, parsed.getToken(i));
+            sb.append(",\"label\":\"").append(parsed.getLabel(i).name()).append("\"}");
+        }
+        sb.append(']');
+        SegmentedName seg = parsed.getSegmentedView();
+        for (int i = 0; i < OutputFormat.SEGMENTS.length; i++) {
+            sb.append(",\"").append(OutputFormat.SEGMENTS[i]).append("\":");
+            OutputFormat.appendJson(sb, OutputFormat.segment(seg, i));
+        }
+        sb.append('}');
+    }
+
+    private Reply badRequest(String why) {
+        badRequests.increment();
+        return new Reply(400, "text/plain", why + "\n");
+    }
+
+    private static void send(HttpExchange exchange, Reply reply) throws IOException {
+        byte[] bytes = reply.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", reply.contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(reply.status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * @return the body, or null if it is longer than maxBodyBytes
+     */
+    private String readBody(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buf = new byte[8192];
+        try (InputStream in = exchange.getRequestBody()) {
+            int read;
+            while ((read = in.read(buf)) > 0) {
+                if (body.size() + read > maxBodyBytes) {
+                    return null;
+                }
+                body.write(buf, 0, read);
+            }
+        }
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String stripLineEnd(String line) {
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\n') {
+            end -= 1;
+        }
+        if (end > 0 && line.charAt(end - 1) == '\r') {
+            end -= 1;
+        }
+        return line.substring(0, end);
+    }
+
+    static String queryParam(String rawQuery, String param) throws UnsupportedEncodingException {
+        if (rawQuery == null) {
+            return null;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            if (URLDecoder.decode(key, "UTF-8").equals(param)) {
+                return eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), "UTF-8");
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads a JSON array of strings (and nothing else)
+     * @throws IllegalArgumentException if that isn't what json is
+     */
+    static List<String> parseJsonArray(String json) {
+        List<String> values = new ArrayList<>();
+        int[] at = {skipSpace(json, 0)};
+        expect(json, at, '[');
+        at[0] = skipSpace(json, at[0]);
+        if (at[0] < json.length() && json.charAt(at[0]) == ']') {
+            at[0] += 1;
+        } else {
+            while (true) {
+                values.add(jsonString(json, at));
+                at[0] = skipSpace(json, at[0]);
+                if (at[0] < json.length() && json.charAt(at[0]) == ',') {
+                    at[0] = skipSpace(json, at[0] + 1);
+                    continue;
+                }
+                expect(json, at, ']');
+                break;
+            }
+        }
+        if (skipSpace(json, at[0]) != json.length()) {
+            throw new IllegalArgumentException("text after the array at " + at[0]);
+        }
+        return values;
+    }
+
+    private static String jsonString(String json, int[] at) {
+        expect(json, at, '"');
+        StringBuilder sb = new StringBuilder();
+        int i = at[0];
+        while (true) {
+            if (i >= json.length()) {
+                throw new IllegalArgumentException("unterminated string");
+            }
+            char c = json.charAt(i++);
+            if (c == '"') {
+                break;
+            }
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (i >= json.length()) {
+                throw new IllegalArgumentException("unterminated string");
+            }
+            char escaped = json.charAt(i++);
+            switch (escaped) {
+                case '"':
+                case '\\':
+                case '/':
+                    sb.append(escaped);
+                    break;
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    if (i + 4 > json.length()) {
+                        throw new IllegalArgumentException("bad \\u escape at " + i);
+                    }
+                    try {
+                        sb.append((char) Integer.parseInt(json.substring(i, i + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("bad \\u escape at " + i);
+                    }
+                    i += 4;
+                    break;
+                default:
+                    throw new IllegalArgumentException("bad escape \\" + escaped + " at " + i);
+            }
+        }
+        at[0] = i;
+        return sb.toString();
+    }
+
+    private static void expect(String json, int[] at, char c) {
+        if (at[0] >= json.length() || json.charAt(at[0]) != c) {
+            throw new IllegalArgumentException("expected " + c + " at " + at[0] + " of a JSON array of strings");
+        }
+        at[0] += 1;
+    }
+
+    private static int skipSpace(String json, int i) {
+        while (i < json.length() && (json.charAt(i) == ' ' || json.charAt(i) == '\n' || json.charAt(i) == '\r'
+                || json.charAt(i) == '\t')) {
+            i += 1;
+        }
+        return i;
+    }
+
+    /**
+     * A parse endpoint: sheds the request if the server is at its limit, otherwise reads the body and hands it to
+     * handle. The counters are brought up to date before the reply is sent, so they already count a request by the
+     * time its client has the answer. The latency is only recorded once the reply has been sent, so that it takes in
+     * writing the reply out as well
+     */
+    private abstract class Endpoint implements HttpHandler {
+
+        @Override
+        public final void handle(HttpExchange exchange) throws IOException {
+            long start = System.nanoTime();
+            boolean answered = false;
+            try {
+                Reply reply;
+                if (!permits.tryAcquire()) {
+                    rejected.increment();
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                    reply = TOO_BUSY;
+                } else {
+                    try {
+                        reply = reply(exchange);
+                        if (reply.status == 200) {
+                            requests.increment();
+                            answered = true;
+                        }
+                    } finally {
+                        permits.release();
+                    }
+                }
+                send(exchange, reply);
+                if (answered) {
+                    latency.record(System.nanoTime() - start);
+                }
+            } finally {
+                exchange.close();
+            }
+        }
+
+        private Reply reply(HttpExchange exchange) throws IOException {
+            if (!exchange.getRequestURI().getPath().equals(exchange.getHttpContext().getPath())) {
+                return NOT_FOUND;
+            }
+            String body = readBody(exchange);
+            if (body == null) {
+                badRequests.increment();
+                return new Reply(413, "text/plain", "body is over " + maxBodyBytes + " bytes\n");
+            }
+            return handle(exchange, body);
+        }
+
+        abstract Reply handle(HttpExchange exchange, String body) throws IOException;
+    }
+
+    private static final class Reply {
+        final int status;
+        final String contentType;
+        final String body;
+
+        Reply(int status, String contentType, String body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+    }
+
+    /**
+     * The counters of a server at one point in time
+     */
+    public static final class Stats {
+        private final long requests;
+        private final long rejected;
+        private final long badRequests;
+        private final long names;
+        private final long failedNames;
+        private final int inFlight;
+        private final long uptimeMillis;
+        private final long latencyP50Nanos;
+        private final long latencyP99Nanos;
+        private final long latencyP999Nanos;
+        private final boolean virtualThreads;
+
+        Stats(long requests, long rejected, long badRequests, long names, long failedNames, int inFlight,
+              long uptimeMillis, long latencyP50Nanos, long latencyP99Nanos, long latencyP999Nanos,
+              boolean virtualThreads) {
+            this.requests = requests;
+            this.rejected = rejected;
+            this.badRequests = badRequests;
+            this.names = names;
+            this.failedNames = failedNames;
+            this.inFlight = inFlight;
+            this.uptimeMillis = uptimeMillis;
+            this.latencyP50Nanos = latencyP50Nanos;
+            this.latencyP99Nanos = latencyP99Nanos;
+            this.latencyP999Nanos = latencyP999Nanos;
+            this.virtualThreads = virtualThreads;
+        }
+
+        /**
+         * @return the parse and batch requests answered with a 200
+         */
+        public long getRequests() {
+            return requests;
+        }
+
+        /**
+         * @return the requests shed with a 503 because the server was at its limit
+         */
+        public long getRejected() {
+            return rejected;
+        }
+
+        public long getBadRequests() {
+            return badRequests;
+        }
+
+        public long getNames() {
+            return names;
+        }
+
+        public long getFailedNames() {
+            return failedNames;
+        }
+
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        public long getUptimeMillis() {
+            return uptimeMillis;
+        }
+
+        /**
+         * @return the requests answered per second since the server started
+         */
+        public double getRequestsPerSecond() {
+            return uptimeMillis == 0 ? 0 : requests * 1000.0 / uptimeMillis;
+        }
+
+        public long getLatencyP50Nanos() {
+            return latencyP50Nanos;
+        }
+
+        public long getLatencyP99Nanos() {
+            return latencyP99Nanos;
+        }
+
+        public long getLatencyP999Nanos() {
+            return latencyP999Nanos;
+        }
+
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        String toJson() {
+            return "{\"requests\":" + requests +
+                    ",\"rejected\":" + rejected +
+                    ",\"badRequests\":" + badRequests +
+                    ",\"names\":" + names +
+                    ",\"failedNames\":" + failedNames +
+                    ",\"inFlight\":" + inFlight +
+                    ",\"uptimeMillis\":" + uptimeMillis +
+                    ",\"requestsPerSecond\":" + String.format(Locale.ROOT, "%.1f", getRequestsPerSecond()) +
+                    ",\"latencyP50Nanos\":" + latencyP50Nanos +
+                    ",\"latencyP99Nanos\":" + latencyP99Nanos +
+                    ",\"latencyP999Nanos\":" + latencyP999Nanos +
+                    ",\"virtualThreads\":" + virtualThreads +
+                    "}\n";
+        }
+
+        @Override
+        public String toString() {
+            return "Stats" + toJson().trim();
+        }
+    }
+
+    private static final class DaemonFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        DaemonFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
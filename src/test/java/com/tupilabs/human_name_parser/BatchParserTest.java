@@ -0,0 +1,107 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class BatchParserTest {
+
+    @Test
+    public void shouldParseInInputOrderAndReportFailures() throws Exception {
+        List<String> names = manyNames();
+        HumanNameParser parser = new HumanNameParser();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BatchResult result = new BatchParser(parser, pool, 16).parseAll(names);
+            assertEquals(names.size(), result.size());
+            List<Integer> failedAt = new ArrayList<>();
+            for (int i = 0; i < names.size(); i++) {
+                if (names.get(i) == null) {
+                    assertNull(result.get(i));
+                    failedAt.add(i);
+                } else {
+                    assertEquals(parser.parse(names.get(i)).toString(), result.get(i).toString());
+                }
+            }
+            assertEquals(failedAt.size(), result.getFailures().size());
+            for (int i = 0; i < failedAt.size(); i++) {
+                ParseFailure failure = result.getFailures().get(i);
+                assertEquals(failedAt.get(i).intValue(), failure.getIndex());
+                assertNull(failure.getInput());
+                assertTrue(failure.getCause() instanceof NullPointerException);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldParseIntoArray() throws Exception {
+        String[] names = {"Steve Ash", "ASH, STEVE M", "Dr. Bob \"Bobby\" Smith Jr"};
+        ParsedName[] out = new ParsedName[names.length];
+        List<ParseFailure> failures = new HumanNameParser().parseAll(names, out);
+        assertTrue(failures.isEmpty());
+        assertEquals("Ash", out[0].toSegmented().getLast());
+        assertEquals("STEVE", out[1].toSegmented().getFirst());
+        assertEquals("Bobby", out[2].toSegmented().getNicknames());
+    }
+
+    @Test
+    public void shouldFingerprintIntoColumns() throws Exception {
+        String[] names = {"Steve Ash", null, "Bj\u00f6rn M\u00fcller", "ASH, STEVE M"};
+        HumanNameParser parser = new HumanNameParser(ParserConfig.builder()
+                .blockingKeys(BlockingKey.LAST_PREFIX_FIRST_INITIAL).build());
+        long[] fingerprints = new long[names.length];
+        long[][] keys = {new long[names.length]};
+        List<ParseFailure> failures = new BatchParser(parser, ForkJoinPool.commonPool(), 1)
+                .fingerprintAll(names, fingerprints, keys);
+        assertEquals(1, failures.size());
+        assertEquals(1, failures.get(0).getIndex());
+        assertEquals(0, fingerprints[1]);
+        for (int i : new int[]{0, 2, 3}) {
+            ParsedName parsed = parser.parse(names[i]);
+            assertEquals(parsed.getFingerprint(), fingerprints[i]);
+            assertEquals(parsed.getBlockingKey(0), keys[0][i]);
+        }
+        assertEquals(keys[0][0], keys[0][3]);
+    }
+
+    @Test
+    public void shouldStreamInInputOrderSkippingFailures() throws Exception {
+        List<String> names = manyNames();
+        HumanNameParser parser = new HumanNameParser();
+        ConcurrentLinkedQueue<ParseFailure> failures = new ConcurrentLinkedQueue<>();
+        List<String> streamed = new BatchParser(parser, ForkJoinPool.commonPool(), 8)
+                .stream(names, failures::add)
+                .map(ParsedName::getInputName)
+                .collect(Collectors.toList());
+        List<String> expected = new ArrayList<>();
+        int nulls = 0;
+        for (String name : names) {
+            if (name == null) {
+                nulls += 1;
+            } else {
+                expected.add(name);
+            }
+        }
+        assertEquals(expected, streamed);
+        assertEquals(nulls, failures.size());
+    }
+
+    private static List<String> manyNames() throws Exception {
+        List<String> corpus = TokenizingNameParserTest.loadTestNames();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            names.add(i % 97 == 5 ? null : corpus.get(i % corpus.size()));
+        }
+        return names;
+    }
+}
@@ -0,0 +1,121 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class BlockingKeyTest {
+
+    private static final BlockingKey LAST_FIRST = BlockingKey.builder()
+            .prefix(3, Label.Last)
+            .prefix(3, Label.First)
+            .build();
+
+    private final ParserConfig config = ParserConfig.builder()
+            .blockingKeys(BlockingKey.LAST_PREFIX_FIRST_INITIAL, LAST_FIRST)
+            .build();
+    private final HumanNameParser parser = new HumanNameParser(config);
+
+    @Test
+    public void shouldFingerprintNamesThatOnlyDifferInCaseAccentsAndPunctuationTheSame() throws Exception {
+        long fingerprint = parser.parse("Bj\u00f6rn O'D\u00e9ll").getFingerprint();
+        assertEquals(fingerprint, parser.parse("BJORN ODELL").getFingerprint());
+        assertEquals(fingerprint, parser.parse("Dr. Bjorn (Bear) O'Dell").getFingerprint());
+        assertEquals(fingerprint, parser.parse("O'Dell, Bjorn").getFingerprint());
+        assertNotEquals(fingerprint, parser.parse("Bjorn O'Dell Jr").getFingerprint());
+        assertNotEquals(fingerprint, parser.parse("Bjorn M O'Dell").getFingerprint());
+        // the same chars under other labels
+        assertNotEquals(parser.parse("Ash Steve").getFingerprint(), parser.parse("Steve Ash").getFingerprint());
+        assertEquals(parser.parse("Stra\u00dfe Ann").getFingerprint(), parser.parse("Strasse Ann").getFingerprint());
+    }
+
+    @Test
+    public void shouldFoldDiacriticsAboveLatinExtended() throws Exception {
+        // \u1ec5 is e with circumflex and tilde, precomposed in Latin Extended Additional
+        ParsedName precomposed = parser.parse("Van Nguy\u1ec5n");
+        assertEquals(parser.parse("Van Nguyen").getFingerprint(), precomposed.getFingerprint());
+        assertEquals(parser.parse("Van Nguye\u0302\u0303n").getFingerprint(), precomposed.getFingerprint());
+        // the key that reads the start of the first name takes in the folded char
+        ParsedName first = parser.parse("\u1ebcmma Nguyen");
+        assertEquals(parser.parse("Emma Nguyen").getBlockingKey(1), first.getBlockingKey(1));
+        assertEquals(parser.parse("\u0395\u0301 Nguyen").getFingerprint(),
+                parser.parse("\u1fc9 Nguyen").getFingerprint());
+    }
+
+    @Test
+    public void shouldWorkOutEveryKeyOfTheConfig() throws Exception {
+        ParsedName smithson = parser.parse("Smithson, John");
+        assertEquals(2, smithson.getBlockingKeyCount());
+        // smit + j
+        assertEquals(smithson.getBlockingKey(0), parser.parse("Dr. Jane Smithers").getBlockingKey(0));
+        assertEquals(smithson.getBlockingKey(0), parser.parse("J. Walter Smith").getBlockingKey(0));
+        assertNotEquals(smithson.getBlockingKey(0), parser.parse("Walter Smith").getBlockingKey(0));
+        // smi + joh
+        assertEquals(smithson.getBlockingKey(1), parser.parse("Johnny Smi").getBlockingKey(1));
+        assertNotEquals(smithson.getBlockingKey(1), parser.parse("Jane Smithers").getBlockingKey(1));
+        // a missing part still counts as a part
+        assertNotEquals(parser.parse("Ash").getBlockingKey(0), parser.parse("Ash, S").getBlockingKey(0));
+    }
+
+    @Test
+    public void shouldKeepTheSameValuesFromRunToRun() throws Exception {
+        // keys are stored, so the hash can't change
+        ParsedName name = parser.parse("Mr. Steve M Ash Jr");
+        assertEquals(0xb8bbb133edcfbda1L, name.getFingerprint());
+        assertEquals(0x1a2cdeb102350b0dL, name.getBlockingKey(0));
+    }
+
+    @Test
+    public void shouldGiveTheSameFingerprintsFromEitherEngineAndFromBytes() throws Exception {
+        TokenizingNameParser tokenizing = new TokenizingNameParser(config);
+        Utf8NameParser utf8 = new Utf8NameParser(parser);
+        for (String name : TokenizingNameParserTest.loadTestNames()) {
+            ParsedName expected = parser.parse(name);
+            ParsedName actual = tokenizing.parse(name);
+            assertEquals(name, expected.getFingerprint(), actual.getFingerprint());
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            ParsedUtf8Name fromBytes = utf8.parse(bytes, 0, bytes.length);
+            assertEquals(name, expected.getFingerprint(), fromBytes.getFingerprint());
+            for (int k = 0; k < 2; k++) {
+                assertEquals(name, expected.getBlockingKey(k), actual.getBlockingKey(k));
+                assertEquals(name, expected.getBlockingKey(k), fromBytes.getBlockingKey(k));
+            }
+        }
+        ParsedName name = parser.parse("Steve Ash");
+        assertEquals(name.getFingerprint(), name.detach().getFingerprint());
+        assertEquals(name.getFingerprint(), new CachingNameParser(parser, 16).parse("Steve Ash").getFingerprint());
+    }
+
+    @Test
+    public void shouldOnlyFingerprintWhenAskedTo() throws Exception {
+        ParsedName plain = new HumanNameParser().parse("Steve Ash");
+        assertFalse(plain.hasFingerprint());
+        assertEquals(0, plain.getBlockingKeyCount());
+        try {
+            plain.getFingerprint();
+            throw new AssertionError();
+        } catch (IllegalStateException expected) {
+        }
+        ParsedName fingerprinted = new HumanNameParser(ParserConfig.builder().fingerprints(true).build())
+                .parse("Steve Ash");
+        assertTrue(fingerprinted.hasFingerprint());
+        assertEquals(0, fingerprinted.getBlockingKeyCount());
+        assertEquals(parser.parse("Steve Ash").getFingerprint(), fingerprinted.getFingerprint());
+
+        assertTrue(config.isFingerprints());
+        assertEquals(config, config.toBuilder().build());
+        assertNotEquals(config, config.toBuilder().blockingKeys(LAST_FIRST).build());
+        // fingerprints that only the keys turned on go away with the keys
+        ParserConfig withoutKeys = config.toBuilder().blockingKeys().build();
+        assertFalse(withoutKeys.isFingerprints());
+        assertEquals(ParserConfig.defaults(), withoutKeys);
+        assertTrue(withoutKeys.toBuilder().fingerprints(true).blockingKeys(LAST_FIRST).build().toBuilder()
+                .blockingKeys().build().isFingerprints());
+        assertEquals(LAST_FIRST, BlockingKey.builder().prefix(3, Label.Last).prefix(3, Label.First).build());
+    }
+}
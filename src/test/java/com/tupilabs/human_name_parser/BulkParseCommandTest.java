@@ -0,0 +1,121 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BulkParseCommandTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldWriteEveryLineInOrderWhateverTheChunking() throws Exception {
+        List<String> names = new ArrayList<>(TokenizingNameParserTest.loadTestNames());
+        names.add("");
+        names.add("Bj\u00f6rn \"Bj\u00f8rk\", M\u00fcller");
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < names.size(); i++) {
+            // mix in windows line endings and leave the last line without one
+            input.append(names.get(i));
+            if (i < names.size() - 1) {
+                input.append(i % 3 == 0 ? "\r\n" : "\n");
+            }
+        }
+        File file = folder.newFile("names.txt");
+        Files.write(file.toPath(), input.toString().getBytes(StandardCharsets.UTF_8));
+
+        HumanNameParser parser = new HumanNameParser();
+        for (OutputFormat format : OutputFormat.values()) {
+            StringBuilder expected = new StringBuilder(format.header());
+            for (String name : names) {
+                format.append(expected, name, parser.parse(name).toSegmented(), null);
+            }
+            // chunks small enough to split multi byte chars and line endings all over the place
+            for (int chunkSize : new int[]{1, 7, 100, BulkParseCommand.DEFAULT_CHUNK_SIZE}) {
+                BulkParseCommand command = new BulkParseCommand(parser, format, 3, chunkSize, StandardCharsets.UTF_8);
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                assertEquals(names.size(), command.parse(file.toPath(), out));
+                assertEquals(format + " " + chunkSize, expected.toString(), new String(out.toByteArray(),
+                        StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    public void shouldWriteLayoutOfTestNames() throws Exception {
+        File file = folder.newFile("one.txt");
+        Files.write(file.toPath(), "Jason H. Priem\nDr. Bob \"Bobby\" Smith, Jr\n".getBytes(StandardCharsets.UTF_8));
+        File output = new File(folder.getRoot(), "out.txt");
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int code = BulkParseCommand.run(new String[]{"--threads=2", file.getPath(), output.getPath()},
+                new ByteArrayOutputStream(), new PrintStream(err, true));
+        assertEquals(0, code);
+        assertEquals("Jason H. Priem| | Jason| | H.| Priem| | | \n"
+                + "Dr. Bob \"Bobby\" Smith, Jr| | Bob| Bobby| | Smith| Jr| Dr.| \n",
+                new String(Files.readAllBytes(output.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldQuoteCsvAndEscapeJson() throws Exception {
+        File file = folder.newFile("quoted.txt");
+        Files.write(file.toPath(), "Smith, \"Bob\" \\ Jr\n".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        new BulkParseCommand(new HumanNameParser(false), OutputFormat.csv, 1, 1024, StandardCharsets.UTF_8)
+                .parse(file.toPath(), csv);
+        assertEquals("name,leadingInit,first,nicknames,middle,last,suffix,salutation,postnominal,error\n"
+                        + "\"Smith, \"\"Bob\"\" \\ Jr\",,\\,\"\"\"Bob\"\"\",,Smith, Jr,,,\n",
+                new String(csv.toByteArray(), StandardCharsets.UTF_8));
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        new BulkParseCommand(new HumanNameParser(false), OutputFormat.json, 1, 1024, StandardCharsets.UTF_8)
+                .parse(file.toPath(), json);
+        assertEquals("{\"name\":\"Smith, \\\"Bob\\\" \\\\ Jr\",\"leadingInit\":null,\"first\":\"\\\\\","
+                        + "\"nicknames\":\"\\\"Bob\\\"\",\"middle\":null,\"last\":\"Smith\",\"suffix\":\" Jr\","
+                        + "\"salutation\":null,\"postnominal\":null}\n",
+                new String(json.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldWriteWhyANameFailed() throws Exception {
+        File file = folder.newFile("failed.txt");
+        Files.write(file.toPath(), "Bob Smith\nJonathan Q Smith\n".getBytes(StandardCharsets.UTF_8));
+        HumanNameParser parser = new HumanNameParser(ParserConfig.builder().maxInputLength(10).build());
+        String error = "com.tupilabs.human_name_parser.ParseException: name is 16 chars, over the limit of 10";
+        String[] expected = {
+                "Bob Smith| | Bob| | | Smith| | | \n"
+                        + "Jonathan Q Smith| | | | | | | | | " + error + "\n",
+                "name,leadingInit,first,nicknames,middle,last,suffix,salutation,postnominal,error\n"
+                        + "Bob Smith,,Bob,,,Smith,,,,\n"
+                        + "Jonathan Q Smith,,,,,,,,,\"" + error + "\"\n",
+                "{\"name\":\"Bob Smith\",\"leadingInit\":null,\"first\":\"Bob\",\"nicknames\":null,"
+                        + "\"middle\":null,\"last\":\"Smith\",\"suffix\":null,\"salutation\":null,"
+                        + "\"postnominal\":null}\n"
+                        + "{\"name\":\"Jonathan Q Smith\",\"leadingInit\":null,\"first\":null,\"nicknames\":null,"
+                        + "\"middle\":null,\"last\":null,\"suffix\":null,\"salutation\":null,"
+                        + "\"postnominal\":null,\"error\":\"" + error + "\"}\n"};
+        for (OutputFormat format : OutputFormat.values()) {
+            BulkParseCommand command = new BulkParseCommand(parser, format, 1, 1024, StandardCharsets.UTF_8);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEquals(2, command.parse(file.toPath(), out));
+            assertEquals(expected[format.ordinal()], new String(out.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void shouldRejectBadArguments() throws Exception {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        assertEquals(2, BulkParseCommand.run(new String[]{"--format=xml", "in.txt"}, new ByteArrayOutputStream(),
+                new PrintStream(err, true)));
+        assertEquals(2, BulkParseCommand.run(new String[0], new ByteArrayOutputStream(), new PrintStream(err, true)));
+    }
+}
@@ -0,0 +1,114 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class CachingNameParserTest {
+
+    @Test
+    public void shouldHandOutTheSameInstanceOnHit() throws Exception {
+        CachingNameParser parser = new CachingNameParser(new HumanNameParser(), 100);
+        ParsedName first = parser.parse("Bob Smith");
+        ParsedName second = parser.parse("Bob Smith");
+        assertSame(first, second);
+        assertEquals("Smith", second.toSegmented().getLast());
+        parser.parse("Mary Jones");
+
+        CachingNameParser.Stats stats = parser.stats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(0, stats.getEvictionCount());
+        assertEquals(2, stats.getSize());
+        assertEquals(1.0 / 3, stats.getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void shouldStayWithinMaximumSize() throws Exception {
+        CachingNameParser parser = new CachingNameParser(new HumanNameParser(), 64);
+        for (int i = 0; i < 1000; i++) {
+            parser.parse("Bob Smith" + i);
+        }
+        assertTrue(parser.size() <= 64);
+        assertEquals(1000 - parser.size(), parser.stats().getEvictionCount());
+        parser.clear();
+        assertEquals(0, parser.size());
+    }
+
+    @Test
+    public void shouldKeepFrequentNamesThroughAScan() throws Exception {
+        CachingNameParser parser = new CachingNameParser(new HumanNameParser(), 64);
+        List<String> hot = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            hot.add("Mary Jones" + i);
+        }
+        for (int round = 0; round < 2; round++) {
+            for (String name : hot) {
+                parser.parse(name);
+            }
+        }
+        for (int i = 0; i < 10000; i++) {
+            parser.parse("Bob Smith" + i);
+        }
+        long hits = parser.stats().getHitCount();
+        for (String name : hot) {
+            parser.parse(name);
+        }
+        assertEquals(hits + hot.size(), parser.stats().getHitCount());
+    }
+
+    @Test
+    public void shouldNormalizeWhitespace() throws Exception {
+        CachingNameParser parser = new CachingNameParser(new HumanNameParser(), 10, true);
+        ParsedName parsed = parser.parse("  Bob \t Smith ");
+        assertEquals("Bob Smith", parsed.getInputName());
+        assertSame(parsed, parser.parse("Bob Smith"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotLetCachedNamesChange() throws Exception {
+        new CachingNameParser(new HumanNameParser(), 10).parse("Bob Smith").getTokens().set(0, "Robert");
+    }
+
+    @Test
+    public void shouldParseFromManyThreadsAtOnce() throws Exception {
+        final List<String> names = TokenizingNameParserTest.loadTestNames();
+        final HumanNameParser plain = new HumanNameParser();
+        final CachingNameParser parser = new CachingNameParser(plain, names.size() / 2);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(pool.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int round = 0; round < 5; round++) {
+                            for (String name : names) {
+                                ParsedName parsed = parser.parse(name);
+                                assertNotNull(parsed);
+                                assertEquals(plain.parse(name).toString(), parsed.toString());
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        CachingNameParser.Stats stats = parser.stats();
+        assertEquals(4 * 5 * names.size(), stats.getHitCount() + stats.getMissCount());
+        assertTrue(stats.getSize() <= names.size() / 2);
+    }
+}
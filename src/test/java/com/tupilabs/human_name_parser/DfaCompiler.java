@@ -0,0 +1,1143 @@
+package com.tupilabs.human_name_parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.google.common.collect.Sets;
+
+/**
+ * Compiles a regex into the tables of a {@link DfaMatcher}. It is the build step behind {@link NameGrammar}, see
+ * {@link NameGrammarGenerator}, and only takes what the patterns of the parse use:
+ * <ul>
+ * <li>ASCII literals, classes, ranges, negation, {@code . \w \s \d \p{L}} and CASE_INSENSITIVE</li>
+ * <li>groups, alternation and greedy or lazy {@code * + ? {m,n}}</li>
+ * <li>a leading ^ (the pattern is then only tried at the start, as lookingAt() does)</li>
+ * <li>back references to a group that can only match a few fixed strings. These are expanded into an
+ * alternation of every string, in the order that backtracking would try them</li>
+ * <li>one lookahead, positive or negative, at the very end</li>
+ * </ul>
+ * Anything else throws an IllegalArgumentException rather than compiling to something that matches differently.
+ */
+final class DfaCompiler {
+
+    // code points are first put in one of these categories: one for each ASCII char, then one each for the non
+    // ASCII line terminators, the other letters and everything else
+    static final int LINE_TERMINATOR = 128;
+    static final int LETTER = 129;
+    static final int OTHER = 130;
+    static final int CATEGORIES = 131;
+
+    private DfaCompiler() {}
+
+    static Compiled compile(String regex, int flags) {
+        if ((flags & ~Pattern.CASE_INSENSITIVE) != 0) {
+            throw new IllegalArgumentException("can't compile flags other than CASE_INSENSITIVE");
+        }
+        Node root = new Parser(regex, (flags & Pattern.CASE_INSENSITIVE) != 0).parse();
+        root = expandBackReferences(root);
+        boolean anchored = false;
+        Node start = first(root);
+        if (start instanceof Start) {
+            anchored = true;
+            root = drop(root, start);
+        }
+        Look look = null;
+        Node last = last(root);
+        if (last instanceof Look) {
+            look = (Look) last;
+            root = drop(root, last);
+        }
+        checkPlain(root);
+        if (look != null) {
+            checkPlain(look.body);
+        }
+
+        List<BitSet> sets = new ArrayList<>();
+        collectSets(root, sets);
+        if (look != null) {
+            collectSets(look.body, sets);
+        }
+        BitSet any = new BitSet();
+        any.set(0, CATEGORIES);
+        sets.add(any);
+        int[] classOf = classes(sets);
+        int classes = 0;
+        for (int c : classOf) {
+            classes = Math.max(classes, c + 1);
+        }
+
+        State match = new State(State.MATCH);
+        State patternStart = compile(root, match);
+        State forwardStart = patternStart;
+        if (!anchored) {
+            // a lazy .* in front, so that later starts are always less preferred than earlier ones
+            State loop = new State(State.SPLIT);
+            loop.out = patternStart;
+            loop.out1 = new State(any, loop);
+            forwardStart = loop;
+        }
+        Table forward = new DfaBuilder(classOf, classes, look == null ? Mode.FIRST : Mode.FIRST_WITH_LOOKAHEAD)
+                .build(forwardStart);
+        Table reverse = null;
+        if (!anchored) {
+            reverse = new DfaBuilder(classOf, classes, Mode.ANY).build(compile(reverse(root),
+                    new State(State.MATCH)));
+        }
+        Table lookahead = null;
+        if (look != null) {
+            lookahead = new DfaBuilder(classOf, classes, Mode.ANY).build(compile(look.body, new State(State.MATCH)));
+        }
+        return new Compiled(regex, flags, anchored, classOf, classes, forward, reverse, lookahead,
+                look != null && look.negative);
+    }
+
+    /**
+     * The tables for one regex, ready to be turned into a matcher or written out as source
+     */
+    static final class Compiled {
+        final String regex;
+        final int flags;
+        final boolean anchored;
+        final byte[] asciiClasses = new byte[128];
+        final int lineTerminatorClass;
+        final int letterClass;
+        final int otherClass;
+        final int classes;
+        final Table forward;
+        final Table reverse;
+        final Table lookahead;
+        final boolean negativeLookahead;
+
+        Compiled(String regex, int flags, boolean anchored, int[] classOf, int classes, Table forward,
+                 Table reverse, Table lookahead, boolean negativeLookahead) {
+            this.regex = regex;
+            this.flags = flags;
+            this.anchored = anchored;
+            for (int c = 0; c < 128; c++) {
+                asciiClasses[c] = (byte) classOf[c];
+            }
+            this.lineTerminatorClass = classOf[LINE_TERMINATOR];
+            this.letterClass = classOf[LETTER];
+            this.otherClass = classOf[OTHER];
+            this.classes = classes;
+            this.forward = forward;
+            this.reverse = reverse;
+            this.lookahead = lookahead;
+            this.negativeLookahead = negativeLookahead;
+        }
+
+        DfaMatcher toMatcher() {
+            return new DfaMatcher(regex, anchored, asciiClasses, lineTerminatorClass, letterClass, otherClass,
+                    forward.toDfa(), reverse == null ? null : reverse.toDfa(),
+                    lookahead == null ? null : lookahead.toDfa(), negativeLookahead);
+        }
+    }
+
+    static final class Table {
+        final int classes;
+        final int[] next;
+        final byte[] flags;
+        final int[] branches;
+
+        Table(int classes, int[] next, byte[] flags, int[] branches) {
+            this.classes = classes;
+            this.next = next;
+            this.flags = flags;
+            this.branches = branches;
+        }
+
+        int states() {
+            return flags.length;
+        }
+
+        DfaMatcher.Dfa toDfa() {
+            return new DfaMatcher.Dfa(classes, packStates(next), packFlags(), branches == null ? null
+                    : packStates(branches));
+        }
+
+        /**
+         * The states as {@link DfaMatcher.Dfa} takes them, each one plus one
+         */
+        static String packStates(int[] states) {
+            StringBuilder sb = new StringBuilder(states.length);
+            for (int state : states) {
+                sb.append((char) (state + 1));
+            }
+            return sb.toString();
+        }
+
+        String packFlags() {
+            StringBuilder sb = new StringBuilder(flags.length);
+            for (byte flag : flags) {
+                sb.append((char) flag);
+            }
+            return sb.toString();
+        }
+
+        /**
+         * The same DFA with the states that nothing could tell apart merged (Moore's algorithm): they start out
+         * apart by their flags and are split until every pair left together goes to the same blocks on every class
+         * and every lookahead branch. The start stays state 0
+         */
+        Table minimize() {
+            int states = states();
+            int[] block = new int[states];
+            int blocks = split(states, null, block);
+            while (true) {
+                int[] refined = new int[states];
+                int count = split(states, block, refined);
+                block = refined;
+                if (count == blocks) {
+                    break;
+                }
+                blocks = count;
+            }
+            int[] minNext = new int[blocks * classes];
+            byte[] minFlags = new byte[blocks];
+            int[] minBranches = branches == null ? null : new int[2 * blocks];
+            for (int s = 0; s < states; s++) {
+                int b = block[s];
+                minFlags[b] = flags[s];
+                for (int cls = 0; cls < classes; cls++) {
+                    int target = next[s * classes + cls];
+                    minNext[b * classes + cls] = target < 0 ? -1 : block[target];
+                }
+                if (branches != null) {
+                    for (int way = 0; way < 2; way++) {
+                        int target = branches[2 * s + way];
+                        minBranches[2 * b + way] = target < 0 ? -1 : block[target];
+                    }
+                }
+            }
+            return new Table(classes, minNext, minFlags, minBranches);
+        }
+
+        /**
+         * Puts every state in a block by its flags (the first time, when old is null) or by its block in old and
+         * those of the states it goes to; returns the number of blocks
+         */
+        private int split(int states, int[] old, int[] block) {
+            Map<List<Integer>, Integer> numbers = new LinkedHashMap<>();
+            for (int s = 0; s < states; s++) {
+                List<Integer> key = new ArrayList<>();
+                if (old == null) {
+                    key.add((int) flags[s]);
+                } else {
+                    key.add(old[s]);
+                    for (int cls = 0; cls < classes; cls++) {
+                        int target = next[s * classes + cls];
+                        key.add(target < 0 ? -1 : old[target]);
+                    }
+                    if (branches != null) {
+                        for (int way = 0; way < 2; way++) {
+                            int target = branches[2 * s + way];
+                            key.add(target < 0 ? -1 : old[target]);
+                        }
+                    }
+                }
+                Integer number = numbers.get(key);
+                if (number == null) {
+                    number = numbers.size();
+                    numbers.put(key, number);
+                }
+                block[s] = number;
+            }
+            return numbers.size();
+        }
+    }
+
+    // ---- the syntax tree
+
+    private abstract static class Node {
+    }
+
+    private static final class Chars extends Node {
+        final BitSet categories;
+
+        Chars(BitSet categories) {
+            this.categories = categories;
+        }
+    }
+
+    private static final class Seq extends Node {
+        final List<Node> items;
+
+        Seq(List<Node> items) {
+            this.items = items;
+        }
+    }
+
+    private static final class Alt extends Node {
+        final List<Node> branches;
+
+        Alt(List<Node> branches) {
+            this.branches = branches;
+        }
+    }
+
+    private static final class Repeat extends Node {
+        static final int UNBOUNDED = -1;
+        final Node body;
+        final int min;
+        final int max;
+        final boolean greedy;
+
+        Repeat(Node body, int min, int max, boolean greedy) {
+            this.body = body;
+            this.min = min;
+            this.max = max;
+            this.greedy = greedy;
+        }
+    }
+
+    private static final class Group extends Node {
+        // 0 for a group that doesn't capture
+        final int number;
+        final Node body;
+
+        Group(int number, Node body) {
+            this.number = number;
+            this.body = body;
+        }
+    }
+
+    private static final class BackReference extends Node {
+        final int number;
+        final boolean caseInsensitive;
+
+        BackReference(int number, boolean caseInsensitive) {
+            this.number = number;
+            this.caseInsensitive = caseInsensitive;
+        }
+    }
+
+    private static final class Look extends Node {
+        final Node body;
+        final boolean negative;
+
+        Look(Node body, boolean negative) {
+            this.body = body;
+            this.negative = negative;
+        }
+    }
+
+    private static final class Start extends Node {
+    }
+
+    // ---- parsing
+
+    private static final class Parser {
+        private final String regex;
+        private final boolean caseInsensitive;
+        private int at;
+        private int groups;
+
+        Parser(String regex, boolean caseInsensitive) {
+            this.regex = regex;
+            this.caseInsensitive = caseInsensitive;
+        }
+
+        Node parse() {
+            Node node = alternation();
+            if (at < regex.length()) {
+                throw unsupported("unbalanced )");
+            }
+            return node;
+        }
+
+        private Node alternation() {
+            List<Node> branches = new ArrayList<>();
+            branches.add(sequence());
+            while (at < regex.length() && regex.charAt(at) == '|') {
+                at += 1;
+                branches.add(sequence());
+            }
+            return branches.size() == 1 ? branches.get(0) : new Alt(branches);
+        }
+
+        private Node sequence() {
+            List<Node> items = new ArrayList<>();
+            while (at < regex.length() && regex.charAt(at) != '|' && regex.charAt(at) != ')') {
+                items.add(quantified(atom()));
+            }
+            return new Seq(items);
+        }
+
+        private Node atom() {
+            char c = regex.charAt(at++);
+            switch (c) {
+                case '(':
+                    Node group;
+                    if (regex.startsWith("?:", at)) {
+                        at += 2;
+                        group = new Group(0, alternation());
+                    } else if (regex.startsWith("?=", at) || regex.startsWith("?!", at)) {
+                        boolean negative = regex.charAt(at + 1) == '!';
+                        at += 2;
+                        group = new Look(alternation(), negative);
+                    } else if (at < regex.length() && regex.charAt(at) == '?') {
+                        throw unsupported("(?" + regex.charAt(at + 1));
+                    } else {
+                        int number = ++groups;
+                        group = new Group(number, alternation());
+                    }
+                    expect(')');
+                    return group;
+                case '[':
+                    return charClass();
+                case '.':
+                    BitSet dot = new BitSet();
+                    dot.set(0, CATEGORIES);
+                    dot.clear('\n');
+                    dot.clear('\r');
+                    dot.clear(LINE_TERMINATOR);
+                    return new Chars(dot);
+                case '^':
+                    return new Start();
+                case '\\':
+                    char e = next();
+                    if (e >= '1' && e <= '9') {
+                        return new BackReference(e - '0', caseInsensitive);
+                    }
+                    BitSet predefined = predefined(e);
+                    return new Chars(predefined != null ? predefined : literal(e));
+                case '$':
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                case ')':
+                case '|':
+                    throw unsupported(String.valueOf(c));
+                default:
+                    return new Chars(literal(c));
+            }
+        }
+
+        private Node quantified(Node atom) {
+            if (at >= regex.length()) {
+                return atom;
+            }
+            int min;
+            int max;
+            char c = regex.charAt(at);
+            if (c == '*') {
+                min = 0;
+                max = Repeat.UNBOUNDED;
+                at += 1;
+            } else if (c == '+') {
+                min = 1;
+                max = Repeat.UNBOUNDED;
+                at += 1;
+            } else if (c == '?') {
+                min = 0;
+                max = 1;
+                at += 1;
+            } else if (c == '{') {
+                int close = regex.indexOf('}', at);
+                if (close < 0) {
+                    throw unsupported("unclosed {");
+                }
+                String bounds = regex.substring(at + 1, close);
+                int comma = bounds.indexOf(',');
+                if (comma < 0) {
+                    min = max = Integer.parseInt(bounds);
+                } else {
+                    min = Integer.parseInt(bounds.substring(0, comma));
+                    max = comma == bounds.length() - 1 ? Repeat.UNBOUNDED
+                            : Integer.parseInt(bounds.substring(comma + 1));
+                }
+                at = close + 1;
+            } else {
+                return atom;
+            }
+            boolean greedy = true;
+            if (at < regex.length() && regex.charAt(at) == '?') {
+                greedy = false;
+                at += 1;
+            } else if (at < regex.length() && regex.charAt(at) == '+') {
+                throw unsupported("possessive quantifier");
+            }
+            if (atom instanceof Start || atom instanceof Look || atom instanceof BackReference) {
+                throw unsupported("quantified assertion or back reference");
+            }
+            return new Repeat(atom, min, max, greedy);
+        }
+
+        private Node charClass() {
+            boolean negated = false;
+            if (at < regex.length() && regex.charAt(at) == '^') {
+                negated = true;
+                at += 1;
+            }
+            BitSet set = new BitSet();
+            boolean first = true;
+            while (true) {
+                char c = next();
+                if (c == ']' && !first) {
+                    break;
+                }
+                first = false;
+                if (c == '[' || c == '&' && at < regex.length() && regex.charAt(at) == '&') {
+                    throw unsupported("nested class or intersection");
+                }
+                if (c == '\\') {
+                    char e = next();
+                    BitSet predefined = predefined(e);
+                    if (predefined != null) {
+                        set.or(predefined);
+                        continue;
+                    }
+                    c = e;
+                }
+                if (at + 1 < regex.length() && regex.charAt(at) == '-' && regex.charAt(at + 1) != ']') {
+                    at += 1;
+                    char hi = next();
+                    if (hi == '\\') {
+                        hi = next();
+                    }
+                    set.or(range(c, hi));
+                } else {
+                    set.or(literal(c));
+                }
+            }
+            if (negated) {
+                set.flip(0, CATEGORIES);
+            }
+            return new Chars(set);
+        }
+
+        private BitSet literal(char c) {
+            return range(c, c);
+        }
+
+        /**
+         * The chars from lo to hi, and with CASE_INSENSITIVE the ASCII chars whose other case is one of them, which
+         * is what java.util.regex does without UNICODE_CASE
+         */
+        private BitSet range(char lo, char hi) {
+            if (lo >= 0x80 || hi >= 0x80) {
+                throw unsupported("non ASCII literal");
+            }
+            BitSet set = new BitSet();
+            for (int c = 0; c < 0x80; c++) {
+                if (c >= lo && c <= hi
+                        || caseInsensitive && (inRange(Character.toLowerCase(c), lo, hi)
+                        || inRange(Character.toUpperCase(c), lo, hi))) {
+                    set.set(c);
+                }
+            }
+            return set;
+        }
+
+        private static boolean inRange(int c, char lo, char hi) {
+            return c >= lo && c <= hi;
+        }
+
+        /**
+         * @return the set for \e, or null if \e is just the char e
+         */
+        private BitSet predefined(char e) {
+            BitSet set = new BitSet();
+            switch (e) {
+                case 'w':
+                    set.set('a', 'z' + 1);
+                    set.set('A', 'Z' + 1);
+                    set.set('0', '9' + 1);
+                    set.set('_');
+                    return set;
+                case 'd':
+                    set.set('0', '9' + 1);
+                    return set;
+                case 's':
+                    set.set(' ');
+                    set.set('\t');
+                    set.set('\n');
+                    set.set(0x0B);
+                    set.set('\f');
+                    set.set('\r');
+                    return set;
+                case 'p':
+                    if (!regex.startsWith("{L}", at)) {
+                        throw unsupported("\\p other than \\p{L}");
+                    }
+                    at += 3;
+                    set.set('a', 'z' + 1);
+                    set.set('A', 'Z' + 1);
+                    set.set(LETTER);
+                    return set;
+                default:
+                    if (Character.isLetterOrDigit(e)) {
+                        throw unsupported("\\" + e);
+                    }
+                    return null;
+            }
+        }
+
+        private char next() {
+            if (at >= regex.length()) {
+                throw unsupported("unexpected end");
+            }
+            return regex.charAt(at++);
+        }
+
+        private void expect(char c) {
+            if (next() != c) {
+                throw unsupported("expected " + c + " at " + (at - 1));
+            }
+        }
+
+        private IllegalArgumentException unsupported(String what) {
+            return new IllegalArgumentException("can't compile " + what + " in " + regex);
+        }
+    }
+
+    // ---- rewriting
+
+    /**
+     * Rewrites every sequence that has a group and a back reference to it into an alternation, one branch for
+     * each string that the group can match; the group's strings are tried first to last just as backtracking
+     * would try them, and both the group and the back reference become that string
+     */
+    private static Node expandBackReferences(Node node) {
+        if (node instanceof Seq) {
+            List<Node> items = new ArrayList<>();
+            for (Node item : ((Seq) node).items) {
+                // a back reference is checked once its group has been looked for
+                items.add(item instanceof BackReference ? item : expandBackReferences(item));
+            }
+            for (int i = 0; i < items.size(); i++) {
+                if (!(items.get(i) instanceof Group) || ((Group) items.get(i)).number == 0) {
+                    continue;
+                }
+                Group group = (Group) items.get(i);
+                boolean referenced = false;
+                for (int j = i + 1; j < items.size(); j++) {
+                    referenced |= items.get(j) instanceof BackReference
+                            && ((BackReference) items.get(j)).number == group.number;
+                }
+                if (!referenced) {
+                    continue;
+                }
+                // whatever comes before the group is matched (and backtracked into) before the group is
+                List<Node> branches = new ArrayList<>();
+                for (List<Integer> string : strings(group.body)) {
+                    List<Node> branch = new ArrayList<>();
+                    branch.add(literalString(string, false));
+                    for (Node after : items.subList(i + 1, items.size())) {
+                        if (after instanceof BackReference && ((BackReference) after).number == group.number) {
+                            branch.add(literalString(string, ((BackReference) after).caseInsensitive));
+                        } else {
+                            branch.add(after);
+                        }
+                    }
+                    branches.add(expandBackReferences(new Seq(branch)));
+                }
+                List<Node> expanded = new ArrayList<>(items.subList(0, i));
+                expanded.add(new Alt(branches));
+                return new Seq(expanded);
+            }
+            for (Node item : items) {
+                if (item instanceof BackReference) {
+                    throw new IllegalArgumentException("back reference \\" + ((BackReference) item).number
+                            + " isn't in the same sequence as its group");
+                }
+            }
+            return new Seq(items);
+        } else if (node instanceof Alt) {
+            List<Node> branches = new ArrayList<>();
+            for (Node branch : ((Alt) node).branches) {
+                branches.add(expandBackReferences(branch));
+            }
+            return new Alt(branches);
+        } else if (node instanceof Group) {
+            return new Group(((Group) node).number, expandBackReferences(((Group) node).body));
+        } else if (node instanceof Repeat) {
+            Repeat repeat = (Repeat) node;
+            return new Repeat(expandBackReferences(repeat.body), repeat.min, repeat.max, repeat.greedy);
+        } else if (node instanceof Look) {
+            return new Look(expandBackReferences(((Look) node).body), ((Look) node).negative);
+        } else if (node instanceof BackReference) {
+            throw new IllegalArgumentException("back reference \\" + ((BackReference) node).number
+                    + " isn't in the same sequence as its group");
+        }
+        return node;
+    }
+
+    /**
+     * Every string that node can match, each a list of ASCII chars, in the order backtracking tries them
+     */
+    private static List<List<Integer>> strings(Node node) {
+        if (node instanceof Chars) {
+            BitSet set = ((Chars) node).categories;
+            if (set.nextSetBit(LINE_TERMINATOR) >= 0) {
+                throw new IllegalArgumentException("a back reference to a group with non ASCII chars");
+            }
+            List<List<Integer>> strings = new ArrayList<>();
+            for (int c = set.nextSetBit(0); c >= 0; c = set.nextSetBit(c + 1)) {
+                strings.add(Collections.singletonList(c));
+            }
+            return strings;
+        } else if (node instanceof Seq) {
+            List<List<Integer>> strings = new ArrayList<>();
+            strings.add(Collections.<Integer>emptyList());
+            for (Node item : ((Seq) node).items) {
+                strings = concat(strings, strings(item));
+            }
+            return strings;
+        } else if (node instanceof Alt) {
+            List<List<Integer>> strings = new ArrayList<>();
+            for (Node branch : ((Alt) node).branches) {
+                strings.addAll(strings(branch));
+            }
+            return strings;
+        } else if (node instanceof Group) {
+            return strings(((Group) node).body);
+        } else if (node instanceof Repeat && ((Repeat) node).max != Repeat.UNBOUNDED) {
+            Repeat repeat = (Repeat) node;
+            List<List<Integer>> strings = new ArrayList<>();
+            for (int k = 0; k <= repeat.max - repeat.min; k++) {
+                int count = repeat.greedy ? repeat.max - k : repeat.min + k;
+                List<List<Integer>> these = new ArrayList<>();
+                these.add(Collections.<Integer>emptyList());
+                for (int n = 0; n < count; n++) {
+                    these = concat(these, strings(repeat.body));
+                }
+                strings.addAll(these);
+            }
+            return strings;
+        }
+        throw new IllegalArgumentException("a back reference to a group that can match too many strings");
+    }
+
+    private static List<List<Integer>> concat(List<List<Integer>> heads, List<List<Integer>> tails) {
+        List<List<Integer>> strings = new ArrayList<>();
+        for (List<Integer> head : heads) {
+            for (List<Integer> tail : tails) {
+                List<Integer> string = new ArrayList<>(head);
+                string.addAll(tail);
+                strings.add(string);
+            }
+        }
+        return strings;
+    }
+
+    private static Node literalString(List<Integer> string, boolean caseInsensitive) {
+        List<Node> items = new ArrayList<>();
+        for (int c : string) {
+            BitSet set = new BitSet();
+            set.set(c);
+            if (caseInsensitive) {
+                set.set(Character.toLowerCase(c));
+                set.set(Character.toUpperCase(c));
+            }
+            items.add(new Chars(set));
+        }
+        return new Seq(items);
+    }
+
+    /**
+     * @return what is matched first, looking through groups and sequences
+     */
+    private static Node first(Node node) {
+        while (true) {
+            if (node instanceof Group) {
+                node = ((Group) node).body;
+            } else if (node instanceof Seq && !((Seq) node).items.isEmpty()) {
+                node = ((Seq) node).items.get(0);
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private static Node last(Node node) {
+        while (true) {
+            if (node instanceof Group) {
+                node = ((Group) node).body;
+            } else if (node instanceof Seq && !((Seq) node).items.isEmpty()) {
+                List<Node> items = ((Seq) node).items;
+                node = items.get(items.size() - 1);
+            } else {
+                return node;
+            }
+        }
+    }
+
+    /**
+     * @return node without target, which is somewhere down its groups and sequences
+     */
+    private static Node drop(Node node, Node target) {
+        if (node == target) {
+            return new Seq(Collections.<Node>emptyList());
+        }
+        if (node instanceof Group) {
+            return new Group(((Group) node).number, drop(((Group) node).body, target));
+        }
+        if (node instanceof Seq) {
+            List<Node> items = new ArrayList<>();
+            for (Node item : ((Seq) node).items) {
+                items.add(drop(item, target));
+            }
+            return new Seq(items);
+        }
+        return node;
+    }
+
+    private static void checkPlain(Node node) {
+        if (node instanceof Start) {
+            throw new IllegalArgumentException("^ anywhere but the start");
+        } else if (node instanceof Look) {
+            throw new IllegalArgumentException("a lookahead anywhere but the end");
+        } else if (node instanceof Seq) {
+            for (Node item : ((Seq) node).items) {
+                checkPlain(item);
+            }
+        } else if (node instanceof Alt) {
+            for (Node branch : ((Alt) node).branches) {
+                checkPlain(branch);
+            }
+        } else if (node instanceof Group) {
+            checkPlain(((Group) node).body);
+        } else if (node instanceof Repeat) {
+            checkPlain(((Repeat) node).body);
+            if (((Repeat) node).max == Repeat.UNBOUNDED && nullable(((Repeat) node).body)) {
+                throw new IllegalArgumentException("a repeat of something that can be empty");
+            }
+        }
+    }
+
+    private static boolean nullable(Node node) {
+        if (node instanceof Chars) {
+            return false;
+        } else if (node instanceof Seq) {
+            for (Node item : ((Seq) node).items) {
+                if (!nullable(item)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (node instanceof Alt) {
+            for (Node branch : ((Alt) node).branches) {
+                if (nullable(branch)) {
+                    return true;
+                }
+            }
+            return false;
+        } else if (node instanceof Group) {
+            return nullable(((Group) node).body);
+        } else if (node instanceof Repeat) {
+            return ((Repeat) node).min == 0 || nullable(((Repeat) node).body);
+        }
+        return true;
+    }
+
+    /**
+     * The pattern that matches every string of node backwards; preferences don't matter to a longest match
+     */
+    private static Node reverse(Node node) {
+        if (node instanceof Seq) {
+            List<Node> items = new ArrayList<>();
+            for (Node item : ((Seq) node).items) {
+                items.add(0, reverse(item));
+            }
+            return new Seq(items);
+        } else if (node instanceof Alt) {
+            List<Node> branches = new ArrayList<>();
+            for (Node branch : ((Alt) node).branches) {
+                branches.add(reverse(branch));
+            }
+            return new Alt(branches);
+        } else if (node instanceof Group) {
+            return reverse(((Group) node).body);
+        } else if (node instanceof Repeat) {
+            Repeat repeat = (Repeat) node;
+            return new Repeat(reverse(repeat.body), repeat.min, repeat.max, repeat.greedy);
+        }
+        return node;
+    }
+
+    private static void collectSets(Node node, List<BitSet> sets) {
+        if (node instanceof Chars) {
+            sets.add(((Chars) node).categories);
+        } else if (node instanceof Seq) {
+            for (Node item : ((Seq) node).items) {
+                collectSets(item, sets);
+            }
+        } else if (node instanceof Alt) {
+            for (Node branch : ((Alt) node).branches) {
+                collectSets(branch, sets);
+            }
+        } else if (node instanceof Group) {
+            collectSets(((Group) node).body, sets);
+        } else if (node instanceof Repeat) {
+            collectSets(((Repeat) node).body, sets);
+        }
+    }
+
+    /**
+     * Puts the categories in classes: two are in the same class when every set has both or neither
+     * @return the class of each category
+     */
+    private static int[] classes(List<BitSet> sets) {
+        int[] classOf = new int[CATEGORIES];
+        Map<BitSet, Integer> ids = new HashMap<>();
+        for (int c = 0; c < CATEGORIES; c++) {
+            BitSet signature = new BitSet();
+            for (int s = 0; s < sets.size(); s++) {
+                if (sets.get(s).get(c)) {
+                    signature.set(s);
+                }
+            }
+            Integer id = ids.get(signature);
+            if (id == null) {
+                id = ids.size();
+                ids.put(signature, id);
+            }
+            classOf[c] = id;
+        }
+        return classOf;
+    }
+
+    // ---- the NFA
+
+    private static final class State {
+        static final int CHARS = 0;
+        static final int SPLIT = 1;
+        static final int MATCH = 2;
+        // the order states are made in, which is all that sorting them needs, so that the tables come out the same
+        // every time
+        private static int made;
+
+        final int number = made++;
+        final int kind;
+        final BitSet categories;
+        // the next state, or the preferred one of a split
+        State out;
+        State out1;
+
+        State(int kind) {
+            this.kind = kind;
+            this.categories = null;
+        }
+
+        State(BitSet categories, State out) {
+            this.kind = CHARS;
+            this.categories = categories;
+            this.out = out;
+        }
+    }
+
+    /**
+     * Thompson's construction, with the preferred way out of every split first
+     * @return the start of node, which goes on to next
+     */
+    private static State compile(Node node, State next) {
+        if (node instanceof Chars) {
+            return new State(((Chars) node).categories, next);
+        } else if (node instanceof Seq) {
+            List<Node> items = ((Seq) node).items;
+            for (int i = items.size() - 1; i >= 0; i--) {
+                next = compile(items.get(i), next);
+            }
+            return next;
+        } else if (node instanceof Alt) {
+            List<Node> branches = ((Alt) node).branches;
+            State rest = compile(branches.get(branches.size() - 1), next);
+            for (int i = branches.size() - 2; i >= 0; i--) {
+                State split = new State(State.SPLIT);
+                split.out = compile(branches.get(i), next);
+                split.out1 = rest;
+                rest = split;
+            }
+            return rest;
+        } else if (node instanceof Group) {
+            return compile(((Group) node).body, next);
+        } else if (node instanceof Repeat) {
+            Repeat repeat = (Repeat) node;
+            State rest;
+            if (repeat.max == Repeat.UNBOUNDED) {
+                State loop = new State(State.SPLIT);
+                State body = compile(repeat.body, loop);
+                loop.out = repeat.greedy ? body : next;
+                loop.out1 = repeat.greedy ? next : body;
+                rest = loop;
+            } else {
+                // x{0,2} is (x(x)?)?
+                rest = next;
+                for (int i = repeat.min; i < repeat.max; i++) {
+                    State split = new State(State.SPLIT);
+                    State body = compile(repeat.body, rest);
+                    split.out = repeat.greedy ? body : next;
+                    split.out1 = repeat.greedy ? next : body;
+                    rest = split;
+                }
+            }
+            for (int i = 0; i < repeat.min; i++) {
+                rest = compile(repeat.body, rest);
+            }
+            return rest;
+        }
+        throw new IllegalStateException("can't compile " + node.getClass().getSimpleName());
+    }
+
+    // ---- the DFA
+
+    private enum Mode {
+        // leftmost first: the threads after a match are dropped
+        FIRST,
+        // leftmost first, where the match only counts if the lookahead holds
+        FIRST_WITH_LOOKAHEAD,
+        // is there a match at all; the order of the threads doesn't matter
+        ANY
+    }
+
+    /**
+     * The subset construction over lists of NFA states, kept in order of preference
+     */
+    private static final class DfaBuilder {
+        private final int[] classOf;
+        private final int classes;
+        private final Mode mode;
+        private final int[] representatives;
+        private final Map<List<State>, Integer> ids = new LinkedHashMap<>();
+        private final List<List<State>> states = new ArrayList<>();
+
+        DfaBuilder(int[] classOf, int classes, Mode mode) {
+            this.classOf = classOf;
+            this.classes = classes;
+            this.mode = mode;
+            this.representatives = new int[classes];
+            Arrays.fill(representatives, -1);
+            for (int c = 0; c < CATEGORIES; c++) {
+                if (representatives[classOf[c]] < 0) {
+                    representatives[classOf[c]] = c;
+                }
+            }
+        }
+
+        Table build(State start) {
+            List<State> initial = new ArrayList<>();
+            addThread(initial, Sets.<State>newIdentityHashSet(), start);
+            if (intern(initial) != 0) {
+                throw new IllegalStateException("the pattern can't match anything");
+            }
+            List<int[]> next = new ArrayList<>();
+            List<Byte> flags = new ArrayList<>();
+            Map<Integer, int[]> branches = new HashMap<>();
+            for (int s = 0; s < states.size(); s++) {
+                List<State> list = states.get(s);
+                int matchAt = indexOfMatch(list);
+                int[] row = new int[classes];
+                Arrays.fill(row, -1);
+                if (matchAt >= 0 && mode == Mode.FIRST_WITH_LOOKAHEAD) {
+                    flags.add(DfaMatcher.LOOKAHEAD);
+                    List<State> without = new ArrayList<>(list);
+                    without.remove(matchAt);
+                    branches.put(s, new int[]{intern(list.subList(0, matchAt)), intern(without)});
+                } else {
+                    flags.add(matchAt >= 0 ? DfaMatcher.ACCEPT : 0);
+                    for (int cls = 0; cls < classes; cls++) {
+                        row[cls] = intern(step(list, representatives[cls]));
+                    }
+                }
+                next.add(row);
+            }
+            int[] table = new int[next.size() * classes];
+            byte[] flagTable = new byte[flags.size()];
+            for (int s = 0; s < next.size(); s++) {
+                System.arraycopy(next.get(s), 0, table, s * classes, classes);
+                flagTable[s] = flags.get(s);
+            }
+            int[] branchTable = null;
+            if (!branches.isEmpty()) {
+                branchTable = new int[2 * next.size()];
+                Arrays.fill(branchTable, -1);
+                for (Map.Entry<Integer, int[]> branch : branches.entrySet()) {
+                    branchTable[2 * branch.getKey()] = branch.getValue()[0];
+                    branchTable[2 * branch.getKey() + 1] = branch.getValue()[1];
+                    for (int target : branch.getValue()) {
+                        if (target >= 0 && flagTable[target] != 0) {
+                            throw new IllegalStateException("a lookahead leads to a match");
+                        }
+                    }
+                }
+            }
+            return new Table(classes, table, flagTable, branchTable).minimize();
+        }
+
+        private List<State> step(List<State> list, int category) {
+            List<State> stepped = new ArrayList<>();
+            Set<State> seen = Sets.newIdentityHashSet();
+            for (State state : list) {
+                if (state.kind == State.CHARS && state.categories.get(category)) {
+                    addThread(stepped, seen, state.out);
+                }
+            }
+            return stepped;
+        }
+
+        /**
+         * @return the id of the DFA state for list, or -1 if it is empty
+         */
+        private int intern(List<State> list) {
+            if (list.isEmpty()) {
+                return -1;
+            }
+            List<State> key = new ArrayList<>(list);
+            if (mode == Mode.FIRST) {
+                int matchAt = indexOfMatch(key);
+                if (matchAt >= 0) {
+                    key = new ArrayList<>(key.subList(0, matchAt + 1));
+                }
+            } else if (mode == Mode.ANY) {
+                key = sorted(key);
+            }
+            Integer id = ids.get(key);
+            if (id == null) {
+                id = states.size();
+                ids.put(key, id);
+                states.add(key);
+            }
+            return id;
+        }
+
+        private static List<State> sorted(List<State> list) {
+            List<State> sorted = new ArrayList<>(list);
+            Collections.sort(sorted, (a, b) -> Integer.compare(a.number, b.number));
+            return sorted;
+        }
+
+        private static int indexOfMatch(List<State> list) {
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i).kind == State.MATCH) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Adds state, or what it splits into, in order of preference; a state already there is more preferred
+         */
+        private static void addThread(List<State> list, Set<State> seen, State state) {
+            if (!seen.add(state)) {
+                return;
+            }
+            if (state.kind == State.SPLIT) {
+                addThread(list, seen, state.out);
+                addThread(list, seen, state.out1);
+            } else {
+                list.add(state);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GoldenCorpusCommandTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldMatchTestNamesWhateverTheChunking() throws Exception {
+        Path testNames = Paths.get(GoldenCorpusCommandTest.class.getResource("/testNames.txt").toURI());
+        for (int chunkSize : new int[]{1, 100, BulkParseCommand.DEFAULT_CHUNK_SIZE}) {
+            StringWriter report = new StringWriter();
+            GoldenCorpusCommand.Result result = new GoldenCorpusCommand(new HumanNameParser(), 3, chunkSize,
+                    StandardCharsets.UTF_8).check(Collections.singletonList(testNames), report);
+            assertEquals("", report.toString());
+            assertEquals(0, result.getMismatchedNames());
+            assertEquals(TokenizingNameParserTest.loadTestNames().size(), result.getNames());
+        }
+    }
+
+    @Test
+    public void shouldReportEveryMismatchInOrder() throws Exception {
+        File corpus = folder.newFile("golden.txt");
+        Files.write(corpus.toPath(), ("Jason H. Priem| | Jason| | H.| Priem| | | \r\n"
+                + "\n"
+                + "John Smith| | John| | | Smyth| | | \n"
+                + "not enough| fields\n"
+                + "Dr. Bob| | Bob| | | | | Mr.| \n"
+                + "Bj\u00f6rn O'Malley| | Bj\u00f6rn| | | O'Malley| | | ").getBytes(StandardCharsets.UTF_8));
+        String expected = corpus + ":3: John Smith\n"
+                + "    last: expected 'Smyth' but was 'Smith'\n"
+                + corpus + ":5: Dr. Bob\n"
+                + "    first: expected 'Bob' but was ''\n"
+                + "    last: expected '' but was 'Bob'\n"
+                + "    salutation: expected 'Mr.' but was 'Dr.'\n";
+        for (int chunkSize : new int[]{1, 7, 1024}) {
+            StringWriter report = new StringWriter();
+            GoldenCorpusCommand.Result result = new GoldenCorpusCommand(new HumanNameParser(), 2, chunkSize,
+                    StandardCharsets.UTF_8).check(Arrays.asList(corpus.toPath(), corpus.toPath()), report);
+            // the second time through the lines are numbered from 1 again
+            assertEquals(expected + expected, report.toString());
+            assertEquals(8, result.getNames());
+            assertEquals(4, result.getSkipped());
+            assertEquals(4, result.getMismatchedNames());
+            assertEquals(4, result.getMismatches("last"));
+            assertEquals(2, result.getMismatches("first"));
+            assertEquals(0, result.getMismatches("middle"));
+            assertEquals(0, result.getFailures());
+        }
+    }
+
+    @Test
+    public void shouldReportFailures() throws Exception {
+        File corpus = folder.newFile("golden.txt");
+        Files.write(corpus.toPath(), ("Steve Ash| | Steve| | | Ash| | | \n"
+                + "John Quincy Adams Smith| | John| | Quincy Adams| Smith| | | \n").getBytes(StandardCharsets.UTF_8));
+        HumanNameParser parser = new HumanNameParser(ParserConfig.builder().maxTokens(3).build());
+        StringWriter report = new StringWriter();
+        GoldenCorpusCommand.Result result = new GoldenCorpusCommand(parser, 1, 1024, StandardCharsets.UTF_8)
+                .check(Collections.singletonList(corpus.toPath()), report);
+        assertTrue(report.toString(), report.toString().startsWith(corpus + ":2: John Quincy Adams Smith\n"
+                + "    error: " + ParseException.class.getName()));
+        assertEquals(1, result.getFailures());
+        assertEquals(1, result.getMismatchedNames());
+        assertTrue(result.toString(), result.toString().startsWith("2 names, 1 mismatched (1 failed)"));
+    }
+
+    @Test
+    public void shouldExitWithOneOnAMismatch() throws Exception {
+        File corpus = folder.newFile("golden.txt");
+        Files.write(corpus.toPath(), "Steve Ash| | Steve| | | Ash| | | \n".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        assertEquals(0, GoldenCorpusCommand.run(new String[]{corpus.getPath()}, new ByteArrayOutputStream(),
+                new PrintStream(err, true)));
+        String summary = new String(err.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(summary, summary.contains("names/sec"));
+
+        Files.write(corpus.toPath(), "Steve Ash| | Steven| | | Ash| | | \n".getBytes(StandardCharsets.UTF_8));
+        File report = new File(folder.getRoot(), "report.txt");
+        assertEquals(1, GoldenCorpusCommand.run(new String[]{"--threads=2", "--report=" + report, corpus.getPath()},
+                new ByteArrayOutputStream(), new PrintStream(new ByteArrayOutputStream(), true)));
+        assertEquals(corpus + ":1: Steve Ash\n    first: expected 'Steven' but was 'Steve'\n",
+                new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8));
+        assertEquals(2, GoldenCorpusCommand.run(new String[]{"--bogus"}, new ByteArrayOutputStream(),
+                new PrintStream(new ByteArrayOutputStream(), true)));
+    }
+}
@@ -5,6 +5,10 @@ import static org.junit.Assert.assertEquals;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
@@ -62,6 +66,46 @@ public class HumanNameParserTest {
         assertEquals("RDH", seg1.getPostnominal());
     }
 
+    @Test
+    public void shouldParseFromManyThreadsAtOnce() throws Exception {
+        final List<String> names = TokenizingNameParserTest.loadTestNames();
+        final HumanNameParser parser = ParserRegistry.shared().parserFor(ParserConfig.defaults());
+        final List<ParsedName> expected = new ArrayList<>();
+        for (String name : names) {
+            expected.add(new HumanNameParser().parse(name));
+        }
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int offset = t;
+                results.add(pool.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        int checked = 0;
+                        for (int round = 0; round < 20; round++) {
+                            for (int i = 0; i < names.size(); i++) {
+                                // each thread walks the names from a different place so they overlap differently
+                                int at = (i + offset * 7) % names.size();
+                                ParsedName got = parser.parse(names.get(at));
+                                assertEquals(expected.get(at).getTokens(), got.getTokens());
+                                assertEquals(expected.get(at).getLabels(), got.getLabels());
+                                checked += 1;
+                            }
+                        }
+                        return checked;
+                    }
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(20 * names.size(), result.get().intValue());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     @Test
     public void shouldMakeParsedNameFrom() throws Exception {
         assertName("", "", new ArrayList<Label>());
@@ -78,7 +122,7 @@ public class HumanNameParserTest {
         assertEquals(expected.size(), toks.size());
         ParseWork work = new ParseWork(name);
         for (int i = 0; i < codes.length(); i++) {
-            work.posToLabel[i] = decode(codes.charAt(i));
+            work.markOriginal(i, i + 1, decode(codes.charAt(i)), false);
         }
         ParsedName parsedName = HumanNameParser.makeParsedNameFrom(work, false);
         assertEquals(expected.size(), parsedName.size());
@@ -0,0 +1,51 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class LabelSpansTest {
+
+    @Test
+    public void shouldMergeTouchingSpansWithTheSameLabel() throws Exception {
+        LabelSpans spans = new LabelSpans();
+        spans.add(6, 8, Label.Middle);
+        spans.add(0, 2, Label.First);
+        spans.add(3, 5, Label.Middle);
+        spans.add(5, 6, Label.Middle);
+        spans.add(2, 3, Label.Whitespace);
+        assertEquals(3, spans.size());
+        assertEquals(3, spans.start(2));
+        assertEquals(8, spans.end(2));
+        assertEquals(Label.Middle, spans.label(2));
+    }
+
+    @Test
+    public void shouldNotOverwriteSpans() throws Exception {
+        LabelSpans spans = new LabelSpans();
+        spans.add(2, 5, Label.Last);
+        for (int[] range : new int[][] {{0, 3}, {4, 6}, {3, 4}, {1, 7}}) {
+            try {
+                spans.add(range[0], range[1], Label.First);
+                fail(Arrays.toString(range));
+            } catch (IllegalStateException e) {
+                assertEquals("overwriting Last", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void shouldMakeUnknownTokensOfTheGaps() throws Exception {
+        LabelSpans spans = new LabelSpans();
+        spans.add(0, 5, Label.First);
+        spans.add(5, 6, Label.Whitespace);
+        spans.add(9, 10, Label.Whitespace);
+        spans.add(10, 13, Label.Last);
+        ParsedName name = spans.toParsedName("Steve (x) Ash ", true);
+        assertEquals(Arrays.asList("Steve", "x", "Ash", ""), name.getTokens());
+        assertEquals(Arrays.asList(Label.First, Label.Unknown, Label.Last, Label.Unknown), name.getLabels());
+    }
+}
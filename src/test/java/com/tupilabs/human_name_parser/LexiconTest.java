@@ -0,0 +1,130 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.Lists;
+
+public class LexiconTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldMatchIgnoringCaseAndTrailingDots() throws Exception {
+        Lexicon lexicon = Lexicon.of("jr", "Ph.D.", "van der");
+        assertTrue(lexicon.contains("jr"));
+        assertTrue(lexicon.contains("JR"));
+        assertTrue(lexicon.contains("Jr.."));
+        assertTrue(lexicon.contains("ph.d"));
+        assertTrue(lexicon.contains("PH.D."));
+        assertFalse(lexicon.contains("phd"));
+        assertFalse(lexicon.contains("j"));
+        assertFalse(lexicon.contains("jrr"));
+        assertFalse(lexicon.contains(""));
+        assertEquals(Arrays.asList("jr", "ph.d", "van der"), lexicon.entries());
+    }
+
+    @Test
+    public void shouldOnlyFoldAsciiLetters() throws Exception {
+        // U+0130 (I with a dot above) lower cases to an ASCII i
+        assertFalse(Lexicon.of("ii").contains("\u0130\u0130"));
+        assertFalse(Lexicon.of("\u0130\u0130").contains("ii"));
+        assertTrue(Lexicon.of("\u00e9cole").contains("\u00e9COLE"));
+        assertFalse(Lexicon.of("\u00e9cole").contains("\u00c9cole"));
+        assertEquals(Arrays.asList(Label.First, Label.Middle, Label.Last),
+                new HumanNameParser().parse("John Smith \u0130\u0130").getLabels());
+    }
+
+    @Test
+    public void shouldMatchPhrasesWordByWord() throws Exception {
+        Lexicon lexicon = Lexicon.of("van", "van der", "de  la");
+        assertEquals(2, lexicon.maxWords());
+        assertTrue(lexicon.contains("van"));
+        assertTrue(lexicon.contains("Van Der"));
+        assertTrue(lexicon.contains("de la"));
+        assertFalse(lexicon.contains("der"));
+        assertFalse(lexicon.contains("de"));
+        assertFalse(lexicon.contains("van der berg"));
+    }
+
+    @Test
+    public void shouldTurnDownPhrasesThatAreOnlyLookedUpAsOneWord() throws Exception {
+        Lexicon phrases = Lexicon.of("mr", "the honorable");
+        for (int which = 0; which < 3; which++) {
+            try {
+                ParserConfig.Builder builder = ParserConfig.builder();
+                if (which == 0) {
+                    builder.salutations(phrases);
+                } else if (which == 1) {
+                    builder.suffixes(phrases);
+                } else {
+                    builder.postnominals(phrases);
+                }
+                fail();
+            } catch (IllegalArgumentException expected) {
+                assertTrue(expected.getMessage(), expected.getMessage().contains("'the honorable'"));
+            }
+        }
+        assertEquals(phrases, ParserConfig.builder().prefixes(phrases).build().getPrefixes());
+    }
+
+    @Test
+    public void shouldCollapseDuplicates() throws Exception {
+        Lexicon lexicon = Lexicon.of("Jr", "jr.", "JR");
+        assertEquals(1, lexicon.size());
+    }
+
+    @Test
+    public void shouldParseWithLargeCustomLexicons() throws Exception {
+        List<String> postnominals = Lists.newArrayList();
+        for (int i = 0; i < 5000; i++) {
+            postnominals.add("cert" + i);
+        }
+        postnominals.add("FACS");
+        Lexicon prefixes = Lexicon.of("ter", "op den");
+        HumanNameParser parser = new HumanNameParser(true, Lexicon.SALUTATIONS, Lexicon.SUFFIXES,
+                Lexicon.of(postnominals), prefixes);
+
+        SegmentedName name = parser.parse("Jan op den Berg, facs").toSegmented();
+        assertEquals("Jan", name.getFirst());
+        assertEquals("op den Berg", name.getLast());
+        assertEquals("facs", name.getPostnominal());
+
+        name = parser.parse("Jan ter Horst Cert4999").toSegmented();
+        assertEquals("ter Horst", name.getLast());
+        assertEquals("Cert4999", name.getPostnominal());
+
+        // van isn't a prefix any more
+        name = parser.parse("Jan van Horst").toSegmented();
+        assertEquals("van", name.getMiddle());
+        assertEquals("Horst", name.getLast());
+
+        TokenizingNameParser tokenizing = new TokenizingNameParser(true, Lexicon.SALUTATIONS, Lexicon.SUFFIXES,
+                Lexicon.of(postnominals), prefixes);
+        assertEquals(parser.parse("Jan op den Berg, facs").getLabels(),
+                tokenizing.parse("Jan op den Berg, facs").getLabels());
+    }
+
+    @Test
+    public void shouldLoadOneEntryPerLine() throws Exception {
+        File file = folder.newFile("prefixes.txt");
+        Files.write(file.toPath(), "# dutch\nvan\r\n\n  op den  \nTER.\n".getBytes(StandardCharsets.UTF_8));
+        Lexicon lexicon = Lexicon.load(file.toPath());
+        assertEquals(Arrays.asList("van", "op den", "ter"), lexicon.entries());
+        assertFalse(lexicon.contains("# dutch"));
+        assertEquals(Lexicon.of("van", "op den", "ter"), lexicon);
+    }
+}
@@ -0,0 +1,162 @@
+package com.tupilabs.human_name_parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import com.google.common.base.CaseFormat;
+import com.tupilabs.human_name_parser.HumanNameParser.Rule;
+
+/**
+ * Writes {@link NameGrammar}: every {@link Rule} compiled by {@link DfaCompiler} into tables. Run it with
+ * {@code mvn -Pgrammar test-compile exec:exec} after changing a rule; NameGrammarTest fails until then.
+ */
+public final class NameGrammarGenerator {
+
+    static final String PATH = "com/tupilabs/human_name_parser/NameGrammar.java";
+    private static final int WIDTH = 120;
+
+    private NameGrammarGenerator() {}
+
+    /**
+     * @param args the source root to write NameGrammar.java under
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: NameGrammarGenerator source-root");
+            System.exit(2);
+        }
+        File file = new File(args[0], PATH);
+        Files.write(file.toPath(), generate().getBytes(StandardCharsets.ISO_8859_1));
+        System.err.println("wrote " + file);
+    }
+
+    static String generate() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package com.tupilabs.human_name_parser;\n\n");
+        sb.append("/**\n");
+        sb.append(" * The {@link HumanNameParser.Rule}s compiled into DFAs, one {@link DfaMatcher} per rule in the same order.\n");
+        sb.append(" *\n");
+        sb.append(" * Generated by NameGrammarGenerator (in src/test) from the patterns of the rules, so don't edit it: change\n");
+        sb.append(" * the rule and run {@code mvn -Pgrammar test-compile exec:exec}. NameGrammarTest fails while this is out\n");
+        sb.append(" * of date.\n");
+        sb.append(" */\n");
+        sb.append("final class NameGrammar {\n\n");
+        StringBuilder names = new StringBuilder();
+        for (Rule rule : Rule.values()) {
+            String name = CaseFormat.UPPER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, rule.name());
+            DfaCompiler.Compiled compiled = DfaCompiler.compile(rule.pattern.pattern(), rule.pattern.flags());
+            if (compiled.anchored != rule.anchored) {
+                throw new IllegalStateException(rule + " is anchored: " + compiled.anchored);
+            }
+            appendMatcher(sb, name, compiled);
+            names.append(names.length() == 0 ? "" : ", ").append(name);
+        }
+        sb.append("    static final DfaMatcher[] RULES = {").append(names).append("};\n\n");
+        sb.append("    private NameGrammar() {}\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static void appendMatcher(StringBuilder sb, String name, DfaCompiler.Compiled compiled) {
+        sb.append("    static final DfaMatcher ").append(name).append(" = new DfaMatcher(\n");
+        sb.append("            ").append(quote(compiled.regex)).append(",\n");
+        sb.append("            ").append(compiled.anchored).append(",\n");
+        int[] ascii = new int[compiled.asciiClasses.length];
+        for (int c = 0; c < ascii.length; c++) {
+            ascii[c] = compiled.asciiClasses[c];
+        }
+        appendArray(sb, "            ", "byte", ascii);
+        sb.append(",\n");
+        sb.append("            ").append(compiled.lineTerminatorClass).append(", ").append(compiled.letterClass)
+                .append(", ").append(compiled.otherClass).append(",\n");
+        appendDfa(sb, "forward", compiled.forward);
+        sb.append(",\n");
+        appendDfa(sb, "reverse", compiled.reverse);
+        sb.append(",\n");
+        appendDfa(sb, "lookahead", compiled.lookahead);
+        sb.append(",\n");
+        sb.append("            ").append(compiled.negativeLookahead).append(");\n\n");
+    }
+
+    private static void appendDfa(StringBuilder sb, String what, DfaCompiler.Table table) {
+        if (table == null) {
+            sb.append("            null");
+            return;
+        }
+        sb.append("            // ").append(what).append(": ").append(table.states()).append(" states\n");
+        sb.append("            new DfaMatcher.Dfa(").append(table.classes).append(",\n");
+        appendString(sb, DfaCompiler.Table.packStates(table.next));
+        sb.append(",\n");
+        appendString(sb, table.packFlags());
+        sb.append(",\n");
+        if (table.branches == null) {
+            sb.append("                    null)");
+        } else {
+            appendString(sb, DfaCompiler.Table.packStates(table.branches));
+            sb.append(")");
+        }
+    }
+
+    private static void appendArray(StringBuilder sb, String indent, String type, int[] values) {
+        sb.append(indent).append("new ").append(type).append("[]{");
+        int lineStart = sb.lastIndexOf("\n") + 1;
+        for (int i = 0; i < values.length; i++) {
+            String value = Integer.toString(values[i]) + (i < values.length - 1 ? "," : "");
+            if (sb.length() - lineStart + value.length() + 1 > WIDTH) {
+                sb.append('\n');
+                lineStart = sb.length();
+                sb.append(indent).append("    ");
+            } else if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(value);
+        }
+        sb.append('}');
+    }
+
+    /**
+     * s as string literals joined with +, wrapped to the width
+     */
+    private static void appendString(StringBuilder sb, String s) {
+        String indent = "                    ";
+        sb.append(indent);
+        int lineStart = sb.lastIndexOf("\n") + 1;
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < s.length(); i++) {
+            String c = quote(s.substring(i, i + 1));
+            c = c.substring(1, c.length() - 1);
+            // room for the quotes and " +"
+            if (sb.length() - lineStart + line.length() + c.length() + 4 > WIDTH) {
+                sb.append('"').append(line).append("\" +\n");
+                lineStart = sb.length();
+                sb.append(indent).append("    ");
+                line.setLength(0);
+            }
+            line.append(c);
+        }
+        sb.append('"').append(line).append('"');
+    }
+
+    /**
+     * A string literal for s that stays ASCII
+     */
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\' || c == '"') {
+                sb.append('\\').append(c);
+            } else if (c >= 0x20 && c < 0x7F) {
+                sb.append(c);
+            } else if (c < 0x100) {
+                // not a unicode escape, which javac would turn back into the char before it saw the literal
+                sb.append(String.format("\\%03o", (int) c));
+            } else {
+                sb.append(String.format("\\u%04x", (int) c));
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,140 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import com.tupilabs.human_name_parser.HumanNameParser.ParseWork;
+import com.tupilabs.human_name_parser.HumanNameParser.Rule;
+
+/**
+ * Checks that the generated DFAs find exactly what the regexes of the rules find
+ */
+public class NameGrammarTest {
+
+    // what random inputs are made of: everything the rules tell apart, plus the chars that java.util.regex reads
+    // in a way of its own (line terminators, surrogate pairs and lone surrogates)
+    private static final String[] PIECES = {"a", "Jo", "ZZ", "x", "_", "7", " ", "  ", "'", "''", "\"", "*", "|",
+            "\\", "(", ")", ".", "..", ",", "-", "\t", "\n", "\r", "\u0085", "\u2028", "\u00a0", "\u00e9", "\u00df",
+            "e\u0301", "\u4e2d", "\ud835\udc00", "\ud800", "\udc00", "(Bill)", "\"Bob\"", "''Al''", "('Jim')",
+            "|x y|"};
+
+    private final HumanNameParser[] parsers = {new HumanNameParser(true), new HumanNameParser(false)};
+    private final HumanNameParser[] regexParsers = {new RegexParser(true), new RegexParser(false)};
+
+    @Test
+    public void shouldBeUpToDate() throws Exception {
+        File file = new File("src/main/java", NameGrammarGenerator.PATH);
+        String onDisk = new String(Files.readAllBytes(file.toPath()), StandardCharsets.ISO_8859_1);
+        assertEquals("NameGrammar.java is out of date; run mvn -Pgrammar test-compile exec:exec",
+                NameGrammarGenerator.generate(), onDisk);
+    }
+
+    @Test
+    public void shouldFindWhatTheRegexesFindOnTestNames() throws Exception {
+        for (String name : TokenizingNameParserTest.loadTestNames()) {
+            assertSameMatches(name);
+        }
+    }
+
+    @Test
+    public void shouldFindWhatTheRegexesFindOnRandomInput() throws Exception {
+        Random rand = new Random(0x5EEDL);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 50000; i++) {
+            sb.setLength(0);
+            int pieces = rand.nextInt(10);
+            for (int j = 0; j < pieces; j++) {
+                sb.append(PIECES[rand.nextInt(PIECES.length)]);
+            }
+            assertSameMatches(sb.toString());
+        }
+    }
+
+    @Test
+    public void shouldParseLikeTheRegexes() throws Exception {
+        for (String name : TokenizingNameParserTest.loadTestNames()) {
+            assertSameParse(name);
+        }
+        Random rand = new Random(0xFEEDL);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            sb.setLength(0);
+            int pieces = 1 + rand.nextInt(7);
+            for (int j = 0; j < pieces; j++) {
+                sb.append(PIECES[rand.nextInt(PIECES.length)]);
+                if (rand.nextInt(3) > 0) {
+                    sb.append(' ');
+                }
+            }
+            assertSameParse(sb.toString());
+        }
+    }
+
+    @Test
+    public void shouldRefuseWhatItCantMatchTheSame() throws Exception {
+        String[] unsupported = {"a\\b", "a$", "a(?=b)c", "(?<=a)b", "(a*)*", "(a+)\\1", "(a)|\\1", "a++", "(?i)a",
+                "[[:alpha:]]"};
+        for (String regex : unsupported) {
+            try {
+                DfaCompiler.compile(regex, Pattern.CASE_INSENSITIVE);
+                throw new AssertionError(regex);
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        try {
+            DfaCompiler.compile("a", Pattern.MULTILINE);
+            throw new AssertionError("MULTILINE");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private static void assertSameMatches(String input) {
+        for (Rule rule : Rule.values()) {
+            Matcher matcher = rule.pattern.matcher(input);
+            long expected = -1;
+            if (rule.anchored ? matcher.lookingAt() : matcher.find()) {
+                expected = (long) matcher.start() << 32 | matcher.end();
+            }
+            assertEquals(rule + " in [" + input + "]", expected, NameGrammar.RULES[rule.ordinal()].find(input));
+        }
+    }
+
+    private void assertSameParse(String name) {
+        for (int i = 0; i < parsers.length; i++) {
+            ParsedName expected = regexParsers[i].parse(name);
+            ParsedName actual = parsers[i].parse(name);
+            assertEquals("tokens for [" + name + "]", expected.getTokens(), actual.getTokens());
+            assertEquals("labels for [" + name + "]", expected.getLabels(), actual.getLabels());
+        }
+    }
+
+    /**
+     * The parser as it was before the grammar was compiled: every rule is run by java.util.regex
+     */
+    private static final class RegexParser extends HumanNameParser {
+
+        RegexParser(boolean trimTokens) {
+            super(trimTokens);
+        }
+
+        @Override
+        boolean chop(ParseWork work, Rule rule, Label label) {
+            Matcher matcher = rule.pattern.matcher(work.budgeted ? work.budget : work.current);
+            if (!(rule.anchored ? matcher.lookingAt() : matcher.find())) {
+                return false;
+            }
+            work.mark(matcher.start(), matcher.end() - 1, label);
+            work.remove(matcher.start(), matcher.end() - 1);
+            work.normalizeCurrent();
+            return true;
+        }
+    }
+}
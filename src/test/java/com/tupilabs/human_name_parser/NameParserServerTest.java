@@ -0,0 +1,268 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class NameParserServerTest {
+
+    private NameParserServer server;
+
+    @After
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void shouldParseOneName() throws Exception {
+        start(new HumanNameParser(), 4);
+        String expected = "{\"name\":\"Mr. Steve M Ash Jr\",\"tokens\":[{\"token\":\"Mr.\",\"label\":\"Salutation\"},"
+                + "{\"token\":\"Steve\",\"label\":\"First\"},{\"token\":\"M\",\"label\":\"MiddleInitial\"},"
+                + "{\"token\":\"Ash\",\"label\":\"Last\"},{\"token\":\"Jr\",\"label\":\"Suffix\"}],"
+                + "\"leadingInit\":null,\"first\":\"Steve\",\"nicknames\":null,\"middle\":\"M\",\"last\":\"Ash\","
+                + "\"suffix\":\"Jr\",\"salutation\":\"Mr.\",\"postnominal\":null}\n";
+        assertEquals(expected, request("GET", "/parse?name=" + URLEncoder.encode("Mr. Steve M Ash Jr", "UTF-8"),
+                null).body);
+        assertEquals(expected, request("POST", "/parse", "Mr. Steve M Ash Jr\r\n").body);
+        assertEquals(400, request("GET", "/parse", null).status);
+        assertEquals(1, server.stats().getBadRequests());
+        assertEquals(2, server.stats().getRequests());
+    }
+
+    @Test
+    public void shouldWriteStatsAsJsonWhateverTheLocale() throws Exception {
+        start(new HumanNameParser(), 4);
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            String json = server.stats().toJson();
+            assertTrue(json, json.contains("\"requestsPerSecond\":0.0,"));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    @Test
+    public void shouldParseBatchesOfLinesOrJsonArrays() throws Exception {
+        HumanNameParser parser = new HumanNameParser();
+        start(parser, 4);
+        String[] names = {"Steve Ash", "Bj\u00f6rn \"B\" M\u00fcller", "", "Ash, Steve"};
+        StringBuilder lines = new StringBuilder();
+        StringBuilder array = new StringBuilder("[");
+        StringBuilder expectedLines = new StringBuilder();
+        StringBuilder expectedArray = new StringBuilder("[");
+        for (int i = 0; i < names.length; i++) {
+            lines.append(names[i]).append(i % 2 == 0 ? "\n" : "\r\n");
+            String one = request("POST", "/parse", names[i]).body;
+            expectedLines.append(one);
+            array.append(i > 0 ? ", " : "");
+            OutputFormat.appendJson(array, names[i]);
+            expectedArray.append(i > 0 ? "," : "").append(one.trim());
+        }
+        Response batch = request("POST", "/batch", lines.toString());
+        assertEquals(200, batch.status);
+        assertEquals(expectedLines.toString(), batch.body);
+        assertEquals(expectedArray + "]\n", request("POST", "/batch", array.append(']').toString()).body);
+
+        assertEquals(400, request("POST", "/batch", "[\"Steve Ash\", 3]").status);
+        assertEquals(405, request("GET", "/batch", null).status);
+        assertEquals(404, request("GET", "/parse/more?name=x", null).status);
+        assertTrue(server.stats().toString(), server.stats().getNames() >= 2 * names.length);
+    }
+
+    @Test
+    public void shouldReadJsonArraysOfStrings() throws Exception {
+        assertEquals(Arrays.asList("a", "\"b\"\n", "\u00e9", ""),
+                NameParserServer.parseJsonArray(" [\"a\",\"\\\"b\\\"\\n\" , \"\\u00e9\",\"\"] "));
+        assertEquals(Arrays.asList(), NameParserServer.parseJsonArray("[ ]"));
+        for (String bad : new String[]{"", "[", "[\"a\"", "[\"a\",]", "[\"a\"] x", "[\"\\x\"]", "{}"}) {
+            try {
+                NameParserServer.parseJsonArray(bad);
+                throw new AssertionError(bad);
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void shouldRefuseBodiesOverTheLimit() throws Exception {
+        server = new NameParserServer(new HumanNameParser(), new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                0), 4, 16);
+        server.start();
+        assertEquals(200, request("POST", "/parse", "Steve Ash").status);
+        assertEquals(413, request("POST", "/batch", "Steve Ash\nSteve Ash\n").status);
+    }
+
+    @Test
+    public void shouldAnswerPipelinedRequestsInOrder() throws Exception {
+        start(new HumanNameParser(), 4);
+        String first = request("POST", "/parse", "Steve Ash").body;
+        String second = request("POST", "/parse", "Ash, Steve M").body;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            // both requests go out before either response is read
+            OutputStream out = socket.getOutputStream();
+            out.write((post("Steve Ash") + post("Ash, Steve M")).getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            assertEquals(first, readResponse(in));
+            assertEquals(second, readResponse(in));
+        }
+    }
+
+    @Test
+    public void shouldShedRequestsOverTheLimit() throws Exception {
+        final CountDownLatch parsing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final HumanNameParser real = new HumanNameParser();
+        start(new NameParser() {
+            @Override
+            public ParsedName parse(String fullName) {
+                parsing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return real.parse(fullName);
+            }
+        }, 1);
+        final int[] status = new int[1];
+        Thread blocked = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    status[0] = request("POST", "/parse", "Steve Ash").status;
+                } catch (IOException e) {
+                    status[0] = -1;
+                }
+            }
+        });
+        blocked.start();
+        assertTrue(parsing.await(10, TimeUnit.SECONDS));
+        Response shed = request("POST", "/parse", "Steve Ash");
+        assertEquals(503, shed.status);
+        assertEquals("1", shed.retryAfter);
+        assertEquals(1, server.stats().getInFlight());
+        // stats are answered whatever the load
+        assertEquals(200, request("GET", "/stats", null).status);
+        release.countDown();
+        blocked.join();
+        assertEquals(200, status[0]);
+        NameParserServer.Stats stats = server.stats();
+        assertEquals(1, stats.getRequests());
+        assertEquals(1, stats.getRejected());
+        assertEquals(0, stats.getInFlight());
+    }
+
+    @Test
+    public void shouldPutLoadOnTheServer() throws Exception {
+        start(new HumanNameParser(), 64);
+        NameParserLoadDriver driver = new NameParserLoadDriver(new URL("http://localhost:" + server.getPort()), 4,
+                300, TimeUnit.MILLISECONDS, TokenizingNameParserTest.loadTestNames(), 10);
+        NameParserLoadDriver.Result result = driver.run();
+        assertTrue(result.toString(), result.getRequests() > 0);
+        assertEquals(result.toString(), 0, result.getFailed() + result.getShed());
+        assertEquals(10 * result.getRequests(), result.getNames());
+        assertEquals(result.getRequests(), server.stats().getRequests());
+        assertTrue(server.stats().getLatencyP99Nanos() > 0);
+    }
+
+    private void start(NameParser parser, int maxConcurrent) throws IOException {
+        server = new NameParserServer(parser, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                maxConcurrent, NameParserServer.DEFAULT_MAX_BODY);
+        server.start();
+    }
+
+    private static String post(String body) {
+        return "POST /parse HTTP/1.1\r\nHost: localhost\r\nContent-Length: "
+                + body.getBytes(StandardCharsets.UTF_8).length + "\r\n\r\n" + body;
+    }
+
+    /**
+     * Reads one response with a Content-Length off the connection and gives back its body
+     */
+    private static String readResponse(InputStream in) throws IOException {
+        StringBuilder headers = new StringBuilder();
+        while (!headers.toString().endsWith("\r\n\r\n")) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("connection closed after " + headers);
+            }
+            headers.append((char) b);
+        }
+        assertTrue(headers.toString(), headers.toString().startsWith("HTTP/1.1 200"));
+        int length = -1;
+        for (String header : headers.toString().split("\r\n")) {
+            if (header.toLowerCase().startsWith("content-length:")) {
+                length = Integer.parseInt(header.substring(header.indexOf(':') + 1).trim());
+            }
+        }
+        byte[] body = new byte[length];
+        for (int read = 0; read < length; ) {
+            int n = in.read(body, read, length - read);
+            if (n < 0) {
+                throw new IOException("connection closed in the body");
+            }
+            read += n;
+        }
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private Response request(String method, String path, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + server.getPort() + path)
+                .openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        if (in != null) {
+            try (InputStream response = in) {
+                byte[] buf = new byte[8192];
+                int read;
+                while ((read = response.read(buf)) > 0) {
+                    bytes.write(buf, 0, read);
+                }
+            }
+        }
+        return new Response(status, new String(bytes.toByteArray(), StandardCharsets.UTF_8),
+                connection.getHeaderField("Retry-After"));
+    }
+
+    private static final class Response {
+        final int status;
+        final String body;
+        final String retryAfter;
+
+        Response(int status, String body, String retryAfter) {
+            this.status = status;
+            this.body = body;
+            this.retryAfter = retryAfter;
+        }
+    }
+}
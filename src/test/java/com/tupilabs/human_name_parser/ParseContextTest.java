@@ -0,0 +1,62 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.nio.CharBuffer;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ParseContextTest {
+
+    @Test
+    public void shouldParseTheSameWhenReusingOneContext() throws Exception {
+        List<String> names = TokenizingNameParserTest.loadTestNames();
+        // long ones in between short ones so the buffers grow and then hold leftovers that must be ignored
+        StringBuilder longName = new StringBuilder();
+        while (longName.length() < ParseContext.MAX_POOLED_LENGTH * 2) {
+            longName.append("Smith,  John \"Jack\" Q van der Berg Jr ");
+        }
+        names.add(0, longName.toString());
+        names.add(names.size() / 2, longName.toString());
+
+        ParseContext context = new ParseContext();
+        HumanNameParser parser = new HumanNameParser();
+        TokenizingNameParser tokenizing = new TokenizingNameParser(false);
+        for (int round = 0; round < 2; round++) {
+            for (String name : names) {
+                assertSameName(new HumanNameParser().parse(name, new ParseContext()), parser.parse(name, context));
+                assertSameName(parser.parse(name, new ParseContext()), parser.parse(name));
+                assertSameName(new TokenizingNameParser(false).parse(name, new ParseContext()),
+                        tokenizing.parse(name, context));
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotHoldOnToTheInputAfterAParse() throws Exception {
+        ParseContext context = new ParseContext();
+        CharBuffer buffer = CharBuffer.wrap("Smith, John Q Jr");
+        assertEquals("Smith", new HumanNameParser().parse(buffer, context).toSegmented().getLast());
+        assertNull(context.work.input);
+        assertEquals(0, context.work.current.length());
+
+        // a parse that runs out of steps part way, with metrics so it goes the observed way
+        HumanNameParser observed = new HumanNameParser(ParserConfig.builder().maxSteps(1).build(), new ParserMetrics());
+        try {
+            observed.parse(buffer, context);
+            fail();
+        } catch (ParseException expected) {
+        }
+        assertNull(context.work.input);
+        assertEquals(0, context.work.current.length());
+    }
+
+    private static void assertSameName(ParsedName expected, ParsedName actual) {
+        assertEquals(expected.getInputName(), actual.getInputName());
+        assertEquals(expected.getTokens(), actual.getTokens());
+        assertEquals(expected.getLabels(), actual.getLabels());
+    }
+}
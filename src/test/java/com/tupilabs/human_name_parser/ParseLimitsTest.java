@@ -0,0 +1,155 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.common.base.Strings;
+
+public class ParseLimitsTest {
+
+    // shapes that made the parse quadratic: lots of words, lots of initials, runs of spaces, commas
+    private static final String[] ADVERSARIAL = {"x y ", "ab  ", "A. ", "a,b ", "(x) ", "Mc ", "'a' "};
+    // one long word before the last name, which the last name scan tries to start a prefix at every boundary of
+    private static final String[] LONG_WORDS = {"a.", "de.", "a\u0301\u0301", "x_-"};
+
+    @Test
+    public void shouldTurnDownNamesOverTheLimits() throws Exception {
+        ParserConfig config = ParserConfig.builder().maxInputLength(20).maxTokens(3).build();
+        for (NameParser parser : new NameParser[] {new HumanNameParser(config), new TokenizingNameParser(config)}) {
+            assertEquals("Ash", parser.parse("Steve M Ash").toSegmented().getLast());
+            assertFails(parser, "Steve Michael Ash Jr.", "21 chars");
+            assertFails(parser, "Steve M J Ash", "limit of 3 tokens");
+        }
+    }
+
+    @Test
+    public void shouldStopParsesOverTheBudget() throws Exception {
+        HumanNameParser parser = new HumanNameParser(ParserConfig.builder().maxSteps(100).build());
+        assertEquals("Ash", parser.parse("Steve Ash").toSegmented().getLast());
+        assertFails(parser, Strings.repeat("Steve ", 20), "limit of 100 steps");
+
+        BatchResult result = parser.parseAll(Arrays.asList("Steve Ash", Strings.repeat("x y ", 100)));
+        assertEquals(1, result.getFailures().size());
+        assertEquals(1, result.getFailures().get(0).getIndex());
+        assertTrue(result.getFailures().get(0).getCause() instanceof ParseException);
+
+        HumanNameParser timed = new HumanNameParser(ParserConfig.builder().timeBudget(0, TimeUnit.NANOSECONDS)
+                .build());
+        assertEquals("Ash", timed.parse("Steve Ash").toSegmented().getLast());
+        HumanNameParser late = new HumanNameParser(ParserConfig.builder().timeBudget(1, TimeUnit.NANOSECONDS)
+                .build());
+        assertFails(late, Strings.repeat("x y ", 10000), "out of time");
+    }
+
+    @Test
+    public void shouldTakeLinearStepsOnAdversarialNames() throws Exception {
+        HumanNameParser parser = new HumanNameParser(ParserConfig.builder().maxSteps(Long.MAX_VALUE).build());
+        ParseContext context = new ParseContext();
+        for (String shape : ADVERSARIAL) {
+            long last = 0;
+            for (int length = 1024; length <= 32 * 1024; length *= 2) {
+                String name = Strings.repeat(shape, length / shape.length());
+                parser.parse(name, context);
+                long steps = context.work.budget.steps();
+                assertTrue(shape + " took " + steps + " steps for " + length, steps <= 8L * length);
+                assertTrue(shape + " grew from " + last + " to " + steps, steps <= 3 * last || last == 0);
+                last = steps;
+            }
+        }
+    }
+
+    @Test
+    public void shouldTakeLinearStepsOnLongWords() throws Exception {
+        HumanNameParser parser = new HumanNameParser(ParserConfig.builder().maxSteps(Long.MAX_VALUE).build());
+        ParseContext context = new ParseContext();
+        for (String shape : LONG_WORDS) {
+            long last = 0;
+            for (int length = 1024; length <= 32 * 1024; length *= 2) {
+                String name = Strings.repeat(shape, length / shape.length()) + " z";
+                // the lexicon scans read through the budget too, so their steps are counted with the DFAs'
+                parser.parse(name, context);
+                long steps = context.work.budget.steps();
+                assertTrue(shape + " took " + steps + " steps for " + length, steps <= 8L * length);
+                assertTrue(shape + " grew from " + last + " to " + steps, steps <= 3 * last || last == 0);
+                last = steps;
+            }
+        }
+    }
+
+    @Test
+    public void shouldCountTheLexiconScansInTheBudget() throws Exception {
+        HumanNameParser parser = new HumanNameParser(ParserConfig.builder().maxSteps(Long.MAX_VALUE).build());
+        String name = Strings.repeat("a.", 1000) + " z";
+        for (HumanNameParser.Stage stage : new HumanNameParser.Stage[] {HumanNameParser.Stage.Postnominal,
+                HumanNameParser.Stage.Suffix, HumanNameParser.Stage.Last, HumanNameParser.Stage.Salutation}) {
+            HumanNameParser.ParseWork work = new HumanNameParser.ParseWork(name);
+            work.startBudget(Long.MAX_VALUE, 0);
+            parser.runStage(work, stage);
+            assertTrue(stage + " read nothing through the budget", work.budget.steps() > 0);
+        }
+    }
+
+    @Test
+    public void shouldTakeLinearTimeOnLongWords() throws Exception {
+        HumanNameParser parser = new HumanNameParser();
+        for (String shape : LONG_WORDS) {
+            String small = Strings.repeat(shape, 4096 / shape.length()) + " z";
+            String large = Strings.repeat(shape, 64 * 1024 / shape.length()) + " z";
+            for (int i = 0; i < 20; i++) {
+                parser.parse(small);
+                parser.parse(large);
+            }
+            long smallNanos = bestOf(parser, small);
+            long largeNanos = bestOf(parser, large);
+            // 16 times the chars; a quadratic scan takes 256 times as long
+            assertTrue(shape + " took " + smallNanos + "ns then " + largeNanos + "ns",
+                    largeNanos < 64 * Math.max(smallNanos, 10000));
+        }
+    }
+
+    private static long bestOf(HumanNameParser parser, String name) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            parser.parse(name);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    @Test
+    public void shouldTakeLinearStepsOnRandomNames() throws Exception {
+        Random random = new Random(42);
+        String alphabet = "aAbZ .,'\"()-*|\\";
+        ParseContext context = new ParseContext();
+        for (int i = 0; i < 200; i++) {
+            int length = 1 + random.nextInt(4096);
+            StringBuilder sb = new StringBuilder(length);
+            for (int j = 0; j < length; j++) {
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String name = sb.toString();
+            // the budget has to hold for the parse to come back at all
+            HumanNameParser parser = new HumanNameParser(ParserConfig.builder().maxSteps(8L * length + 64).build());
+            ParsedName budgeted = parser.parse(name, context);
+            assertEquals(new HumanNameParser().parse(name).toString(), budgeted.toString());
+        }
+    }
+
+    private static void assertFails(NameParser parser, String name, String message) {
+        try {
+            parser.parse(name);
+            fail("parsed " + name);
+        } catch (ParseException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(message));
+            assertTrue(e.getMessage(), !e.getMessage().contains(name.trim()));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class ParseListenerTest {
+
+    @Test
+    public void shouldTraceEveryStage() throws Exception {
+        final List<String> seen = new ArrayList<>();
+        ParseListener listener = new ParseListener() {
+            @Override
+            public void parsed(ParseTrace trace) {
+                assertEquals(HumanNameParser.Stage.values().length, trace.getStagesRun());
+                assertEquals("Ash", trace.getResult().toSegmented().getLast());
+                assertTrue(trace.getNanos() > 0);
+                for (int i = 0; i < trace.getStagesRun(); i++) {
+                    if (trace.isMatched(i)) {
+                        seen.add(trace.getStage(i) + " " + trace.getMatchStart(i) + "-" + trace.getMatchEnd(i));
+                    } else {
+                        assertEquals(-1, trace.getMatchStart(i));
+                    }
+                }
+            }
+        };
+        new HumanNameParser(ParserConfig.defaults(), null, listener).parse("Steve \"Bud\" M Ash, PhD");
+        // the postnominal takes the comma with it, so there is nothing left to flip
+        assertEquals(Arrays.asList("Nickname 6-11", "Postnominal 17-22", "Last 14-17", "First 0-5", "Middle 12-13"),
+                seen);
+    }
+
+    @Test
+    public void shouldTraceFailuresAndSkipUnsampled() throws Exception {
+        final List<ParseTrace> traces = new ArrayList<>();
+        ParseListener listener = new ParseListener() {
+            @Override
+            public boolean shouldTrace(CharSequence input) {
+                return !input.toString().startsWith("skip");
+            }
+
+            @Override
+            public void parsed(ParseTrace trace) {
+                traces.add(trace);
+                assertNull(trace.getResult());
+                assertTrue(trace.getFailure() instanceof IllegalStateException);
+            }
+        };
+        HumanNameParser parser = new HumanNameParser(ParserConfig.defaults(), null, listener) {
+            @Override
+            boolean runStage(ParseWork work, Stage stage) {
+                if (stage == Stage.Last) {
+                    throw new IllegalStateException("broken");
+                }
+                return super.runStage(work, stage);
+            }
+        };
+        for (String name : new String[] {"skip me", "Steve Ash"}) {
+            try {
+                parser.parse(name);
+                fail();
+            } catch (IllegalStateException expected) {
+            }
+        }
+        assertEquals(1, traces.size());
+        assertEquals(HumanNameParser.Stage.Last.ordinal() + 1, traces.get(0).getStagesRun());
+        assertFalse(traces.get(0).isMatched(HumanNameParser.Stage.Last.ordinal()));
+    }
+
+    @Test
+    public void shouldRecordJfrEventsWithoutTheInput() throws Exception {
+        Assume.assumeTrue(JfrParseListener.isAvailable());
+        JfrParseListener listener = new JfrParseListener(0);
+        HumanNameParser parser = new HumanNameParser(ParserConfig.defaults(), null, listener);
+        assertFalse(listener.shouldTrace("Steve Ash"));
+
+        Path file = Files.createTempFile("parse", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.tupilabs.human_name_parser.Parse");
+            recording.enable("com.tupilabs.human_name_parser.ParseStage");
+            recording.start();
+            assertTrue(listener.shouldTrace("Steve Ash"));
+            parser.parse("Steve Ash");
+            recording.stop();
+            recording.dump(file);
+        }
+        int parses = 0;
+        int stages = 0;
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            String name = event.getEventType().getName();
+            assertEquals(listener.hash("Steve Ash"), event.getString("inputHash"));
+            assertEquals(9, event.getInt("inputLength"));
+            if (name.endsWith(".Parse")) {
+                parses += 1;
+                assertEquals(2, event.getInt("tokens"));
+            } else {
+                stages += 1;
+            }
+        }
+        Files.delete(file);
+        // keyed per listener, so the hash can't be worked out from a guess at the name
+        assertEquals(16, listener.hash("Steve Ash").length());
+        assertNotEquals(listener.hash("Steve Ash"), new JfrParseListener(0).hash("Steve Ash"));
+        assertEquals(1, parses);
+        assertEquals(HumanNameParser.Stage.values().length, stages);
+    }
+}
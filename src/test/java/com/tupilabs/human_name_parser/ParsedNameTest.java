@@ -0,0 +1,75 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class ParsedNameTest {
+
+    @Test
+    public void shouldCutTokensOutOfTheInputOnlyOnce() throws Exception {
+        ParsedName name = new HumanNameParser().parse("Dr. Steve \"Bud\" M R Ash, PhD");
+        assertEquals(Arrays.asList("Dr.", "Steve", "Bud", "M", "R", "Ash", "PhD"), name.getTokens());
+        assertSame(name.getToken(1), name.getToken(1));
+        assertEquals("Steve", name.getTokenView(1).toString());
+        assertEquals(5, name.getTokenView(1).length());
+        assertEquals('S', name.getTokenView(1).charAt(0));
+    }
+
+    @Test
+    public void shouldParseCharsInPlace() throws Exception {
+        String expected = new HumanNameParser().parse("Dr. Steve \"Bud\" M R Ash, PhD").toString();
+        char[] record = "42,Dr. Steve \"Bud\" M R Ash, PhD,NY".toCharArray();
+        for (NameParser parser : new NameParser[] {new HumanNameParser(), new TokenizingNameParser(),
+                new CachingNameParser(new HumanNameParser(), 10)}) {
+            assertEquals(expected, parser.parse(record, 3, 28).toString());
+            assertEquals(expected, parser.parse(new StringBuilder("Dr. Steve \"Bud\" M R Ash, PhD")).toString());
+        }
+    }
+
+    @Test
+    public void shouldOnlyDependOnTheCallersCharsUntilDetached() throws Exception {
+        char[] record = "Steve Ash".toCharArray();
+        ParsedName name = new HumanNameParser().parse(record, 0, record.length);
+        assertFalse(name.isDetached());
+        assertEquals("Steve", name.getToken(0));
+        ParsedName detached = name.detach();
+        assertTrue(detached.isDetached());
+        assertSame(detached, detached.detach());
+
+        "Perry Lee".getChars(0, 9, record, 0);
+        // the token that was read is a copy, the one that wasn't is read from the chars as they are now
+        assertEquals(Arrays.asList("Steve", "Lee"), name.getTokens());
+        assertEquals(Arrays.asList("Steve", "Ash"), detached.getTokens());
+        assertEquals("Steve Ash", detached.getInputName());
+    }
+
+    @Test
+    public void shouldFindTokensWithLabel() throws Exception {
+        ParsedName name = new HumanNameParser().parse("Steve M R Jones Ash");
+        assertEquals(Arrays.asList("M", "R"), name.getTokensWithLabel(Label.MiddleInitial));
+        assertEquals(Arrays.asList("Jones"), name.getTokensWithLabel(Label.Middle));
+        assertEquals(Collections.emptyList(), name.getTokensWithLabel(Label.Suffix));
+        assertTrue(name.hasLabel(Label.Last));
+        assertFalse(name.hasLabel(Label.Nickname));
+    }
+
+    @Test
+    public void shouldKeepTokensItWasMadeWith() throws Exception {
+        ParsedName name = new ParsedName("ASH, STEVE", Arrays.asList("STEVE", "ASH"),
+                Arrays.asList(Label.First, Label.Last));
+        assertEquals(2, name.size());
+        assertEquals("ASH", name.getToken(1));
+        assertEquals("ASH", name.getTokenView(1));
+        assertEquals(Label.Last, name.getLabel(1));
+        assertEquals(Arrays.asList("STEVE"), name.getTokensWithLabel(Label.First));
+        assertEquals("ParsedName{inputName='ASH, STEVE', tokens=[STEVE, ASH], labels=[First, Last]}",
+                name.toString());
+    }
+}
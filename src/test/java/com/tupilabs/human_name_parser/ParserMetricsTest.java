@@ -0,0 +1,95 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.junit.Test;
+
+public class ParserMetricsTest {
+
+    @Test
+    public void shouldCountStagesLabelsAndLengths() throws Exception {
+        ParserMetrics metrics = new ParserMetrics();
+        HumanNameParser parser = new HumanNameParser(ParserConfig.defaults(), metrics);
+        parser.parse("Dr. Steve \"Bud\" M Ash, PhD");
+        parser.parse("ASH, STEVE");
+
+        assertEquals(2, metrics.getParseCount());
+        assertEquals(Long.valueOf(1), metrics.getStageHits().get("Nickname"));
+        assertEquals(Long.valueOf(1), metrics.getStageHits().get("CommaFlip"));
+        assertEquals(Long.valueOf(2), metrics.getStageHits().get("Last"));
+        assertEquals(Long.valueOf(2), metrics.getLabelCounts().get("First"));
+        assertEquals(Long.valueOf(1), metrics.getLabelCounts().get("MiddleInitial"));
+        assertEquals(0, metrics.getNamesWithUnknown());
+        assertEquals(Long.valueOf(1), metrics.getInputLengths().get("8-15"));
+        assertEquals(Long.valueOf(1), metrics.getInputLengths().get("16-31"));
+        assertTrue(metrics.getLatencyP50() > 0);
+        assertTrue(metrics.getLatencyP50() <= metrics.getLatencyP999());
+
+        metrics.reset();
+        assertEquals(0, metrics.getParseCount());
+        assertEquals(0, metrics.getLatencyP99());
+    }
+
+    @Test
+    public void shouldCountFailures() throws Exception {
+        ParserMetrics metrics = new ParserMetrics();
+        HumanNameParser parser = new HumanNameParser(ParserConfig.defaults(), metrics);
+        try {
+            parser.parse(null, new ParseContext());
+            fail();
+        } catch (NullPointerException expected) {
+        }
+        assertEquals(1, metrics.getOtherFailures());
+        assertEquals(0, metrics.getIllegalStateFailures());
+        assertEquals(Long.valueOf(1), metrics.getInputLengths().get("0"));
+    }
+
+    @Test
+    public void shouldHaveNoMetricsUnlessAskedFor() throws Exception {
+        assertNull(new HumanNameParser().getMetrics());
+    }
+
+    @Test
+    public void shouldShowOverJmx() throws Exception {
+        ParserMetrics metrics = new ParserMetrics().register("test");
+        try {
+            new HumanNameParser(ParserConfig.defaults(), metrics).parse("Steve Ash");
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("com.tupilabs.human_name_parser:type=ParserMetrics,name=\"test\"");
+            assertEquals(1L, server.getAttribute(name, "ParseCount"));
+            TabularData labels = (TabularData) server.getAttribute(name, "LabelCounts");
+            CompositeData last = labels.get(new Object[] {"Last"});
+            assertEquals(1L, last.get("value"));
+        } finally {
+            metrics.unregister();
+        }
+    }
+
+    @Test
+    public void shouldKeepPercentilesWithinABucket() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+        assertEquals(1000, histogram.count());
+        long p50 = histogram.percentile(50);
+        assertTrue(String.valueOf(p50), p50 >= 500000 && p50 <= 500000 * 1.13);
+        long p999 = histogram.percentile(99.9);
+        assertTrue(String.valueOf(p999), p999 >= 999000 && p999 <= 999000 * 1.13);
+        for (long value = 0; value < 100000; value += 7) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(value <= LatencyHistogram.upperBoundOf(bucket));
+            assertTrue(bucket == 0 || value > LatencyHistogram.upperBoundOf(bucket - 1));
+        }
+    }
+}
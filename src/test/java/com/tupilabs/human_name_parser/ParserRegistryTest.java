@@ -0,0 +1,79 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class ParserRegistryTest {
+
+    @Test
+    public void shouldTreatConfigsWithTheSameSettingsAsEqual() throws Exception {
+        ParserConfig a = ParserConfig.builder()
+                .trimTokens(false)
+                .suffixes(Lexicon.of("jr", "sr"))
+                .build();
+        ParserConfig b = ParserConfig.builder()
+                .suffixes(Lexicon.of("SR.", "Jr"))
+                .trimTokens(false)
+                .build();
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(ParserConfig.defaults(), ParserConfig.builder().build());
+        assertNotEquals(a, a.toBuilder().trimTokens(true).build());
+        assertNotEquals(a, a.toBuilder().suffixes(Lexicon.of("jr", "sr", "iii")).build());
+    }
+
+    @Test
+    public void shouldShareOneParserPerDistinctConfig() throws Exception {
+        ParserRegistry registry = new ParserRegistry();
+        HumanNameParser first = null;
+        for (int tenant = 0; tenant < 1000; tenant++) {
+            ParserConfig config = ParserConfig.builder()
+                    .trimTokens(tenant % 2 == 0)
+                    .prefixes(Lexicon.of("van", "von", "de la"))
+                    .build();
+            HumanNameParser parser = registry.parserFor(config);
+            if (tenant == 0) {
+                first = parser;
+            } else if (tenant % 2 == 0) {
+                assertSame(first, parser);
+            } else {
+                assertNotSame(first, parser);
+            }
+        }
+        assertEquals(2, registry.size());
+
+        ParserConfig copy = ParserConfig.builder().prefixes(Lexicon.of("de la", "von", "van")).build();
+        assertSame(first.getConfig(), registry.intern(copy));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void shouldDropParsersPastMaxConfigs() throws Exception {
+        ParserRegistry registry = new ParserRegistry(8);
+        for (int request = 0; request < 1000; request++) {
+            registry.parserFor(ParserConfig.builder().maxInputLength(1000 + request).build());
+        }
+        assertTrue(registry.size() <= 8);
+
+        ParserConfig config = ParserConfig.builder().maxInputLength(10).build();
+        assertSame(registry.parserFor(config), registry.parserFor(ParserConfig.builder().maxInputLength(10).build()));
+    }
+
+    @Test
+    public void shouldParseWithTheRegisteredConfig() throws Exception {
+        ParserRegistry registry = new ParserRegistry();
+        HumanNameParser untrimmed = registry.parserFor(ParserConfig.builder().trimTokens(false).build());
+        HumanNameParser trimmed = registry.parserFor(ParserConfig.defaults());
+        assertFalse(untrimmed == trimmed);
+        assertEquals(Arrays.asList("STEVE", "(BUD)", "ASH"), untrimmed.parse("STEVE (BUD) ASH").getTokens());
+        assertEquals(Arrays.asList("STEVE", "BUD", "ASH"), trimmed.parse("STEVE (BUD) ASH").getTokens());
+    }
+}
@@ -0,0 +1,105 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class PhoneticEncoderTest {
+
+    private final HumanNameParser parser = new HumanNameParser();
+
+    @Test
+    public void shouldCodeWordsLikeTheUsualAlgorithms() throws Exception {
+        PhoneticEncoder.Algorithm soundex = PhoneticEncoder.Algorithm.Soundex;
+        assertEquals("R163", soundex.encode("Robert"));
+        assertEquals("R163", soundex.encode("Rupert"));
+        assertEquals("R150", soundex.encode("Rubin"));
+        // H and W don't split a run of one digit
+        assertEquals("A261", soundex.encode("Ashcraft"));
+        assertEquals("T522", soundex.encode("Tymczak"));
+        assertEquals("P236", soundex.encode("Pfister"));
+        assertEquals("H555", soundex.encode("Honeyman"));
+
+        PhoneticEncoder.Algorithm metaphone = PhoneticEncoder.Algorithm.Metaphone;
+        assertEquals("0MPS", metaphone.encode("Thompson"));
+        assertEquals("NT", metaphone.encode("Knight"));
+        assertEquals("RT", metaphone.encode("Wright"));
+        assertEquals("WTN", metaphone.encode("Whitney"));
+        assertEquals("SFR", metaphone.encode("Xavier"));
+        assertEquals("K0RN", metaphone.encode("Catherine"));
+        assertEquals("K0RN", metaphone.encode("Kathryn"));
+        assertEquals("TJ", metaphone.encode("Dodge"));
+        assertEquals("", metaphone.encode("42"));
+    }
+
+    @Test
+    public void shouldSkipTheLinksOfALastName() throws Exception {
+        assertEquals("S600", parser.parse("Marco van der Sar").getPhoneticCode(Label.Last, PhoneticEncoder.SOUNDEX));
+        assertEquals("KRS", parser.parse("Ana de la Cruz").getPhoneticCode(Label.Last, PhoneticEncoder.METAPHONE));
+        assertEquals("O632 G230",
+                parser.parse("Jose Ortega y Gasset").getPhoneticCode(Label.Last, PhoneticEncoder.SOUNDEX));
+        // a prefix with nothing after it is the name
+        assertEquals("V500", parser.parse("John Van").getPhoneticCode(Label.Last, PhoneticEncoder.SOUNDEX));
+        // only in last names
+        assertEquals("D000", parser.parse("De Smith").getPhoneticCode(Label.First, PhoneticEncoder.SOUNDEX));
+
+        Lexicon prefixes = Lexicon.of("op den", "ter");
+        HumanNameParser dutch = new HumanNameParser(true, Lexicon.SALUTATIONS, Lexicon.SUFFIXES,
+                Lexicon.POSTNOMINALS, prefixes);
+        PhoneticEncoder encoder = new PhoneticEncoder(PhoneticEncoder.Algorithm.Soundex, prefixes);
+        assertEquals("B620", dutch.parse("Jan op den Berg").getPhoneticCode(Label.Last, encoder));
+    }
+
+    @Test
+    public void shouldFoldCaseAccentsAndPunctuation() throws Exception {
+        ParsedName plain = parser.parse("Bjorn ODell");
+        ParsedName marked = parser.parse("BJ\u00d6RN O'D\u00e9ll");
+        for (PhoneticEncoder encoder : new PhoneticEncoder[] {PhoneticEncoder.SOUNDEX, PhoneticEncoder.METAPHONE}) {
+            assertEquals(plain.getPhoneticCode(Label.First, encoder), marked.getPhoneticCode(Label.First, encoder));
+            assertEquals(plain.getPhoneticCode(Label.Last, encoder), marked.getPhoneticCode(Label.Last, encoder));
+        }
+        assertEquals("S362", PhoneticEncoder.Algorithm.Soundex.encode("Stra\u00dfe"));
+    }
+
+    @Test
+    public void shouldKeepTheCodesOnTheName() throws Exception {
+        ParsedName name = parser.parse("Steve Ash");
+        String first = name.getPhoneticCode(Label.First, PhoneticEncoder.SOUNDEX);
+        assertEquals("S310", first);
+        assertSame(first, name.getPhoneticCode(Label.First, PhoneticEncoder.SOUNDEX));
+        assertEquals("STF", name.getPhoneticCode(Label.First, PhoneticEncoder.METAPHONE));
+        assertSame(first, PhoneticEncoder.SOUNDEX.encode(name, Label.First));
+        assertNull(name.getPhoneticCode(Label.Middle, PhoneticEncoder.SOUNDEX));
+        assertNull(name.getPhoneticCode(Label.Middle, PhoneticEncoder.SOUNDEX));
+        assertEquals("A200", parser.parse("Steve Ash").detach().getPhoneticCode(Label.Last, PhoneticEncoder.SOUNDEX));
+        assertEquals("A200", new ParsedName("Steve Ash", Arrays.asList("Steve", "Ash"),
+                Arrays.asList(Label.First, Label.Last)).getPhoneticCode(Label.Last, PhoneticEncoder.SOUNDEX));
+    }
+
+    @Test
+    public void shouldKeepAWordThatComesUpOftenInTheMemo() throws Exception {
+        PhoneticMemo memo = new PhoneticMemo();
+        String code = "S530";
+        memo.put("xSmithx", 1, 6, code);
+        assertSame(code, memo.get("Smith", 0, 5));
+        assertSame(code, memo.get(new StringBuilder("Smith"), 0, 5));
+        assertNull(memo.get("Smyth", 0, 5));
+
+        // a word that wants the same slot has to wait until the hits have run out
+        String other = "0";
+        while (PhoneticMemo.slot(other, 0, other.length()) != PhoneticMemo.slot("Smith", 0, 5)) {
+            other = Integer.toString(Integer.parseInt(other) + 1);
+        }
+        memo.put(other, 0, other.length(), "X");
+        memo.put(other, 0, other.length(), "X");
+        assertSame(code, memo.get("Smith", 0, 5));
+        memo.put(other, 0, other.length(), "X");
+        memo.put(other, 0, other.length(), "X");
+        assertNull(memo.get("Smith", 0, 5));
+        assertEquals("X", memo.get(other, 0, other.length()));
+    }
+}
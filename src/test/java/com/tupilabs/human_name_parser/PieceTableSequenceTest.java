@@ -0,0 +1,127 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PieceTableSequenceTest {
+
+    private static final String SEQ = "0123456789";
+
+    @Test
+    public void shouldRemoveAndFlip() throws Exception {
+        PieceTableSequence ps = new PieceTableSequence(SEQ);
+        ps.remove(1, 3);
+        assertEquals("03456789", ps.toString());
+        ps.flip(3);
+        assertEquals("67895034", ps.toString());
+        ps.remove(0, 2);
+        assertEquals("895034", ps.toString());
+        assertEquals(5, ps.originalIndex(2));
+        BackedSequence sub = ps.subSequence(1, 4);
+        assertEquals("950", sub.toString());
+        sub.flip(1);
+        assertEquals("059", sub.toString());
+        assertEquals("805934", ps.toString());
+        ps.remove(0, ps.length());
+        assertEquals("", ps.toString());
+        assertEquals(0, ps.length());
+    }
+
+    @Test
+    public void shouldFlipSubsequenceLikeChopSequence() throws Exception {
+        // ranges that don't start at 0, which ChopSequence used to rotate from the wrong place
+        for (int start = 0; start < SEQ.length(); start++) {
+            for (int end = start + 1; end <= SEQ.length(); end++) {
+                for (int pivot = 0; pivot < end - start; pivot++) {
+                    ChopSequence cs = new ChopSequence(SEQ);
+                    PieceTableSequence ps = new PieceTableSequence(SEQ);
+                    cs.subSequence(start, end).flip(pivot);
+                    ps.subSequence(start, end).flip(pivot);
+                    String expected = SEQ.substring(0, start) + SEQ.substring(start + pivot + 1, end)
+                            + SEQ.charAt(start + pivot) + SEQ.substring(start, start + pivot) + SEQ.substring(end);
+                    assertEquals(expected, cs.toString());
+                    assertSameContent(cs, ps);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldMatchChopSequenceOnRandomEdits() throws Exception {
+        Random rand = new Random(0x5EEDL);
+        for (int trial = 0; trial < 2000; trial++) {
+            StringBuilder input = new StringBuilder();
+            int len = rand.nextInt(60);
+            for (int i = 0; i < len; i++) {
+                input.append((char) ('a' + rand.nextInt(26)));
+            }
+            ChopSequence cs = new ChopSequence(input);
+            PieceTableSequence ps = new PieceTableSequence(input);
+            for (int op = 0; op < 20 && cs.length() > 0; op++) {
+                int start = rand.nextInt(cs.length());
+                int end = start + rand.nextInt(cs.length() - start + 1);
+                switch (rand.nextInt(5)) {
+                    case 0:
+                        cs.remove(start, end);
+                        ps.remove(start, end);
+                        break;
+                    case 1:
+                        int pivot = rand.nextInt(cs.length());
+                        cs.flip(pivot);
+                        ps.flip(pivot);
+                        break;
+                    case 2:
+                        if (end > start) {
+                            int subPivot = rand.nextInt(end - start);
+                            cs.subSequence(start, end).flip(subPivot);
+                            ps.subSequence(start, end).flip(subPivot);
+                        }
+                        break;
+                    case 3:
+                        BackedSequence csSub = cs.subSequence(start, end);
+                        BackedSequence psSub = ps.subSequence(start, end);
+                        int subStart = rand.nextInt(csSub.length() + 1);
+                        int subEnd = subStart + rand.nextInt(csSub.length() - subStart + 1);
+                        csSub.remove(subStart, subEnd);
+                        psSub.remove(subStart, subEnd);
+                        assertSameContent(csSub, psSub);
+                        break;
+                    default:
+                        char c = (char) ('A' + rand.nextInt(26));
+                        cs.setCharAt(start, c);
+                        ps.setCharAt(start, c);
+                        break;
+                }
+                assertSameContent(cs, ps);
+            }
+        }
+    }
+
+    @Test
+    public void shouldNormalizeLongRunsOfSpaces() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            sb.append("ab");
+            expected.append(i == 0 ? "ab" : " ab");
+            for (int j = 0; j <= i % 7; j++) {
+                sb.append(' ');
+            }
+        }
+        HumanNameParser.ParseWork work = new HumanNameParser.ParseWork(sb.toString());
+        work.normalizeCurrent();
+        assertEquals(expected.toString(), work.current.toString());
+    }
+
+    private static void assertSameContent(BackedSequence expected, BackedSequence actual) {
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expected.length(), actual.length());
+        for (int i = 0; i < expected.length(); i++) {
+            assertEquals(expected.charAt(i), actual.charAt(i));
+            assertEquals(expected.originalIndex(i), actual.originalIndex(i));
+        }
+    }
+}
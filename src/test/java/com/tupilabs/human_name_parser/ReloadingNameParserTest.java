@@ -0,0 +1,144 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ReloadingNameParserTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldPickUpChangesToTheFiles() throws Exception {
+        Path prefixes = folder.newFile("prefixes.txt").toPath();
+        write(prefixes, "van\n", 1);
+        ReloadingNameParser parser = new ReloadingNameParser(ParserConfig.defaults(), null, null, null, prefixes);
+        assertEquals("ter", parser.parse("Dr. Jan ter Horst").toSegmented().getMiddle());
+        // the other lists are those of the base config
+        assertEquals("Dr.", parser.parse("Dr. Jan ter Horst").toSegmented().getSalutation());
+        assertFalse(parser.reloadIfChanged());
+
+        HumanNameParser before = parser.getParser();
+        write(prefixes, "van\nter\n", 2);
+        assertTrue(parser.reloadIfChanged());
+        assertEquals("ter Horst", parser.parse("Dr. Jan ter Horst").toSegmented().getLast());
+        assertNull(parser.parse("Dr. Jan ter Horst").toSegmented().getMiddle());
+        // a parser that was handed out keeps its lists
+        assertEquals("ter", before.parse("Dr. Jan ter Horst").toSegmented().getMiddle());
+
+        // a change that makes no difference to the lists keeps the parser
+        HumanNameParser after = parser.getParser();
+        write(prefixes, "# dutch\nvan\nter\n", 3);
+        assertFalse(parser.reloadIfChanged());
+        assertSame(after, parser.getParser());
+    }
+
+    @Test
+    public void shouldKeepTheParserWhenAFileCantBeRead() throws Exception {
+        Path suffixes = folder.newFile("suffixes.txt").toPath();
+        write(suffixes, "jr\njnr\n", 1);
+        ReloadingNameParser parser = new ReloadingNameParser(ParserConfig.defaults(), null, suffixes, null, null);
+        Files.delete(suffixes);
+        try {
+            parser.reloadIfChanged();
+            fail("expected an IOException");
+        } catch (IOException e) {
+            // the file is gone
+        }
+        assertEquals("Jnr", parser.parse("John Smith Jnr").toSegmented().getSuffix());
+    }
+
+    @Test
+    public void shouldTryAgainAfterAListIsTurnedDown() throws Exception {
+        Path salutations = folder.newFile("salutations.txt").toPath();
+        write(salutations, "dr\n", 1);
+        ReloadingNameParser parser = new ReloadingNameParser(ParserConfig.defaults(), salutations, null, null, null);
+        HumanNameParser before = parser.getParser();
+        write(salutations, "dr\nthe honorable\n", 2);
+        try {
+            parser.reloadIfChanged();
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // salutations can't be phrases
+        }
+        assertSame(before, parser.getParser());
+        // still seen as changed, so it is read again rather than skipped until the next edit
+        try {
+            parser.reloadIfChanged();
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // still there
+        }
+
+        write(salutations, "dr\nhon\n", 3);
+        assertTrue(parser.reloadIfChanged());
+        assertEquals("Hon", parser.parse("Hon John Smith").toSegmented().getSalutation());
+        assertFalse(parser.reloadIfChanged());
+    }
+
+    @Test
+    public void shouldParseWhileTheListsAreReloaded() throws Exception {
+        final Path prefixes = folder.newFile("prefixes.txt").toPath();
+        write(prefixes, "van\n", 0);
+        final ReloadingNameParser parser = new ReloadingNameParser(ParserConfig.defaults(), null, null, null,
+                prefixes);
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<String> wrong = new AtomicReference<>();
+        Thread[] threads = new Thread[3];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    while (!done.get()) {
+                        String last;
+                        try {
+                            last = parser.parse("Jan ter Horst").toSegmented().getLast();
+                        } catch (RuntimeException e) {
+                            last = e.toString();
+                        }
+                        // the old lists or the new, never anything in between
+                        if (!last.equals("Horst") && !last.equals("ter Horst")) {
+                            wrong.compareAndSet(null, last);
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (int i = 1; i <= 200; i++) {
+            write(prefixes, i % 2 == 0 ? "van\n" : "van\nter\n", i);
+            assertTrue(parser.reloadIfChanged());
+        }
+        done.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(wrong.get());
+        assertEquals("Horst", parser.parse("Jan ter Horst").toSegmented().getLast());
+    }
+
+    /**
+     * Writes the file with a modified time of its own, since a file system may only keep whole seconds
+     */
+    private static void write(Path file, String content, int version) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.from(1000000 + version, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,72 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class SegmentedNameTest {
+
+    @Test
+    public void shouldSegmentOnceAndShare() throws Exception {
+        ParsedName name = new HumanNameParser().parse("Dr. Steve \"Bud\" M Robert Q Ash Jr., PhD");
+        SegmentedName seg = name.getSegmentedView();
+        assertSame(seg, name.getSegmentedView());
+        assertEquals("Dr.", seg.getSalutation());
+        assertEquals("Steve", seg.getFirst());
+        assertEquals("Bud", seg.getNicknames());
+        assertEquals("M Robert Q", seg.getMiddle());
+        assertSame(seg.getMiddle(), seg.getMiddle());
+        assertEquals("Ash", seg.getLast());
+        assertEquals("Jr.", seg.getSuffix());
+        assertEquals("PhD", seg.getPostnominal());
+        assertNull(seg.getLeadingInit());
+    }
+
+    @Test
+    public void shouldJoinManyMiddles() throws Exception {
+        StringBuilder input = new StringBuilder("Steve");
+        StringBuilder middle = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            input.append(" M").append(i);
+            middle.append(i == 0 ? "" : " ").append('M').append(i);
+        }
+        input.append(" Ash");
+        SegmentedName seg = new HumanNameParser().parse(input.toString()).toSegmented();
+        assertEquals(middle.toString(), seg.getMiddle());
+        assertEquals("Ash", seg.getLast());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotChangeSharedSegments() throws Exception {
+        new HumanNameParser().parse("Steve Ash").getSegmentedView().setFirst("Bob");
+    }
+
+    @Test
+    public void shouldChangeCopiedSegments() throws Exception {
+        ParsedName name = new HumanNameParser().parse("Steve M Ash");
+        SegmentedName seg = name.toSegmented();
+        assertNotSame(seg, name.toSegmented());
+        seg.setFirst("Bob");
+        seg.setMiddle(null);
+        assertEquals("Bob", seg.getFirst());
+        assertNull(seg.getMiddle());
+        assertEquals("Ash", seg.getLast());
+        assertSame(name.getSegmentedView().getLast(), seg.getLast());
+        assertEquals("Steve", name.getSegmentedView().getFirst());
+        assertEquals("M", name.toSegmented().getMiddle());
+    }
+
+    @Test
+    public void shouldStillWorkAsBean() throws Exception {
+        SegmentedName seg = new SegmentedName();
+        assertNull(seg.getFirst());
+        seg.setFirst("Steve");
+        seg.setLast("Ash");
+        assertEquals("Steve", seg.getFirst());
+        assertEquals("Ash", seg.getLast());
+        assertNull(seg.getMiddle());
+    }
+}
@@ -0,0 +1,101 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class TokenDictionaryTest {
+
+    @Test
+    public void shouldShareTokensAcrossNames() throws Exception {
+        InterningNameParser parser = new InterningNameParser(new HumanNameParser(), new TokenDictionary(100));
+        ParsedName a = parser.parse("Dr. John Smith Jr");
+        ParsedName b = parser.parse(new String("Smith, John"));
+        assertEquals("Smith", b.getToken(0));
+        assertSame(a.getToken(2), b.getToken(0));
+        assertSame(a.getToken(1), b.getToken(1));
+        assertEquals(a.getTokenId(1), b.getTokenId(1));
+        assertEquals("Smith", parser.getDictionary().token(b.getTokenId(0)));
+        assertEquals("Smith", b.toSegmented().getLast());
+
+        TokenDictionary.Stats stats = parser.getDictionary().stats();
+        assertEquals(4, stats.getSize());
+        assertEquals(4, stats.getMissCount());
+        assertEquals(2, stats.getHitCount());
+    }
+
+    @Test
+    public void shouldStopAddingWhenFull() throws Exception {
+        TokenDictionary dictionary = new TokenDictionary(2);
+        assertEquals(0, dictionary.idOf("John"));
+        assertEquals(1, dictionary.idOf("Smith"));
+        String jones = new String("Jones");
+        assertSame(jones, dictionary.intern(jones));
+        assertEquals(-1, dictionary.idOf("Jones"));
+        assertEquals(2, dictionary.size());
+        assertEquals(2, dictionary.stats().getOverflowCount());
+
+        ParsedName name = new InterningNameParser(new HumanNameParser(), dictionary).parse("John Jones");
+        assertEquals(0, name.getTokenId(0));
+        assertEquals(-1, name.getTokenId(1));
+        assertEquals("Jones", name.getToken(1));
+    }
+
+    @Test
+    public void shouldNotHaveIdsWhenNotInterned() throws Exception {
+        assertEquals(-1, new HumanNameParser().parse("John Smith").getTokenId(1));
+    }
+
+    @Test
+    public void shouldSaveHeapOnTheTestCorpus() throws Exception {
+        List<String> names = TokenizingNameParserTest.loadTestNames();
+        TokenDictionary dictionary = new TokenDictionary(100000);
+        InterningNameParser parser = new InterningNameParser(new HumanNameParser(), dictionary);
+        for (int round = 0; round < 10; round++) {
+            for (String name : names) {
+                parser.parse(name);
+            }
+        }
+        TokenDictionary.Stats stats = dictionary.stats();
+        assertTrue(stats.toString(), stats.getHitCount() > 9 * stats.getMissCount());
+        assertTrue(stats.toString(), stats.getEstimatedBytesSaved() > 0);
+    }
+
+    @Test
+    public void shouldGiveOneIdPerTokenFromManyThreads() throws Exception {
+        final TokenDictionary dictionary = new TokenDictionary(100000);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<int[]>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(pool.submit(() -> {
+                    int[] ids = new int[5000];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = dictionary.idOf("token" + i);
+                    }
+                    return ids;
+                }));
+            }
+            int[] first = futures.get(0).get();
+            for (Future<int[]> future : futures) {
+                int[] ids = future.get();
+                for (int i = 0; i < ids.length; i++) {
+                    assertEquals(first[i], ids[i]);
+                    assertEquals("token" + i, dictionary.token(ids[i]));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(5000, dictionary.size());
+        assertSame(dictionary.token(dictionary.idOf("token7")), dictionary.intern(new String("token7")));
+    }
+}
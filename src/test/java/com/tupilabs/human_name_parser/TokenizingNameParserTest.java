@@ -0,0 +1,87 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+
+/**
+ * Checks that the tokenizing engine gives exactly what the regex parser gives
+ */
+public class TokenizingNameParserTest {
+
+    // pieces that random names are glued together from; covers every rule plus the junk around them
+    private static final String[] PIECES = {"John", "Smith", "O'Malley", "van", "der", "de", "la", "y", "Y", "Jr",
+            "Jr.", "III", "MD", "Ph.D.", "phd", "Esq.", "ma", "2nd", "Dr.", "Mr", "mrs", "(Bill)", "\"Bill\"", "'x'", "''a''",
+            "('Jim')", "C.", "C", "B.J.", "A.B", "M\u00fcller", "Bj\u00f6rn", "e\u0301", ",", ", ", "  ", " ", "|", "*",
+            "\\", "(", ")", "'", "-", "St", "ste", "_", "x.", "..", "Dr.John", "y Z", "\t", "1"};
+
+    private final HumanNameParser[] regexParsers = {new HumanNameParser(true), new HumanNameParser(false)};
+    private final TokenizingNameParser[] parsers = {new TokenizingNameParser(true), new TokenizingNameParser(false)};
+
+    @Test
+    public void shouldMatchRegexParserOnTestNames() throws Exception {
+        for (String name : loadTestNames()) {
+            assertSameAsRegex(name);
+        }
+    }
+
+    @Test
+    public void shouldMatchRegexParserOnRandomNames() throws Exception {
+        Random rand = new Random(0xABCDEFL);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            sb.setLength(0);
+            int pieces = 1 + rand.nextInt(7);
+            for (int j = 0; j < pieces; j++) {
+                sb.append(PIECES[rand.nextInt(PIECES.length)]);
+                if (rand.nextInt(3) > 0) {
+                    sb.append(' ');
+                }
+            }
+            assertSameAsRegex(sb.toString());
+        }
+    }
+
+    @Test
+    public void shouldParseFlippedPrefixedName() throws Exception {
+        ParsedName name = parsers[0].parse("de la Cruz, Ana M.");
+        assertEquals(Lists.newArrayList("de la Cruz", "Ana", "M."), name.getTokens());
+        assertEquals(Lists.newArrayList(Label.Last, Label.First, Label.MiddleInitial), name.getLabels());
+    }
+
+    private void assertSameAsRegex(String name) {
+        for (int i = 0; i < parsers.length; i++) {
+            ParsedName expected = regexParsers[i].parse(name);
+            ParsedName actual = parsers[i].parse(name);
+            assertEquals("tokens for [" + name + "]", expected.getTokens(), actual.getTokens());
+            assertEquals("labels for [" + name + "]", expected.getLabels(), actual.getLabels());
+        }
+    }
+
+    static List<String> loadTestNames() throws IOException {
+        File testNames = new File(TokenizingNameParserTest.class.getResource("/testNames.txt").getFile());
+        Splitter splitter = Splitter.on('|');
+        List<String> names = Lists.newArrayList();
+        try (BufferedReader reader = new BufferedReader(new FileReader(testNames))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                List<String> toks = splitter.splitToList(line);
+                if (StringUtils.isNotBlank(line) && toks.size() == 9) {
+                    names.add(toks.get(0).trim());
+                }
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,74 @@
+package com.tupilabs.human_name_parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.base.Charsets;
+
+public class Utf8NameParserTest {
+
+    private final NameParser[] parsers = {new HumanNameParser(), new HumanNameParser(false),
+            new TokenizingNameParser(), new CachingNameParser(new HumanNameParser(), 100)};
+
+    @Test
+    public void shouldGiveTheSameTokensAsTheStringParse() throws Exception {
+        List<String> names = new ArrayList<>(TokenizingNameParserTest.loadTestNames());
+        names.add("Bj\u00f6rn O'Malley-Mu\u00f1oz");
+        names.add("\u00c9lodie \"\uD83D\uDE00\" Z\u00fc\u00f1iga, Jr.");
+        names.add("\u674e \u5c0f\u9f99");
+        for (NameParser parser : parsers) {
+            Utf8NameParser utf8 = new Utf8NameParser(parser);
+            for (String name : names) {
+                ParsedName expected = parser.parse(name);
+                byte[] encoded = name.getBytes(Charsets.UTF_8);
+                // somewhere in the middle of a bigger record
+                byte[] record = new byte[encoded.length + 7];
+                System.arraycopy(encoded, 0, record, 4, encoded.length);
+                assertTokens(expected, utf8.parse(record, 4, encoded.length), record);
+
+                ByteBuffer direct = ByteBuffer.allocateDirect(record.length);
+                direct.put(record).position(4).limit(4 + encoded.length);
+                ParsedUtf8Name parsed = utf8.parse(direct);
+                assertEquals(4, direct.position());
+                assertTokens(expected, parsed, record);
+            }
+        }
+    }
+
+    @Test
+    public void shouldReplaceMalformedBytes() throws Exception {
+        byte[] bytes = {'S', 't', 'e', 'v', (byte) 0xC3, ' ', 'A', 's', 'h', (byte) 0xE2, (byte) 0x82};
+        ParsedUtf8Name parsed = new Utf8NameParser(new HumanNameParser()).parse(bytes, 0, bytes.length);
+        assertEquals(Arrays.asList(Label.First, Label.Last), parsed.getLabels());
+        assertEquals(0, parsed.getStart(0));
+        assertEquals(5, parsed.getEnd(0));
+        assertEquals(6, parsed.getStart(1));
+        assertEquals(11, parsed.getEnd(1));
+    }
+
+    @Test
+    public void shouldNeedTokenOffsets() throws Exception {
+        Utf8NameParser utf8 = new Utf8NameParser(new InterningNameParser(new HumanNameParser(),
+                new TokenDictionary(10)));
+        try {
+            utf8.parse("Steve Ash".getBytes(Charsets.UTF_8), 0, 9);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    private static void assertTokens(ParsedName expected, ParsedUtf8Name actual, byte[] bytes) {
+        assertEquals(expected.getInputName(), expected.getLabels(), actual.getLabels());
+        for (int i = 0; i < actual.size(); i++) {
+            String token = new String(bytes, actual.getStart(i), actual.getLength(i), Charsets.UTF_8);
+            assertEquals(expected.getInputName(), expected.getToken(i), token);
+        }
+    }
+}